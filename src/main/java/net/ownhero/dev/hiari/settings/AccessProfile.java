@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+import net.ownhero.dev.kisa.Logger;
+
+import org.mozkito.utilities.io.FileUtils;
+
+/**
+ * Records which arguments (and argument sets) a tool actually reads. Every registered argument gets a handle, i.e. an
+ * index into a bit set; the first {@link IArgument#getValue()} on the argument sets its bit.
+ * 
+ * If a profile file is given (<code>-DaccessProfile=&lt;file&gt;</code>), the tags read in the previous run are loaded
+ * from it and the profile of the current run is written back on shutdown. Arguments that were not read last time are
+ * cold: if their initialization is expensive (see {@link Argument#isDeferrable()}), {@link ArgumentFactory} only checks
+ * their syntax and defers the rest until they are read for the first time. Reads made while arguments are validated or
+ * argument sets are initialized are not recorded (see {@link #suspend()}). Tags that have been registered but never
+ * read are listed as comments in the profile file and are available through {@link Settings#getUnreadArguments()}.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+final class AccessProfile {
+	
+	/**
+	 * The Class Persist.
+	 */
+	private static final class Persist extends Thread {
+		
+		/** The profile. */
+		private final AccessProfile profile;
+		
+		/**
+		 * Instantiates a new persist.
+		 * 
+		 * @param profile
+		 *            the profile
+		 */
+		Persist(final AccessProfile profile) {
+			super("hiari-access-profile");
+			this.profile = profile;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Thread#run()
+		 */
+		@Override
+		public void run() {
+			try {
+				this.profile.store();
+			} catch (final IOException e) {
+				if (Logger.logWarn()) {
+					Logger.warn("Could not persist access profile to '%s': %s", this.profile.file, e.getMessage());
+				}
+			}
+		}
+	}
+	
+	/** The charset of the profile file. */
+	private static final Charset UTF8    = Charset.forName("UTF-8");
+	
+	/** The prefix of comment lines in the profile file. */
+	private static final String  COMMENT = "#";
+	
+	/**
+	 * Gets the profile of the given settings.
+	 * 
+	 * @param settings
+	 *            the settings
+	 * @return the access profile, never <code>null</code>
+	 */
+	static AccessProfile of(final ISettings settings) {
+		if (settings instanceof Settings) {
+			return ((Settings) settings).getAccessProfile();
+		}
+		
+		// not tracked
+		return new AccessProfile();
+	}
+	
+	/** The tags, indexed by handle. */
+	private final List<String>       tags      = new ArrayList<String>();
+	
+	/** The handles that have been read. */
+	private final BitSet             accessed  = new BitSet();
+	
+	/** The tags read in the recorded run, <code>null</code> if there is none. */
+	private Set<String>              hot       = null;
+	
+	/** The file. */
+	private File                     file      = null;
+	
+	/** The nesting depth of the bootstrap steps in progress on the current thread, see {@link #suspend()}. */
+	private final ThreadLocal<int[]> depth     = new ThreadLocal<int[]>();
+	
+	/** The number of bootstrap steps in progress on all threads, so {@link #isSuspended()} can skip {@link #depth}. */
+	private final AtomicInteger      suspended = new AtomicInteger();
+	
+	/**
+	 * Marks the given handle as read.
+	 * 
+	 * @param handle
+	 *            the handle
+	 */
+	synchronized void accessed(final int handle) {
+		this.accessed.set(handle);
+	}
+	
+	/**
+	 * Gets the tags that have been registered but not read (so far).
+	 * 
+	 * @return the unread tags in sorted order
+	 */
+	synchronized List<String> getUnread() {
+		final List<String> unread = new ArrayList<String>(this.tags.size() - this.accessed.cardinality());
+		
+		for (int i = this.accessed.nextClearBit(0); i < this.tags.size(); i = this.accessed.nextClearBit(i + 1)) {
+			unread.add(this.tags.get(i));
+		}
+		
+		Collections.sort(unread);
+		return unread;
+	}
+	
+	/**
+	 * Checks if the initialization of the argument with the given tag can be deferred, i.e. a profile has been loaded
+	 * and the argument has not been read in the recorded run.
+	 * 
+	 * @param tag
+	 *            the tag
+	 * @return true, if deferrable
+	 */
+	synchronized boolean isCold(final String tag) {
+		return (this.hot != null) && !this.hot.contains(tag);
+	}
+	
+	/**
+	 * Checks if recording is suspended on the current thread, see {@link #suspend()}.
+	 * 
+	 * @return true, if so
+	 */
+	boolean isSuspended() {
+		return (this.suspended.get() != 0) && (this.depth.get() != null);
+	}
+	
+	/**
+	 * Opens the profile file: loads the recorded profile, if any, and stores the current one on shutdown.
+	 * 
+	 * @param file
+	 *            the file
+	 */
+	synchronized void open(@NotNull final File file) {
+		this.file = file;
+		
+		if (file.isFile()) {
+			final Set<String> recorded = new HashSet<String>();
+			try (final BufferedReader reader = Files.newBufferedReader(file.toPath(), UTF8)) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					line = line.trim();
+					if (!line.isEmpty() && !line.startsWith(COMMENT)) {
+						recorded.add(line);
+					}
+				}
+				this.hot = recorded;
+			} catch (final IOException e) {
+				if (Logger.logWarn()) {
+					Logger.warn("Ignoring unreadable access profile '%s': %s", file, e.getMessage());
+				}
+			}
+		}
+		
+		Runtime.getRuntime().addShutdownHook(new Persist(this));
+	}
+	
+	/**
+	 * Registers the argument (set) with the given tag.
+	 * 
+	 * @param tag
+	 *            the tag
+	 * @return the handle
+	 */
+	synchronized int register(final String tag) {
+		this.tags.add(tag);
+		return this.tags.size() - 1;
+	}
+	
+	/**
+	 * Resumes recording on the current thread after a bootstrap step, see {@link #suspend()}.
+	 */
+	void resume() {
+		final int[] depth = this.depth.get();
+		
+		if (--depth[0] == 0) {
+			this.depth.remove();
+		}
+		this.suspended.decrementAndGet();
+	}
+	
+	/**
+	 * Stores the read tags to the profile file, followed by the unread ones as comments.
+	 * 
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	synchronized void store() throws IOException {
+		if (this.file == null) {
+			return;
+		}
+		
+		final List<String> read = new ArrayList<String>(this.accessed.cardinality());
+		for (int i = this.accessed.nextSetBit(0); i >= 0; i = this.accessed.nextSetBit(i + 1)) {
+			read.add(this.tags.get(i));
+		}
+		Collections.sort(read);
+		
+		final StringBuilder builder = new StringBuilder();
+		builder.append(COMMENT).append(" hiari access profile: arguments read by the last run")
+		       .append(FileUtils.lineSeparator);
+		for (final String tag : read) {
+			builder.append(tag).append(FileUtils.lineSeparator);
+		}
+		builder.append(COMMENT).append(" registered but never read:").append(FileUtils.lineSeparator);
+		for (final String tag : getUnread()) {
+			builder.append(COMMENT).append(' ').append(tag).append(FileUtils.lineSeparator);
+		}
+		
+		AtomicFiles.replace(this.file, builder.toString().getBytes(UTF8));
+	}
+	
+	/**
+	 * Suspends recording while the settings are bootstrapped, i.e. while arguments are validated and argument sets are
+	 * initialized: the requirement checks and set initializations read arguments the tool itself may never read. Only
+	 * reads on the calling thread are skipped; other threads keep being recorded. Every call must be followed by
+	 * {@link #resume()} on the same thread.
+	 */
+	void suspend() {
+		int[] depth = this.depth.get();
+		
+		if (depth == null) {
+			depth = new int[1];
+			this.depth.set(depth);
+		}
+		++depth[0];
+		this.suspended.incrementAndGet();
+	}
+}
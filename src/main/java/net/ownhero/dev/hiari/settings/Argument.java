@@ -12,8 +12,10 @@
  ******************************************************************************/
 package net.ownhero.dev.hiari.settings;
 
+import java.io.IOException;
 import java.util.Set;
 
+import net.ownhero.dev.andama.exceptions.UnrecoverableError;
 import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
 import net.ownhero.dev.hiari.settings.requirements.Requirement;
 import net.ownhero.dev.kanuni.annotations.simple.NotNull;
@@ -32,19 +34,37 @@ import org.mozkito.utilities.datastructures.Tuple;
  * @author Kim Herzig <herzig@cs.uni-saarland.de>
  */
 public abstract class Argument<TYPE, ARGOPTIONS extends ArgumentOptions<TYPE, ? extends Argument<TYPE, ?>>> implements
-        IArgument<TYPE, ARGOPTIONS> {
+        IArgument<TYPE, ARGOPTIONS>, Cloneable {
 	
 	/** The string value. */
-	private String              stringValue;
+	private String                          stringValue;
 	
 	/** The cached value. */
-	private TYPE                cachedValue;
+	private TYPE                            cachedValue;
 	
 	/** The options. */
-	private ARGOPTIONS          options;
+	private ARGOPTIONS                      options;
+	
+	/** The settings the argument belongs to; copies for derived settings are bound to those. */
+	private ISettings                       settings;
 	
 	/** The Constant maskString. */
-	private final static String MASK_STRING = "******** (masked)";
+	private final static String             MASK_STRING = "******** (masked)";
+	
+	/** The access profile. */
+	private AccessProfile                   accessProfile;
+	
+	/** The handle in the access profile. */
+	private int                             accessHandle;
+	
+	/** Whether the value has been read before. */
+	private volatile boolean                accessed    = false;
+	
+	/** Whether initialization has been deferred to the first read. */
+	private boolean                         deferred    = false;
+	
+	/** The accessor, if requested. */
+	private volatile ArgumentAccessor<TYPE> accessor    = null;
 	
 	/**
 	 * Instantiates a new argument.
@@ -62,6 +82,7 @@ public abstract class Argument<TYPE, ARGOPTIONS extends ArgumentOptions<TYPE, ?
 				Logger.trace(String.format("Instatiating Argument with options: %s", options));
 			}
 			this.options = options;
+			this.settings = options.getArgumentSet().getSettings();
 			
 			if (options.getDefaultValue() != null) {
 				if (Logger.logTrace()) {
@@ -84,6 +105,9 @@ public abstract class Argument<TYPE, ARGOPTIONS extends ArgumentOptions<TYPE, ?
 				throw new ArgumentRegistrationException(String.format("Could not register Argument '%s': %s.",
 				                                                      getName(), getHandle()), this, options);
 			}
+			
+			this.accessProfile = AccessProfile.of(getSettings());
+			this.accessHandle = this.accessProfile.register(getTag());
 		} finally {
 			// POSTCONDITIONS
 			Condition.notNull(this.options, "Field '%s' in %s.", "options", getHandle()); //$NON-NLS-1$ //$NON-NLS-2$
@@ -106,6 +130,25 @@ public abstract class Argument<TYPE, ARGOPTIONS extends ArgumentOptions<TYPE, ?
 		}
 	}
 	
+	/**
+	 * Checks the string value of a deferrable argument (see {@link #isDeferrable()}) while the settings are
+	 * bootstrapped, leaving the expensive part of {@link #init()} to the first read. By default, this only checks that
+	 * required arguments have a value.
+	 * 
+	 * @return true, if the value is valid as far as can be told without initializing the argument
+	 */
+	protected boolean checkSyntax() {
+		if (!validStringValue() && required()) {
+			if (Logger.logError()) {
+				Logger.error("Argument required but doesn't have a valid string value (from options '%s').",
+				             getOptions());
+			}
+			return false;
+		}
+		
+		return true;
+	}
+	
 	/**
 	 * Compare to.
 	 * 
@@ -172,6 +215,26 @@ public abstract class Argument<TYPE, ARGOPTIONS extends ArgumentOptions<TYPE, ?
 		return true;
 	}
 	
+	/**
+	 * Gets an accessor to the value of this argument that the JIT can constant-fold.
+	 * 
+	 * @return the accessor
+	 */
+	public final ArgumentAccessor<TYPE> getAccessor() {
+		ArgumentAccessor<TYPE> result = this.accessor;
+		
+		if (result == null) {
+			synchronized (this) {
+				result = this.accessor;
+				if (result == null) {
+					result = this.accessor = new ArgumentAccessor<TYPE>(this);
+				}
+			}
+		}
+		
+		return result;
+	}
+	
 	/**
 	 * Gets the cached value.
 	 * 
@@ -208,6 +271,23 @@ public abstract class Argument<TYPE, ARGOPTIONS extends ArgumentOptions<TYPE, ?
 		return this.options.getDescription();
 	}
 	
+	/**
+	 * Gets the value as shown in dumps: the string value, masked if necessary, or <code>(unset)</code>.
+	 * 
+	 * @return the display value
+	 */
+	final String getDisplayValue() {
+		final String value = getStringValue();
+		
+		if (value == null) {
+			return "(unset)";
+		}
+		
+		return isMasked()
+		                 ? MASK_STRING
+		                 : value;
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see net.ownhero.dev.andama.settings.AndamaArgumentInterface#getHandle()
@@ -254,12 +334,7 @@ public abstract class Argument<TYPE, ARGOPTIONS extends ArgumentOptions<TYPE, ?
 	 */
 	@Override
 	public final Tuple<Integer, Integer> getKeyValueSpan() {
-		return new Tuple<Integer, Integer>(getTag().length(),
-		                                   getStringValue() == null
-		                                                           ? "(unset)".length()
-		                                                           : this.options.isMasked()
-		                                                                                    ? MASK_STRING.length()
-		                                                                                    : getStringValue().length());
+		return new Tuple<Integer, Integer>(getTag().length(), getDisplayValue().length());
 	}
 	
 	/*
@@ -321,7 +396,22 @@ public abstract class Argument<TYPE, ARGOPTIONS extends ArgumentOptions<TYPE, ?
 	 */
 	@Override
 	public final ISettings getSettings() {
-		return this.options.getArgumentSet().getSettings();
+		return this.settings;
+	}
+	
+	/**
+	 * Gets the validation cache of the settings this argument belongs to.
+	 * 
+	 * @return the validation cache, never <code>null</code>
+	 */
+	final ValidationCache getValidationCache() {
+		final ISettings settings = getSettings();
+		
+		if (settings instanceof Settings) {
+			return ((Settings) settings).getValidationCache();
+		}
+		
+		return ValidationCache.DISABLED;
 	}
 	
 	/**
@@ -355,9 +445,73 @@ public abstract class Argument<TYPE, ARGOPTIONS extends ArgumentOptions<TYPE, ?
 	 */
 	@Override
 	public final TYPE getValue() {
+		if (!this.accessed) {
+			firstAccess();
+		}
+		
 		return this.getCachedValue();
 	}
 	
+	/**
+	 * Defers the initialization of this argument to the first {@link #getValue()}.
+	 */
+	final synchronized void defer() {
+		this.deferred = true;
+	}
+	
+	/**
+	 * Creates an unvalidated copy of this argument for a derived settings instance. The copy shares the options (and
+	 * thereby its place in the argument tree) with this argument, but holds its own value and belongs to the derived
+	 * settings.
+	 * 
+	 * @param settings
+	 *            the derived settings
+	 * @return the copy
+	 * @see Settings#withOverrides(java.util.Map)
+	 */
+	@SuppressWarnings ("unchecked")
+	final synchronized Argument<TYPE, ARGOPTIONS> derive(@NotNull final ISettings settings) {
+		try {
+			final Argument<TYPE, ARGOPTIONS> copy = (Argument<TYPE, ARGOPTIONS>) clone();
+			copy.settings = settings;
+			copy.accessor = null;
+			copy.accessed = false;
+			copy.deferred = false;
+			return copy;
+		} catch (final CloneNotSupportedException e) {
+			throw new UnrecoverableError(e);
+		}
+	}
+	
+	/**
+	 * Records the first read of the value and runs a deferred initialization. Reads made while the settings are
+	 * bootstrapped (see {@link AccessProfile#suspend()}) run the initialization, but are not recorded.
+	 */
+	private synchronized void firstAccess() {
+		if (this.accessed) {
+			return;
+		}
+		
+		if (this.deferred) {
+			if (Logger.logDebug()) {
+				Logger.debug("Running deferred initialization of argument '%s'.", getTag());
+			}
+			
+			if (!init()) {
+				throw new UnrecoverableError(String.format("Deferred initialization of argument '%s' failed for value '%s'.",
+				                                           getTag(), isMasked()
+				                                                               ? MASK_STRING
+				                                                               : getStringValue()));
+			}
+			this.deferred = false;
+		}
+		
+		if (!this.accessProfile.isSuspended()) {
+			this.accessProfile.accessed(this.accessHandle);
+			this.accessed = true;
+		}
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Object#hashCode()
@@ -379,6 +533,17 @@ public abstract class Argument<TYPE, ARGOPTIONS extends ArgumentOptions<TYPE, ?
 	 */
 	protected abstract boolean init();
 	
+	/**
+	 * Checks if the initialization of this argument may be deferred to the first read when it was not read in the
+	 * recorded run (see {@link AccessProfile}). Only arguments whose {@link #init()} touches the file system or the
+	 * network are worth deferring; they check what they can up front in {@link #checkSyntax()}.
+	 * 
+	 * @return false, unless overridden
+	 */
+	protected boolean isDeferrable() {
+		return false;
+	}
+	
 	/**
 	 * Checks if is masked.
 	 * 
@@ -429,6 +594,11 @@ public abstract class Argument<TYPE, ARGOPTIONS extends ArgumentOptions<TYPE, ?
 	 */
 	protected final void setCachedValue(final TYPE cachedValue) {
 		this.cachedValue = cachedValue;
+		
+		final ArgumentAccessor<TYPE> current = this.accessor;
+		if (current != null) {
+			current.invalidate();
+		}
 	}
 	
 	/**
@@ -459,20 +629,15 @@ public abstract class Argument<TYPE, ARGOPTIONS extends ArgumentOptions<TYPE, ?
 	public final String toString(final int keyWidth,
 	                             final int valueWidth) {
 		final StringBuilder builder = new StringBuilder();
-		builder.append("%-").append(keyWidth);
-		if (valueWidth < 0) {
-			builder.append("s = %-");
-		} else {
-			builder.append("s = %");
+		
+		try {
+			new SettingsRenderer(builder).dump(this, keyWidth, valueWidth);
+		} catch (final IOException e) {
+			// StringBuilder does not throw
+			throw new UnrecoverableError(e);
 		}
-		builder.append(valueWidth).append("s\t%s");
 		
-		return String.format(builder.toString(), getTag(), getStringValue() == null
-		                                                                           ? "(unset)"
-		                                                                           : isMasked()
-		                                                                                       ? MASK_STRING
-		                                                                                       : getStringValue(),
-		                     getOptions().getHelpString(keyWidth + 1));
+		return builder.toString();
 	}
 	
 	/**
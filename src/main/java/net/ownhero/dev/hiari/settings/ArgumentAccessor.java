@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+
+import net.ownhero.dev.andama.exceptions.UnrecoverableError;
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+
+/**
+ * Read access to the value of an argument that the JIT can treat as a constant. The accessor is backed by a
+ * {@link MutableCallSite}: the first read resolves the value through {@link Argument#getValue()} and binds the call site
+ * to a constant handle; every change of the value resets the call site, which deoptimizes compiled code depending on it.
+ * 
+ * To get the full benefit, keep the handle of {@link #getMethodHandle()} in a <code>static final</code> field and
+ * invoke it with <code>(Object) HANDLE.invokeExact()</code>; {@link #get()} is the convenient, slightly slower variant.
+ * 
+ * @param <T>
+ *            the type of the value
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public final class ArgumentAccessor<T> {
+	
+	/** The type of the call site. */
+	private static final MethodType   TYPE = MethodType.methodType(Object.class);
+	
+	/** The handle of {@link #resolve()}. */
+	private static final MethodHandle RESOLVE;
+	
+	static {
+		try {
+			RESOLVE = MethodHandles.lookup().findVirtual(ArgumentAccessor.class, "resolve", TYPE);
+		} catch (final NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	
+	/** The argument. */
+	private final Argument<T, ?>      argument;
+	
+	/** The call site. */
+	private final MutableCallSite     site;
+	
+	/** The invoker of the call site. */
+	private final MethodHandle        invoker;
+	
+	/** The handle resolving the value. */
+	private final MethodHandle        resolver;
+	
+	/**
+	 * Instantiates a new argument accessor.
+	 * 
+	 * @param argument
+	 *            the argument
+	 */
+	ArgumentAccessor(@NotNull final Argument<T, ?> argument) {
+		this.argument = argument;
+		this.resolver = RESOLVE.bindTo(this);
+		this.site = new MutableCallSite(this.resolver);
+		this.invoker = this.site.dynamicInvoker();
+	}
+	
+	/**
+	 * Gets the value of the argument.
+	 * 
+	 * @return the value
+	 */
+	@SuppressWarnings ("unchecked")
+	public T get() {
+		try {
+			return (T) (Object) this.invoker.invokeExact();
+		} catch (final RuntimeException | Error e) {
+			throw e;
+		} catch (final Throwable t) {
+			throw new UnrecoverableError(t);
+		}
+	}
+	
+	/**
+	 * Gets the argument.
+	 * 
+	 * @return the argument
+	 */
+	public Argument<T, ?> getArgument() {
+		return this.argument;
+	}
+	
+	/**
+	 * Gets the method handle reading the value. The handle has the type <code>()Object</code> and is stable: it stays
+	 * valid when the value changes.
+	 * 
+	 * @return the method handle
+	 */
+	public MethodHandle getMethodHandle() {
+		return this.invoker;
+	}
+	
+	/**
+	 * Drops the bound value; the next read resolves it again.
+	 */
+	synchronized void invalidate() {
+		if (this.site.getTarget() != this.resolver) {
+			this.site.setTarget(this.resolver);
+			MutableCallSite.syncAll(new MutableCallSite[] { this.site });
+		}
+	}
+	
+	/**
+	 * Reads the value from the argument and binds the call site to it.
+	 * 
+	 * @return the value
+	 */
+	@SuppressWarnings ("unused")
+	private synchronized Object resolve() {
+		final Object value = this.argument.getValue();
+		this.site.setTarget(MethodHandles.constant(Object.class, value));
+		MutableCallSite.syncAll(new MutableCallSite[] { this.site });
+		return value;
+	}
+}
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+/**
+ * Receives the arguments and argument sets found by {@link Settings#forEachUnder(String, ArgumentConsumer)}.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public interface ArgumentConsumer {
+	
+	/**
+	 * Accepts an argument or argument set.
+	 * 
+	 * @param argument
+	 *            the argument or argument set
+	 */
+	void accept(IArgument<?, ?> argument);
+}
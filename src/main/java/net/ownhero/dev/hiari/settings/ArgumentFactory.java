@@ -76,96 +76,35 @@ public class ArgumentFactory {
 			try {
 				constructor = clazz.getDeclaredConstructor(options.getClass());
 				final Argument argument = constructor.newInstance(options);
-				final ISettings settings = options.getArgumentSet().getSettings();
+				final Settings settings = (Settings) options.getArgumentSet().getSettings();
+				final ValidationReport report = ValidationReport.of(settings);
 				
-				final String property = settings.getProperty(argument.getTag());
-				
-				if (property != null) {
-					// set the actual value
-					argument.setStringValue(property);
+				if (report == null) {
+					validate(argument, options, settings, true);
 				} else {
-					// check for deny default values
-					if (argument.getDefaultValue() != null) {
-						if (settings.getProperty(settings.getDenyDefaultValuesTag()) != null) {
-							
-							throw new ArgumentRegistrationException(
-							                                        "Can't setup argument because denyDefaultValues is set and no explicit value set.",
-							                                        argument, options);
-						}
-						// take the default value
-						
-					} else {
-						if (argument.getRequirements().check() && !(argument.getRequirements() instanceof Optional)) {
-							throw new ArgumentRegistrationException("Required but not set.", argument, options);
-						}
+					final ValidationReport previous = ValidationReport.begin(report);
+					try {
+						validate(argument, options, settings, true);
+					} catch (final ArgumentRegistrationException e) {
+						// keep going, the argument stays unset
+						report.add(e);
+					} finally {
+						ValidationReport.end(previous);
 					}
 				}
 				
-				final List<Requirement> requiredDependencies = argument.getRequirements().getFailedChecks();
-				
-				Condition.notNull(requiredDependencies,
-				                  "Field requiredDependencies must not be null! Return empty list please.");
-				if (argument.required() && (!requiredDependencies.isEmpty())) {
-					throw new ArgumentRegistrationException("Required dependencies were not fullfilled. Lagging: "
-					        + JavaUtils.collectionToString(requiredDependencies), argument, options);
-				}
-				
-				if (!argument.init()) {
-					throw new ArgumentRegistrationException("Initializing the argument failed.", argument, options);
-				}
-				
 				// argument.getParent().parse();
 				
 				return argument;
-			} catch (final IllegalArgumentException e) {
+			} catch (IllegalArgumentException | SecurityException | NoSuchMethodException | InstantiationException
+			        | IllegalAccessException | InvocationTargetException e) {
 				if (Logger.logError()) {
 					Logger.error(e);
 				}
 				
-				throw new ArgumentRegistrationException(
-				                                        String.format("Instantiating the argument of type %s failed with arguments (%s). Error: %s",
-				                                                      clazz.getSimpleName(), options, e.getMessage()),
-				                                        null, options, e);
-			} catch (final SecurityException e) {
-				if (Logger.logError()) {
-					Logger.error(e);
-				}
-				throw new ArgumentRegistrationException(
-				                                        String.format("Instantiating the argument of type %s failed with arguments (%s). Error: %s",
-				                                                      clazz.getSimpleName(), options, e.getMessage()),
-				                                        null, options, e);
-			} catch (final NoSuchMethodException e) {
-				if (Logger.logError()) {
-					Logger.error(e);
-				}
-				throw new ArgumentRegistrationException(
-				                                        String.format("Instantiating the argument of type %s failed with arguments (%s). Error: %s",
-				                                                      clazz.getSimpleName(), options, e.getMessage()),
-				                                        null, options, e);
-			} catch (final InstantiationException e) {
-				if (Logger.logError()) {
-					Logger.error(e);
-				}
-				throw new ArgumentRegistrationException(
-				                                        String.format("Instantiating the argument of type %s failed with arguments (%s). Error: %s",
-				                                                      clazz.getSimpleName(), options, e.getMessage()),
-				                                        null, options, e);
-			} catch (final IllegalAccessException e) {
-				if (Logger.logError()) {
-					Logger.error(e);
-				}
-				throw new ArgumentRegistrationException(
-				                                        String.format("Instantiating the argument of type %s failed with arguments (%s). Error: %s",
-				                                                      clazz.getSimpleName(), options, e.getMessage()),
-				                                        null, options, e);
-			} catch (final InvocationTargetException e) {
-				if (Logger.logError()) {
-					Logger.error(e);
-				}
-				throw new ArgumentRegistrationException(
-				                                        String.format("Instantiating the argument of type %s failed with arguments (%s). Error: %s",
-				                                                      clazz.getSimpleName(), options, e.getMessage()),
-				                                        null, options, e);
+				// the options are appended by getMessage(), only when needed
+				throw new ArgumentRegistrationException("Instantiating the argument of type " + clazz.getSimpleName()
+				        + " failed. Error: " + e.getMessage(), null, options, e);
 			}
 		}
 		return null;
@@ -281,4 +220,80 @@ public class ArgumentFactory {
 		}
 		return typeArgumentsAsClasses;
 	}
+	
+	/**
+	 * Validates a freshly created argument against the given settings and initializes it: takes the value of the
+	 * settings or the default value, checks the requirements and runs {@link Argument#init()}. Cold, deferrable
+	 * arguments are only checked with {@link Argument#checkSyntax()}; their initialization runs on the first read.
+	 * 
+	 * @param argument
+	 *            the argument
+	 * @param options
+	 *            the options
+	 * @param settings
+	 *            the settings providing the value and the properties the requirements are checked against
+	 * @param deferrable
+	 *            whether the initialization of cold arguments may be deferred, see {@link Argument#isDeferrable()}
+	 * @throws ArgumentRegistrationException
+	 *             if the argument is not valid
+	 */
+	@SuppressWarnings ({ "rawtypes", "unchecked" })
+	static void validate(@NotNull final Argument argument,
+	                     @NotNull final ArgumentOptions options,
+	                     @NotNull final Settings settings,
+	                     final boolean deferrable) throws ArgumentRegistrationException {
+		final AccessProfile profile = AccessProfile.of(settings);
+		
+		// the reads of the requirement checks and of init() are not the tool's
+		profile.suspend();
+		try {
+			final String property = settings.getProperty(argument.getTag());
+			
+			if (property != null) {
+				// set the actual value
+				argument.setStringValue(property);
+			} else {
+				// check for deny default values
+				if (argument.getDefaultValue() != null) {
+					if (settings.getProperty(settings.getDenyDefaultValuesTag()) != null) {
+						
+						throw new ArgumentRegistrationException(
+						                                        "Can't setup argument because denyDefaultValues is set and no explicit value set.",
+						                                        argument, options);
+					}
+					// take the default value
+					
+				} else {
+					SettingsMonitor.of(settings).requirementEvaluated();
+					if (settings.check(argument.getRequirements())
+					        && !(argument.getRequirements() instanceof Optional)) {
+						throw new ArgumentRegistrationException("Required but not set.", argument, options);
+					}
+				}
+			}
+			
+			SettingsMonitor.of(settings).requirementEvaluated();
+			final List<Requirement> requiredDependencies = settings.getFailedChecks(argument.getRequirements());
+			
+			Condition.notNull(requiredDependencies,
+			                  "Field requiredDependencies must not be null! Return empty list please.");
+			if (settings.isRequired(argument) && (!requiredDependencies.isEmpty())) {
+				throw new ArgumentRegistrationException("Required dependencies were not fullfilled. Lagging: "
+				        + JavaUtils.collectionToString(requiredDependencies), argument, options);
+			}
+			
+			if (deferrable && argument.isDeferrable() && profile.isCold(argument.getTag())) {
+				// not read in the recorded run: check what is cheap now, initialize on first access
+				if (!argument.checkSyntax()) {
+					throw new ArgumentRegistrationException("Checking the argument failed.", argument, options);
+				}
+				argument.defer();
+			} else if (!argument.init()) {
+				throw new ArgumentRegistrationException("Initializing the argument failed.", argument, options);
+			}
+		} finally {
+			profile.resume();
+		}
+	}
+	
 }
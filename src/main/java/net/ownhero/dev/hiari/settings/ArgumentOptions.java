@@ -441,6 +441,7 @@ public abstract class ArgumentOptions<T, X extends Argument<T, ? extends Argumen
 		}
 		
 		// local required status
+		SettingsMonitor.of(getSettings()).requirementEvaluated();
 		final boolean check = this.requirements.check();
 		
 		required &= check;
@@ -12,13 +12,21 @@
  ******************************************************************************/
 package net.ownhero.dev.hiari.settings;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import net.ownhero.dev.andama.exceptions.UnrecoverableError;
 import net.ownhero.dev.hiari.settings.exceptions.ArgumentSetRegistrationException;
 import net.ownhero.dev.hiari.settings.requirements.Optional;
 import net.ownhero.dev.hiari.settings.requirements.Requirement;
@@ -27,7 +35,6 @@ import net.ownhero.dev.kanuni.conditions.Condition;
 import net.ownhero.dev.kisa.Logger;
 
 import org.mozkito.utilities.datastructures.Tuple;
-import org.mozkito.utilities.io.FileUtils;
 
 /**
  * The Class ArgumentSet.
@@ -39,7 +46,108 @@ import org.mozkito.utilities.io.FileUtils;
  * @author Kim Herzig <herzig@cs.uni-saarland.de>
  */
 public class ArgumentSet<TYPE, ARGSETOPTIONS extends ArgumentSetOptions<TYPE, ? extends ArgumentSet<TYPE, ?>>>
-        implements IArgument<TYPE, ARGSETOPTIONS> {
+        implements IArgument<TYPE, ARGSETOPTIONS>, Cloneable {
+	
+	/**
+	 * Orders children by name.
+	 */
+	private static final class ByName implements Comparator<IArgument<?, ?>> {
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.Comparator#compare(java.lang.Object, java.lang.Object)
+		 */
+		@Override
+		public int compare(final IArgument<?, ?> argument1,
+		                   final IArgument<?, ?> argument2) {
+			return argument1.getName().compareTo(argument2.getName());
+		}
+	}
+	
+	/**
+	 * The children of a set sorted by name, together with the number of additions they reflect.
+	 */
+	private static final class Layout {
+		
+		/** The number of additions the children reflect. */
+		private final int                additions;
+		
+		/** The children. */
+		private final IArgument<?, ?>[] children;
+		
+		/**
+		 * Instantiates a new layout.
+		 * 
+		 * @param additions
+		 *            the number of additions the children reflect
+		 * @param children
+		 *            the children
+		 */
+		Layout(final int additions, final IArgument<?, ?>[] children) {
+			this.additions = additions;
+			this.children = children;
+		}
+	}
+	
+	/**
+	 * Visits an argument set and forks a task for every child set.
+	 */
+	private static final class VisitTask extends RecursiveAction {
+		
+		/** The Constant serialVersionUID. */
+		private static final long       serialVersionUID = 1L;
+		
+		/** The visitor. */
+		private final ArgumentVisitor   visitor;
+		
+		/** The argument set. */
+		private final ArgumentSet<?, ?> argumentSet;
+		
+		/**
+		 * Instantiates a new visit task.
+		 * 
+		 * @param visitor
+		 *            the visitor
+		 * @param argumentSet
+		 *            the argument set
+		 */
+		VisitTask(final ArgumentVisitor visitor, final ArgumentSet<?, ?> argumentSet) {
+			this.visitor = visitor;
+			this.argumentSet = argumentSet;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			if (!this.visitor.enter(this.argumentSet)) {
+				return;
+			}
+			
+			final IArgument<?, ?>[] children = this.argumentSet.children();
+			final ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[children.length];
+			int count = 0;
+			
+			for (final IArgument<?, ?> child : children) {
+				if (child instanceof ArgumentSet) {
+					tasks[count++] = new VisitTask(this.visitor, (ArgumentSet<?, ?>) child);
+				} else {
+					this.visitor.visit((Argument<?, ?>) child);
+				}
+			}
+			
+			if (count > 0) {
+				invokeAll(Arrays.copyOf(tasks, count));
+			}
+			
+			this.visitor.leave(this.argumentSet);
+		}
+	}
+	
+	/** The comparator used for the child layout. */
+	private static final Comparator<IArgument<?, ?>> BY_NAME = new ByName();
 	
 	/** The arguments. */
 	@SuppressWarnings ("rawtypes")
@@ -57,8 +165,8 @@ public class ArgumentSet<TYPE, ARGSETOPTIONS extends ArgumentSetOptions<TYPE, ?
 	/** The requirements. */
 	private final Requirement                  requirements;
 	
-	/** The settings. */
-	private final ISettings                    settings;
+	/** The settings; copies for derived settings are bound to those. */
+	private ISettings                          settings;
 	
 	/** The cached value. */
 	private TYPE                               cachedValue  = null;
@@ -72,6 +180,21 @@ public class ArgumentSet<TYPE, ARGSETOPTIONS extends ArgumentSetOptions<TYPE, ?
 	/** The initialized. */
 	private boolean                            initialized  = false;
 	
+	/** The access profile. */
+	private AccessProfile                      accessProfile;
+	
+	/** The handle in the access profile. */
+	private int                                accessHandle;
+	
+	/** Whether the value has been read before. */
+	private volatile boolean                   accessed     = false;
+	
+	/** The children sorted by name; rebuilt once a child has been added. */
+	private volatile Layout                    layout       = null;
+	
+	/** The number of children added so far; a layout built for an older count is stale. */
+	private final AtomicInteger                additions    = new AtomicInteger();
+	
 	/**
 	 * Instantiates a new argument set.
 	 * 
@@ -122,6 +245,9 @@ public class ArgumentSet<TYPE, ARGSETOPTIONS extends ArgumentSetOptions<TYPE, ?
 				throw new ArgumentSetRegistrationException("Could not register argument set " + getHandle() + ".",
 				                                           this, options);
 			}
+			
+			this.accessProfile = AccessProfile.of(this.settings);
+			this.accessHandle = this.accessProfile.register(getTag());
 		} finally {
 			// POSTCONDITIONS
 			Condition.notNull(this.argumentSet, "Field '%s' in %s.", "argumentSet", getHandle());
@@ -156,6 +282,46 @@ public class ArgumentSet<TYPE, ARGSETOPTIONS extends ArgumentSetOptions<TYPE, ?
 		this.requirements = Requirement.required;
 		this.argumentSet = null;
 		this.configurator = null;
+		// the root is not tracked
+		this.accessed = true;
+	}
+	
+	/**
+	 * Walks this set and everything below it depth first, children in the order of their names. Apart from what the
+	 * visitor does, the traversal does not allocate.
+	 * 
+	 * @param visitor
+	 *            the visitor
+	 */
+	public final void accept(@NotNull final ArgumentVisitor visitor) {
+		if (!visitor.enter(this)) {
+			return;
+		}
+		
+		for (final IArgument<?, ?> child : children()) {
+			if (child instanceof ArgumentSet) {
+				((ArgumentSet<?, ?>) child).accept(visitor);
+			} else {
+				visitor.visit((Argument<?, ?>) child);
+			}
+		}
+		
+		visitor.leave(this);
+	}
+	
+	/**
+	 * Walks this set and everything below it like {@link #accept(ArgumentVisitor)}, but visits sibling argument sets
+	 * concurrently in the given pool. A set is entered before and left after all of its children; there is no order
+	 * between siblings. The visitor has to be thread-safe.
+	 * 
+	 * @param visitor
+	 *            the visitor
+	 * @param pool
+	 *            the pool
+	 */
+	public final void acceptParallel(@NotNull final ArgumentVisitor visitor,
+	                                 @NotNull final ForkJoinPool pool) {
+		pool.invoke(new VisitTask(visitor, this));
 	}
 	
 	/**
@@ -198,13 +364,14 @@ public class ArgumentSet<TYPE, ARGSETOPTIONS extends ArgumentSetOptions<TYPE, ?
 				                           argument.getTag(), getTag()));
 			}
 			this.arguments.put(argument.getName(), argument);
+			invalidateLayout();
 			
 			if (Logger.logTrace()) {
 				Logger.trace(String.format("Communicating new argument mapping for the Argument (tag: '%s') to the settings entity.",
 				                           argument.getTag()));
 			}
 			// tell settings who is responsible for this artifact
-			if (!((Settings) getSettings()).addArgumentMapping(argument.getTag(), this)) {
+			if (!((Settings) getSettings()).addArgumentMapping(argument, this)) {
 				if (Logger.logWarn()) {
 					Logger.warn(String.format("Settings denied registration of the new argument mapping for the Argument (tag: '%s') to the settings entity.",
 					                          argument.getTag()));
@@ -270,12 +437,13 @@ public class ArgumentSet<TYPE, ARGSETOPTIONS extends ArgumentSetOptions<TYPE, ?
 				                           argumentSet.getTag(), getTag()));
 			}
 			this.argumentSets.put(argumentSet.getName(), argumentSet);
+			invalidateLayout();
 			
 			if (Logger.logTrace()) {
 				Logger.trace(String.format("Communicating new argument mapping for the ArgumentSet (tag: '%s') to the settings entity.",
 				                           argumentSet.getTag()));
 			}
-			if (!((Settings) getSettings()).addArgumentMapping(argumentSet.getTag(), argumentSet)) {
+			if (!((Settings) getSettings()).addArgumentMapping(argumentSet, argumentSet)) {
 				if (Logger.logWarn()) {
 					Logger.warn(String.format("Settings denied registration of the new argument mapping for the ArgumentSet (tag: '%s') to the settings entity.",
 					                          argumentSet.getTag()));
@@ -294,6 +462,38 @@ public class ArgumentSet<TYPE, ARGSETOPTIONS extends ArgumentSetOptions<TYPE, ?
 		}
 	}
 	
+	/**
+	 * Gets the children sorted by name. The array is built once after the last registration and shared; it must not
+	 * be modified. A layout built while a child is being added is tagged with the number of additions it has seen, so
+	 * it is rebuilt on the next call rather than served stale.
+	 * 
+	 * @return the children
+	 */
+	@SuppressWarnings ("rawtypes")
+	final IArgument<?, ?>[] children() {
+		// read the count before the maps: children added later bump it after they are in the maps
+		final int additions = this.additions.get();
+		Layout layout = this.layout;
+		
+		if ((layout == null) || (layout.additions != additions)) {
+			final Collection<Argument> arguments = getArguments().values();
+			final Collection<ArgumentSet> sets = getArgumentSets().values();
+			final IArgument<?, ?>[] children = new IArgument<?, ?>[arguments.size() + sets.size()];
+			int i = 0;
+			for (final Argument argument : arguments) {
+				children[i++] = argument;
+			}
+			for (final ArgumentSet set : sets) {
+				children[i++] = set;
+			}
+			Arrays.sort(children, BY_NAME);
+			layout = new Layout(additions, children);
+			this.layout = layout;
+		}
+		
+		return layout.children;
+	}
+	
 	/**
 	 * Compare to.
 	 * 
@@ -325,6 +525,42 @@ public class ArgumentSet<TYPE, ARGSETOPTIONS extends ArgumentSetOptions<TYPE, ?
 		}
 	}
 	
+	/**
+	 * Creates a copy of this argument set for a derived settings instance and initializes it again. The copy shares
+	 * options and children with this set, but belongs to the derived settings; its value is computed by
+	 * {@link ArgumentSetOptions#init()} on a copy of the options bound to the derived settings, so it reads the
+	 * children through those.
+	 * 
+	 * @param settings
+	 *            the derived settings
+	 * @return the copy
+	 * @throws ArgumentSetRegistrationException
+	 *             if the initialization fails
+	 * @see Settings#withOverrides(Map)
+	 */
+	@SuppressWarnings ("unchecked")
+	final ArgumentSet<TYPE, ARGSETOPTIONS> derive(@NotNull final ISettings settings)
+	        throws ArgumentSetRegistrationException {
+		final ArgumentSet<TYPE, ARGSETOPTIONS> copy;
+		
+		try {
+			copy = (ArgumentSet<TYPE, ARGSETOPTIONS>) clone();
+		} catch (final CloneNotSupportedException e) {
+			throw new UnrecoverableError(e);
+		}
+		copy.settings = settings;
+		
+		final TYPE value = getOptions().derive(settings).init();
+		if (value == null) {
+			throw new ArgumentSetRegistrationException("Initialization of the derived argument set failed.", copy,
+			                                           getOptions());
+		}
+		
+		copy.accessed = false;
+		copy.setCachedValue(value);
+		return copy;
+	}
+	
 	/**
 	 * Gets the argument.
 	 * 
@@ -422,16 +658,31 @@ public class ArgumentSet<TYPE, ARGSETOPTIONS extends ArgumentSetOptions<TYPE, ?
 	}
 	
 	/**
-	 * Gets the children.
+	 * Gets the direct child (argument or argument set) with the given name.
+	 * 
+	 * @param name
+	 *            the name
+	 * @return the child, <code>null</code> if there is none
+	 */
+	public final IArgument<?, ?> getChild(final String name) {
+		final Argument<?, ?> argument = getArguments().get(name);
+		
+		if (argument != null) {
+			return argument;
+		}
+		
+		return getArgumentSets().get(name);
+	}
+	
+	/**
+	 * Gets the children, sorted by name. The returned collection is a copy the caller may modify; use
+	 * {@link #accept(ArgumentVisitor)} to walk whole trees without copying.
 	 * 
 	 * @return the children
 	 */
 	@SuppressWarnings ("rawtypes")
 	public Collection<IArgument> getChildren() {
-		final LinkedList<IArgument> list = new LinkedList<IArgument>();
-		list.addAll(getArguments().values());
-		list.addAll(getArgumentSets().values());
-		return list;
+		return new LinkedList<IArgument>(Arrays.<IArgument> asList(children()));
 	}
 	
 	/**
@@ -483,15 +734,16 @@ public class ArgumentSet<TYPE, ARGSETOPTIONS extends ArgumentSetOptions<TYPE, ?
 	 * @return the help string
 	 */
 	public String getHelpString(final int indentation) {
-		int maxWidth = 0;
-		for (final IArgument<?, ? extends IOptions<?, IArgument<?, ?>>> argument : getChildren()) {
-			final Tuple<Integer, Integer> tuple = argument.getKeyValueSpan();
-			if (tuple.getFirst() > maxWidth) {
-				maxWidth = tuple.getFirst();
-			}
+		final StringBuilder builder = new StringBuilder();
+		
+		try {
+			new SettingsRenderer(builder).help(this, indentation);
+		} catch (final IOException e) {
+			// StringBuilder does not throw
+			throw new UnrecoverableError(e);
 		}
 		
-		return getHelpString(maxWidth, indentation);
+		return builder.toString();
 	}
 	
 	/*
@@ -501,36 +753,16 @@ public class ArgumentSet<TYPE, ARGSETOPTIONS extends ArgumentSetOptions<TYPE, ?
 	@Override
 	public String getHelpString(final int keyWidth,
 	                            final int indentation) {
-		// PRECONDITIONS
+		final StringBuilder builder = new StringBuilder();
 		
 		try {
-			final StringBuilder builder = new StringBuilder();
-			
-			final StringBuilder indent = new StringBuilder();
-			final StringBuilder header = new StringBuilder();
-			
-			for (int i = 0, j = 0; i < indentation; ++i, ++j) {
-				indent.append("| ");
-				if ((j + 1) < indentation) {
-					header.append("| ");
-				}
-			}
-			
-			builder.append(header).append("|-[ ").append(getName()).append(" ]").append(FileUtils.lineSeparator);
-			builder.append(header).append("| `-Description: ").append(getDescription());
-			builder.append(required()
-			                         ? " (Required, due to " + getRequirements() + ")"
-			                         : "");
-			
-			for (final IArgument<?, ? extends IOptions<?, IArgument<?, ?>>> argument : getChildren()) {
-				builder.append(FileUtils.lineSeparator).append(indent)
-				       .append(argument.getHelpString(keyWidth, indentation + 1));
-			}
-			
-			return builder.toString();
-		} finally {
-			// POSTCONDITIONS
+			new SettingsRenderer(builder).help(this, keyWidth, indentation);
+		} catch (final IOException e) {
+			// StringBuilder does not throw
+			throw new UnrecoverableError(e);
 		}
+		
+		return builder.toString();
 	}
 	
 	/*
@@ -541,7 +773,7 @@ public class ArgumentSet<TYPE, ARGSETOPTIONS extends ArgumentSetOptions<TYPE, ?
 	public Tuple<Integer, Integer> getKeyValueSpan() {
 		final Tuple<Integer, Integer> tuple = new Tuple<Integer, Integer>(0, 0);
 		
-		for (final IArgument<?, ?> arg : getChildren()) {
+		for (final IArgument<?, ?> arg : children()) {
 			final Tuple<Integer, Integer> span = arg.getKeyValueSpan();
 			
 			if (span.getFirst() > tuple.getFirst()) {
@@ -653,9 +885,30 @@ public class ArgumentSet<TYPE, ARGSETOPTIONS extends ArgumentSetOptions<TYPE, ?
 	 */
 	@Override
 	public final TYPE getValue() {
+		if (!this.accessed && !this.accessProfile.isSuspended()) {
+			this.accessProfile.accessed(this.accessHandle);
+			this.accessed = true;
+		}
+		
 		return this.getCachedValue();
 	}
 	
+	/**
+	 * Marks the child layout as stale after a child has been added.
+	 */
+	private void invalidateLayout() {
+		this.additions.incrementAndGet();
+	}
+	
+	/**
+	 * Checks if the value of this set has been initialized.
+	 * 
+	 * @return true, if initialized
+	 */
+	final boolean isInitialized() {
+		return this.initialized;
+	}
+	
 	// /*
 	// * (non-Javadoc)
 	// * @see net.ownhero.dev.andama.settings.AndamaArgumentInterface#parse()
@@ -719,6 +972,7 @@ public class ArgumentSet<TYPE, ARGSETOPTIONS extends ArgumentSetOptions<TYPE, ?
 		}
 		
 		// local required status
+		SettingsMonitor.of(getSettings()).requirementEvaluated();
 		final boolean check = this.requirements.check();
 		
 		required &= check;
@@ -745,8 +999,16 @@ public class ArgumentSet<TYPE, ARGSETOPTIONS extends ArgumentSetOptions<TYPE, ?
 	 */
 	@Override
 	public String toString() {
-		final Tuple<Integer, Integer> span = getKeyValueSpan();
-		return toString(span.getFirst(), span.getSecond());
+		final StringBuilder builder = new StringBuilder();
+		
+		try {
+			new SettingsRenderer(builder).dump(this);
+		} catch (final IOException e) {
+			// StringBuilder does not throw
+			throw new UnrecoverableError(e);
+		}
+		
+		return builder.toString();
 	}
 	
 	/*
@@ -758,22 +1020,11 @@ public class ArgumentSet<TYPE, ARGSETOPTIONS extends ArgumentSetOptions<TYPE, ?
 	                       final int valueWidth) {
 		final StringBuilder builder = new StringBuilder();
 		
-		if (!this.initialized && (this instanceof Settings.RootArgumentSet)) {
-			builder.append(getSettings().getHandle())
-			       .append(" are uninitialized. You might wanna call help (-Dhelp) and display the helpString instead.")
-			       .append(FileUtils.lineSeparator);
-		}
-		
-		builder.append("[").append(getName()).append("] ");
-		
-		if (!this.initialized) {
-			builder.append("  <## NOT INITIALIZED ##>  ");
-		}
-		
-		builder.append(getDescription());
-		
-		for (final IArgument<?, ?> arg : getChildren()) {
-			builder.append(FileUtils.lineSeparator).append(arg.toString(keyWidth, valueWidth));
+		try {
+			new SettingsRenderer(builder).dump(this, keyWidth, valueWidth);
+		} catch (final IOException e) {
+			// StringBuilder does not throw
+			throw new UnrecoverableError(e);
 		}
 		
 		return builder.toString();
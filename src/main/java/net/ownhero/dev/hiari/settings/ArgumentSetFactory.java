@@ -110,6 +110,10 @@ public class ArgumentSetFactory {
 			}
 			
 			final Map<String, IArgument<?, ?>> requirements = new HashMap<String, IArgument<?, ?>>();
+			final ValidationReport report = ValidationReport.of(options.getArgumentSet().getSettings());
+			final int failures = report != null
+			                                   ? report.size()
+			                                   : 0;
 			
 			for (final String key : requirementsOptions.keySet()) {
 				final IOptions<?, ?> iOptions = requirementsOptions.get(key);
@@ -163,13 +167,26 @@ public class ArgumentSetFactory {
 			if (Logger.logTrace()) {
 				Logger.trace("Checking if \"help\" mode is enabled.");
 			}
+			if (initialize && (report != null) && (report.size() > failures)) {
+				// the failures of the arguments have been recorded already, initializing would only fail again
+				return argument;
+			}
+			
 			if (initialize) {
 				if (Logger.logTrace()) {
 					Logger.trace(String.format("Help mode disabled. Initializing the ArgumentSet with options: %s",
 					                           options));
 				}
 				
-				final Object value = options.init();
+				// the reads of the initialization are not the tool's
+				final AccessProfile profile = AccessProfile.of(argument.getSettings());
+				final Object value;
+				profile.suspend();
+				try {
+					value = options.init();
+				} finally {
+					profile.resume();
+				}
 				
 				if (value != null) {
 					if (Logger.logTrace()) {
@@ -181,8 +198,15 @@ public class ArgumentSetFactory {
 					if (Logger.logTrace()) {
 						Logger.trace("Set the cached value of the argument to the return value of the initialization.");
 					}
-				} else {
+				} else if (report == null) {
 					throw new ArgumentSetRegistrationException("", argument, options);
+				} else {
+					final ValidationReport previous = ValidationReport.begin(report);
+					try {
+						report.add(new ArgumentSetRegistrationException("", argument, options));
+					} finally {
+						ValidationReport.end(previous);
+					}
 				}
 				
 				return argument;
@@ -192,35 +216,11 @@ public class ArgumentSetFactory {
 			}
 			
 			return null;
-		} catch (final IllegalArgumentException e) {
-			throw new ArgumentSetRegistrationException(
-			                                           String.format("Instantiating the argument of type %s failed with arguments (%s). Error: %s",
-			                                                         clazz.getSimpleName(), options, e.getMessage()),
-			                                           null, options, e);
-		} catch (final SecurityException e) {
-			throw new ArgumentSetRegistrationException(
-			                                           String.format("Instantiating the argument of type %s failed with arguments (%s). Error: %s",
-			                                                         clazz.getSimpleName(), options, e.getMessage()),
-			                                           null, options, e);
-			
-		} catch (final InstantiationException e) {
-			throw new ArgumentSetRegistrationException(
-			                                           String.format("Instantiating the argument of type %s failed with arguments (%s). Error: %s",
-			                                                         clazz.getSimpleName(), options, e.getMessage()),
-			                                           null, options, e);
-			
-		} catch (final IllegalAccessException e) {
-			throw new ArgumentSetRegistrationException(
-			                                           String.format("Instantiating the argument of type %s failed with arguments (%s). Error: %s",
-			                                                         clazz.getSimpleName(), options, e.getMessage()),
-			                                           null, options, e);
-			
-		} catch (final InvocationTargetException e) {
-			throw new ArgumentSetRegistrationException(
-			                                           String.format("Instantiating the argument of type %s failed with arguments (%s). Error: %s",
-			                                                         clazz.getSimpleName(), options, e.getMessage()),
-			                                           null, options, e);
-			
+		} catch (IllegalArgumentException | SecurityException | InstantiationException | IllegalAccessException
+		        | InvocationTargetException e) {
+			// the options are appended by getMessage(), only when needed
+			throw new ArgumentSetRegistrationException("Instantiating the argument of type " + clazz.getSimpleName()
+			        + " failed. Error: " + e.getMessage(), null, options, e);
 		}
 	}
 	
@@ -16,11 +16,13 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Map;
 
+import net.ownhero.dev.andama.exceptions.UnrecoverableError;
 import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
 import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
 import net.ownhero.dev.hiari.settings.requirements.Optional;
 import net.ownhero.dev.hiari.settings.requirements.Requirement;
 import net.ownhero.dev.kanuni.annotations.bevahiors.NoneNull;
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
 import net.ownhero.dev.kanuni.conditions.Condition;
 
 /**
@@ -33,7 +35,7 @@ import net.ownhero.dev.kanuni.conditions.Condition;
  * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
  */
 public abstract class ArgumentSetOptions<T, X extends ArgumentSet<T, ? extends ArgumentSetOptions<T, ?>>> implements
-        IArgumentSetOptions<T, X> {
+        IArgumentSetOptions<T, X>, Cloneable {
 	
 	/** The name. */
 	private final String      name;
@@ -46,6 +48,9 @@ public abstract class ArgumentSetOptions<T, X extends ArgumentSet<T, ? extends A
 	/** The set. */
 	private ArgumentSet<?, ?> set;
 	
+	/** The derived settings a copy of the options is bound to, <code>null</code> for the settings of the set. */
+	private ISettings         settings = null;
+	
 	/**
 	 * Instantiates a new argument set configurator.
 	 * 
@@ -94,6 +99,26 @@ public abstract class ArgumentSetOptions<T, X extends ArgumentSet<T, ? extends A
 		return getTag().compareTo(arg0.getTag());
 	}
 	
+	/**
+	 * Creates a copy of these options bound to the given derived settings, so {@link #init()} reads the arguments of
+	 * the set through those.
+	 * 
+	 * @param settings
+	 *            the derived settings
+	 * @return the copy
+	 * @see Settings#withOverrides(Map)
+	 */
+	@SuppressWarnings ("unchecked")
+	final ArgumentSetOptions<T, X> derive(@NotNull final ISettings settings) {
+		try {
+			final ArgumentSetOptions<T, X> copy = (ArgumentSetOptions<T, X>) clone();
+			copy.settings = settings;
+			return copy;
+		} catch (final CloneNotSupportedException e) {
+			throw new UnrecoverableError(e);
+		}
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see net.ownhero.dev.andama.settings.IOptions#getAdditionalHelpString()
@@ -248,7 +273,9 @@ public abstract class ArgumentSetOptions<T, X extends ArgumentSet<T, ? extends A
 	 */
 	@Override
 	public ISettings getSettings() {
-		return this.set.getSettings();
+		return this.settings != null
+		                            ? this.settings
+		                            : this.set.getSettings();
 	}
 	
 	/*
@@ -312,6 +339,7 @@ public abstract class ArgumentSetOptions<T, X extends ArgumentSet<T, ? extends A
 			}
 			
 			// local required status
+			SettingsMonitor.of(getSettings()).requirementEvaluated();
 			final boolean check = this.requirements.check();
 			
 			required &= check;
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+/**
+ * Visits the nodes of an argument tree, see {@link ArgumentSet#accept(ArgumentVisitor)}. Children are visited in the
+ * order of their names. The traversal itself does not allocate.
+ * 
+ * When used with {@link ArgumentSet#acceptParallel(ArgumentVisitor, java.util.concurrent.ForkJoinPool)}, sibling
+ * argument sets are visited concurrently and implementations have to be thread-safe.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public interface ArgumentVisitor {
+	
+	/**
+	 * Called before the children of the given argument set are visited.
+	 * 
+	 * @param argumentSet
+	 *            the argument set
+	 * @return true, if the children should be visited; false skips the subtree (including {@link #leave(ArgumentSet)})
+	 */
+	boolean enter(ArgumentSet<?, ?> argumentSet);
+	
+	/**
+	 * Called after all children of the given argument set have been visited.
+	 * 
+	 * @param argumentSet
+	 *            the argument set
+	 */
+	void leave(ArgumentSet<?, ?> argumentSet);
+	
+	/**
+	 * Visits an argument.
+	 * 
+	 * @param argument
+	 *            the argument
+	 */
+	void visit(Argument<?, ?> argument);
+}
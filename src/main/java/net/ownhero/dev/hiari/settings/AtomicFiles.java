@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+
+/**
+ * Helper for the state files persisted across runs (validation cache, access profile). Concurrent runs of the same tool
+ * must never see a partially written file.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+final class AtomicFiles {
+	
+	/**
+	 * Replaces the content of the target file. The content is written to a temporary file next to the target, which is
+	 * then moved over the target (atomically, where the file system supports it).
+	 * 
+	 * @param target
+	 *            the target
+	 * @param content
+	 *            the content
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	static void replace(@NotNull final File target,
+	                    @NotNull final byte[] content) throws IOException {
+		final Path path = target.getAbsoluteFile().toPath();
+		Files.createDirectories(path.getParent());
+		final Path tmp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+		
+		try {
+			Files.write(tmp, content);
+			
+			try {
+				Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (final AtomicMoveNotSupportedException e) {
+				Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+	
+	/**
+	 * Instantiates a new atomic files.
+	 */
+	private AtomicFiles() {
+		// utility class
+	}
+}
@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+import net.ownhero.dev.kisa.Logger;
+
+/**
+ * Loads the configuration files given to the <code>config</code> argument. All sources are fetched and parsed
+ * concurrently, but merged strictly in declaration order: a key defined in a later source overrides the same key of an
+ * earlier one. For every key the source that provided the final value is recorded.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+final class ConfigurationLoader {
+	
+	/**
+	 * The Class Fetch.
+	 */
+	private static final class Fetch implements Callable<Properties> {
+		
+		/** The uri. */
+		private final URI uri;
+		
+		/**
+		 * Instantiates a new fetch.
+		 * 
+		 * @param uri
+		 *            the uri
+		 */
+		Fetch(final URI uri) {
+			this.uri = uri;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.Callable#call()
+		 */
+		@Override
+		public Properties call() throws IOException {
+			final Properties properties = new Properties();
+			
+			if (Logger.logDebug()) {
+				Logger.debug("Fetching configuration from '%s'.", this.uri);
+			}
+			
+			try (final InputStream stream = this.uri.toURL().openStream()) {
+				properties.load(stream);
+			}
+			
+			return properties;
+		}
+	}
+	
+	/**
+	 * The Class DaemonThreadFactory.
+	 */
+	private static final class DaemonThreadFactory implements ThreadFactory {
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+		 */
+		@Override
+		public Thread newThread(final Runnable r) {
+			final Thread thread = new Thread(r, "hiari-config-fetch");
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+	
+	/** The maximum number of sources fetched at the same time. */
+	private static final int    MAX_THREADS = 8;
+	
+	/** The source name used for values given on the command line. */
+	static final String         COMMANDLINE = "commandline";
+	
+	/** The source name used for values overridden in derived settings. */
+	static final String         OVERRIDE    = "override";
+	
+	/**
+	 * Converts a single config location to an URI. Locations without a scheme are treated as local files.
+	 * 
+	 * @param location
+	 *            the location
+	 * @return the uri
+	 * @throws SettingsParseError
+	 *             if the location is not a valid URI
+	 */
+	static URI toURI(@NotNull final String location) throws SettingsParseError {
+		try {
+			final URI uri = new URI(location);
+			if (uri.getScheme() != null) {
+				return uri;
+			}
+		} catch (final URISyntaxException ignore) {
+			// fall back to a local file below
+		}
+		
+		final File file = new File(location);
+		if (!file.exists()) {
+			throw new SettingsParseError(String.format("Configuration source '%s' is neither an URI nor an existing file.",
+			                                           location));
+		}
+		
+		return file.getAbsoluteFile().toURI();
+	}
+	
+	/** The sources in declaration order. */
+	private final List<URI>        sources;
+	
+	/** The fetched properties, once available. */
+	private List<Properties>       fetched;
+	
+	/**
+	 * Instantiates a new configuration loader.
+	 * 
+	 * @param locations
+	 *            the config locations in declaration order
+	 * @throws SettingsParseError
+	 *             if one of the locations is not a valid URI
+	 */
+	ConfigurationLoader(@NotNull final List<String> locations) throws SettingsParseError {
+		final List<URI> uris = new ArrayList<URI>(locations.size());
+		
+		for (final String location : locations) {
+			if (!location.isEmpty()) {
+				uris.add(toURI(location));
+			}
+		}
+		
+		this.sources = Collections.unmodifiableList(uris);
+	}
+	
+	/**
+	 * Fetches and parses all sources. Independent sources are fetched in parallel; a single source is read on the
+	 * calling thread. The result is kept, so subsequent calls (e.g. after a prefetch during
+	 * {@link Settings#bootstrapAsync()}) do not hit the sources again.
+	 * 
+	 * @return the parsed properties, in the same order as {@link #getSources()}
+	 * @throws SettingsParseError
+	 *             if any of the sources could not be read
+	 */
+	synchronized List<Properties> fetch() throws SettingsParseError {
+		if (this.fetched == null) {
+			this.fetched = Collections.unmodifiableList(fetchAll());
+		}
+		
+		return this.fetched;
+	}
+	
+	/**
+	 * Fetches and parses all sources.
+	 * 
+	 * @return the parsed properties, in the same order as {@link #getSources()}
+	 * @throws SettingsParseError
+	 *             if any of the sources could not be read
+	 */
+	private List<Properties> fetchAll() throws SettingsParseError {
+		final List<Properties> result = new ArrayList<Properties>(this.sources.size());
+		
+		if (this.sources.size() == 1) {
+			try {
+				result.add(new Fetch(this.sources.get(0)).call());
+			} catch (final IOException e) {
+				throw new SettingsParseError(String.format("Could not read configuration from '%s': %s",
+				                                           this.sources.get(0), e.getMessage()), null, e);
+			}
+			return result;
+		}
+		
+		if (this.sources.isEmpty()) {
+			return result;
+		}
+		
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.sources.size(), MAX_THREADS),
+		                                                              new DaemonThreadFactory());
+		
+		try {
+			final List<Future<Properties>> futures = new ArrayList<Future<Properties>>(this.sources.size());
+			for (final URI uri : this.sources) {
+				futures.add(executor.submit(new Fetch(uri)));
+			}
+			
+			for (int i = 0; i < futures.size(); ++i) {
+				try {
+					result.add(futures.get(i).get());
+				} catch (final ExecutionException e) {
+					throw new SettingsParseError(String.format("Could not read configuration from '%s': %s",
+					                                           this.sources.get(i), e.getCause().getMessage()), null,
+					                             e.getCause());
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new SettingsParseError(String.format("Interrupted while reading configuration from '%s'.",
+					                                           this.sources.get(i)), null, e);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Gets the sources.
+	 * 
+	 * @return the sources in declaration order
+	 */
+	List<URI> getSources() {
+		return this.sources;
+	}
+	
+	/**
+	 * Fetches all sources and merges them into the given properties. Sources are applied in declaration order, so later
+	 * sources win. The source of every merged key is recorded in <code>provenance</code>.
+	 * 
+	 * @param target
+	 *            the properties to merge into
+	 * @param provenance
+	 *            the map receiving key to source mappings
+	 * @throws SettingsParseError
+	 *             if any of the sources could not be read
+	 */
+	void load(@NotNull final Properties target,
+	          @NotNull final Map<String, String> provenance) throws SettingsParseError {
+		merge(fetch(), target, provenance);
+	}
+	
+	/**
+	 * Merges already fetched properties into the given properties.
+	 * 
+	 * @param fetched
+	 *            the fetched properties, in the same order as {@link #getSources()}
+	 * @param target
+	 *            the properties to merge into
+	 * @param provenance
+	 *            the map receiving key to source mappings
+	 */
+	void merge(@NotNull final List<Properties> fetched,
+	           @NotNull final Properties target,
+	           @NotNull final Map<String, String> provenance) {
+		for (int i = 0; i < fetched.size(); ++i) {
+			final String source = this.sources.get(i).toString();
+			for (final String key : fetched.get(i).stringPropertyNames()) {
+				target.setProperty(key, fetched.get(i).getProperty(key));
+				provenance.put(key, source);
+			}
+		}
+	}
+}
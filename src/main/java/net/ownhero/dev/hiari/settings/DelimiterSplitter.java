@@ -0,0 +1,458 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+
+/**
+ * Splits the string values of list, set and tuple arguments at their delimiter. The delimiter keeps the semantics of
+ * {@link String#split(String)}: it is a regular expression and trailing empty elements are dropped. Elements of lists
+ * and sets are trimmed, those of tuples are not. Delimiters without regex metacharacters (the common case, e.g.
+ * <code>,</code>) are matched literally without ever compiling a pattern; all others are compiled once.
+ * 
+ * Quoting is off unless the options enable it, so backslashes and quotes are ordinary characters and values like
+ * <code>\\server\share</code> or <code>C:\dir\,D:\x</code> split exactly like they always did. With quoting on,
+ * elements may contain the delimiter: either escape it with a backslash (<code>a\,b</code>) or quote the element
+ * (<code>"a, b"</code>). Within quotes, whitespace is kept and <code>\"</code> and <code>\\</code> stand for a quote and
+ * a backslash. All other backslashes are taken literally.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+final class DelimiterSplitter {
+	
+	/**
+	 * Finds the delimiter occurrences in a value, one at a time.
+	 */
+	private final class Cursor {
+		
+		/** The value. */
+		private final String  value;
+		
+		/** The matcher, <code>null</code> for literal delimiters. */
+		private final Matcher matcher;
+		
+		/** The start of the next occurrence, the length of the value if there is none. */
+		private int           start;
+		
+		/** The end of the next occurrence. */
+		private int           end;
+		
+		/**
+		 * Instantiates a new cursor.
+		 * 
+		 * @param value
+		 *            the value
+		 */
+		Cursor(final String value) {
+			this.value = value;
+			this.matcher = DelimiterSplitter.this.pattern != null
+			                                                     ? DelimiterSplitter.this.pattern.matcher(value)
+			                                                     : null;
+			seek(0);
+		}
+		
+		/**
+		 * Moves to the first occurrence at or after the given index. Empty matches do not count as occurrences.
+		 * 
+		 * @param from
+		 *            the index
+		 */
+		void seek(final int from) {
+			final int length = this.value.length();
+			
+			if (this.matcher == null) {
+				this.start = this.value.indexOf(DelimiterSplitter.this.delimiter, from);
+				this.end = this.start + DelimiterSplitter.this.delimiter.length();
+			} else {
+				this.start = -1;
+				for (int i = from; (i <= length) && this.matcher.find(i); i = this.matcher.start() + 1) {
+					if (this.matcher.end() > this.matcher.start()) {
+						this.start = this.matcher.start();
+						this.end = this.matcher.end();
+						break;
+					}
+				}
+			}
+			
+			if (this.start < 0) {
+				this.start = length;
+				this.end = length;
+			}
+		}
+	}
+	
+	/** The escape character. */
+	private static final char   ESCAPE         = '\\';
+	
+	/** The quote character. */
+	private static final char   QUOTE          = '"';
+	
+	/** The characters that make a delimiter a regular expression. */
+	private static final String METACHARACTERS = "\\^$.|?*+()[]{}";
+	
+	/**
+	 * Finds the quote closing a quoted element.
+	 * 
+	 * @param value
+	 *            the value
+	 * @param from
+	 *            the index after the opening quote
+	 * @return the index of the closing quote, -1 if there is none
+	 */
+	private static int closingQuote(final String value,
+	                                final int from) {
+		for (int i = from; i < value.length(); ++i) {
+			final char c = value.charAt(i);
+			if (isQuotedEscape(value, i)) {
+				++i;
+			} else if (c == QUOTE) {
+				return i;
+			}
+		}
+		
+		return -1;
+	}
+	
+	/**
+	 * Checks if the character at the given index starts an escape within quotes: a backslash followed by a quote or a
+	 * backslash.
+	 * 
+	 * @param value
+	 *            the value
+	 * @param i
+	 *            the index
+	 * @return true, if so
+	 */
+	private static boolean isQuotedEscape(final String value,
+	                                      final int i) {
+		if ((value.charAt(i) != ESCAPE) || (i + 1 >= value.length())) {
+			return false;
+		}
+		
+		final char next = value.charAt(i + 1);
+		return (next == ESCAPE) || (next == QUOTE);
+	}
+	
+	/**
+	 * Checks if the given delimiter can be matched literally.
+	 * 
+	 * @param delimiter
+	 *            the delimiter
+	 * @return true, if the delimiter contains no regex metacharacters
+	 */
+	static boolean isLiteral(@NotNull final String delimiter) {
+		for (int i = 0; i < delimiter.length(); ++i) {
+			if (METACHARACTERS.indexOf(delimiter.charAt(i)) >= 0) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Turns the given elements into an immutable, array backed list.
+	 * 
+	 * @param parts
+	 *            the elements
+	 * @param size
+	 *            the number of elements to keep
+	 * @return the list
+	 */
+	private static List<String> seal(final List<String> parts,
+	                                 final int size) {
+		return Collections.unmodifiableList(Arrays.asList(parts.subList(0, size).toArray(new String[size])));
+	}
+	
+	/** The delimiter. */
+	private final String  delimiter;
+	
+	/** The compiled delimiter, <code>null</code> if it is matched literally. */
+	private final Pattern pattern;
+	
+	/** Whether elements are trimmed. */
+	private final boolean trimming;
+	
+	/** Whether escapes and quotes are recognized. */
+	private final boolean quoting;
+	
+	/**
+	 * Instantiates a new delimiter splitter that trims elements and does not recognize quotes.
+	 * 
+	 * @param delimiter
+	 *            the delimiter
+	 */
+	DelimiterSplitter(@NotNull final String delimiter) {
+		this(delimiter, true, false);
+	}
+	
+	/**
+	 * Instantiates a new delimiter splitter.
+	 * 
+	 * @param delimiter
+	 *            the delimiter
+	 * @param trimming
+	 *            whether elements are trimmed
+	 * @param quoting
+	 *            whether escapes and quotes are recognized
+	 */
+	DelimiterSplitter(@NotNull final String delimiter, final boolean trimming, final boolean quoting) {
+		this.delimiter = delimiter;
+		this.pattern = isLiteral(delimiter)
+		                                   ? null
+		                                   : Pattern.compile(delimiter);
+		this.trimming = trimming;
+		this.quoting = quoting;
+	}
+	
+	/**
+	 * Gets the delimiter.
+	 * 
+	 * @return the delimiter
+	 */
+	String getDelimiter() {
+		return this.delimiter;
+	}
+	
+	/**
+	 * Joins the given values with the delimiter. With quoting on, values containing the delimiter, quotes, backslashes
+	 * or surrounding whitespace are quoted, so {@link #split(String)} yields them again. Delimiters that are regular
+	 * expressions are inserted as given.
+	 * 
+	 * @param values
+	 *            the values
+	 * @return the joined values
+	 */
+	String join(@NotNull final Collection<String> values) {
+		final StringBuilder builder = new StringBuilder();
+		
+		for (final Iterator<String> iterator = values.iterator(); iterator.hasNext();) {
+			final String value = iterator.next();
+			
+			if (this.quoting && needsQuotes(value)) {
+				builder.append(QUOTE);
+				for (int i = 0; i < value.length(); ++i) {
+					final char c = value.charAt(i);
+					if ((c == ESCAPE) || (c == QUOTE)) {
+						builder.append(ESCAPE);
+					}
+					builder.append(c);
+				}
+				builder.append(QUOTE);
+			} else {
+				builder.append(value);
+			}
+			
+			if (iterator.hasNext()) {
+				builder.append(this.delimiter);
+			}
+		}
+		
+		return builder.toString();
+	}
+	
+	/**
+	 * Checks if the given value has to be quoted to survive splitting.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return true, if so
+	 */
+	private boolean needsQuotes(final String value) {
+		if (value.isEmpty()) {
+			return false;
+		}
+		
+		if ((value.indexOf(QUOTE) >= 0) || (value.indexOf(ESCAPE) >= 0) || (value.charAt(0) <= ' ')
+		        || (value.charAt(value.length() - 1) <= ' ')) {
+			return true;
+		}
+		
+		return this.pattern != null
+		                           ? this.pattern.matcher(value).find()
+		                           : value.contains(this.delimiter);
+	}
+	
+	/**
+	 * Checks if escapes and quotes are recognized.
+	 * 
+	 * @return true, if so
+	 */
+	boolean isQuoting() {
+		return this.quoting;
+	}
+	
+	/**
+	 * Checks if elements are trimmed.
+	 * 
+	 * @return true, if so
+	 */
+	boolean isTrimming() {
+		return this.trimming;
+	}
+	
+	/**
+	 * Splits the given value.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return the elements, as an immutable list
+	 */
+	List<String> split(@NotNull final String value) {
+		if (!this.quoting || ((value.indexOf(ESCAPE) < 0) && (value.indexOf(QUOTE) < 0))) {
+			return splitPlain(value);
+		}
+		
+		return splitQuoted(value);
+	}
+	
+	/**
+	 * Splits a value without looking at escapes and quotes.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return the elements
+	 */
+	private List<String> splitPlain(final String value) {
+		final List<String> parts = new ArrayList<String>();
+		
+		if (this.pattern == null) {
+			int start = 0;
+			for (int end = value.indexOf(this.delimiter); end >= 0; end = value.indexOf(this.delimiter, start)) {
+				parts.add(value.substring(start, end));
+				start = end + this.delimiter.length();
+			}
+			parts.add(value.substring(start));
+		} else {
+			Collections.addAll(parts, this.pattern.split(value, -1));
+		}
+		
+		int size = parts.size();
+		if (size > 1) {
+			while ((size > 0) && parts.get(size - 1).isEmpty()) {
+				--size;
+			}
+		}
+		
+		if (this.trimming) {
+			for (int i = 0; i < size; ++i) {
+				parts.set(i, parts.get(i).trim());
+			}
+		}
+		
+		return seal(parts, size);
+	}
+	
+	/**
+	 * Splits a value that may contain escapes and quotes, with quoting on.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return the elements
+	 */
+	private List<String> splitQuoted(final String value) {
+		final List<String> parts = new ArrayList<String>();
+		final StringBuilder element = new StringBuilder();
+		final Cursor cursor = new Cursor(value);
+		final int length = value.length();
+		
+		// the number of elements up to the last one that was not empty before trimming
+		int kept = 0;
+		int start = 0;
+		// the quoted section of the current element, which is never trimmed; the whitespace around it always is
+		int quoteStart = -1;
+		int quoteEnd = -1;
+		int i = 0;
+		
+		while (true) {
+			if ((i == length) || (i == cursor.start)) {
+				int begin = 0;
+				int end = element.length();
+				if (this.trimming || (quoteStart >= 0)) {
+					while ((begin < end) && ((quoteStart < 0) || (begin < quoteStart))
+					        && (element.charAt(begin) <= ' ')) {
+						++begin;
+					}
+					while ((end > begin) && ((quoteEnd < 0) || (end > quoteEnd)) && (element.charAt(end - 1) <= ' ')) {
+						--end;
+					}
+				}
+				parts.add(element.substring(begin, end));
+				
+				if (i > start) {
+					kept = parts.size();
+				}
+				
+				if (i == length) {
+					break;
+				}
+				
+				i = cursor.end;
+				start = i;
+				element.setLength(0);
+				quoteStart = -1;
+				quoteEnd = -1;
+				cursor.seek(i);
+				continue;
+			}
+			
+			final char c = value.charAt(i);
+			
+			if ((c == ESCAPE) && (i + 1 < length) && (i + 1 == cursor.start)) {
+				// escaped delimiter; all other backslashes outside of quotes are literal
+				element.append(value, cursor.start, cursor.end);
+				i = cursor.end;
+				cursor.seek(i);
+				continue;
+			}
+			
+			if ((c == QUOTE) && (quoteStart < 0) && element.toString().trim().isEmpty()) {
+				final int close = closingQuote(value, i + 1);
+				
+				if (close >= 0) {
+					element.setLength(0);
+					quoteStart = 0;
+					for (int j = i + 1; j < close; ++j) {
+						if (isQuotedEscape(value, j)) {
+							++j;
+						}
+						element.append(value.charAt(j));
+					}
+					quoteEnd = element.length();
+					
+					i = close + 1;
+					if (cursor.start < i) {
+						cursor.seek(i);
+					}
+					continue;
+				}
+			}
+			
+			element.append(c);
+			++i;
+		}
+		
+		return seal(parts, parts.size() > 1
+		                                    ? kept
+		                                    : parts.size());
+	}
+}
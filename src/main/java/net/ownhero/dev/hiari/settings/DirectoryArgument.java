@@ -108,8 +108,13 @@ public class DirectoryArgument extends Argument<File, DirectoryArgument.Options>
 			} else {
 				
 				final File directory = new File(getStringValue().trim());
+				final ValidationCache cache = getValidationCache();
+				final boolean cached = cache.isValid(getTag(), getStringValue(), directory);
 				
-				if (!directory.exists()) {
+				if (cached) {
+					setCachedValue(directory);
+					ret = true;
+				} else if (!directory.exists()) {
 					if (!isCreate()) {
 						if (Logger.logError()) {
 							Logger.error("The file '" + getStringValue() + "' specified for argument '" + getName()
@@ -147,6 +152,10 @@ public class DirectoryArgument extends Argument<File, DirectoryArgument.Options>
 					setCachedValue(directory);
 					ret = true;
 				}
+				
+				if (ret && !cached) {
+					cache.validated(getTag(), getStringValue(), directory);
+				}
 			}
 			
 			return ret;
@@ -162,6 +171,16 @@ public class DirectoryArgument extends Argument<File, DirectoryArgument.Options>
 		}
 	}
 	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.Argument#isDeferrable()
+	 */
+	@Override
+	protected final boolean isDeferrable() {
+		// init() checks the directory and may create it
+		return true;
+	}
+	
 	/**
 	 * Checks if is creates the.
 	 * 
@@ -45,7 +45,10 @@ public class EnumArgument<T extends Enum<?>> extends Argument<T, EnumArgument.Op
 	public static class Options<X extends Enum<?>> extends ArgumentOptions<X, EnumArgument<X>> {
 		
 		/** The possible values. */
-		private final HashSet<X> possibleValues = new HashSet<X>();
+		private final HashSet<X>     possibleValues = new HashSet<X>();
+		
+		/** The possible values and aliases by their lower-cased names, see {@link #lookup(String)}. */
+		private final EnumLookup<X>  lookup;
 		
 		/**
 		 * Instantiates a new enum argument options.
@@ -75,6 +78,7 @@ public class EnumArgument<T extends Enum<?>> extends Argument<T, EnumArgument.Op
 						this.possibleValues.add((X) enumType.getEnumConstants()[i]);
 					}
 				}
+				this.lookup = new EnumLookup<X>(this.possibleValues);
 			} finally {
 				Condition.notNull(this.possibleValues, "The set of possible values for %s must not be null.",
 				                  getHandle());
@@ -108,6 +112,7 @@ public class EnumArgument<T extends Enum<?>> extends Argument<T, EnumArgument.Op
 				for (final X possibleValue : possibleValues) {
 					this.possibleValues.add(possibleValue);
 				}
+				this.lookup = new EnumLookup<X>(this.possibleValues);
 			} finally {
 				Condition.notNull(this.possibleValues, "The set of possible values for %s must not be null.",
 				                  getHandle());
@@ -120,6 +125,29 @@ public class EnumArgument<T extends Enum<?>> extends Argument<T, EnumArgument.Op
 			}
 		}
 		
+		/**
+		 * Adds an alias for one of the possible values. Aliases are matched case-insensitively, like the names of the
+		 * values.
+		 * 
+		 * @param alias
+		 *            the alias
+		 * @param value
+		 *            the value
+		 * @return these options
+		 * @throws IllegalArgumentException
+		 *             if the value is not a possible value or the alias already stands for another value
+		 */
+		public final Options<X> addAlias(@NotNull @NotEmptyString final String alias,
+		                                 @NotNull final X value) {
+			if (!this.possibleValues.contains(value)) {
+				throw new IllegalArgumentException(String.format("%s is not a possible value of %s.", value,
+				                                                 getHandle()));
+			}
+			
+			this.lookup.addAlias(alias, value, getHandle());
+			return this;
+		}
+		
 		/*
 		 * (non-Javadoc)
 		 * @see net.ownhero.dev.andama.settings.ArgumentOptions#getAdditionalHelpString()
@@ -158,6 +186,18 @@ public class EnumArgument<T extends Enum<?>> extends Argument<T, EnumArgument.Op
 				                             "The set of possible values for %s must not be empty.", getHandle());
 			}
 		}
+		
+		/**
+		 * Looks up the possible value with the given name, string representation or alias, ignoring case and
+		 * surrounding whitespace.
+		 * 
+		 * @param name
+		 *            the name
+		 * @return the value, <code>null</code> if the name does not stand for a possible value
+		 */
+		public final X lookup(@NotNull final String name) {
+			return this.lookup.get(name);
+		}
 	}
 	
 	/**
@@ -224,42 +264,31 @@ public class EnumArgument<T extends Enum<?>> extends Argument<T, EnumArgument.Op
 				}
 			} else {
 				
-				final String value = getStringValue().toUpperCase();
+				final T value = getOptions().lookup(getStringValue());
 				
-				try {
-					@SuppressWarnings ({ "unchecked" })
-					final T valueOf = (T) Enum.valueOf(this.possibleValues.iterator().next().getClass(), value);
-					if (!this.possibleValues.contains(valueOf)) {
-						if (Logger.logError()) {
-							final StringBuilder ss = new StringBuilder();
-							ss.append("Value `" + value + "` set for argument `");
-							ss.append(getName());
-							ss.append("` is invalid.");
-							ss.append(System.getProperty("line.separator"));
-							ss.append("Please choose one of the following possible values:");
+				if (value == null) {
+					if (Logger.logError()) {
+						final StringBuilder ss = new StringBuilder();
+						ss.append("Value `" + getStringValue() + "` set for argument `");
+						ss.append(getName());
+						ss.append("` is invalid.");
+						ss.append(System.getProperty("line.separator"));
+						ss.append("Please choose one of the following possible values:");
+						ss.append(System.getProperty("line.separator"));
+						
+						for (final T s : this.possibleValues) {
+							ss.append("\t");
+							ss.append(s);
 							ss.append(System.getProperty("line.separator"));
-							
-							for (final T s : this.possibleValues) {
-								ss.append("\t");
-								ss.append(s);
-								ss.append(System.getProperty("line.separator"));
-							}
-							
-							Logger.error(ss.toString());
 						}
 						
-						ret = false;
-					} else {
-						for (final T val : this.possibleValues) {
-							if (val.toString().equalsIgnoreCase(getStringValue().trim())) {
-								setCachedValue(val);
-								ret = true;
-								break;
-							}
-						}
+						Logger.error(ss.toString());
 					}
-				} catch (final IllegalArgumentException e) {
+					
 					ret = false;
+				} else {
+					setCachedValue(value);
+					ret = true;
 				}
 			}
 			
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+import net.ownhero.dev.kanuni.annotations.string.NotEmptyString;
+
+/**
+ * Enum constants by their lower-cased names, string representations and aliases, so values can be looked up ignoring
+ * case and surrounding whitespace. Used by the options of {@link EnumArgument} and {@link EnumSetArgument}.
+ * 
+ * @param <E>
+ *            the enum type
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+final class EnumLookup<E extends Enum<?>> {
+	
+	/**
+	 * Folds the given name into a key of the table.
+	 * 
+	 * @param name
+	 *            the name
+	 * @return the key
+	 */
+	private static String fold(final String name) {
+		return name.trim().toLowerCase(Locale.ROOT);
+	}
+	
+	/** The constants by their folded names, string representations and aliases. */
+	private final Map<String, E> values = new HashMap<String, E>();
+	
+	/**
+	 * Indexes the given constants by their names and, where different and not taken by a name, their string
+	 * representations.
+	 * 
+	 * @param constants
+	 *            the constants
+	 */
+	EnumLookup(@NotNull final Collection<E> constants) {
+		for (final E value : constants) {
+			this.values.put(fold(value.name()), value);
+		}
+		for (final E value : constants) {
+			final String key = fold(value.toString());
+			if (!this.values.containsKey(key)) {
+				this.values.put(key, value);
+			}
+		}
+	}
+	
+	/**
+	 * Adds an alias for the given constant.
+	 * 
+	 * @param alias
+	 *            the alias
+	 * @param value
+	 *            the value
+	 * @param owner
+	 *            the handle of the options the table belongs to, for the error message
+	 * @throws IllegalArgumentException
+	 *             if the alias already stands for another constant
+	 */
+	void addAlias(@NotNull @NotEmptyString final String alias,
+	              @NotNull final E value,
+	              @NotNull final String owner) {
+		final String key = fold(alias);
+		final E previous = this.values.get(key);
+		
+		if ((previous != null) && (previous != value)) {
+			throw new IllegalArgumentException(String.format("The alias '%s' of %s already stands for %s.", alias,
+			                                                 owner, previous));
+		}
+		
+		this.values.put(key, value);
+	}
+	
+	/**
+	 * Looks up the constant with the given name, string representation or alias.
+	 * 
+	 * @param name
+	 *            the name
+	 * @return the constant, <code>null</code> if the name does not stand for one
+	 */
+	E get(@NotNull final String name) {
+		return this.values.get(fold(name));
+	}
+}
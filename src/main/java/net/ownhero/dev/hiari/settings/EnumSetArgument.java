@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+import net.ownhero.dev.kanuni.annotations.string.NotEmptyString;
+import net.ownhero.dev.kanuni.conditions.Condition;
+import net.ownhero.dev.kanuni.conditions.StringCondition;
+import net.ownhero.dev.kisa.Logger;
+
+/**
+ * A set of constants of an enum, kept in an {@link EnumSet}. Values are matched case-insensitively against the names,
+ * string representations and aliases of the constants, see {@link Options#lookup(String)}.
+ * 
+ * @param <T>
+ *            the enum type
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public class EnumSetArgument<T extends Enum<T>> extends Argument<EnumSet<T>, EnumSetArgument.Options<T>> {
+	
+	/**
+	 * The Class Options.
+	 * 
+	 * @param <X>
+	 *            the enum type
+	 */
+	public static class Options<X extends Enum<X>> extends ArgumentOptions<EnumSet<X>, EnumSetArgument<X>> {
+		
+		/** The enum type. */
+		private final Class<X>      type;
+		
+		/** The constants and aliases by their lower-cased names, see {@link #lookup(String)}. */
+		private final EnumLookup<X> lookup;
+		
+		/** The delimiter. */
+		private String              delimiter;
+		
+		/** The splitter compiled from the delimiter. */
+		private DelimiterSplitter   splitter;
+		
+		/**
+		 * Instantiates a new options.
+		 * 
+		 * @param argumentSet
+		 *            the argument set
+		 * @param name
+		 *            the name
+		 * @param description
+		 *            the description
+		 * @param defaultValue
+		 *            the default value
+		 * @param requirements
+		 *            the requirements
+		 * @param type
+		 *            the enum type
+		 */
+		public Options(@NotNull final ArgumentSet<?, ?> argumentSet, @NotNull @NotEmptyString final String name,
+		        @NotNull @NotEmptyString final String description, final EnumSet<X> defaultValue,
+		        @NotNull final Requirement requirements, @NotNull final Class<X> type) {
+			this(argumentSet, name, description, defaultValue, requirements, type, ",");
+		}
+		
+		/**
+		 * Instantiates a new options.
+		 * 
+		 * @param argumentSet
+		 *            the argument set
+		 * @param name
+		 *            the name
+		 * @param description
+		 *            the description
+		 * @param defaultValue
+		 *            the default value
+		 * @param requirements
+		 *            the requirements
+		 * @param type
+		 *            the enum type
+		 * @param delimiter
+		 *            the delimiter
+		 */
+		public Options(@NotNull final ArgumentSet<?, ?> argumentSet, @NotNull @NotEmptyString final String name,
+		        @NotNull @NotEmptyString final String description, final EnumSet<X> defaultValue,
+		        @NotNull final Requirement requirements, @NotNull final Class<X> type, final String delimiter) {
+			super(argumentSet, name, description, defaultValue, requirements);
+			
+			try {
+				this.type = type;
+				this.lookup = new EnumLookup<X>(Arrays.asList(type.getEnumConstants()));
+				this.delimiter = delimiter;
+				this.splitter = new DelimiterSplitter(delimiter);
+			} finally {
+				Condition.notNull(this.type, "The enum type in %s must not be null.", getHandle());
+				Condition.notNull(this.delimiter, "The delimiter in %s must not be null.", getHandle());
+				StringCondition.notEmpty(this.delimiter, "The delimiter in %s must not be empty.", getHandle());
+			}
+		}
+		
+		/**
+		 * Adds an alias for one of the constants. Aliases are matched case-insensitively, like the names of the
+		 * constants.
+		 * 
+		 * @param alias
+		 *            the alias
+		 * @param value
+		 *            the value
+		 * @return these options
+		 * @throws IllegalArgumentException
+		 *             if the alias already stands for another constant
+		 */
+		public final Options<X> addAlias(@NotNull @NotEmptyString final String alias,
+		                                 @NotNull final X value) {
+			this.lookup.addAlias(alias, value, getHandle());
+			return this;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.ArgumentOptions#getAdditionalHelpString()
+		 */
+		@Override
+		public String getAdditionalHelpString() {
+			return "Valid values: " + Arrays.toString(this.type.getEnumConstants());
+		}
+		
+		/**
+		 * Gets the delimiter.
+		 * 
+		 * @return the delimiter
+		 */
+		public final String getDelimiter() {
+			return this.delimiter;
+		}
+		
+		/**
+		 * Gets the enum type.
+		 * 
+		 * @return the type
+		 */
+		public final Class<X> getType() {
+			return this.type;
+		}
+		
+		/**
+		 * Joins the given values with the delimiter.
+		 * 
+		 * @param values
+		 *            the values
+		 * @return the joined values
+		 */
+		final String join(@NotNull final EnumSet<X> values) {
+			final List<String> strings = new ArrayList<String>(values.size());
+			for (final X value : values) {
+				strings.add(value.name());
+			}
+			
+			return this.splitter.join(strings);
+		}
+		
+		/**
+		 * Looks up the constant with the given name, string representation or alias, ignoring case and surrounding
+		 * whitespace.
+		 * 
+		 * @param name
+		 *            the name
+		 * @return the constant, <code>null</code> if the name does not stand for one
+		 */
+		public final X lookup(@NotNull final String name) {
+			return this.lookup.get(name);
+		}
+		
+		/**
+		 * Parses the given elements through {@link #lookup(String)}.
+		 * 
+		 * @param elements
+		 *            the elements
+		 * @return the values
+		 * @throws IllegalArgumentException
+		 *             if an element does not stand for a constant
+		 */
+		final EnumSet<X> parse(@NotNull final Collection<String> elements) {
+			final EnumSet<X> values = EnumSet.noneOf(this.type);
+			
+			for (final String element : elements) {
+				final X value = lookup(element);
+				if (value == null) {
+					throw new IllegalArgumentException(String.format("'%s' does not stand for a constant of %s.",
+					                                                 element, this.type.getSimpleName()));
+				}
+				values.add(value);
+			}
+			
+			return values;
+		}
+		
+		/**
+		 * Splits the given value at the delimiter, see {@link DelimiterSplitter}.
+		 * 
+		 * @param value
+		 *            the value
+		 * @return the trimmed elements, as an immutable list
+		 */
+		public final List<String> split(@NotNull final String value) {
+			return this.splitter.split(value);
+		}
+	}
+	
+	/**
+	 * Instantiates a new enum set argument.
+	 * 
+	 * @param options
+	 *            the options
+	 * @throws ArgumentRegistrationException
+	 *             the argument registration exception
+	 */
+	protected EnumSetArgument(@NotNull final Options<T> options) throws ArgumentRegistrationException {
+		super(options);
+		
+		setStringValue(options.getDefaultValue() != null
+		                                                ? (!options.getDefaultValue().isEmpty())
+		                                                                                        ? options.join(options.getDefaultValue())
+		                                                                                        : "[]"
+		                                                : null);
+	}
+	
+	/**
+	 * Gets the parsed value. Unlike {@link #getValue()}, this does not count as an access and does not initialize a
+	 * deferred argument. The set must not be modified.
+	 * 
+	 * @return the parsed value, <code>null</code> if the argument has no parsed value (yet)
+	 */
+	public final EnumSet<T> getParsedValue() {
+		return getCachedValue();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.Argument#init()
+	 */
+	@Override
+	protected final boolean init() {
+		boolean ret = false;
+		
+		try {
+			if (!validStringValue()) {
+				if (required()) {
+					if (Logger.logError()) {
+						Logger.error("Argument required but doesn't have a valid string value (from options '%s').",
+						             getOptions());
+					}
+				} else {
+					if (Logger.logWarn()) {
+						Logger.warn("Optional argument is not set: %s", getTag());
+					}
+					setCachedValue(getDefaultValue());
+					ret = true;
+				}
+			} else {
+				if (getStringValue().equals("[]")) {
+					setCachedValue(EnumSet.noneOf(getOptions().getType()));
+					return true;
+				}
+				
+				try {
+					setCachedValue(getOptions().parse(getOptions().split(getStringValue())));
+					ret = true;
+				} catch (final IllegalArgumentException e) {
+					if (Logger.logError()) {
+						Logger.error("Value given for argument `%s` contains an invalid value: %s. %s", getName(),
+						             e.getMessage(), getOptions().getAdditionalHelpString());
+					}
+				}
+			}
+			
+			return ret;
+		} finally {
+			__initPostCondition(ret);
+		}
+	}
+}
@@ -0,0 +1,391 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+
+/**
+ * Generates an immutable, typed value class for an {@link ArgumentSetOptions} subclass. The generated class holds one
+ * final field per entry of {@link ArgumentSetOptions#requirements(ArgumentSet)} and a static <code>bind</code> method
+ * that reads all values of an initialized argument set in one pass. Code that uses the values repeatedly can keep the
+ * value object instead of going through <code>getSettings().getArgument(option).getValue()</code> every time.
+ * 
+ * Boolean, integral and floating point values with a default value are stored as primitives (falling back to the
+ * default if the argument is unset); everything else keeps its reference type.
+ * 
+ * The generated source is meant to be checked in next to the options class and regenerated when the options change:
+ * 
+ * <pre>
+ * java net.ownhero.dev.hiari.settings.FacadeGenerator &lt;options class&gt; &lt;output directory&gt; [&lt;class name&gt;]
+ * </pre>
+ * 
+ * The options class needs a public <code>(ArgumentSet, Requirement)</code> constructor.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public final class FacadeGenerator {
+	
+	/** The charset of the generated sources. */
+	private static final Charset               UTF8       = Charset.forName("UTF-8");
+	
+	/** The primitive counterparts of the boxed types. */
+	private static final Map<Class<?>, String> PRIMITIVES = new HashMap<Class<?>, String>();
+	
+	static {
+		PRIMITIVES.put(Boolean.class, "boolean");
+		PRIMITIVES.put(Double.class, "double");
+		PRIMITIVES.put(Float.class, "float");
+		PRIMITIVES.put(Integer.class, "int");
+		PRIMITIVES.put(Long.class, "long");
+	}
+	
+	/**
+	 * Capitalizes the given identifier.
+	 * 
+	 * @param identifier
+	 *            the identifier
+	 * @return the string
+	 */
+	private static String capitalize(final String identifier) {
+		return Character.toUpperCase(identifier.charAt(0)) + identifier.substring(1);
+	}
+	
+	/**
+	 * Gets the default name of the generated class, e.g. <code>MailValues</code> for <code>MailOptions</code>.
+	 * 
+	 * @param optionsClass
+	 *            the options class
+	 * @return the class name
+	 */
+	static String defaultClassName(final Class<?> optionsClass) {
+		final String simpleName = optionsClass.getSimpleName();
+		final String suffix = "Options";
+		
+		if (simpleName.endsWith(suffix) && (simpleName.length() > suffix.length())) {
+			return simpleName.substring(0, simpleName.length() - suffix.length()) + "Values";
+		}
+		
+		return simpleName + "Values";
+	}
+	
+	/**
+	 * Generates the source of the value class for the given options class.
+	 * 
+	 * @param optionsClass
+	 *            the options class
+	 * @param className
+	 *            the simple name of the generated class
+	 * @return the source
+	 * @throws SettingsParseError
+	 *             if the options can't be instantiated
+	 */
+	@SuppressWarnings ("rawtypes")
+	public static String generate(@NotNull final Class<? extends ArgumentSetOptions> optionsClass,
+	                              @NotNull final String className) throws SettingsParseError {
+		// the options only need a parent to be declared against, not settings to be registered with
+		final ArgumentSet<?, ?> schema = Settings.detachedRoot();
+		
+		try {
+			final Constructor<? extends ArgumentSetOptions> constructor = optionsClass.getConstructor(ArgumentSet.class,
+			                                                                                          Requirement.class);
+			final ArgumentSetOptions<?, ?> options = constructor.newInstance(schema, Requirement.optional);
+			final SortedMap<String, IOptions<?, ?>> children = new TreeMap<String, IOptions<?, ?>>();
+			children.putAll(options.requirements(schema));
+			
+			return render(optionsClass, className, children);
+		} catch (final ReflectiveOperationException | ArgumentRegistrationException e) {
+			throw new SettingsParseError(String.format("Could not instantiate '%s': %s", optionsClass.getName(),
+			                                           e.getMessage()), schema, e);
+		}
+	}
+	
+	/**
+	 * Turns the name of an option into a java identifier.
+	 * 
+	 * @param name
+	 *            the name
+	 * @return the identifier
+	 */
+	private static String identifier(final String name) {
+		final StringBuilder builder = new StringBuilder(name.length());
+		boolean upper = false;
+		
+		for (int i = 0; i < name.length(); ++i) {
+			final char c = name.charAt(i);
+			if (Character.isJavaIdentifierPart(c)) {
+				builder.append(upper
+				                    ? Character.toUpperCase(c)
+				                    : c);
+				upper = false;
+			} else {
+				upper = builder.length() > 0;
+			}
+		}
+		
+		if ((builder.length() == 0) || !Character.isJavaIdentifierStart(builder.charAt(0))) {
+			builder.insert(0, '_');
+		}
+		
+		return builder.toString();
+	}
+	
+	/**
+	 * Renders a default value as java literal.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return the literal
+	 */
+	private static String literal(final Object value) {
+		if (value instanceof Long) {
+			return value + "l";
+		} else if (value instanceof Float) {
+			return value + "f";
+		} else if (value instanceof Double) {
+			return value + "d";
+		}
+		return String.valueOf(value);
+	}
+	
+	/**
+	 * The main method.
+	 * 
+	 * @param args
+	 *            the options class, the output directory and optionally the name of the generated class
+	 * @throws Exception
+	 *             the exception
+	 */
+	@SuppressWarnings ("rawtypes")
+	public static void main(final String[] args) throws Exception {
+		if ((args.length < 2) || (args.length > 3)) {
+			System.err.println("Usage: " + FacadeGenerator.class.getName()
+			        + " <options class> <output directory> [<class name>]");
+			System.exit(1);
+		}
+		
+		final Class<? extends ArgumentSetOptions> optionsClass = Class.forName(args[0])
+		                                                              .asSubclass(ArgumentSetOptions.class);
+		final String className = args.length > 2
+		                                        ? args[2]
+		                                        : defaultClassName(optionsClass);
+		final File directory = new File(args[1], optionsClass.getPackage().getName().replace('.', File.separatorChar));
+		
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Could not create output directory: " + directory);
+		}
+		
+		AtomicFiles.replace(new File(directory, className + ".java"), generate(optionsClass, className).getBytes(UTF8));
+	}
+	
+	/**
+	 * Renders the value class.
+	 * 
+	 * @param optionsClass
+	 *            the options class
+	 * @param className
+	 *            the class name
+	 * @param children
+	 *            the children by name
+	 * @return the source
+	 */
+	private static String render(final Class<?> optionsClass,
+	                             final String className,
+	                             final SortedMap<String, IOptions<?, ?>> children) {
+		final String nl = System.getProperty("line.separator");
+		final StringBuilder fields = new StringBuilder();
+		final StringBuilder assignments = new StringBuilder();
+		final StringBuilder getters = new StringBuilder();
+		
+		for (final Map.Entry<String, IOptions<?, ?>> entry : children.entrySet()) {
+			final IOptions<?, ?> option = entry.getValue();
+			final String field = identifier(entry.getKey());
+			final Object defaultValue = option instanceof IArgumentOptions
+			                                                              ? ((IArgumentOptions<?, ?>) option).getDefaultValue()
+			                                                              : null;
+			Type valueType = valueType(option.getClass());
+			if ((valueType == Object.class) && (defaultValue instanceof Enum)) {
+				// generic options, e.g. enums: the default tells the actual type
+				valueType = ((Enum<?>) defaultValue).getDeclaringClass();
+			}
+			
+			String type = typeName(valueType);
+			String assignment = String.format("(%s) value(set, \"%s\")", type, entry.getKey());
+			
+			if (PRIMITIVES.containsKey(valueType) && (defaultValue != null)) {
+				assignment = String.format("valueOr((%s) value(set, \"%s\"), %s)", type, entry.getKey(),
+				                           literal(defaultValue));
+				type = PRIMITIVES.get(valueType);
+			}
+			
+			fields.append(String.format("\t/** The value of <code>%s</code>. */%s\tprivate final %s %s;%s\t%s",
+			                            option.getTag(), nl, type, field, nl, nl));
+			assignments.append(String.format("\t\tthis.%s = %s;%s", field, assignment, nl));
+			getters.append(String.format("\t/**%s\t * Gets the value of <code>%s</code>.%s\t * %s\t * @return the %s%s\t */%s"
+			                                     + "\tpublic %s %s%s() {%s\t\treturn this.%s;%s\t}%s\t%s",
+			                             nl, option.getTag(), nl, nl, field, nl, nl, type, "boolean".equals(type)
+			                                                                                                     ? "is"
+			                                                                                                     : "get",
+			                             capitalize(field), nl, field, nl, nl, nl));
+		}
+		
+		final StringBuilder builder = new StringBuilder();
+		builder.append("package ").append(optionsClass.getPackage().getName()).append(';').append(nl).append(nl);
+		builder.append("import net.ownhero.dev.hiari.settings.ArgumentSet;").append(nl);
+		builder.append("import net.ownhero.dev.hiari.settings.IArgument;").append(nl);
+		builder.append("import net.ownhero.dev.hiari.settings.ISettings;").append(nl).append(nl);
+		builder.append("/**").append(nl);
+		builder.append(" * The values of {@link ").append(optionsClass.getCanonicalName()).append("}.").append(nl);
+		builder.append(" * ").append(nl);
+		builder.append(" * Generated by {@link net.ownhero.dev.hiari.settings.FacadeGenerator}. Do not edit.").append(nl);
+		builder.append(" */").append(nl);
+		builder.append("public final class ").append(className).append(" {").append(nl).append('\t').append(nl);
+		
+		// binders
+		builder.append(String.format("\t/**%s\t * Reads the values of the given argument set.%s\t * %s"
+		                                     + "\t * @param set%s\t *            the initialized argument set%s"
+		                                     + "\t * @return the values%s\t */%s"
+		                                     + "\tpublic static %s bind(final ArgumentSet<?, ?> set) {%s"
+		                                     + "\t\treturn new %s(set);%s\t}%s\t%s", nl, nl, nl, nl, nl, nl, nl,
+		                             className, nl, className, nl, nl, nl));
+		builder.append(String.format("\t/**%s\t * Reads the values of the argument set of the given options.%s\t * %s"
+		                                     + "\t * @param settings%s\t *            the settings%s"
+		                                     + "\t * @param options%s\t *            the options%s"
+		                                     + "\t * @return the values%s\t */%s"
+		                                     + "\tpublic static %s bind(final ISettings settings,%s"
+		                                     + "\t                          final %s options) {%s"
+		                                     + "\t\treturn new %s(settings.getArgumentSet(options));%s\t}%s\t%s", nl,
+		                             nl, nl, nl, nl, nl, nl, nl, nl, className, nl, optionsClass.getCanonicalName(), nl,
+		                             className, nl, nl, nl));
+		
+		// lookup helpers
+		builder.append(String.format("\t/**%s\t * Gets the value of a child.%s\t * %s"
+		                                     + "\t * @param set%s\t *            the set%s"
+		                                     + "\t * @param name%s\t *            the name of the child%s"
+		                                     + "\t * @return the value%s\t */%s"
+		                                     + "\tprivate static Object value(final ArgumentSet<?, ?> set,%s"
+		                                     + "\t                            final String name) {%s"
+		                                     + "\t\tfinal IArgument<?, ?> child = set.getChild(name);%s"
+		                                     + "\t\tif (child == null) {%s"
+		                                     + "\t\t\tthrow new IllegalArgumentException(String.format(\"Argument set '%%s' has no child '%%s'.\", set.getTag(), name));%s"
+		                                     + "\t\t}%s\t\treturn child.getValue();%s\t}%s\t%s", nl, nl, nl, nl, nl,
+		                             nl, nl, nl, nl, nl, nl, nl, nl, nl, nl, nl, nl, nl));
+		builder.append(String.format("\t/**%s\t * Falls back to the default for unset values.%s\t * %s"
+		                                     + "\t * @param <T>%s\t *            the generic type%s"
+		                                     + "\t * @param value%s\t *            the value%s"
+		                                     + "\t * @param defaultValue%s\t *            the default value%s"
+		                                     + "\t * @return the value or the default%s\t */%s"
+		                                     + "\tprivate static <T> T valueOr(final T value,%s"
+		                                     + "\t                             final T defaultValue) {%s"
+		                                     + "\t\treturn value != null%s\t\t                     ? value%s"
+		                                     + "\t\t                     : defaultValue;%s\t}%s\t%s", nl, nl, nl, nl,
+		                             nl, nl, nl, nl, nl, nl, nl, nl, nl, nl, nl, nl, nl, nl));
+		
+		builder.append(fields);
+		
+		builder.append(String.format("\t/**%s\t * Instantiates new values.%s\t * %s\t * @param set%s"
+		                                     + "\t *            the set%s\t */%s"
+		                                     + "\t@SuppressWarnings (\"unchecked\")%s"
+		                                     + "\tprivate %s(final ArgumentSet<?, ?> set) {%s", nl, nl, nl, nl, nl, nl,
+		                             nl, className, nl));
+		builder.append(assignments);
+		builder.append('\t').append('}').append(nl).append('\t').append(nl);
+		
+		builder.append(getters);
+		builder.append('}').append(nl);
+		return builder.toString();
+	}
+	
+	/**
+	 * Renders a type as it would appear in source.
+	 * 
+	 * @param type
+	 *            the type
+	 * @return the source representation
+	 */
+	private static String typeName(final Type type) {
+		if (type instanceof Class) {
+			final Class<?> clazz = (Class<?>) type;
+			return clazz.isArray()
+			                      ? typeName(clazz.getComponentType()) + "[]"
+			                      : clazz.getCanonicalName();
+		} else if (type instanceof ParameterizedType) {
+			final ParameterizedType parameterized = (ParameterizedType) type;
+			final StringBuilder builder = new StringBuilder(typeName(parameterized.getRawType())).append('<');
+			final Type[] arguments = parameterized.getActualTypeArguments();
+			for (int i = 0; i < arguments.length; ++i) {
+				if (i > 0) {
+					builder.append(", ");
+				}
+				builder.append(typeName(arguments[i]));
+			}
+			return builder.append('>').toString();
+		} else if (type instanceof GenericArrayType) {
+			return typeName(((GenericArrayType) type).getGenericComponentType()) + "[]";
+		}
+		
+		// type variables and wildcards can't be resolved from the options class alone
+		return Object.class.getName();
+	}
+	
+	/**
+	 * Resolves the value type, i.e. the first type argument of {@link ArgumentOptions} or {@link ArgumentSetOptions}, of
+	 * the given options class.
+	 * 
+	 * @param optionsClass
+	 *            the options class
+	 * @return the value type
+	 */
+	static Type valueType(final Class<?> optionsClass) {
+		Class<?> current = optionsClass;
+		
+		while ((current != null) && (current != Object.class)) {
+			final Type superType = current.getGenericSuperclass();
+			if (superType instanceof ParameterizedType) {
+				final ParameterizedType parameterized = (ParameterizedType) superType;
+				if ((parameterized.getRawType() == ArgumentOptions.class)
+				        || (parameterized.getRawType() == ArgumentSetOptions.class)) {
+					final Type type = parameterized.getActualTypeArguments()[0];
+					return type instanceof TypeVariable
+					                                   ? Object.class
+					                                   : type;
+				}
+			}
+			current = current.getSuperclass();
+		}
+		
+		return Object.class;
+	}
+	
+	/**
+	 * Instantiates a new facade generator.
+	 */
+	private FacadeGenerator() {
+		// utility class
+	}
+}
@@ -12,14 +12,22 @@
  **********************************************************************************************************************/
 package net.ownhero.dev.hiari.settings;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+
 import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
 import net.ownhero.dev.hiari.settings.requirements.Requirement;
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+import net.ownhero.dev.kanuni.annotations.string.NotEmptyString;
+import net.ownhero.dev.kanuni.conditions.Condition;
 import net.ownhero.dev.kisa.Logger;
 
 import org.apache.commons.validator.routines.UrlValidator;
 
 /**
- * The Class HostArgument.
+ * The Class HostArgument. The addresses of the host are available through {@link #getAddresses()}, see
+ * {@link HostCache}.
  * 
  * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
  */
@@ -30,8 +38,18 @@ public class HostArgument extends Argument<String, HostArgument.Options> {
 	 */
 	public static final class Options extends ArgumentOptions<String, HostArgument> {
 		
+		/** The default time to live of resolved addresses, in milliseconds. */
+		public static final long DEFAULT_TTL = TimeUnit.SECONDS.toMillis(60);
+		
+		/** Whether the host is resolved in the background as soon as the argument is initialized. */
+		private final boolean    resolving;
+		
+		/** The cache of the resolved addresses. */
+		private final HostCache  cache;
+		
 		/**
-		 * Instantiates a new options.
+		 * Instantiates a new options. The host is resolved with the system resolver on the first
+		 * {@link HostArgument#getAddresses()}.
 		 * 
 		 * @param argumentSet
 		 *            the argument set
@@ -46,11 +64,143 @@ public class HostArgument extends Argument<String, HostArgument.Options> {
 		 */
 		public Options(final ArgumentSet<?, ?> argumentSet, final String name, final String description,
 		        final String defaultValue, final Requirement requirements) {
+			this(argumentSet, name, description, defaultValue, requirements, HostResolver.SYSTEM);
+		}
+		
+		/**
+		 * Instantiates new options for a host that is resolved with the given resolver on the first
+		 * {@link HostArgument#getAddresses()}.
+		 * 
+		 * @param argumentSet
+		 *            the argument set
+		 * @param name
+		 *            the name
+		 * @param description
+		 *            the description
+		 * @param defaultValue
+		 *            the default value
+		 * @param requirements
+		 *            the requirements
+		 * @param resolver
+		 *            the resolver
+		 */
+		public Options(@NotNull final ArgumentSet<?, ?> argumentSet, @NotNull @NotEmptyString final String name,
+		        @NotNull @NotEmptyString final String description, final String defaultValue,
+		        @NotNull final Requirement requirements, @NotNull final HostResolver resolver) {
+			this(argumentSet, name, description, defaultValue, requirements, false, DEFAULT_TTL, resolver);
+		}
+		
+		/**
+		 * Instantiates new options for a host that is resolved in the background as soon as the argument is
+		 * initialized, so the lookups of all hosts run concurrently during bootstrap.
+		 * 
+		 * @param argumentSet
+		 *            the argument set
+		 * @param name
+		 *            the name
+		 * @param description
+		 *            the description
+		 * @param defaultValue
+		 *            the default value
+		 * @param requirements
+		 *            the requirements
+		 * @param ttl
+		 *            the time to live of resolved addresses, in milliseconds
+		 * @param resolver
+		 *            the resolver
+		 */
+		public Options(@NotNull final ArgumentSet<?, ?> argumentSet, @NotNull @NotEmptyString final String name,
+		        @NotNull @NotEmptyString final String description, final String defaultValue,
+		        @NotNull final Requirement requirements, final long ttl, @NotNull final HostResolver resolver) {
+			this(argumentSet, name, description, defaultValue, requirements, true, ttl, resolver);
+		}
+		
+		/**
+		 * Instantiates a new options.
+		 * 
+		 * @param argumentSet
+		 *            the argument set
+		 * @param name
+		 *            the name
+		 * @param description
+		 *            the description
+		 * @param defaultValue
+		 *            the default value
+		 * @param requirements
+		 *            the requirements
+		 * @param resolving
+		 *            whether the host is resolved as soon as the argument is initialized
+		 * @param ttl
+		 *            the time to live of resolved addresses, in milliseconds
+		 * @param resolver
+		 *            the resolver
+		 */
+		private Options(final ArgumentSet<?, ?> argumentSet, final String name, final String description,
+		        final String defaultValue, final Requirement requirements, final boolean resolving, final long ttl,
+		        final HostResolver resolver) {
 			super(argumentSet, name, description, defaultValue, requirements);
+			
+			try {
+				this.resolving = resolving;
+				this.cache = new HostCache(resolver, TimeUnit.MILLISECONDS.toNanos(ttl));
+			} finally {
+				Condition.notNull(this.cache, "The host cache in %s must not be null.", getHandle());
+			}
+		}
+		
+		/**
+		 * Gets the cache of the resolved addresses.
+		 * 
+		 * @return the cache
+		 */
+		HostCache getCache() {
+			return this.cache;
+		}
+		
+		/**
+		 * Gets the resolver.
+		 * 
+		 * @return the resolver
+		 */
+		public HostResolver getResolver() {
+			return this.cache.getResolver();
+		}
+		
+		/**
+		 * Checks whether the host is resolved in the background as soon as the argument is initialized.
+		 * 
+		 * @return true, if so
+		 */
+		public boolean isResolving() {
+			return this.resolving;
 		}
 		
 	}
 	
+	/**
+	 * Extracts the host from the given value, which may carry user info, a port or a path (e.g.
+	 * <code>db.example.com:5432</code> or <code>db.example.com/path</code>), see {@link URIScanner}. Values with a
+	 * scheme or a leading <code>//</code> (e.g. <code>http://db.example.com</code>) are URIs rather than hosts and have
+	 * none.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return the host, <code>null</code> if the value has none
+	 */
+	static String getHost(@NotNull final String value) {
+		final int slash = value.indexOf('/');
+		
+		if ((slash >= 0) && value.startsWith("//", slash)) {
+			return null;
+		}
+		
+		final String host = URIScanner.scan("//" + value).getHost();
+		
+		return (host != null) && !host.isEmpty()
+		                                        ? host
+		                                        : null;
+	}
+	
 	/**
 	 * Instantiates a new host argument.
 	 * 
@@ -63,6 +213,43 @@ public class HostArgument extends Argument<String, HostArgument.Options> {
 		super(options);
 	}
 	
+	/**
+	 * Gets the addresses of the host. They are cached for the time to live given in the options; reading them shortly
+	 * before that expires triggers a lookup in the background, so only the first read (or one after a long pause)
+	 * waits for DNS. Only the host is resolved, without the port or path the value may carry.
+	 * 
+	 * @return a copy of the addresses, <code>null</code> if the argument is not set
+	 * @throws UnknownHostException
+	 *             if the host can not be resolved
+	 */
+	public final InetAddress[] getAddresses() throws UnknownHostException {
+		final String value = getValue();
+		
+		return value != null
+		                    ? getOptions().getCache().get(getHost(value))
+		                    : null;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.Argument#checkSyntax()
+	 */
+	@Override
+	protected boolean checkSyntax() {
+		if (!validStringValue()) {
+			return super.checkSyntax();
+		}
+		
+		if (!isValidHost()) {
+			if (Logger.logError()) {
+				Logger.error("Hostname is not valid: %s", getStringValue());
+			}
+			return false;
+		}
+		
+		return true;
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see net.ownhero.dev.hiari.settings.Argument#init()
@@ -87,13 +274,15 @@ public class HostArgument extends Argument<String, HostArgument.Options> {
 				}
 			} else {
 				try {
-					final String host = "http://" + getStringValue();
-					final UrlValidator validator = new UrlValidator();
-					final boolean valid = validator.isValid(host) || getStringValue().toLowerCase().equals("localhost");
+					final boolean valid = isValidHost();
 					
 					if (valid) {
 						setCachedValue(getStringValue());
 						ret = true;
+						
+						if (getOptions().isResolving()) {
+							getOptions().getCache().prefetch(getHost(getStringValue()));
+						}
 					} else {
 						if (Logger.logError()) {
 							Logger.error("Hostname is not valid: %s", getStringValue());
@@ -114,4 +303,30 @@ public class HostArgument extends Argument<String, HostArgument.Options> {
 		}
 	}
 	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.Argument#isDeferrable()
+	 */
+	@Override
+	protected final boolean isDeferrable() {
+		// init() starts resolving the host
+		return getOptions().isResolving();
+	}
+	
+	/**
+	 * Checks if the string value holds a valid host name or address, see {@link #getHost(String)}.
+	 * 
+	 * @return true, if valid
+	 */
+	private boolean isValidHost() {
+		final String host = getHost(getStringValue());
+		
+		if (host == null) {
+			return false;
+		}
+		
+		final UrlValidator validator = new UrlValidator();
+		return validator.isValid("http://" + host) || host.toLowerCase().equals("localhost");
+	}
+	
 }
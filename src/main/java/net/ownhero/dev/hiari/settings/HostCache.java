@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+import net.ownhero.dev.andama.exceptions.UnrecoverableError;
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+import net.ownhero.dev.kisa.Logger;
+
+/**
+ * Caches the addresses of hosts for a bounded time. Lookups run on daemon threads, so they can be started ahead of
+ * time (see {@link #prefetch(String)}) and concurrent requests for the same host share one lookup. An entry that is
+ * read after its refresh point but before it expires is returned as is while a fresh lookup runs in the background;
+ * only expired entries make {@link #get(String)} wait. Failed lookups are not cached.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+final class HostCache {
+	
+	/**
+	 * The Class DaemonThreadFactory.
+	 */
+	private static final class DaemonThreadFactory implements ThreadFactory {
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+		 */
+		@Override
+		public Thread newThread(final Runnable r) {
+			final Thread thread = new Thread(r, "hiari-resolver");
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+	
+	/**
+	 * The addresses of a host and when they were resolved.
+	 */
+	private static final class Entry {
+		
+		/** The addresses. */
+		private final InetAddress[] addresses;
+		
+		/** The time of the lookup, see {@link System#nanoTime()}. */
+		private final long          loaded;
+		
+		/**
+		 * Instantiates a new entry.
+		 * 
+		 * @param addresses
+		 *            the addresses
+		 * @param loaded
+		 *            the time of the lookup
+		 */
+		Entry(final InetAddress[] addresses, final long loaded) {
+			this.addresses = addresses;
+			this.loaded = loaded;
+		}
+	}
+	
+	/** The threads running the lookups. */
+	private static final Executor                                  EXECUTOR = Executors.newCachedThreadPool(new DaemonThreadFactory());
+	
+	/** The resolver. */
+	private final HostResolver                                     resolver;
+	
+	/** The age after which entries expire, in nanoseconds. */
+	private final long                                             ttl;
+	
+	/** The age after which entries are refreshed in the background, in nanoseconds. */
+	private final long                                             refresh;
+	
+	/** The entries, by host. */
+	private final ConcurrentMap<String, Entry>                     entries  = new ConcurrentHashMap<String, Entry>();
+	
+	/** The lookups in progress, by host. */
+	private final ConcurrentMap<String, FutureTask<InetAddress[]>> pending  = new ConcurrentHashMap<String, FutureTask<InetAddress[]>>();
+	
+	/**
+	 * Instantiates a new host cache that refreshes entries after three quarters of their time to live.
+	 * 
+	 * @param resolver
+	 *            the resolver
+	 * @param ttl
+	 *            the time to live, in nanoseconds
+	 */
+	HostCache(@NotNull final HostResolver resolver, final long ttl) {
+		this(resolver, ttl, ttl - (ttl / 4));
+	}
+	
+	/**
+	 * Instantiates a new host cache.
+	 * 
+	 * @param resolver
+	 *            the resolver
+	 * @param ttl
+	 *            the time to live, in nanoseconds
+	 * @param refresh
+	 *            the age after which entries are refreshed ahead of time, in nanoseconds
+	 */
+	HostCache(@NotNull final HostResolver resolver, final long ttl, final long refresh) {
+		this.resolver = resolver;
+		this.ttl = ttl;
+		this.refresh = refresh;
+	}
+	
+	/**
+	 * Gets the addresses of the given host, waiting for a lookup only if there is no live entry.
+	 * 
+	 * @param host
+	 *            the host
+	 * @return a copy of the addresses
+	 * @throws UnknownHostException
+	 *             if the host can not be resolved
+	 */
+	InetAddress[] get(@NotNull final String host) throws UnknownHostException {
+		final Entry entry = this.entries.get(host);
+		
+		if (entry != null) {
+			final long age = System.nanoTime() - entry.loaded;
+			
+			if (age < this.ttl) {
+				if (age >= this.refresh) {
+					prefetch(host);
+				}
+				return entry.addresses.clone();
+			}
+		}
+		
+		try {
+			return prefetch(host).get().clone();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new UnknownHostException("Interrupted while resolving " + host);
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof UnknownHostException) {
+				throw (UnknownHostException) e.getCause();
+			}
+			throw new UnrecoverableError(e.getCause());
+		}
+	}
+	
+	/**
+	 * Gets the resolver.
+	 * 
+	 * @return the resolver
+	 */
+	HostResolver getResolver() {
+		return this.resolver;
+	}
+	
+	/**
+	 * Starts a lookup of the given host in the background, unless one is running already.
+	 * 
+	 * @param host
+	 *            the host
+	 * @return the lookup
+	 */
+	Future<InetAddress[]> prefetch(@NotNull final String host) {
+		FutureTask<InetAddress[]> task = this.pending.get(host);
+		
+		if (task == null) {
+			final FutureTask<InetAddress[]> lookup = new FutureTask<InetAddress[]>(new Callable<InetAddress[]>() {
+				
+				@Override
+				public InetAddress[] call() throws UnknownHostException {
+					try {
+						final InetAddress[] addresses = HostCache.this.resolver.resolve(host);
+						if ((addresses == null) || (addresses.length == 0)) {
+							throw new UnknownHostException("No addresses for " + host);
+						}
+						HostCache.this.entries.put(host, new Entry(addresses, System.nanoTime()));
+						return addresses;
+					} catch (final UnknownHostException e) {
+						if (Logger.logWarn()) {
+							Logger.warn("Could not resolve host %s: %s", host, e.getMessage());
+						}
+						throw e;
+					} finally {
+						HostCache.this.pending.remove(host);
+					}
+				}
+			});
+			
+			task = this.pending.putIfAbsent(host, lookup);
+			if (task == null) {
+				task = lookup;
+				EXECUTOR.execute(lookup);
+			}
+		}
+		
+		return task;
+	}
+}
@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Resolves host names for {@link HostArgument#getAddresses()}. Implementations must be thread-safe; tests can plug in
+ * a local stand-in instead of the {@link #SYSTEM} resolver.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public interface HostResolver {
+	
+	/** Resolves through {@link InetAddress#getAllByName(String)}. */
+	HostResolver SYSTEM = new HostResolver() {
+		                    
+		                    @Override
+		                    public InetAddress[] resolve(final String host) throws UnknownHostException {
+			                    return InetAddress.getAllByName(host);
+		                    }
+	                    };
+	
+	/**
+	 * Resolves the given host.
+	 * 
+	 * @param host
+	 *            the host name or address literal
+	 * @return the addresses, never empty
+	 * @throws UnknownHostException
+	 *             if the host can not be resolved
+	 */
+	InetAddress[] resolve(String host) throws UnknownHostException;
+}
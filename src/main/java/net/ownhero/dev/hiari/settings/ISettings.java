@@ -153,7 +153,8 @@ public interface ISettings {
 	BooleanArgument getNoDefaultValueArg();
 	
 	/**
-	 * Gets the property.
+	 * Gets the property. If the property is not set, the most specific wildcard key matching the name (e.g.
+	 * <code>database.*.timeout</code> or <code>workers.**.batchSize</code>) provides the value.
 	 * 
 	 * @param name
 	 *            the name
@@ -161,6 +162,18 @@ public interface ISettings {
 	 */
 	String getProperty(String name);
 	
+	/**
+	 * Gets the source the value of the given property was taken from. This is either the URI of the config source that
+	 * provided the value (if multiple sources define the key, the last one declared wins), <code>commandline</code> or,
+	 * for settings derived with {@link Settings#withOverrides(java.util.Map)}, <code>override</code>. Values taken from a
+	 * wildcard key report the source of that key.
+	 * 
+	 * @param name
+	 *            the name
+	 * @return the property source or <code>null</code> if the property is not set
+	 */
+	String getPropertySource(String name);
+	
 	/**
 	 * Gets the raw argument set.
 	 * 
@@ -91,8 +91,12 @@ public class InputFileArgument extends Argument<File, InputFileArgument.Options>
 			} else {
 				
 				final File file = new File(getStringValue().trim());
+				final ValidationCache cache = getValidationCache();
 				
-				if (file.isDirectory()) {
+				if (cache.isValid(getTag(), getStringValue(), file)) {
+					setCachedValue(file);
+					ret = true;
+				} else if (file.isDirectory()) {
 					if (Logger.logError()) {
 						Logger.error("The file `" + getStringValue() + "` specified for argument `" + getName()
 						        + "` is a directory. Expected file. Abort.");
@@ -127,6 +131,7 @@ public class InputFileArgument extends Argument<File, InputFileArgument.Options>
 					}
 				} else {
 					setCachedValue(file);
+					cache.validated(getTag(), getStringValue(), file);
 					ret = true;
 				}
 			}
@@ -136,4 +141,14 @@ public class InputFileArgument extends Argument<File, InputFileArgument.Options>
 			__initPostCondition(ret);
 		}
 	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.Argument#isDeferrable()
+	 */
+	@Override
+	protected final boolean isDeferrable() {
+		// init() checks the file
+		return true;
+	}
 }
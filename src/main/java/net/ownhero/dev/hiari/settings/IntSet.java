@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.util.Arrays;
+
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+
+/**
+ * An immutable set of <code>int</code>s, the value of {@link IntSetArgument}. The values are stored unboxed in an open
+ * addressing hash table with linear probing that is at most half full, so {@link #contains(int)} touches one or two
+ * slots on average.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public final class IntSet {
+	
+	/** The empty set. */
+	private static final IntSet EMPTY = new IntSet(new int[0]);
+	
+	/**
+	 * Spreads the bits of the given value.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return the hash
+	 */
+	private static int hash(final int value) {
+		final int h = value * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+	
+	/**
+	 * Creates a set of the given values. Duplicates are ignored.
+	 * 
+	 * @param values
+	 *            the values
+	 * @return the set
+	 */
+	public static IntSet of(@NotNull final int... values) {
+		return values.length == 0
+		                         ? EMPTY
+		                         : new IntSet(values);
+	}
+	
+	/** The slots, 0 marks an empty slot. */
+	private final int[]   table;
+	
+	/** Whether 0 is contained, which can not be stored in {@link #table}. */
+	private final boolean zero;
+	
+	/** The number of values. */
+	private final int     size;
+	
+	/**
+	 * Instantiates a new int set.
+	 * 
+	 * @param values
+	 *            the values
+	 */
+	private IntSet(final int[] values) {
+		int capacity = 2;
+		while (capacity < values.length * 2) {
+			capacity <<= 1;
+		}
+		
+		this.table = new int[capacity];
+		final int mask = capacity - 1;
+		boolean zero = false;
+		int size = 0;
+		
+		for (final int value : values) {
+			if (value == 0) {
+				if (!zero) {
+					zero = true;
+					++size;
+				}
+				continue;
+			}
+			
+			int slot = hash(value) & mask;
+			while ((this.table[slot] != 0) && (this.table[slot] != value)) {
+				slot = (slot + 1) & mask;
+			}
+			
+			if (this.table[slot] == 0) {
+				this.table[slot] = value;
+				++size;
+			}
+		}
+		
+		this.zero = zero;
+		this.size = size;
+	}
+	
+	/**
+	 * Checks if the given value is contained.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return true, if contained
+	 */
+	public boolean contains(final int value) {
+		if (value == 0) {
+			return this.zero;
+		}
+		
+		final int mask = this.table.length - 1;
+		for (int slot = hash(value) & mask; this.table[slot] != 0; slot = (slot + 1) & mask) {
+			if (this.table[slot] == value) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof IntSet)) {
+			return false;
+		}
+		
+		return Arrays.equals(toArray(), ((IntSet) obj).toArray());
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(toArray());
+	}
+	
+	/**
+	 * Checks if the set is empty.
+	 * 
+	 * @return true, if empty
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+	
+	/**
+	 * Gets the number of values.
+	 * 
+	 * @return the size
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * Copies the values into a new array.
+	 * 
+	 * @return the values, sorted ascending
+	 */
+	public int[] toArray() {
+		final int[] values = new int[this.size];
+		int i = 0;
+		
+		if (this.zero) {
+			values[i++] = 0;
+		}
+		for (final int value : this.table) {
+			if (value != 0) {
+				values[i++] = value;
+			}
+		}
+		
+		Arrays.sort(values);
+		return values;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+}
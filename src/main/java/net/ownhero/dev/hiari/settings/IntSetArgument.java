@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+import net.ownhero.dev.kanuni.annotations.string.NotEmptyString;
+import net.ownhero.dev.kanuni.conditions.Condition;
+import net.ownhero.dev.kanuni.conditions.StringCondition;
+import net.ownhero.dev.kisa.Logger;
+
+/**
+ * A set of <code>int</code>s, kept unboxed in an {@link IntSet}.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public class IntSetArgument extends Argument<IntSet, IntSetArgument.Options> {
+	
+	/**
+	 * The Class Options.
+	 */
+	public static class Options extends ArgumentOptions<IntSet, IntSetArgument> {
+		
+		/** The delimiter. */
+		private String            delimiter;
+		
+		/** The splitter compiled from the delimiter. */
+		private DelimiterSplitter splitter;
+		
+		/**
+		 * Instantiates a new options.
+		 * 
+		 * @param argumentSet
+		 *            the argument set
+		 * @param name
+		 *            the name
+		 * @param description
+		 *            the description
+		 * @param defaultValue
+		 *            the default value
+		 * @param requirements
+		 *            the requirements
+		 */
+		public Options(@NotNull final ArgumentSet<?, ?> argumentSet, @NotNull @NotEmptyString final String name,
+		        @NotNull @NotEmptyString final String description, final IntSet defaultValue,
+		        @NotNull final Requirement requirements) {
+			this(argumentSet, name, description, defaultValue, requirements, ",");
+		}
+		
+		/**
+		 * Instantiates a new options.
+		 * 
+		 * @param argumentSet
+		 *            the argument set
+		 * @param name
+		 *            the name
+		 * @param description
+		 *            the description
+		 * @param defaultValue
+		 *            the default value
+		 * @param requirements
+		 *            the requirements
+		 * @param delimiter
+		 *            the delimiter
+		 */
+		public Options(@NotNull final ArgumentSet<?, ?> argumentSet, @NotNull @NotEmptyString final String name,
+		        @NotNull @NotEmptyString final String description, final IntSet defaultValue,
+		        @NotNull final Requirement requirements, final String delimiter) {
+			super(argumentSet, name, description, defaultValue, requirements);
+			
+			try {
+				this.delimiter = delimiter;
+				this.splitter = new DelimiterSplitter(delimiter);
+			} finally {
+				Condition.notNull(this.delimiter, "The delimiter in %s must not be null.", getHandle());
+				StringCondition.notEmpty(this.delimiter, "The delimiter in %s must not be empty.", getHandle());
+			}
+		}
+		
+		/**
+		 * Gets the delimiter.
+		 * 
+		 * @return the delimiter
+		 */
+		public final String getDelimiter() {
+			return this.delimiter;
+		}
+		
+		/**
+		 * Joins the given values with the delimiter.
+		 * 
+		 * @param values
+		 *            the values
+		 * @return the joined values
+		 */
+		final String join(@NotNull final IntSet values) {
+			final List<String> strings = new ArrayList<String>(values.size());
+			for (final int value : values.toArray()) {
+				strings.add(Integer.toString(value));
+			}
+			
+			return this.splitter.join(strings);
+		}
+		
+		/**
+		 * Splits the given value at the delimiter, see {@link DelimiterSplitter}.
+		 * 
+		 * @param value
+		 *            the value
+		 * @return the trimmed elements, as an immutable list
+		 */
+		public final List<String> split(@NotNull final String value) {
+			return this.splitter.split(value);
+		}
+	}
+	
+	/**
+	 * Parses the given elements.
+	 * 
+	 * @param elements
+	 *            the elements
+	 * @return the values
+	 * @throws NumberFormatException
+	 *             if an element is not an <code>int</code>
+	 */
+	static IntSet parse(@NotNull final Collection<String> elements) {
+		final int[] values = new int[elements.size()];
+		int i = 0;
+		
+		for (final String element : elements) {
+			values[i++] = Integer.parseInt(element);
+		}
+		
+		return IntSet.of(values);
+	}
+	
+	/**
+	 * Instantiates a new int set argument.
+	 * 
+	 * @param options
+	 *            the options
+	 * @throws ArgumentRegistrationException
+	 *             the argument registration exception
+	 */
+	protected IntSetArgument(@NotNull final Options options) throws ArgumentRegistrationException {
+		super(options);
+		
+		setStringValue(options.getDefaultValue() != null
+		                                                ? (!options.getDefaultValue().isEmpty())
+		                                                                                        ? options.join(options.getDefaultValue())
+		                                                                                        : "[]"
+		                                                : null);
+	}
+	
+	/**
+	 * Gets the parsed value. Unlike {@link #getValue()}, this does not count as an access and does not initialize a
+	 * deferred argument.
+	 * 
+	 * @return the parsed value, <code>null</code> if the argument has no parsed value (yet)
+	 */
+	public final IntSet getParsedValue() {
+		return getCachedValue();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.Argument#init()
+	 */
+	@Override
+	protected final boolean init() {
+		boolean ret = false;
+		
+		try {
+			if (!validStringValue()) {
+				if (required()) {
+					if (Logger.logError()) {
+						Logger.error("Argument required but doesn't have a valid string value (from options '%s').",
+						             getOptions());
+					}
+				} else {
+					if (Logger.logWarn()) {
+						Logger.warn("Optional argument is not set: %s", getTag());
+					}
+					setCachedValue(getDefaultValue());
+					ret = true;
+				}
+			} else {
+				if (getStringValue().equals("[]")) {
+					setCachedValue(IntSet.of());
+					return true;
+				}
+				
+				try {
+					setCachedValue(parse(getOptions().split(getStringValue())));
+					ret = true;
+				} catch (final NumberFormatException e) {
+					if (Logger.logError()) {
+						Logger.error("Value given for argument `%s` could not be interpreted as a set of Integer values: %s",
+						             getName(), e.getMessage());
+					}
+				}
+			}
+			
+			return ret;
+		} finally {
+			__initPostCondition(ret);
+		}
+	}
+}
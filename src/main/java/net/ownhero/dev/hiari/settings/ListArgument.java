@@ -12,8 +12,13 @@
  ******************************************************************************/
 package net.ownhero.dev.hiari.settings;
 
-import java.util.LinkedList;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
 import net.ownhero.dev.hiari.settings.requirements.Requirement;
@@ -23,10 +28,9 @@ import net.ownhero.dev.kanuni.conditions.Condition;
 import net.ownhero.dev.kanuni.conditions.StringCondition;
 import net.ownhero.dev.kisa.Logger;
 
-import org.apache.commons.lang.StringUtils;
-
 /**
- * The Class ListArgument.
+ * The Class ListArgument. If the options enable file references, the value can also be read from a file, one element
+ * per line, by giving <code>@/path/to/file</code>; such files are mapped rather than loaded, see {@link MappedLineList}.
  * 
  * @author Kim Herzig <herzig@cs.uni-saarland.de>
  */
@@ -38,7 +42,13 @@ public class ListArgument extends Argument<List<String>, ListArgument.Options> {
 	public static class Options extends ArgumentOptions<List<String>, ListArgument> {
 		
 		/** The delimiter. */
-		private String delimiter;
+		private String            delimiter;
+		
+		/** The splitter compiled from the delimiter. */
+		private DelimiterSplitter splitter;
+		
+		/** Whether values of the form <code>@/path/to/file</code> refer to files. */
+		private boolean           fileReferences = false;
 		
 		/**
 		 * Instantiates a new options.
@@ -61,6 +71,7 @@ public class ListArgument extends Argument<List<String>, ListArgument.Options> {
 			
 			try {
 				this.delimiter = ",";
+				this.splitter = new DelimiterSplitter(this.delimiter);
 			} finally {
 				Condition.notNull(this.delimiter, "The delimiter in %s must not be null.", getHandle());
 				StringCondition.notEmpty(this.delimiter, "The delimiter in %s must not be empty.", getHandle());
@@ -90,6 +101,7 @@ public class ListArgument extends Argument<List<String>, ListArgument.Options> {
 			
 			try {
 				this.delimiter = delimiter;
+				this.splitter = new DelimiterSplitter(delimiter);
 			} finally {
 				Condition.notNull(this.delimiter, "The delimiter in %s must not be null.", getHandle());
 				StringCondition.notEmpty(this.delimiter, "The delimiter in %s must not be empty.", getHandle());
@@ -100,6 +112,29 @@ public class ListArgument extends Argument<List<String>, ListArgument.Options> {
 			}
 		}
 		
+		/**
+		 * Lets elements contain the delimiter, escaped with a backslash or within quotes, see
+		 * {@link DelimiterSplitter}. Quoting is off by default, so backslashes and quotes are ordinary characters.
+		 * 
+		 * @return these options
+		 */
+		public final Options enableQuoting() {
+			this.splitter = new DelimiterSplitter(this.delimiter, this.splitter.isTrimming(), true);
+			return this;
+		}
+		
+		/**
+		 * Lets values of the form <code>@/path/to/file</code> refer to a file with one element per line, see
+		 * {@link MappedLineList}. A leading <code>@@</code> then stands for a literal <code>@</code>. File references
+		 * are off by default, so values like <code>@alice,@bob</code> are split as they are.
+		 * 
+		 * @return these options
+		 */
+		public final Options enableFileReferences() {
+			this.fileReferences = true;
+			return this;
+		}
+		
 		/**
 		 * Gets the delimiter.
 		 * 
@@ -109,11 +144,95 @@ public class ListArgument extends Argument<List<String>, ListArgument.Options> {
 			return this.delimiter;
 		}
 		
+		/**
+		 * Checks if values may refer to files, see {@link #enableFileReferences()}.
+		 * 
+		 * @return true, if so
+		 */
+		public final boolean isFileReferenceEnabled() {
+			return this.fileReferences;
+		}
+		
+		/**
+		 * Checks if elements may be escaped or quoted, see {@link #enableQuoting()}.
+		 * 
+		 * @return true, if so
+		 */
+		public final boolean isQuoting() {
+			return this.splitter.isQuoting();
+		}
+		
+		/**
+		 * Joins the given values with the delimiter, quoting values that contain it if quoting is enabled.
+		 * 
+		 * @param values
+		 *            the values
+		 * @return the joined values
+		 */
+		final String join(@NotNull final Collection<String> values) {
+			return this.splitter.join(values);
+		}
+		
+		/**
+		 * Resolves the given value: <code>[]</code> stands for the empty list; if file references are enabled, a value
+		 * of the form <code>@/path/to/file</code> yields the lines of the file, see {@link #enableFileReferences()};
+		 * all others are split at the delimiter.
+		 * 
+		 * @param value
+		 *            the value
+		 * @return the elements, as an immutable list
+		 * @throws IOException
+		 *             if the value refers to a file that can not be read
+		 */
+		public final List<String> resolve(@NotNull final String value) throws IOException {
+			if ("[]".equals(value)) {
+				return Collections.emptyList();
+			}
+			
+			return this.fileReferences
+			                          ? MappedLineList.resolve(value, this.splitter)
+			                          : this.splitter.split(value);
+		}
+		
+		/**
+		 * Splits the given value at the delimiter, see {@link DelimiterSplitter}.
+		 * 
+		 * @param value
+		 *            the value
+		 * @return the trimmed elements, as an immutable list
+		 */
+		public final List<String> split(@NotNull final String value) {
+			return this.splitter.split(value);
+		}
+		
+	}
+	
+	/**
+	 * Lower-cases the given values for case-insensitive lookups.
+	 * 
+	 * @param values
+	 *            the values
+	 * @return the lower-cased values
+	 */
+	static Set<String> fold(@NotNull final Collection<String> values) {
+		final Set<String> folded = new HashSet<String>(values.size() * 2);
+		
+		for (final String value : values) {
+			folded.add(value.toLowerCase(Locale.ROOT));
+		}
+		
+		return folded;
 	}
 	
 	/** The delimiter. */
 	private final String delimiter;
 	
+	/** The lower-cased value. */
+	private Set<String>  folded     = null;
+	
+	/** The value {@link #folded} has been built from. */
+	private List<String> foldedFrom = null;
+	
 	/**
 	 * General Arguments as described in RepoSuiteArgument. The string value will be split using delimiter `,` to
 	 * receive the list of values.
@@ -131,8 +250,7 @@ public class ListArgument extends Argument<List<String>, ListArgument.Options> {
 			this.delimiter = options.getDelimiter();
 			setStringValue(options.getDefaultValue() != null
 			                                                ? (!options.getDefaultValue().isEmpty())
-			                                                                                        ? StringUtils.join(options.getDefaultValue(),
-			                                                                                                           this.delimiter)
+			                                                                                        ? options.join(options.getDefaultValue())
 			                                                                                        : "[]"
 			                                                : null);
 		} finally {
@@ -141,6 +259,41 @@ public class ListArgument extends Argument<List<String>, ListArgument.Options> {
 		}
 	}
 	
+	/**
+	 * Gets the parsed value with all entries lower-cased, for case-insensitive membership tests. The set is built once
+	 * per parsed value and must not be modified. Values read from a file are not folded, as that would copy the whole
+	 * file; look them up with {@link MappedLineList#containsIgnoreCase(String)} instead, see {@link #getMappedValue()}.
+	 * 
+	 * @return the lower-cased value, <code>null</code> if the argument has no parsed value (yet) or it has been read
+	 *         from a file
+	 */
+	public final synchronized Set<String> getFoldedValue() {
+		final List<String> value = getCachedValue();
+		
+		if (value != this.foldedFrom) {
+			this.folded = (value != null) && !(value instanceof MappedLineList)
+			                                                                   ? fold(value)
+			                                                                   : null;
+			this.foldedFrom = value;
+		}
+		
+		return this.folded;
+	}
+	
+	/**
+	 * Gets the parsed value if it has been read from a file, see {@link Options#enableFileReferences()}.
+	 * 
+	 * @return the lines of the file, <code>null</code> if the argument has no parsed value (yet) or it has not been
+	 *         read from a file
+	 */
+	public final MappedLineList getMappedValue() {
+		final List<String> value = getCachedValue();
+		
+		return value instanceof MappedLineList
+		                                      ? (MappedLineList) value
+		                                      : null;
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see net.ownhero.dev.andama.settings.AndamaArgument#init()
@@ -164,17 +317,15 @@ public class ListArgument extends Argument<List<String>, ListArgument.Options> {
 					ret = true;
 				}
 			} else {
-				final List<String> result = new LinkedList<String>();
-				if (getStringValue().equals("[]")) {
-					setCachedValue(result);
-					return true;
-				}
-				for (final String s : getStringValue().split(this.delimiter)) {
-					result.add(s.trim());
+				try {
+					setCachedValue(getOptions().resolve(getStringValue()));
+					ret = true;
+				} catch (final IOException e) {
+					if (Logger.logError()) {
+						Logger.error("Could not read the elements of argument `%s` from %s: %s", getName(),
+						             getStringValue(), e.getMessage());
+					}
 				}
-				
-				setCachedValue(result);
-				ret = true;
 			}
 			
 			return ret;
@@ -183,4 +334,15 @@ public class ListArgument extends Argument<List<String>, ListArgument.Options> {
 		}
 	}
 	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.Argument#isDeferrable()
+	 */
+	@Override
+	protected final boolean isDeferrable() {
+		// only reading the elements from a file is expensive
+		return getOptions().isFileReferenceEnabled() && validStringValue()
+		        && (MappedLineList.getReference(getStringValue()) != null);
+	}
+	
 }
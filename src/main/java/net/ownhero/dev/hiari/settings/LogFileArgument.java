@@ -204,4 +204,14 @@ public class LogFileArgument extends Argument<File, LogFileArgument.Options> {
 		}
 	}
 	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.Argument#isDeferrable()
+	 */
+	@Override
+	protected boolean isDeferrable() {
+		// init() checks the file and may create it
+		return true;
+	}
+	
 }
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+import net.ownhero.dev.kanuni.annotations.string.NotEmptyString;
+import net.ownhero.dev.kanuni.conditions.Condition;
+import net.ownhero.dev.kanuni.conditions.StringCondition;
+import net.ownhero.dev.kisa.Logger;
+
+/**
+ * A list of <code>long</code>s, kept unboxed in a <code>long[]</code>. The array is shared by all readers and must not
+ * be modified.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public class LongListArgument extends Argument<long[], LongListArgument.Options> {
+	
+	/**
+	 * The Class Options.
+	 */
+	public static class Options extends ArgumentOptions<long[], LongListArgument> {
+		
+		/** The delimiter. */
+		private String            delimiter;
+		
+		/** The splitter compiled from the delimiter. */
+		private DelimiterSplitter splitter;
+		
+		/**
+		 * Instantiates a new options.
+		 * 
+		 * @param argumentSet
+		 *            the argument set
+		 * @param name
+		 *            the name
+		 * @param description
+		 *            the description
+		 * @param defaultValue
+		 *            the default value
+		 * @param requirements
+		 *            the requirements
+		 */
+		public Options(@NotNull final ArgumentSet<?, ?> argumentSet, @NotNull @NotEmptyString final String name,
+		        @NotNull @NotEmptyString final String description, final long[] defaultValue,
+		        @NotNull final Requirement requirements) {
+			this(argumentSet, name, description, defaultValue, requirements, ",");
+		}
+		
+		/**
+		 * Instantiates a new options.
+		 * 
+		 * @param argumentSet
+		 *            the argument set
+		 * @param name
+		 *            the name
+		 * @param description
+		 *            the description
+		 * @param defaultValue
+		 *            the default value
+		 * @param requirements
+		 *            the requirements
+		 * @param delimiter
+		 *            the delimiter
+		 */
+		public Options(@NotNull final ArgumentSet<?, ?> argumentSet, @NotNull @NotEmptyString final String name,
+		        @NotNull @NotEmptyString final String description, final long[] defaultValue,
+		        @NotNull final Requirement requirements, final String delimiter) {
+			super(argumentSet, name, description, defaultValue, requirements);
+			
+			try {
+				this.delimiter = delimiter;
+				this.splitter = new DelimiterSplitter(delimiter);
+			} finally {
+				Condition.notNull(this.delimiter, "The delimiter in %s must not be null.", getHandle());
+				StringCondition.notEmpty(this.delimiter, "The delimiter in %s must not be empty.", getHandle());
+			}
+		}
+		
+		/**
+		 * Gets the delimiter.
+		 * 
+		 * @return the delimiter
+		 */
+		public final String getDelimiter() {
+			return this.delimiter;
+		}
+		
+		/**
+		 * Joins the given values with the delimiter.
+		 * 
+		 * @param values
+		 *            the values
+		 * @return the joined values
+		 */
+		final String join(@NotNull final long[] values) {
+			final List<String> strings = new ArrayList<String>(values.length);
+			for (final long value : values) {
+				strings.add(Long.toString(value));
+			}
+			
+			return this.splitter.join(strings);
+		}
+		
+		/**
+		 * Splits the given value at the delimiter, see {@link DelimiterSplitter}.
+		 * 
+		 * @param value
+		 *            the value
+		 * @return the trimmed elements, as an immutable list
+		 */
+		public final List<String> split(@NotNull final String value) {
+			return this.splitter.split(value);
+		}
+	}
+	
+	/**
+	 * Parses the given elements.
+	 * 
+	 * @param elements
+	 *            the elements
+	 * @return the values
+	 * @throws NumberFormatException
+	 *             if an element is not a <code>long</code>
+	 */
+	static long[] parse(@NotNull final Collection<String> elements) {
+		final long[] values = new long[elements.size()];
+		int i = 0;
+		
+		for (final String element : elements) {
+			values[i++] = Long.parseLong(element);
+		}
+		
+		return values;
+	}
+	
+	/** The sorted copy of the value. */
+	private long[] sorted     = null;
+	
+	/** The value {@link #sorted} has been built from. */
+	private long[] sortedFrom = null;
+	
+	/**
+	 * Instantiates a new long list argument.
+	 * 
+	 * @param options
+	 *            the options
+	 * @throws ArgumentRegistrationException
+	 *             the argument registration exception
+	 */
+	protected LongListArgument(@NotNull final Options options) throws ArgumentRegistrationException {
+		super(options);
+		
+		setStringValue(options.getDefaultValue() != null
+		                                                ? (options.getDefaultValue().length > 0)
+		                                                                                        ? options.join(options.getDefaultValue())
+		                                                                                        : "[]"
+		                                                : null);
+	}
+	
+	/**
+	 * Gets a sorted copy of the parsed value, for membership tests by binary search. The copy is built once per parsed
+	 * value and must not be modified.
+	 * 
+	 * @return the sorted value, <code>null</code> if the argument has no parsed value (yet)
+	 */
+	public final synchronized long[] getSortedValue() {
+		final long[] value = getCachedValue();
+		
+		if (value != this.sortedFrom) {
+			if (value != null) {
+				this.sorted = value.clone();
+				Arrays.sort(this.sorted);
+			} else {
+				this.sorted = null;
+			}
+			this.sortedFrom = value;
+		}
+		
+		return this.sorted;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.Argument#init()
+	 */
+	@Override
+	protected final boolean init() {
+		boolean ret = false;
+		
+		try {
+			if (!validStringValue()) {
+				if (required()) {
+					if (Logger.logError()) {
+						Logger.error("Argument required but doesn't have a valid string value (from options '%s').",
+						             getOptions());
+					}
+				} else {
+					if (Logger.logWarn()) {
+						Logger.warn("Optional argument is not set: %s", getTag());
+					}
+					setCachedValue(getDefaultValue());
+					ret = true;
+				}
+			} else {
+				if (getStringValue().equals("[]")) {
+					setCachedValue(new long[0]);
+					return true;
+				}
+				
+				try {
+					setCachedValue(parse(getOptions().split(getStringValue())));
+					ret = true;
+				} catch (final NumberFormatException e) {
+					if (Logger.logError()) {
+						Logger.error("Value given for argument `%s` could not be interpreted as a list of Long values: %s",
+						             getName(), e.getMessage());
+					}
+				}
+			}
+			
+			return ret;
+		} finally {
+			__initPostCondition(ret);
+		}
+	}
+}
@@ -204,30 +204,26 @@ public class MailOptions extends ArgumentSetOptions<Properties, ArgumentSet<Prop
 	 */
 	@Override
 	public Properties init() {
+		final ISettings settings = getSettings();
+		final String username = settings.getArgument(getUsernameOption()).getValue();
+		final String password = settings.getArgument(getPasswordOption()).getValue();
 		
-		final Properties properties = new Properties() {
-			
-			private static final long serialVersionUID = -4075576523389682827L;
-			
-			{
-				put("mail.smtp.host", getSettings().getArgument(getHostOption()).getValue());
-				put("mail.transport.protocol", "smtp");
-				put("mail.to", getSettings().getArgument(getToOption()).getValue());
-				put("mail.subject", getSettings().getArgument(getSubjectOption()).getValue());
-				put("mail.sender.name", getSettings().getArgument(getSenderNameOption()).getValue());
-				put("mail.sender.address", getSettings().getArgument(getSenderAddressOption()).getValue());
-				put("mail.sender.host", getSettings().getArgument(getSenderHostOption()).getValue());
-				
-				if (getSettings().getArgument(getUsernameOption()).getValue() != null) {
-					put("mail.username", getSettings().getArgument(getUsernameOption()).getValue());
-				}
-				
-				if (getSettings().getArgument(getPasswordOption()).getValue() != null) {
-					put("mail.password", getSettings().getArgument(getPasswordOption()).getValue());
-				}
-				
-			}
-		};
+		final Properties properties = new Properties();
+		properties.put("mail.smtp.host", settings.getArgument(getHostOption()).getValue());
+		properties.put("mail.transport.protocol", "smtp");
+		properties.put("mail.to", settings.getArgument(getToOption()).getValue());
+		properties.put("mail.subject", settings.getArgument(getSubjectOption()).getValue());
+		properties.put("mail.sender.name", settings.getArgument(getSenderNameOption()).getValue());
+		properties.put("mail.sender.address", settings.getArgument(getSenderAddressOption()).getValue());
+		properties.put("mail.sender.host", settings.getArgument(getSenderHostOption()).getValue());
+		
+		if (username != null) {
+			properties.put("mail.username", username);
+		}
+		
+		if (password != null) {
+			properties.put("mail.password", password);
+		}
 		
 		return properties;
 	}
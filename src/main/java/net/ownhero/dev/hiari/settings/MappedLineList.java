@@ -0,0 +1,327 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.RandomAccess;
+
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+
+/**
+ * The lines of a UTF-8 file, the value of list arguments given as <code>@/path/to/file</code> if their options enable
+ * file references. The file is mapped into memory and only the offsets of the lines are indexed up front; a line is
+ * decoded each time it is read. Lines are trimmed and blank lines are skipped, so the file holds one element per line.
+ * The list is immutable and safe for concurrent readers; split it with {@link #subList(int, int)} to process it in
+ * parallel.
+ * 
+ * A value starting with <code>@@</code> is not a file reference, but stands for the value with one <code>@</code>
+ * removed.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public final class MappedLineList extends AbstractList<String> implements RandomAccess {
+	
+	/**
+	 * A hash table of the lines by the hash codes of their lower-cased contents, see
+	 * {@link MappedLineList#containsIgnoreCase(String)}. Only the hash codes and line indices are kept.
+	 */
+	private static final class FoldedIndex {
+		
+		/** The hash codes of the lower-cased lines, by line index. */
+		private final int[] hashes;
+		
+		/** The line indices plus one by slot, 0 for free slots; linear probing. */
+		private final int[] slots;
+		
+		/**
+		 * Indexes the lines of the given list.
+		 * 
+		 * @param lines
+		 *            the lines
+		 */
+		FoldedIndex(final MappedLineList lines) {
+			this.hashes = new int[lines.size];
+			this.slots = new int[Integer.highestOneBit(Math.max(lines.size, 1)) << 2];
+			
+			final int mask = this.slots.length - 1;
+			for (int i = 0; i < lines.size; ++i) {
+				this.hashes[i] = lines.get(i).toLowerCase(Locale.ROOT).hashCode();
+				
+				int slot = spread(this.hashes[i]) & mask;
+				while (this.slots[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				this.slots[slot] = i + 1;
+			}
+		}
+		
+		/**
+		 * Checks if a line equals the given lower-cased value, ignoring case.
+		 * 
+		 * @param lines
+		 *            the lines the index has been built from
+		 * @param folded
+		 *            the lower-cased value
+		 * @return true, if so
+		 */
+		boolean contains(final MappedLineList lines,
+		                 final String folded) {
+			final int hash = folded.hashCode();
+			final int mask = this.slots.length - 1;
+			
+			for (int slot = spread(hash) & mask; this.slots[slot] != 0; slot = (slot + 1) & mask) {
+				final int index = this.slots[slot] - 1;
+				// only lines with the same hash are decoded
+				if ((this.hashes[index] == hash) && lines.get(index).toLowerCase(Locale.ROOT).equals(folded)) {
+					return true;
+				}
+			}
+			
+			return false;
+		}
+	}
+	
+	/** The prefix of file references. */
+	static final String          PREFIX = "@";
+	
+	/** The charset of the file. */
+	private static final Charset UTF8   = Charset.forName("UTF-8");
+	
+	/**
+	 * Gets the file the given value refers to.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return the file, <code>null</code> if the value is not a file reference
+	 */
+	public static File getReference(@NotNull final String value) {
+		if (!value.startsWith(PREFIX) || value.startsWith(PREFIX, PREFIX.length())
+		        || (value.length() == PREFIX.length())) {
+			return null;
+		}
+		
+		return new File(value.substring(PREFIX.length()));
+	}
+	
+	/**
+	 * Checks if the given byte is whitespace, as understood by {@link String#trim()}.
+	 * 
+	 * @param b
+	 *            the byte
+	 * @return true, if blank
+	 */
+	private static boolean isBlank(final byte b) {
+		return (b >= 0) && (b <= ' ');
+	}
+	
+	/**
+	 * Spreads the bits of a hash code, so consecutive hash codes do not end up in adjacent slots.
+	 * 
+	 * @param hash
+	 *            the hash code
+	 * @return the spread hash code
+	 */
+	private static int spread(final int hash) {
+		return hash ^ (hash >>> 16);
+	}
+	
+	/**
+	 * Maps the given file and indexes its lines.
+	 * 
+	 * @param file
+	 *            the file
+	 * @return the lines
+	 * @throws IOException
+	 *             if the file can not be read or is larger than 2 GiB
+	 */
+	public static MappedLineList open(@NotNull final File file) throws IOException {
+		try (final RandomAccessFile input = new RandomAccessFile(file, "r");
+		        final FileChannel channel = input.getChannel()) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("File too large to be mapped: " + file);
+			}
+			
+			// the mapping stays valid after the channel is closed
+			return new MappedLineList(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+	
+	/**
+	 * Resolves the value of a list or set argument: maps the file it refers to, or splits it at the delimiter.
+	 * 
+	 * @param value
+	 *            the value
+	 * @param splitter
+	 *            the splitter
+	 * @return the elements, as an immutable list
+	 * @throws IOException
+	 *             if the value refers to a file that can not be read
+	 */
+	static List<String> resolve(@NotNull final String value,
+	                            @NotNull final DelimiterSplitter splitter) throws IOException {
+		final File file = getReference(value);
+		
+		if (file != null) {
+			return open(file);
+		}
+		
+		return splitter.split(value.startsWith(PREFIX + PREFIX)
+		                                                       ? value.substring(PREFIX.length())
+		                                                       : value);
+	}
+	
+	/** The file. */
+	private final File             file;
+	
+	/** The content of the file. */
+	private final MappedByteBuffer buffer;
+	
+	/** The offsets of the first character of each line. */
+	private final int[]            starts;
+	
+	/** The offsets after the last character of each line. */
+	private final int[]            ends;
+	
+	/** The number of lines. */
+	private final int              size;
+	
+	/** The index of the lower-cased lines, built on the first {@link #containsIgnoreCase(String)}. */
+	private volatile FoldedIndex   folded = null;
+	
+	/**
+	 * Instantiates a new mapped line list.
+	 * 
+	 * @param file
+	 *            the file
+	 * @param buffer
+	 *            the content of the file
+	 */
+	private MappedLineList(final File file, final MappedByteBuffer buffer) {
+		this.file = file;
+		this.buffer = buffer;
+		
+		final int limit = buffer.limit();
+		int[] starts = new int[16];
+		int[] ends = new int[16];
+		int size = 0;
+		int offset = 0;
+		
+		// skip a byte order mark
+		if ((limit >= 3) && ((buffer.get(0) & 0xFF) == 0xEF) && ((buffer.get(1) & 0xFF) == 0xBB)
+		        && ((buffer.get(2) & 0xFF) == 0xBF)) {
+			offset = 3;
+		}
+		
+		while (offset < limit) {
+			int start = offset;
+			while ((start < limit) && (buffer.get(start) != '\n') && isBlank(buffer.get(start))) {
+				++start;
+			}
+			
+			int end = start;
+			while ((end < limit) && (buffer.get(end) != '\n')) {
+				++end;
+			}
+			offset = end + 1;
+			
+			while ((end > start) && isBlank(buffer.get(end - 1))) {
+				--end;
+			}
+			
+			if (end > start) {
+				if (size == starts.length) {
+					starts = Arrays.copyOf(starts, size * 2);
+					ends = Arrays.copyOf(ends, size * 2);
+				}
+				starts[size] = start;
+				ends[size] = end;
+				++size;
+			}
+		}
+		
+		this.starts = Arrays.copyOf(starts, size);
+		this.ends = Arrays.copyOf(ends, size);
+		this.size = size;
+	}
+	
+	/**
+	 * Checks if a line equals the given value, ignoring case the way {@link String#toLowerCase(Locale)} with
+	 * {@link Locale#ROOT} does. The first call decodes every line once to index the hash codes of the lower-cased
+	 * lines; later calls only decode the lines whose hash code matches, so they take constant time on average. The
+	 * lines themselves are not kept in memory.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return true, if so
+	 */
+	public boolean containsIgnoreCase(@NotNull final String value) {
+		FoldedIndex index = this.folded;
+		
+		if (index == null) {
+			synchronized (this) {
+				index = this.folded;
+				if (index == null) {
+					index = new FoldedIndex(this);
+					this.folded = index;
+				}
+			}
+		}
+		
+		return index.contains(this, value.toLowerCase(Locale.ROOT));
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractList#get(int)
+	 */
+	@Override
+	public String get(final int index) {
+		if ((index < 0) || (index >= this.size)) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		}
+		
+		final byte[] bytes = new byte[this.ends[index] - this.starts[index]];
+		for (int i = 0; i < bytes.length; ++i) {
+			bytes[i] = this.buffer.get(this.starts[index] + i);
+		}
+		
+		return new String(bytes, UTF8);
+	}
+	
+	/**
+	 * Gets the file.
+	 * 
+	 * @return the file
+	 */
+	public File getFile() {
+		return this.file;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractCollection#size()
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+}
@@ -245,6 +245,16 @@ public class OutputFileArgument extends Argument<File, OutputFileArgument.Option
 		}
 	}
 	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.Argument#isDeferrable()
+	 */
+	@Override
+	protected boolean isDeferrable() {
+		// init() checks the file and may replace it
+		return true;
+	}
+	
 	/**
 	 * Checks if is overwrite.
 	 * 
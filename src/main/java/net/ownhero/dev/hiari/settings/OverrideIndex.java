@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+
+/**
+ * Indexes an argument tree by tag and by requirement dependencies, so {@link Settings#withOverrides(Map)} only has to
+ * revisit the arguments an override can actually affect: the overridden arguments themselves, everything whose
+ * requirements (transitively) depend on them, and the argument sets above them.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+final class OverrideIndex {
+	
+	/**
+	 * Orders argument sets deepest first, so children are initialized before their parents.
+	 */
+	private static final class DeepestFirst implements Comparator<ArgumentSet<?, ?>> {
+		
+		/**
+		 * Gets the depth of the given set.
+		 * 
+		 * @param set
+		 *            the set
+		 * @return the depth
+		 */
+		private static int depth(final ArgumentSet<?, ?> set) {
+			int depth = 0;
+			for (ArgumentSet<?, ?> parent = set.getParent(); parent != null; parent = parent.getParent()) {
+				++depth;
+			}
+			return depth;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.Comparator#compare(java.lang.Object, java.lang.Object)
+		 */
+		@Override
+		public int compare(final ArgumentSet<?, ?> set1,
+		                   final ArgumentSet<?, ?> set2) {
+			return depth(set2) - depth(set1);
+		}
+	}
+	
+	/** The arguments and argument sets by tag. */
+	private final Map<String, IArgument<?, ?>>       arguments  = new HashMap<String, IArgument<?, ?>>();
+	
+	/** The arguments and argument sets whose requirements depend on a tag. */
+	private final Map<String, List<IArgument<?, ?>>> dependents = new HashMap<String, List<IArgument<?, ?>>>();
+	
+	/** The number of registered tags when the index was built. */
+	private final int                                version;
+	
+	/**
+	 * Instantiates a new override index.
+	 * 
+	 * @param root
+	 *            the root of the argument tree
+	 * @param version
+	 *            the number of registered tags
+	 */
+	OverrideIndex(@NotNull final ArgumentSet<?, ?> root, final int version) {
+		this.version = version;
+		index(root);
+	}
+	
+	/**
+	 * Computes the arguments affected by overriding the given tags. Arguments come first, followed by the affected
+	 * argument sets, deepest first. The root set is never included.
+	 * 
+	 * @param tags
+	 *            the overridden tags
+	 * @return the affected arguments
+	 */
+	List<IArgument<?, ?>> affected(@NotNull final Collection<String> tags) {
+		final Set<String> visited = new HashSet<String>();
+		final Deque<String> queue = new ArrayDeque<String>(tags);
+		final List<IArgument<?, ?>> result = new LinkedList<IArgument<?, ?>>();
+		final List<ArgumentSet<?, ?>> sets = new ArrayList<ArgumentSet<?, ?>>();
+		
+		while (!queue.isEmpty()) {
+			final String tag = queue.poll();
+			final IArgument<?, ?> argument = this.arguments.get(tag);
+			
+			if ((argument == null) || !visited.add(tag)) {
+				continue;
+			}
+			
+			if (argument instanceof ArgumentSet) {
+				sets.add((ArgumentSet<?, ?>) argument);
+			} else {
+				result.add(argument);
+			}
+			
+			final List<IArgument<?, ?>> list = this.dependents.get(tag);
+			if (list != null) {
+				for (final IArgument<?, ?> dependent : list) {
+					queue.add(dependent.getTag());
+				}
+			}
+			
+			final ArgumentSet<?, ?> parent = argument.getParent();
+			if ((parent != null) && (parent.getParent() != null)) {
+				queue.add(parent.getTag());
+			}
+		}
+		
+		Collections.sort(sets, new DeepestFirst());
+		result.addAll(sets);
+		return result;
+	}
+	
+	/**
+	 * Gets the version.
+	 * 
+	 * @return the number of registered tags when the index was built
+	 */
+	int getVersion() {
+		return this.version;
+	}
+	
+	/**
+	 * Indexes the children of the given set.
+	 * 
+	 * @param set
+	 *            the set
+	 */
+	private void index(final ArgumentSet<?, ?> set) {
+		for (final IArgument<?, ?> argument : set.children()) {
+			this.arguments.put(argument.getTag(), argument);
+			
+			for (final IOptions<?, ?> dependency : argument.getDependencies()) {
+				List<IArgument<?, ?>> list = this.dependents.get(dependency.getTag());
+				if (list == null) {
+					list = new LinkedList<IArgument<?, ?>>();
+					this.dependents.put(dependency.getTag(), list);
+				}
+				list.add(argument);
+			}
+			
+			if (argument instanceof ArgumentSet) {
+				index((ArgumentSet<?, ?>) argument);
+			}
+		}
+	}
+}
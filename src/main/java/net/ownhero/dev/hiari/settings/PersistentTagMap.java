@@ -0,0 +1,406 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+
+/**
+ * An immutable map from tags to values, implemented as hash array mapped trie. {@link #plus(String, Object)} returns a
+ * new map that shares everything but the path to the changed entry with the old one, so deriving a map with a few
+ * changes costs O(log32 n) instead of a full copy.
+ * 
+ * @param <V>
+ *            the value type
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+final class PersistentTagMap<V> {
+	
+	/**
+	 * A node of 32 slots, only the used ones are stored. A slot holds either a key and its value or <code>null</code>
+	 * and a sub node.
+	 */
+	private static final class BitmapNode extends Node {
+		
+		/** The used slots. */
+		private final int      bitmap;
+		
+		/** The key/value (or null/node) pairs of the used slots. */
+		private final Object[] array;
+		
+		/**
+		 * Instantiates a new bitmap node.
+		 * 
+		 * @param bitmap
+		 *            the bitmap
+		 * @param array
+		 *            the array
+		 */
+		BitmapNode(final int bitmap, final Object[] array) {
+			this.bitmap = bitmap;
+			this.array = array;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.PersistentTagMap.Node#find(int, int, java.lang.String)
+		 */
+		@Override
+		Object find(final int hash,
+		            final int shift,
+		            final String key) {
+			final int bit = bit(hash, shift);
+			if ((this.bitmap & bit) == 0) {
+				return null;
+			}
+			
+			final int index = 2 * Integer.bitCount(this.bitmap & (bit - 1));
+			final Object k = this.array[index];
+			final Object v = this.array[index + 1];
+			
+			if (k == null) {
+				return ((Node) v).find(hash, shift + BITS, key);
+			}
+			
+			return key.equals(k)
+			                    ? v
+			                    : null;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.PersistentTagMap.Node#put(int, int, java.lang.String, java.lang.Object,
+		 * boolean[])
+		 */
+		@Override
+		Node put(final int hash,
+		         final int shift,
+		         final String key,
+		         final Object value,
+		         final boolean[] added) {
+			final int bit = bit(hash, shift);
+			final int index = 2 * Integer.bitCount(this.bitmap & (bit - 1));
+			
+			if ((this.bitmap & bit) == 0) {
+				final Object[] copy = new Object[this.array.length + 2];
+				System.arraycopy(this.array, 0, copy, 0, index);
+				copy[index] = key;
+				copy[index + 1] = value;
+				System.arraycopy(this.array, index, copy, index + 2, this.array.length - index);
+				added[0] = true;
+				return new BitmapNode(this.bitmap | bit, copy);
+			}
+			
+			final Object k = this.array[index];
+			final Object v = this.array[index + 1];
+			
+			if (k == null) {
+				final Node child = ((Node) v).put(hash, shift + BITS, key, value, added);
+				return child == v
+				                 ? this
+				                 : with(index, null, child);
+			}
+			
+			if (key.equals(k)) {
+				return v == value
+				                 ? this
+				                 : with(index, k, value);
+			}
+			
+			added[0] = true;
+			return with(index, null, split(shift + BITS, (String) k, v, hash, key, value));
+		}
+		
+		/**
+		 * Copies the node with the given slot replaced.
+		 * 
+		 * @param index
+		 *            the index of the key
+		 * @param key
+		 *            the key
+		 * @param value
+		 *            the value
+		 * @return the node
+		 */
+		private BitmapNode with(final int index,
+		                        final Object key,
+		                        final Object value) {
+			final Object[] copy = this.array.clone();
+			copy[index] = key;
+			copy[index + 1] = value;
+			return new BitmapNode(this.bitmap, copy);
+		}
+	}
+	
+	/**
+	 * A node holding keys with the same hash code.
+	 */
+	private static final class CollisionNode extends Node {
+		
+		/** The hash. */
+		private final int      hash;
+		
+		/** The key/value pairs. */
+		private final Object[] array;
+		
+		/**
+		 * Instantiates a new collision node.
+		 * 
+		 * @param hash
+		 *            the hash
+		 * @param array
+		 *            the array
+		 */
+		CollisionNode(final int hash, final Object[] array) {
+			this.hash = hash;
+			this.array = array;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.PersistentTagMap.Node#find(int, int, java.lang.String)
+		 */
+		@Override
+		Object find(final int hash,
+		            final int shift,
+		            final String key) {
+			if (hash == this.hash) {
+				for (int i = 0; i < this.array.length; i += 2) {
+					if (key.equals(this.array[i])) {
+						return this.array[i + 1];
+					}
+				}
+			}
+			
+			return null;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.PersistentTagMap.Node#put(int, int, java.lang.String, java.lang.Object,
+		 * boolean[])
+		 */
+		@Override
+		Node put(final int hash,
+		         final int shift,
+		         final String key,
+		         final Object value,
+		         final boolean[] added) {
+			if (hash != this.hash) {
+				// push this node one level down
+				return new BitmapNode(bit(this.hash, shift), new Object[] { null, this }).put(hash, shift, key,
+				                                                                              value, added);
+			}
+			
+			for (int i = 0; i < this.array.length; i += 2) {
+				if (key.equals(this.array[i])) {
+					if (this.array[i + 1] == value) {
+						return this;
+					}
+					final Object[] copy = this.array.clone();
+					copy[i + 1] = value;
+					return new CollisionNode(hash, copy);
+				}
+			}
+			
+			final Object[] copy = new Object[this.array.length + 2];
+			System.arraycopy(this.array, 0, copy, 0, this.array.length);
+			copy[this.array.length] = key;
+			copy[this.array.length + 1] = value;
+			added[0] = true;
+			return new CollisionNode(hash, copy);
+		}
+	}
+	
+	/**
+	 * The Class Node.
+	 */
+	private abstract static class Node {
+		
+		/**
+		 * Finds the value of the given key.
+		 * 
+		 * @param hash
+		 *            the hash of the key
+		 * @param shift
+		 *            the shift of this level
+		 * @param key
+		 *            the key
+		 * @return the value, <code>null</code> if absent
+		 */
+		abstract Object find(int hash,
+		                     int shift,
+		                     String key);
+		
+		/**
+		 * Returns a node with the given mapping.
+		 * 
+		 * @param hash
+		 *            the hash of the key
+		 * @param shift
+		 *            the shift of this level
+		 * @param key
+		 *            the key
+		 * @param value
+		 *            the value
+		 * @param added
+		 *            set to true if the key was not present before
+		 * @return the node; <code>this</code> if nothing changed
+		 */
+		abstract Node put(int hash,
+		                  int shift,
+		                  String key,
+		                  Object value,
+		                  boolean[] added);
+	}
+	
+	/** The bits of the hash consumed per level. */
+	private static final int              BITS       = 5;
+	
+	/** The empty node. */
+	private static final Node             EMPTY_NODE = new BitmapNode(0, new Object[0]);
+	
+	/** The empty map. */
+	@SuppressWarnings ("rawtypes")
+	private static final PersistentTagMap EMPTY      = new PersistentTagMap<Object>(EMPTY_NODE, 0);
+	
+	/**
+	 * Gets the slot bit of the given hash on the given level.
+	 * 
+	 * @param hash
+	 *            the hash
+	 * @param shift
+	 *            the shift
+	 * @return the bit
+	 */
+	private static int bit(final int hash,
+	                       final int shift) {
+		return 1 << ((hash >>> shift) & 0x1f);
+	}
+	
+	/**
+	 * Gets the empty map.
+	 * 
+	 * @param <V>
+	 *            the value type
+	 * @return the empty map
+	 */
+	@SuppressWarnings ("unchecked")
+	static <V> PersistentTagMap<V> empty() {
+		return EMPTY;
+	}
+	
+	/**
+	 * Creates the node holding two entries that collided on the previous level.
+	 * 
+	 * @param shift
+	 *            the shift
+	 * @param key1
+	 *            the first key
+	 * @param value1
+	 *            the first value
+	 * @param hash2
+	 *            the hash of the second key
+	 * @param key2
+	 *            the second key
+	 * @param value2
+	 *            the second value
+	 * @return the node
+	 */
+	private static Node split(final int shift,
+	                          final String key1,
+	                          final Object value1,
+	                          final int hash2,
+	                          final String key2,
+	                          final Object value2) {
+		final int hash1 = key1.hashCode();
+		
+		if (hash1 == hash2) {
+			return new CollisionNode(hash1, new Object[] { key1, value1, key2, value2 });
+		}
+		
+		final boolean[] added = new boolean[1];
+		return EMPTY_NODE.put(hash1, shift, key1, value1, added).put(hash2, shift, key2, value2, added);
+	}
+	
+	/** The root. */
+	private final Node root;
+	
+	/** The size. */
+	private final int  size;
+	
+	/**
+	 * Instantiates a new persistent tag map.
+	 * 
+	 * @param root
+	 *            the root
+	 * @param size
+	 *            the size
+	 */
+	private PersistentTagMap(final Node root, final int size) {
+		this.root = root;
+		this.size = size;
+	}
+	
+	/**
+	 * Gets the value of the given tag.
+	 * 
+	 * @param tag
+	 *            the tag
+	 * @return the value, <code>null</code> if absent
+	 */
+	@SuppressWarnings ("unchecked")
+	V get(@NotNull final String tag) {
+		return (V) this.root.find(tag.hashCode(), 0, tag);
+	}
+	
+	/**
+	 * Checks if the map is empty.
+	 * 
+	 * @return true, if empty
+	 */
+	boolean isEmpty() {
+		return this.size == 0;
+	}
+	
+	/**
+	 * Returns a map that additionally maps the given tag to the given value. This map is not changed.
+	 * 
+	 * @param tag
+	 *            the tag
+	 * @param value
+	 *            the value
+	 * @return the map
+	 */
+	PersistentTagMap<V> plus(@NotNull final String tag,
+	                         @NotNull final V value) {
+		final boolean[] added = new boolean[1];
+		final Node node = this.root.put(tag.hashCode(), 0, tag, value, added);
+		
+		if (node == this.root) {
+			return this;
+		}
+		
+		return new PersistentTagMap<V>(node, added[0]
+		                                             ? this.size + 1
+		                                             : this.size);
+	}
+	
+	/**
+	 * Gets the number of entries.
+	 * 
+	 * @return the size
+	 */
+	int size() {
+		return this.size;
+	}
+}
@@ -0,0 +1,413 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import net.ownhero.dev.andama.exceptions.UnrecoverableError;
+import net.ownhero.dev.hiari.settings.ValidationError.Kind;
+import net.ownhero.dev.hiari.settings.requirements.Evaluator;
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+
+import org.mozkito.utilities.commons.JavaUtils;
+
+/**
+ * Validates property sets against the options registered with a {@link Settings} instance, without creating settings
+ * for them. The options are compiled once into a plan of per-tag steps (tag, type check, default value and the
+ * {@link Evaluator}s of the requirements of the argument and its enclosing argument sets); validating a property set
+ * runs that plan against it and collects all problems as {@link ValidationError}s instead of throwing. The plan does
+ * not refer to the settings it has been compiled from, and it keeps no state, so a validator can be used by any number
+ * of threads concurrently.
+ * 
+ * Type checks are syntactic: numbers have to parse, ports have to be within 0-65535, enum values have to name one of
+ * the possible values and URIs have to parse. Long lists, int sets and enum sets are checked element by element.
+ * Nothing is bound, resolved or looked up on disk.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public final class SchemaValidator {
+	
+	/**
+	 * Validates one property set, see {@link SchemaValidator#validateAll(Collection, ExecutorService)}.
+	 */
+	private static final class Job implements Callable<List<ValidationError>> {
+		
+		/** The validator. */
+		private final SchemaValidator     validator;
+		
+		/** The properties. */
+		private final Map<String, String> properties;
+		
+		/**
+		 * Instantiates a new job.
+		 * 
+		 * @param validator
+		 *            the validator
+		 * @param properties
+		 *            the properties
+		 */
+		Job(final SchemaValidator validator, final Map<String, String> properties) {
+			this.validator = validator;
+			this.properties = properties;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.Callable#call()
+		 */
+		@Override
+		public List<ValidationError> call() {
+			return this.validator.validate(this.properties);
+		}
+	}
+	
+	/**
+	 * The compiled checks for one argument.
+	 */
+	private static final class Step {
+		
+		/** The tag. */
+		private final String                  tag;
+		
+		/** The type check. */
+		private final Type                    type;
+		
+		/** The options of enum arguments, to look values up. */
+		private final EnumArgument.Options<?> enumOptions;
+		
+		/** The options of list and set arguments with typed elements, to split and parse values. */
+		private final ArgumentOptions<?, ?>   listOptions;
+		
+		/** The possible values of enum and enum set arguments. */
+		private final Set<String>             names;
+		
+		/** Whether the argument has a default value. */
+		private final boolean                 defaulted;
+		
+		/** The requirements of the argument and its enclosing argument sets, all of which make it required. */
+		private final Evaluator[]             required;
+		
+		/** The requirements of the argument, <code>null</code> if they do not depend on other options. */
+		private final Evaluator               requirements;
+		
+		/** The requirements of the argument, as text. */
+		private final String                  description;
+		
+		/**
+		 * Instantiates a new step.
+		 * 
+		 * @param options
+		 *            the options
+		 */
+		Step(final ArgumentOptions<?, ?> options) {
+			this.tag = options.getTag();
+			this.defaulted = options.getDefaultValue() != null;
+			
+			final Requirement requirement = options.getRequirements();
+			final Evaluator evaluator = requirement.compile();
+			this.requirements = requirement.getDependencies().isEmpty()
+			                                                           ? null
+			                                                           : evaluator;
+			this.description = requirement.toString();
+			
+			// required() of the options: the requirements of all enclosing argument sets and the own ones have to pass
+			final List<Evaluator> chain = new ArrayList<Evaluator>();
+			chain.add(evaluator);
+			for (ArgumentSet<?, ?> set = options.getParent(); set != null; set = set.getParent()) {
+				chain.add(set.getRequirements().compile());
+			}
+			this.required = chain.toArray(new Evaluator[chain.size()]);
+			
+			if (options instanceof EnumArgument.Options) {
+				this.type = Type.ENUM;
+				this.enumOptions = (EnumArgument.Options<?>) options;
+				this.listOptions = null;
+				this.names = new TreeSet<String>();
+				for (final Enum<?> value : this.enumOptions.getPossibleValues()) {
+					this.names.add(value.name());
+				}
+			} else if (options instanceof EnumSetArgument.Options) {
+				this.type = Type.ENUM_SET;
+				this.enumOptions = null;
+				this.listOptions = options;
+				this.names = new TreeSet<String>();
+				for (final Enum<?> value : ((EnumSetArgument.Options<?>) options).getType().getEnumConstants()) {
+					this.names.add(value.name());
+				}
+			} else {
+				this.enumOptions = null;
+				this.names = null;
+				if (options instanceof LongListArgument.Options) {
+					this.type = Type.LONG_LIST;
+					this.listOptions = options;
+				} else if (options instanceof IntSetArgument.Options) {
+					this.type = Type.INT_SET;
+					this.listOptions = options;
+				} else {
+					this.listOptions = null;
+					if (options instanceof LongArgument.Options) {
+						this.type = Type.LONG;
+					} else if (options instanceof DoubleArgument.Options) {
+						this.type = Type.DOUBLE;
+					} else if (options instanceof PortArgument.Options) {
+						this.type = Type.PORT;
+					} else if (options instanceof URIArgument.Options) {
+						this.type = Type.URI;
+					} else {
+						this.type = Type.ANY;
+					}
+				}
+			}
+		}
+		
+		/**
+		 * Checks the value of the argument in the given property set.
+		 * 
+		 * @param properties
+		 *            the property set
+		 * @param errors
+		 *            the errors found so far
+		 */
+		void check(final Map<String, String> properties,
+		           final List<ValidationError> errors) {
+			String value = properties.get(this.tag);
+			if ((value != null) && value.trim().isEmpty()) {
+				value = null;
+			}
+			
+			if (value == null) {
+				if (!this.defaulted && isRequired(properties)) {
+					errors.add(new ValidationError(this.tag, Kind.MISSING, null, "Required but not set."));
+				}
+				return;
+			}
+			
+			final String problem = typeCheck(value);
+			if (problem != null) {
+				errors.add(new ValidationError(this.tag, Kind.INVALID, value, problem));
+				return;
+			}
+			
+			if ((this.requirements != null) && !this.requirements.check(properties)) {
+				errors.add(new ValidationError(this.tag, Kind.UNSATISFIED, value, "Requirements not met: "
+				        + this.description));
+			}
+		}
+		
+		/**
+		 * Checks if the argument is required in the given property set, like {@link ArgumentOptions#required()}.
+		 * 
+		 * @param properties
+		 *            the property set
+		 * @return true, if required
+		 */
+		private boolean isRequired(final Map<String, String> properties) {
+			for (final Evaluator evaluator : this.required) {
+				if (!evaluator.check(properties)) {
+					return false;
+				}
+			}
+			
+			return true;
+		}
+		
+		/**
+		 * Checks whether the given value can be converted to the type of the argument.
+		 * 
+		 * @param value
+		 *            the value
+		 * @return the problem, <code>null</code> if there is none
+		 */
+		private String typeCheck(final String value) {
+			try {
+				switch (this.type) {
+					case LONG:
+						Long.valueOf(value);
+						return null;
+					case DOUBLE:
+						Double.valueOf(value);
+						return null;
+					case PORT:
+						final int port = Integer.parseInt(value);
+						return (port < 0) || (port > 65535)
+						                                   ? "Ports have to be within the range 0-65535."
+						                                   : null;
+					case ENUM:
+						return this.enumOptions.lookup(value) != null
+						                                             ? null
+						                                             : "Valid values: "
+						                                                     + JavaUtils.collectionToString(this.names);
+					case URI:
+						new URI(value);
+						return null;
+					default:
+						break;
+				}
+				
+				// like the init() of the list and set arguments, element by element
+				if ("[]".equals(value)) {
+					return null;
+				}
+				switch (this.type) {
+					case LONG_LIST:
+						LongListArgument.parse(((LongListArgument.Options) this.listOptions).split(value));
+						return null;
+					case INT_SET:
+						IntSetArgument.parse(((IntSetArgument.Options) this.listOptions).split(value));
+						return null;
+					case ENUM_SET:
+						final EnumSetArgument.Options<?> enumSetOptions = (EnumSetArgument.Options<?>) this.listOptions;
+						enumSetOptions.parse(enumSetOptions.split(value));
+						return null;
+					default:
+						return null;
+				}
+			} catch (final NumberFormatException e) {
+				return "Not a number.";
+			} catch (final IllegalArgumentException e) {
+				return e.getMessage() + " Valid values: " + JavaUtils.collectionToString(this.names);
+			} catch (final URISyntaxException e) {
+				return e.getMessage();
+			}
+		}
+	}
+	
+	/**
+	 * The type checks.
+	 */
+	private static enum Type {
+		
+		/** Any string value. */
+		ANY,
+		
+		/** A {@link Long}. */
+		LONG,
+		
+		/** A {@link Double}. */
+		DOUBLE,
+		
+		/** A port number. */
+		PORT,
+		
+		/** One of the possible values of an enum. */
+		ENUM,
+		
+		/** A {@link java.net.URI}. */
+		URI,
+		
+		/** A list of {@link Long}s. */
+		LONG_LIST,
+		
+		/** A set of {@link Integer}s. */
+		INT_SET,
+		
+		/** A set of possible values of an enum. */
+		ENUM_SET;
+	}
+	
+	/** The steps, ordered by tag. */
+	private final Step[] steps;
+	
+	/**
+	 * Instantiates a new schema validator. Use {@link Settings#compileSchema()}.
+	 * 
+	 * @param options
+	 *            the options registered with the settings
+	 */
+	SchemaValidator(@NotNull final Collection<IOptions<?, ?>> options) {
+		final List<Step> steps = new ArrayList<Step>();
+		
+		for (final IOptions<?, ?> option : options) {
+			if (option instanceof ArgumentOptions) {
+				steps.add(new Step((ArgumentOptions<?, ?>) option));
+			}
+		}
+		
+		this.steps = steps.toArray(new Step[steps.size()]);
+	}
+	
+	/**
+	 * Gets the tags checked by this validator.
+	 * 
+	 * @return the tags, ordered
+	 */
+	public List<String> getTags() {
+		final List<String> tags = new ArrayList<String>(this.steps.length);
+		
+		for (final Step step : this.steps) {
+			tags.add(step.tag);
+		}
+		
+		return tags;
+	}
+	
+	/**
+	 * Validates the given property set. Properties that are not known to the schema are ignored.
+	 * 
+	 * @param properties
+	 *            the property set
+	 * @return the errors found, in the order of the tags; empty if the property set is valid
+	 */
+	public List<ValidationError> validate(@NotNull final Map<String, String> properties) {
+		final List<ValidationError> errors = new ArrayList<ValidationError>();
+		
+		for (final Step step : this.steps) {
+			step.check(properties, errors);
+		}
+		
+		return errors;
+	}
+	
+	/**
+	 * Validates the given property sets in parallel on the given executor.
+	 * 
+	 * @param propertySets
+	 *            the property sets
+	 * @param executor
+	 *            the executor
+	 * @return the errors of each property set, in the order of the property sets
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for the validations
+	 */
+	public List<List<ValidationError>> validateAll(@NotNull final Collection<? extends Map<String, String>> propertySets,
+	                                               @NotNull final ExecutorService executor) throws InterruptedException {
+		final List<Job> jobs = new ArrayList<Job>(propertySets.size());
+		for (final Map<String, String> properties : propertySets) {
+			jobs.add(new Job(this, properties));
+		}
+		
+		final List<List<ValidationError>> results = new ArrayList<List<ValidationError>>(jobs.size());
+		try {
+			for (final Future<List<ValidationError>> future : executor.invokeAll(jobs)) {
+				results.add(future.get());
+			}
+		} catch (final ExecutionException e) {
+			// validate does not throw for invalid input
+			throw new UnrecoverableError(e.getCause());
+		}
+		
+		return results;
+	}
+}
@@ -12,7 +12,11 @@
  ******************************************************************************/
 package net.ownhero.dev.hiari.settings;
 
+import java.io.IOException;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
 import net.ownhero.dev.hiari.settings.requirements.Requirement;
@@ -22,8 +26,6 @@ import net.ownhero.dev.kanuni.conditions.Condition;
 import net.ownhero.dev.kanuni.conditions.StringCondition;
 import net.ownhero.dev.kisa.Logger;
 
-import org.apache.commons.lang.StringUtils;
-
 /**
  * The Class SetArgument.
  * 
@@ -37,7 +39,13 @@ public class SetArgument extends Argument<HashSet<String>, SetArgument.Options>
 	public static class Options extends ArgumentOptions<HashSet<String>, SetArgument> {
 		
 		/** The delimiter. */
-		private String delimiter;
+		private String            delimiter;
+		
+		/** The splitter compiled from the delimiter. */
+		private DelimiterSplitter splitter;
+		
+		/** Whether values of the form <code>@/path/to/file</code> refer to files. */
+		private boolean           fileReferences = false;
 		
 		/**
 		 * Instantiates a new options.
@@ -60,6 +68,7 @@ public class SetArgument extends Argument<HashSet<String>, SetArgument.Options>
 			
 			try {
 				this.delimiter = ",";
+				this.splitter = new DelimiterSplitter(this.delimiter);
 			} finally {
 				Condition.notNull(this.delimiter, "The delimiter in %s must not be null.", getHandle());
 				StringCondition.notEmpty(this.delimiter, "The delimiter in %s must not be empty.", getHandle());
@@ -89,6 +98,7 @@ public class SetArgument extends Argument<HashSet<String>, SetArgument.Options>
 			
 			try {
 				this.delimiter = delimiter;
+				this.splitter = new DelimiterSplitter(delimiter);
 			} finally {
 				Condition.notNull(this.delimiter, "The delimiter in %s must not be null.", getHandle());
 				StringCondition.notEmpty(this.delimiter, "The delimiter in %s must not be empty.", getHandle());
@@ -99,6 +109,29 @@ public class SetArgument extends Argument<HashSet<String>, SetArgument.Options>
 			}
 		}
 		
+		/**
+		 * Lets elements contain the delimiter, escaped with a backslash or within quotes, see
+		 * {@link DelimiterSplitter}. Quoting is off by default, so backslashes and quotes are ordinary characters.
+		 * 
+		 * @return these options
+		 */
+		public final Options enableQuoting() {
+			this.splitter = new DelimiterSplitter(this.delimiter, this.splitter.isTrimming(), true);
+			return this;
+		}
+		
+		/**
+		 * Lets values of the form <code>@/path/to/file</code> refer to a file with one element per line, see
+		 * {@link MappedLineList}. A leading <code>@@</code> then stands for a literal <code>@</code>. File references
+		 * are off by default, so values like <code>@alice,@bob</code> are split as they are.
+		 * 
+		 * @return these options
+		 */
+		public final Options enableFileReferences() {
+			this.fileReferences = true;
+			return this;
+		}
+		
 		/**
 		 * Gets the delimiter.
 		 * 
@@ -107,10 +140,72 @@ public class SetArgument extends Argument<HashSet<String>, SetArgument.Options>
 		public final String getDelimiter() {
 			return this.delimiter;
 		}
+		
+		/**
+		 * Checks if values may refer to files, see {@link #enableFileReferences()}.
+		 * 
+		 * @return true, if so
+		 */
+		public final boolean isFileReferenceEnabled() {
+			return this.fileReferences;
+		}
+		
+		/**
+		 * Checks if elements may be escaped or quoted, see {@link #enableQuoting()}.
+		 * 
+		 * @return true, if so
+		 */
+		public final boolean isQuoting() {
+			return this.splitter.isQuoting();
+		}
+		
+		/**
+		 * Joins the given values with the delimiter, quoting values that contain it if quoting is enabled.
+		 * 
+		 * @param values
+		 *            the values
+		 * @return the joined values
+		 */
+		final String join(@NotNull final Collection<String> values) {
+			return this.splitter.join(values);
+		}
+		
+		/**
+		 * Resolves the given value: if file references are enabled, a value of the form <code>@/path/to/file</code>
+		 * yields the lines of the file, see {@link #enableFileReferences()}; all others are split at the delimiter.
+		 * 
+		 * @param value
+		 *            the value
+		 * @return the elements, as an immutable list
+		 * @throws IOException
+		 *             if the value refers to a file that can not be read
+		 */
+		public final List<String> resolve(@NotNull final String value) throws IOException {
+			return this.fileReferences
+			                          ? MappedLineList.resolve(value, this.splitter)
+			                          : this.splitter.split(value);
+		}
+		
+		/**
+		 * Splits the given value at the delimiter, see {@link DelimiterSplitter}.
+		 * 
+		 * @param value
+		 *            the value
+		 * @return the trimmed elements, as an immutable list
+		 */
+		public final List<String> split(@NotNull final String value) {
+			return this.splitter.split(value);
+		}
 	}
 	
 	/** The delimiter. */
-	private final String delimiter;
+	private final String    delimiter;
+	
+	/** The lower-cased value. */
+	private Set<String>     folded     = null;
+	
+	/** The value {@link #folded} has been built from. */
+	private HashSet<String> foldedFrom = null;
 	
 	/**
 	 * General Arguments as described in RepoSuiteArgument. The string value will be split using delimiter `,` to
@@ -136,8 +231,7 @@ public class SetArgument extends Argument<HashSet<String>, SetArgument.Options>
 			this.delimiter = options.getDelimiter();
 			setStringValue(options.getDefaultValue() != null
 			                                                ? (!options.getDefaultValue().isEmpty())
-			                                                                                        ? StringUtils.join(options.getDefaultValue(),
-			                                                                                                           this.delimiter)
+			                                                                                        ? options.join(options.getDefaultValue())
 			                                                                                        : "[]"
 			                                                : null);
 		} finally {
@@ -146,6 +240,25 @@ public class SetArgument extends Argument<HashSet<String>, SetArgument.Options>
 		}
 	}
 	
+	/**
+	 * Gets the parsed value with all entries lower-cased, for case-insensitive membership tests. The set is built once
+	 * per parsed value and must not be modified.
+	 * 
+	 * @return the lower-cased value, <code>null</code> if the argument has no parsed value (yet)
+	 */
+	public final synchronized Set<String> getFoldedValue() {
+		final HashSet<String> value = getCachedValue();
+		
+		if (value != this.foldedFrom) {
+			this.folded = value != null
+			                           ? ListArgument.fold(value)
+			                           : null;
+			this.foldedFrom = value;
+		}
+		
+		return this.folded;
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see net.ownhero.dev.andama.settings.AndamaArgument#init()
@@ -169,21 +282,37 @@ public class SetArgument extends Argument<HashSet<String>, SetArgument.Options>
 					ret = true;
 				}
 			} else {
-				final HashSet<String> result = new HashSet<String>();
 				if (getStringValue().equals("[]")) {
-					setCachedValue(result);
+					setCachedValue(new HashSet<String>());
 					return true;
 				}
-				for (final String s : getStringValue().split(this.delimiter)) {
-					result.add(s.trim());
-				}
 				
-				setCachedValue(result);
-				ret = true;
+				try {
+					final HashSet<String> result = new HashSet<String>(getOptions().resolve(getStringValue()));
+					
+					setCachedValue(result);
+					ret = true;
+				} catch (final IOException e) {
+					if (Logger.logError()) {
+						Logger.error("Could not read the elements of argument `%s` from %s: %s", getName(),
+						             getStringValue(), e.getMessage());
+					}
+				}
 			}
 			return ret;
 		} finally {
 			__initPostCondition(ret);
 		}
 	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.Argument#isDeferrable()
+	 */
+	@Override
+	protected final boolean isDeferrable() {
+		// only reading the elements from a file is expensive
+		return getOptions().isFileReferenceEnabled() && validStringValue()
+		        && (MappedLineList.getReference(getStringValue()) != null);
+	}
 }
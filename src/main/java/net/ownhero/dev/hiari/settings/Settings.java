@@ -12,24 +12,33 @@
  ******************************************************************************/
 package net.ownhero.dev.hiari.settings;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.lang.reflect.Modifier;
-import java.net.MalformedURLException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Properties;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import net.ownhero.dev.andama.exceptions.ClassLoadingError;
 import net.ownhero.dev.andama.exceptions.UnrecoverableError;
 import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
 import net.ownhero.dev.hiari.settings.exceptions.ArgumentSetRegistrationException;
 import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+import net.ownhero.dev.hiari.settings.requirements.Optional;
 import net.ownhero.dev.hiari.settings.requirements.Requirement;
+import net.ownhero.dev.hiari.settings.requirements.RequirementGraph;
 import net.ownhero.dev.kanuni.annotations.simple.NotNull;
 import net.ownhero.dev.kanuni.conditions.ClassCondition;
 import net.ownhero.dev.kanuni.conditions.Condition;
@@ -52,7 +61,7 @@ public class Settings implements ISettings {
 	private class Help {
 		
 		/** The option map. */
-		Map<String, IOptions<?, ?>> optionMap = new TreeMap<String, IOptions<?, ?>>();
+		NavigableMap<String, IOptions<?, ?>> optionMap = new TreeMap<String, IOptions<?, ?>>();
 		
 		/**
 		 * Adds the option.
@@ -89,33 +98,62 @@ public class Settings implements ISettings {
 			}
 		}
 		
+		/**
+		 * Writes the help of all options seen so far, sorted by tag.
+		 * 
+		 * @param out
+		 *            the target
+		 * @throws IOException
+		 *             Signals that an I/O exception has occurred.
+		 */
+		void render(final Appendable out) throws IOException {
+			render(out, "");
+		}
+		
+		/**
+		 * Writes the help of all options seen so far whose tag starts with the given prefix, sorted by tag.
+		 * 
+		 * @param out
+		 *            the target
+		 * @param prefix
+		 *            the tag prefix
+		 * @throws IOException
+		 *             Signals that an I/O exception has occurred.
+		 */
+		void render(final Appendable out,
+		            final String prefix) throws IOException {
+			if (prefix.isEmpty()) {
+				new SettingsRenderer(out).help(this.optionMap.values());
+				return;
+			}
+			
+			final List<IOptions<?, ?>> matches = new LinkedList<IOptions<?, ?>>();
+			for (final Map.Entry<String, IOptions<?, ?>> entry : this.optionMap.tailMap(prefix, true).entrySet()) {
+				if (!entry.getKey().startsWith(prefix)) {
+					break;
+				}
+				matches.add(entry.getValue());
+			}
+			
+			new SettingsRenderer(out).help(matches);
+		}
+		
 		/*
 		 * (non-Javadoc)
 		 * @see java.lang.Object#toString()
 		 */
 		@Override
 		public String toString() {
-			// PRECONDITIONS
-			
 			final StringBuilder builder = new StringBuilder();
 			
 			try {
-				int maxlength = 0;
-				for (final String key : this.optionMap.keySet()) {
-					if (key.length() > maxlength) {
-						maxlength = key.length();
-					}
-				}
-				
-				for (final String key : this.optionMap.keySet()) {
-					builder.append(this.optionMap.get(key).getHelpString(maxlength + 1))
-					       .append(FileUtils.lineSeparator);
-					// builder.append(key).append('\t').append(this.optionMap.get(key)).append(FileUtils.lineSeparator);
-				}
-				return builder.toString();
-			} finally {
-				// POSTCONDITIONS
+				render(builder);
+			} catch (final IOException e) {
+				// StringBuilder does not throw
+				throw new UnrecoverableError(e);
 			}
+			
+			return builder.toString();
 		}
 		
 	}
@@ -125,7 +163,7 @@ public class Settings implements ISettings {
 	 * 
 	 * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
 	 */
-	final class RootArgumentSet extends ArgumentSet<Boolean, RootArgumentSet.Options> {
+	static final class RootArgumentSet extends ArgumentSet<Boolean, RootArgumentSet.Options> {
 		
 		/**
 		 * The Class Options.
@@ -196,7 +234,58 @@ public class Settings implements ISettings {
 	}
 	
 	/** The Constant settingsTag. */
-	private static final String settingsTag = "config";
+	static final String settingsTag = "config";
+	
+	/**
+	 * Bootstraps a new settings instance in the background. Independent phases (reading the logger configuration,
+	 * fetching the config sources and loading the argument classes) run concurrently on a private pool; the returned
+	 * future completes once the settings are fully registered and validated. A {@link SettingsParseError} is reported
+	 * as the cause of the {@link java.util.concurrent.ExecutionException} thrown by {@link Future#get()}.
+	 * 
+	 * @return the future settings
+	 */
+	public static Future<Settings> bootstrapAsync() {
+		return SettingsBootstrap.start(null);
+	}
+	
+	/**
+	 * Bootstraps a new settings instance in the background using the given executor.
+	 * 
+	 * @param executor
+	 *            the executor, needs to be able to run at least two tasks concurrently to gain anything
+	 * @return the future settings
+	 * @see #bootstrapAsync()
+	 */
+	public static Future<Settings> bootstrapAsync(@NotNull final ExecutorService executor) {
+		return SettingsBootstrap.start(executor);
+	}
+	
+	/**
+	 * Creates the options of the argument that lists the configuration sources, see {@link #settingsTag}. The bootstrap
+	 * uses the same options to read the sources ahead of time, so both agree on the locations.
+	 * 
+	 * @param set
+	 *            the argument set
+	 * @return the options
+	 */
+	static ListArgument.Options configOptions(@NotNull final ArgumentSet<?, ?> set) {
+		return new ListArgument.Options(
+		                                set,
+		                                settingsTag,
+		                                "Comma separated list of setting files/URIs that contain the JavaVM arguments for the current toolchain. Later entries override earlier ones.",
+		                                null, Requirement.optional);
+	}
+	
+	/**
+	 * Creates a root argument set that is not attached to any settings. Options can be declared against it to inspect
+	 * their schema (names, types, default values), but nothing is registered, parsed or initialized through it.
+	 * 
+	 * @return the detached root
+	 * @see FacadeGenerator
+	 */
+	static ArgumentSet<Boolean, RootArgumentSet.Options> detachedRoot() {
+		return new RootArgumentSet(null);
+	}
 	
 	/**
 	 * Gets the report this.
@@ -207,6 +296,26 @@ public class Settings implements ISettings {
 		return reportThis;
 	}
 	
+	/**
+	 * Checks if the given tag is nested in one of the given argument sets, i.e. one of its ancestor tags is among them.
+	 * 
+	 * @param sets
+	 *            the tags of the argument sets
+	 * @param tag
+	 *            the tag
+	 * @return true, if so
+	 */
+	private static boolean isNestedIn(final Set<String> sets,
+	                                  final String tag) {
+		for (int dot = tag.indexOf('.'); dot >= 0; dot = tag.indexOf('.', dot + 1)) {
+			if (sets.contains(tag.substring(0, dot))) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
 	/**
 	 * The main method.
 	 * 
@@ -227,7 +336,7 @@ public class Settings implements ISettings {
 			System.err.println();
 			System.err.println();
 			
-			System.setProperty("help", "T");
+			System.setProperty("help", "true");
 			settings = new Settings();
 			System.err.println("toString() (with -Dhelp)");
 			System.err.println(settings);
@@ -245,10 +354,10 @@ public class Settings implements ISettings {
 	}
 	
 	/** The argument sets. */
-	private final Map<String, ArgumentSet<?, ?>>          argumentSets         = new HashMap<String, ArgumentSet<?, ?>>();
+	private final Map<String, ArgumentSet<?, ?>>          argumentSets;
 	
 	/** The tool information. */
-	private final Map<String, String>                     information          = new HashMap<String, String>();
+	private final Map<String, String>                     information;
 	
 	/** The no default value arg. */
 	private BooleanArgument                               noDefaultValueArg;
@@ -257,7 +366,7 @@ public class Settings implements ISettings {
 	private BooleanArgument                               enableCrashArg;
 	
 	/** The settings arg. */
-	private URIArgument                                   settingsArg;
+	private ListArgument                                  settingsArg;
 	
 	/** The mail arguments. */
 	private ArgumentSet<Properties, MailOptions>          mailArguments;
@@ -269,11 +378,23 @@ public class Settings implements ISettings {
 	private StringArgument                                bugReportArgument;
 	
 	/** The properties. */
-	private final Properties                              properties           = new Properties();
+	private final Properties                              properties;
+	
+	/** The source each property was taken from. */
+	private final Map<String, String>                     propertySources;
 	
 	/** The report this. */
 	private static String                                 reportThis           = "Please file a bug report with this error message here: https://dev.own-hero.net";
 	
+	/** The Constant accessProfileTag. */
+	public static final String                            accessProfileTag     = "accessProfile";
+	
+	/** The Constant validationCacheTag. */
+	public static final String                            validationCacheTag   = "validationCache";
+	
+	/** The Constant forceValidationTag. */
+	public static final String                            forceValidationTag   = "forceValidation";
+	
 	/** The Constant denyDefaultValuesTag. */
 	public static final String                            denyDefaultValuesTag = "denyDefaultValues";
 	
@@ -286,6 +407,39 @@ public class Settings implements ISettings {
 	/** The nohelp. */
 	private boolean                                       nohelp               = true;
 	
+	/** The tag prefix given with <code>-Dhelp=&lt;prefix&gt;</code>; empty to show all options. */
+	private String                                        helpPrefix           = "";
+	
+	/** The compiled wildcard keys of the properties, <code>null</code> if there are none. */
+	private WildcardMatcher                               wildcards            = null;
+	
+	/** The arguments and argument sets by tag. Guarded by {@link #argumentSets}. */
+	private final TagTrie<IArgument<?, ?>>                tags;
+	
+	/** The validation cache. */
+	private ValidationCache                               validationCache      = ValidationCache.DISABLED;
+	
+	/** The access profile. */
+	private final AccessProfile                           accessProfile;
+	
+	/** The monitor. */
+	private final SettingsMonitor                         monitor              = new SettingsMonitor(this);
+	
+	/** The settings this instance has been derived from, <code>null</code> if not derived. */
+	private final Settings                                base;
+	
+	/** The properties overridden in derived settings. */
+	private final PersistentTagMap<String>                overrides;
+	
+	/** The arguments and argument sets that have been re-validated for derived settings. */
+	private PersistentTagMap<IArgument<?, ?>>             derived;
+	
+	/** The override index, built on the first derivation. */
+	private OverrideIndex                                 overrideIndex        = null;
+	
+	/** The report collecting validation failures, <code>null</code> to fail on the first one. */
+	private volatile ValidationReport                     validationReport     = null;
+	
 	/**
 	 * Instantiates a new settings.
 	 * 
@@ -293,8 +447,37 @@ public class Settings implements ISettings {
 	 *             the settings parse error
 	 */
 	public Settings() throws SettingsParseError {
-		// in any case, you first want to read the logger options
-		Logger.readConfiguration();
+		this(true, null);
+	}
+	
+	/**
+	 * Instantiates a new settings.
+	 * 
+	 * @param readLoggerConfiguration
+	 *            whether the logger configuration still has to be read
+	 * @param prefetched
+	 *            the config sources fetched ahead of time, may be <code>null</code>
+	 * @throws SettingsParseError
+	 *             the settings parse error
+	 */
+	Settings(final boolean readLoggerConfiguration, final Future<ConfigurationLoader> prefetched)
+	        throws SettingsParseError {
+		final long start = System.nanoTime();
+		
+		this.argumentSets = new HashMap<String, ArgumentSet<?, ?>>();
+		this.tags = new TagTrie<IArgument<?, ?>>();
+		this.information = new HashMap<String, String>();
+		this.properties = new Properties();
+		this.propertySources = new HashMap<String, String>();
+		this.accessProfile = new AccessProfile();
+		this.base = null;
+		this.overrides = PersistentTagMap.empty();
+		this.derived = PersistentTagMap.empty();
+		
+		if (readLoggerConfiguration) {
+			// in any case, you first want to read the logger options
+			Logger.readConfiguration();
+		}
 		
 		try {
 			// first read
@@ -310,32 +493,35 @@ public class Settings implements ISettings {
 			this.root = new RootArgumentSet(this);
 			
 			// setup the help argument
-			ArgumentFactory.create(new BooleanArgument.Options(getRoot(), "help", "Shows this help menu.", false,
-			                                                   Requirement.optional));
-			if (getProperties().get("help") != null) {
+			ArgumentFactory.create(new BooleanArgument.Options(
+			                                                   getRoot(),
+			                                                   "help",
+			                                                   "Shows this help menu. Use -Dhelp=<prefix> to only show the options whose tag starts with <prefix>.",
+			                                                   false, Requirement.optional));
+			final String helpValue = getProperties().getProperty("help");
+			if (helpValue != null) {
 				this.nohelp = false;
-			}
-			this.settingsArg = ArgumentFactory.create(new URIArgument.Options(
-			                                                                  getRoot(),
-			                                                                  settingsTag,
-			                                                                  "Setting file that contains the JavaVM arguments for the current toolchain.",
-			                                                                  null, Requirement.optional));
-			// check to load settings from URI
-			if ((System.getProperty(settingsTag) != null) && (this.nohelp)) {
-				try {
-					final InputStream stream = this.settingsArg.getValue().toURL().openStream();
-					fileProps.load(stream);
-					
-				} catch (final MalformedURLException e) {
-					throw new SettingsParseError(e.getMessage());
-				} catch (final IOException e) {
-					throw new SettingsParseError(e.getMessage());
+				if (!helpValue.trim().isEmpty() && !"true".equalsIgnoreCase(helpValue.trim())
+				        && !"false".equalsIgnoreCase(helpValue.trim())) {
+					this.helpPrefix = helpValue.trim();
 				}
 			}
+			this.settingsArg = ArgumentFactory.create(configOptions(getRoot()));
+			// check to load settings from URIs
+			if ((System.getProperty(settingsTag) != null) && (this.nohelp) && (this.settingsArg.getValue() != null)) {
+				configurationLoader(this.settingsArg.getValue(), prefetched).load(fileProps, this.propertySources);
+			}
 			
 			getProperties().putAll(fileProps);
 			// overwrite values given on the commandline
 			getProperties().putAll(commandlineProps);
+			for (final String key : commandlineProps.stringPropertyNames()) {
+				this.propertySources.put(key, ConfigurationLoader.COMMANDLINE);
+			}
+			this.wildcards = WildcardMatcher.compile(getProperties().stringPropertyNames());
+			
+			setupValidationCache();
+			setupAccessProfile();
 			
 			this.bugReportArgument = ArgumentFactory.create(new StringArgument.Options(
 			                                                                           getRoot(),
@@ -354,6 +540,8 @@ public class Settings implements ISettings {
 			                                                                         false, Requirement.optional));
 			this.mailArguments = ArgumentSetFactory.create(new MailOptions(getRoot(), Requirement.required));
 			this.loggerArgs = ArgumentSetFactory.create(new LoggerOptions(getRoot(), Requirement.required));
+			
+			this.monitor.setBootstrapNanos(System.nanoTime() - start);
 		} catch (final ArgumentRegistrationException e) {
 			if (Logger.logError()) {
 				Logger.error(e);
@@ -369,21 +557,54 @@ public class Settings implements ISettings {
 		
 	}
 	
+	/**
+	 * Instantiates settings derived from the given ones. Everything but the overridden properties and the re-validated
+	 * arguments is shared with the base.
+	 * 
+	 * @param base
+	 *            the base settings
+	 * @param overrides
+	 *            the overridden properties
+	 * @param derived
+	 *            the re-validated arguments so far
+	 */
+	private Settings(final Settings base, final PersistentTagMap<String> overrides,
+	        final PersistentTagMap<IArgument<?, ?>> derived) {
+		this.argumentSets = base.argumentSets;
+		this.tags = base.tags;
+		this.information = base.information;
+		this.properties = base.properties;
+		this.propertySources = base.propertySources;
+		this.accessProfile = base.accessProfile;
+		this.validationCache = base.validationCache;
+		this.help = base.help;
+		this.nohelp = base.nohelp;
+		this.helpPrefix = base.helpPrefix;
+		this.wildcards = base.wildcards;
+		this.root = base.root;
+		this.base = base;
+		this.overrides = overrides;
+		this.derived = derived;
+	}
+	
 	/**
 	 * Adds the argument mapping.
 	 * 
-	 * @param name
-	 *            the name
 	 * @param argument
-	 *            the argument
+	 *            the argument or argument set
+	 * @param set
+	 *            the set responsible for the argument: its parent, or the argument set itself
 	 * @return true, if successful
 	 */
-	boolean addArgumentMapping(final String tag,
-	                           final ArgumentSet<?, ?> argument) {
+	boolean addArgumentMapping(final IArgument<?, ?> argument,
+	                           final ArgumentSet<?, ?> set) {
+		final String tag = argument.getTag();
+		
 		if (!this.argumentSets.containsKey(tag)) {
 			synchronized (this.argumentSets) {
 				if (!this.argumentSets.containsKey(tag)) {
-					this.argumentSets.put(tag, argument);
+					this.argumentSets.put(tag, set);
+					this.tags.put(tag, argument);
 					return true;
 				}
 				return false;
@@ -415,6 +636,233 @@ public class Settings implements ISettings {
 		this.help.addOption(options);
 	}
 	
+	/**
+	 * Analyzes the requirements of all options registered so far for dependency cycles, dependencies on options that
+	 * have never been registered and requirements that can never be met. Call this once all providers have been
+	 * registered; the result can also be exported as DOT.
+	 * 
+	 * @return the requirement graph
+	 */
+	public final RequirementGraph analyzeRequirements() {
+		final RequirementGraph graph = new RequirementGraph(this.help.optionMap.values());
+		
+		if (!graph.isSound() && Logger.logWarn()) {
+			Logger.warn("Problems in the requirement graph:%s%s", FileUtils.lineSeparator, graph);
+		}
+		
+		return graph;
+	}
+	
+	/**
+	 * Checks the given requirement against the properties of these settings. Requirements read the properties of the
+	 * settings their options have been registered with, so for derived settings the requirement is compiled (see
+	 * {@link Requirement#compile()}) and evaluated against the properties of its dependencies in these settings.
+	 * 
+	 * @param requirement
+	 *            the requirement
+	 * @return true, if successful
+	 */
+	final boolean check(@NotNull final Requirement requirement) {
+		if (this.base == null) {
+			return requirement.check();
+		}
+		
+		final Map<String, String> properties = new HashMap<String, String>();
+		for (final IOptions<?, ?> option : requirement.getDependencies()) {
+			properties.put(option.getTag(), getProperty(option.getTag()));
+		}
+		
+		return requirement.compile().check(properties);
+	}
+	
+	/**
+	 * Makes the argument and argument set factories record validation failures in a report instead of throwing them, so
+	 * all mistakes in a configuration show up at once. Arguments that fail validation are still created but stay
+	 * unset, argument sets whose arguments failed are not initialized. Call {@link ValidationReport#check()} once all
+	 * providers have been registered.
+	 * 
+	 * @return the report
+	 */
+	public final synchronized ValidationReport collectErrors() {
+		if (this.validationReport == null) {
+			this.validationReport = new ValidationReport();
+		}
+		
+		return this.validationReport;
+	}
+	
+	/**
+	 * Compiles a validator that checks property sets against the options registered so far, see
+	 * {@link SchemaValidator}. Call this once all providers have been registered.
+	 * 
+	 * @return the schema validator
+	 */
+	public final SchemaValidator compileSchema() {
+		return new SchemaValidator(this.help.optionMap.values());
+	}
+	
+	/**
+	 * Gets the version of the given argument (set) that is valid in these settings: the re-validated copy for derived
+	 * settings, the argument itself otherwise.
+	 * 
+	 * @param <A>
+	 *            the generic type
+	 * @param argument
+	 *            the argument, may be <code>null</code>
+	 * @return the current argument
+	 */
+	@SuppressWarnings ("unchecked")
+	<A extends IArgument<?, ?>> A current(final A argument) {
+		if ((argument == null) || this.derived.isEmpty()) {
+			return argument;
+		}
+		
+		final IArgument<?, ?> copy = this.derived.get(argument.getTag());
+		return copy != null
+		                   ? (A) copy
+		                   : argument;
+	}
+	
+	/**
+	 * Creates the loader for the given config locations, reusing a prefetched one if it covers the same sources.
+	 * 
+	 * @param locations
+	 *            the locations
+	 * @param prefetched
+	 *            the prefetched loader, may be <code>null</code>
+	 * @return the configuration loader
+	 * @throws SettingsParseError
+	 *             the settings parse error
+	 */
+	private ConfigurationLoader configurationLoader(final List<String> locations,
+	                                                final Future<ConfigurationLoader> prefetched) throws SettingsParseError {
+		final ConfigurationLoader loader = new ConfigurationLoader(locations);
+		
+		if (prefetched != null) {
+			try {
+				final ConfigurationLoader candidate = prefetched.get();
+				if ((candidate != null) && candidate.getSources().equals(loader.getSources())) {
+					return candidate;
+				}
+			} catch (final ExecutionException e) {
+				if (Logger.logDebug()) {
+					Logger.debug("Prefetching the configuration failed, reading it again: %s", e.getCause());
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SettingsParseError("Interrupted while waiting for the configuration.", null, e);
+			}
+		}
+		
+		return loader;
+	}
+	
+	/**
+	 * Writes the values of all arguments to the given target, as {@link #toString()} does. The output is streamed, so
+	 * large trees can be logged without building the whole dump in memory first.
+	 * 
+	 * @param out
+	 *            the target
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public final void dump(@NotNull final Appendable out) throws IOException {
+		final String name = getClass().getSimpleName();
+		
+		out.append(name).append(':').append(FileUtils.lineSeparator);
+		for (int i = 0; i < (name.length() + 1); ++i) {
+			out.append('-');
+		}
+		out.append(FileUtils.lineSeparator);
+		
+		new SettingsRenderer(out).dump(getRoot());
+	}
+	
+	/**
+	 * Writes the values of all arguments whose tag starts with the given prefix to the given target. Argument sets
+	 * with a matching tag are written with all their children. Only the matching part of the tree is visited.
+	 * 
+	 * @param prefix
+	 *            the tag prefix, e.g. <code>mail</code> or <code>database.shard3.</code>
+	 * @param out
+	 *            the target
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public final void dump(@NotNull final String prefix,
+	                       @NotNull final Appendable out) throws IOException {
+		final String name = getClass().getSimpleName();
+		
+		out.append(name).append(" (").append(prefix).append("*):").append(FileUtils.lineSeparator);
+		for (int i = 0; i < (name.length() + prefix.length() + 5); ++i) {
+			out.append('-');
+		}
+		out.append(FileUtils.lineSeparator);
+		
+		new SettingsRenderer(out).dump(matching(prefix));
+	}
+	
+	/**
+	 * Finds the argument or argument set with the given tag. Unlike {@link #getArgument(IArgumentOptions)}, this does
+	 * not fail if nothing has been registered under the tag yet.
+	 * 
+	 * @param tag
+	 *            the tag
+	 * @return the argument, <code>null</code> if none is registered
+	 */
+	public final IArgument<?, ?> findArgument(@NotNull final String tag) {
+		final IArgument<?, ?> argument;
+		synchronized (this.argumentSets) {
+			argument = this.tags.get(tag);
+		}
+		
+		return current(argument);
+	}
+	
+	/**
+	 * Passes every argument and argument set whose tag starts with the given prefix to the given consumer, in the
+	 * order of their tags. The consumer is called after the lookup, so it may register new arguments.
+	 * 
+	 * @param prefix
+	 *            the tag prefix
+	 * @param consumer
+	 *            the consumer
+	 * @see #getArgumentsUnder(String)
+	 */
+	public final void forEachUnder(@NotNull final String prefix,
+	                               @NotNull final ArgumentConsumer consumer) {
+		for (final IArgument<?, ?> argument : getArgumentsUnder(prefix)) {
+			consumer.accept(argument);
+		}
+	}
+	
+	/**
+	 * Gets the access profile.
+	 * 
+	 * @return the access profile
+	 */
+	final AccessProfile getAccessProfile() {
+		return this.accessProfile;
+	}
+	
+	/**
+	 * Gets a constant-foldable accessor to the value of the given argument. The accessor stays valid if the value is
+	 * changed, see {@link ArgumentAccessor}.
+	 * 
+	 * @param <T>
+	 *            the generic type
+	 * @param <X>
+	 *            the generic type
+	 * @param <Y>
+	 *            the generic type
+	 * @param option
+	 *            the option
+	 * @return the accessor
+	 */
+	public final <T, X extends ArgumentOptions<T, Y>, Y extends Argument<T, X>> ArgumentAccessor<T> getAccessor(@NotNull final IArgumentOptions<T, Y> option) {
+		return getArgument(option).getAccessor();
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see net.ownhero.dev.hiari.settings.ISettings#getAnchor(java.lang.String)
@@ -429,6 +877,7 @@ public class Settings implements ISettings {
 	 * @see net.ownhero.dev.hiari.settings.ISettings#getArgument(net.ownhero.dev.hiari.settings.IArgumentOptions)
 	 */
 	@Override
+	@SuppressWarnings ("unchecked")
 	public <T, X extends ArgumentOptions<T, Y>, Y extends Argument<T, X>> Y getArgument(@NotNull final IArgumentOptions<T, Y> option) {
 		// PRECONDITIONS
 		Y argument = null;
@@ -437,6 +886,15 @@ public class Settings implements ISettings {
 			if (Logger.logTrace()) {
 				Logger.trace("Requesting Argument (tag: '%s').", option.getTag());
 			}
+			this.monitor.argumentLookup();
+			
+			if (!this.derived.isEmpty()) {
+				final IArgument<?, ?> override = this.derived.get(option.getTag());
+				if (override != null) {
+					argument = (Y) override;
+					return argument;
+				}
+			}
 			
 			synchronized (this.argumentSets) {
 				final ArgumentSet<?, ?> set = this.argumentSets.get(option.getTag());
@@ -478,6 +936,15 @@ public class Settings implements ISettings {
 			if (Logger.logTrace()) {
 				Logger.trace(String.format("Requesting ArgumentSet (tag: '%s').", option.getTag()));
 			}
+			this.monitor.argumentSetLookup();
+			
+			if (!this.derived.isEmpty()) {
+				final IArgument<?, ?> override = this.derived.get(option.getTag());
+				if (override != null) {
+					return (Y) override;
+				}
+			}
+			
 			synchronized (this.argumentSets) {
 				return (Y) this.argumentSets.get(option.getTag());
 			}
@@ -486,6 +953,31 @@ public class Settings implements ISettings {
 		}
 	}
 	
+	/**
+	 * Gets all arguments and argument sets whose tag starts with the given prefix, including everything nested in
+	 * matching argument sets, sorted by tag. Use a trailing dot (e.g. <code>database.shard3.</code>) to get the
+	 * contents of a set only. Runs in O(prefix length + number of results).
+	 * 
+	 * @param prefix
+	 *            the tag prefix; the empty prefix matches everything
+	 * @return the matching arguments and argument sets
+	 */
+	public final List<IArgument<?, ?>> getArgumentsUnder(@NotNull final String prefix) {
+		final List<IArgument<?, ?>> arguments = new ArrayList<IArgument<?, ?>>();
+		
+		synchronized (this.argumentSets) {
+			this.tags.collect(prefix, arguments);
+		}
+		
+		if (!this.derived.isEmpty()) {
+			for (int i = 0; i < arguments.size(); ++i) {
+				arguments.set(i, current(arguments.get(i)));
+			}
+		}
+		
+		return arguments;
+	}
+	
 	/**
 	 * Gets the bug report argument.
 	 * 
@@ -523,6 +1015,27 @@ public class Settings implements ISettings {
 		return this.enableCrashArg;
 	}
 	
+	/**
+	 * Gets the failed checks of the given requirement against the properties of these settings, see
+	 * {@link #check(Requirement)}. For derived settings, the requirement itself is reported if it fails.
+	 * 
+	 * @param requirement
+	 *            the requirement
+	 * @return the failed checks, empty if the requirement is met
+	 */
+	final List<Requirement> getFailedChecks(@NotNull final Requirement requirement) {
+		if (this.base == null) {
+			return requirement.getFailedChecks();
+		}
+		
+		final List<Requirement> failed = new LinkedList<Requirement>();
+		if (!check(requirement)) {
+			failed.add(requirement);
+		}
+		
+		return failed;
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see net.ownhero.dev.andama.settings.ISettings#getHandle()
@@ -538,16 +1051,16 @@ public class Settings implements ISettings {
 	 */
 	@Override
 	public String getHelpString() {
-		if (this.nohelp) {
-			if (Logger.logTrace()) {
-				Logger.trace("Help mode is inactive. Displaying graph structure deduced from active settings.");
-			}
-			return getRoot().getHelpString();
-		}
-		if (Logger.logTrace()) {
-			Logger.trace("Help mode is active. Displaying information based on IOptions seen so far (stored in the Help entity in Settings).");
+		final StringBuilder builder = new StringBuilder();
+		
+		try {
+			help(builder);
+		} catch (final IOException e) {
+			// StringBuilder does not throw
+			throw new UnrecoverableError(e);
 		}
-		return this.help.toString();
+		
+		return builder.toString();
 	}
 	
 	/*
@@ -592,6 +1105,15 @@ public class Settings implements ISettings {
 		return this.mailArguments;
 	}
 	
+	/**
+	 * Gets the JMX monitor of this settings instance.
+	 * 
+	 * @return the monitor
+	 */
+	public final SettingsMonitor getMonitor() {
+		return this.monitor;
+	}
+	
 	/**
 	 * Gets the no default value arg.
 	 * 
@@ -602,6 +1124,24 @@ public class Settings implements ISettings {
 		return this.noDefaultValueArg;
 	}
 	
+	/**
+	 * Gets the override index, rebuilding it if arguments have been registered since it was built.
+	 * 
+	 * @return the override index
+	 */
+	private synchronized OverrideIndex getOverrideIndex() {
+		final int version;
+		synchronized (this.argumentSets) {
+			version = this.argumentSets.size();
+		}
+		
+		if ((this.overrideIndex == null) || (this.overrideIndex.getVersion() != version)) {
+			this.overrideIndex = new OverrideIndex(getRoot(), version);
+		}
+		
+		return this.overrideIndex;
+	}
+	
 	/**
 	 * Gets the properties.
 	 * 
@@ -620,7 +1160,47 @@ public class Settings implements ISettings {
 		// PRECONDITIONS
 		Condition.notNull(getProperties(), "The field %s in %s.", "properties", getHandle());
 		
-		return getProperties().getProperty(name);
+		this.monitor.propertyLookup();
+		
+		if (!this.overrides.isEmpty()) {
+			final String override = this.overrides.get(name);
+			if (override != null) {
+				return override;
+			}
+		}
+		
+		final String value = getProperties().getProperty(name);
+		if ((value != null) || (this.wildcards == null)) {
+			return value;
+		}
+		
+		final String key = this.wildcards.match(name);
+		return key != null
+		                  ? getProperties().getProperty(key)
+		                  : null;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.ISettings#getPropertySource(java.lang.String)
+	 */
+	@Override
+	public final String getPropertySource(final String name) {
+		// PRECONDITIONS
+		Condition.notNull(this.propertySources, "The field %s in %s.", "propertySources", getHandle());
+		
+		if (!this.overrides.isEmpty() && (this.overrides.get(name) != null)) {
+			return ConfigurationLoader.OVERRIDE;
+		}
+		
+		if ((this.wildcards != null) && !getProperties().containsKey(name)) {
+			final String key = this.wildcards.match(name);
+			if (key != null) {
+				return this.propertySources.get(key);
+			}
+		}
+		
+		return this.propertySources.get(name);
 	}
 	
 	/**
@@ -673,6 +1253,34 @@ public class Settings implements ISettings {
 		return null;
 	}
 	
+	/**
+	 * Gets the tags of all arguments and argument sets that have been registered but whose values have not been read
+	 * (yet). Called at the end of a run, this is the list of configuration keys the tool does not use.
+	 * 
+	 * @return the unread tags in sorted order
+	 */
+	public final List<String> getUnreadArguments() {
+		return this.accessProfile.getUnread();
+	}
+	
+	/**
+	 * Gets the validation cache.
+	 * 
+	 * @return the validation cache, never <code>null</code>
+	 */
+	final ValidationCache getValidationCache() {
+		return this.validationCache;
+	}
+	
+	/**
+	 * Gets the validation report.
+	 * 
+	 * @return the report, <code>null</code> unless {@link #collectErrors()} has been called
+	 */
+	final ValidationReport getValidationReport() {
+		return this.validationReport;
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see net.ownhero.dev.andama.settings.ISettings#hasSetting(java.lang.String)
@@ -684,6 +1292,28 @@ public class Settings implements ISettings {
 		}
 	}
 	
+	/**
+	 * Writes the help to the given target, as {@link #getHelpString()} does.
+	 * 
+	 * @param out
+	 *            the target
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public final void help(@NotNull final Appendable out) throws IOException {
+		if (this.nohelp) {
+			if (Logger.logTrace()) {
+				Logger.trace("Help mode is inactive. Displaying graph structure deduced from active settings.");
+			}
+			new SettingsRenderer(out).help(getRoot());
+		} else {
+			if (Logger.logTrace()) {
+				Logger.trace("Help mode is active. Displaying information based on IOptions seen so far (stored in the Help entity in Settings).");
+			}
+			this.help.render(out, this.helpPrefix);
+		}
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see net.ownhero.dev.hiari.settings.ISettings#helpRequested()
@@ -702,6 +1332,25 @@ public class Settings implements ISettings {
 		return this.enableCrashArg.getValue();
 	}
 	
+	/**
+	 * Checks if the given argument (set) is required with the properties of these settings, see
+	 * {@link IArgument#required()} and {@link #check(Requirement)}.
+	 * 
+	 * @param argument
+	 *            the argument
+	 * @return true, if the argument and all its parents are required
+	 */
+	final boolean isRequired(@NotNull final IArgument<?, ?> argument) {
+		if (this.base == null) {
+			return argument.required();
+		}
+		
+		final ArgumentSet<?, ?> parent = argument.getParent();
+		final Requirement requirements = argument.getRequirements();
+		
+		return ((parent == null) || isRequired(parent)) && !(requirements instanceof Optional) && check(requirements);
+	}
+	
 	/**
 	 * Load by class.
 	 * 
@@ -807,6 +1456,150 @@ public class Settings implements ISettings {
 		return ret;
 	}
 	
+	/**
+	 * Gets the arguments and argument sets whose tag starts with the given prefix, sorted by tag. Entries below a
+	 * matching argument set are left out, since they are rendered as part of the set.
+	 * 
+	 * @param prefix
+	 *            the prefix
+	 * @return the matching arguments and argument sets
+	 */
+	private List<IArgument<?, ?>> matching(final String prefix) {
+		final List<IArgument<?, ?>> matches = new LinkedList<IArgument<?, ?>>();
+		final Set<String> sets = new HashSet<String>();
+		
+		for (final IArgument<?, ?> argument : getArgumentsUnder(prefix)) {
+			final String tag = argument.getTag();
+			
+			// descendants do not necessarily follow their set, e.g. mail-x sorts between mail and mail.host
+			if (isNestedIn(sets, tag)) {
+				continue;
+			}
+			
+			matches.add(argument);
+			if (argument instanceof ArgumentSet) {
+				sets.add(tag);
+			}
+		}
+		
+		return matches;
+	}
+	
+	/**
+	 * Fixes the evaluation order of the requirements of all options registered so far, see
+	 * {@link Requirement#optimize()}. Until then, composite requirements keep their declaration order; call this once
+	 * bootstrapping and registering the providers is done to fix all of them at that point.
+	 */
+	public final void optimizeRequirements() {
+		for (final IOptions<?, ?> options : this.help.optionMap.values()) {
+			options.getRequirements().optimize();
+		}
+	}
+	
+	/**
+	 * Registers the JMX monitor of this settings instance with the platform MBean server (see {@link SettingsMonitor}).
+	 * Settings are not registered unless asked to; registered settings should be unregistered with
+	 * {@link #unregisterMBean()} once they are no longer used. Calling this more than once has no effect.
+	 */
+	public final void registerMBean() {
+		this.monitor.register();
+	}
+	
+	/**
+	 * Re-validates the given arguments and re-initializes the given argument sets against these (derived) settings. The
+	 * copies are bound to these settings, see {@link Argument#derive(ISettings)} and
+	 * {@link ArgumentSet#derive(ISettings)}.
+	 * 
+	 * @param affected
+	 *            the affected arguments and argument sets, in validation order
+	 * @throws SettingsParseError
+	 *             if an argument is not valid with the overrides
+	 */
+	@SuppressWarnings ({ "rawtypes", "unchecked" })
+	private void revalidate(final List<IArgument<?, ?>> affected) throws SettingsParseError {
+		try {
+			for (final IArgument<?, ?> argument : affected) {
+				final IArgument<?, ?> current = current(argument);
+				
+				if (current instanceof Argument) {
+					final Argument copy = ((Argument<?, ?>) current).derive(this);
+					ArgumentFactory.validate(copy, copy.getOptions(), this, false);
+					this.derived = this.derived.plus(copy.getTag(), copy);
+				} else if (current instanceof ArgumentSet) {
+					final ArgumentSet<?, ?> copy = ((ArgumentSet<?, ?>) current).derive(this);
+					this.derived = this.derived.plus(copy.getTag(), copy);
+				}
+			}
+		} catch (final ArgumentRegistrationException e) {
+			throw new SettingsParseError(e.getMessage(), e.getArgumentSet(), e);
+		} catch (final ArgumentSetRegistrationException e) {
+			throw new SettingsParseError(e.getMessage(), e.getArgumentSet(), e);
+		}
+		
+		this.noDefaultValueArg = current(this.base.noDefaultValueArg);
+		this.enableCrashArg = current(this.base.enableCrashArg);
+		this.settingsArg = current(this.base.settingsArg);
+		this.mailArguments = current(this.base.mailArguments);
+		this.bugReportArgument = current(this.base.bugReportArgument);
+		this.loggerArgs = current(this.base.loggerArgs);
+	}
+	
+	/**
+	 * Registers the access profile argument and opens the profile if requested.
+	 * 
+	 * @throws ArgumentRegistrationException
+	 *             the argument registration exception
+	 * @throws SettingsParseError
+	 *             the settings parse error
+	 * @throws ArgumentSetRegistrationException
+	 *             the argument set registration exception
+	 */
+	private void setupAccessProfile() throws ArgumentRegistrationException,
+	                                 SettingsParseError,
+	                                 ArgumentSetRegistrationException {
+		final StringArgument profileArg = ArgumentFactory.create(new StringArgument.Options(
+		                                                                                    getRoot(),
+		                                                                                    accessProfileTag,
+		                                                                                    "File recording which arguments are read. Arguments not read in the recorded run are initialized lazily. Disabled if not set.",
+		                                                                                    null, Requirement.optional));
+		
+		// arguments are not created in help mode
+		if (this.nohelp && (profileArg.getValue() != null)) {
+			this.accessProfile.open(new File(profileArg.getValue()));
+		}
+	}
+	
+	/**
+	 * Registers the validation cache arguments and opens the cache if requested.
+	 * 
+	 * @throws ArgumentRegistrationException
+	 *             the argument registration exception
+	 * @throws SettingsParseError
+	 *             the settings parse error
+	 * @throws ArgumentSetRegistrationException
+	 *             the argument set registration exception
+	 */
+	private void setupValidationCache() throws ArgumentRegistrationException,
+	                                   SettingsParseError,
+	                                   ArgumentSetRegistrationException {
+		final StringArgument cacheArg = ArgumentFactory.create(new StringArgument.Options(
+		                                                                                  getRoot(),
+		                                                                                  validationCacheTag,
+		                                                                                  "File used to remember successful argument validations across runs. Unchanged arguments skip their checks. Disabled if not set.",
+		                                                                                  null, Requirement.optional));
+		final BooleanArgument forceArg = ArgumentFactory.create(new BooleanArgument.Options(
+		                                                                                    getRoot(),
+		                                                                                    forceValidationTag,
+		                                                                                    "Ignore the validation cache and validate all arguments.",
+		                                                                                    false, Requirement.optional));
+		
+		// arguments are not created in help mode
+		if (this.nohelp && (cacheArg.getValue() != null)) {
+			this.validationCache = new ValidationCache(new File(cacheArg.getValue()), forceArg.getValue());
+			this.validationCache.storeOnShutdown();
+		}
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Object#toString()
@@ -815,18 +1608,63 @@ public class Settings implements ISettings {
 	public final String toString() {
 		final StringBuilder builder = new StringBuilder();
 		
-		builder.append(getClass().getSimpleName() + ":"); //$NON-NLS-1$
-		builder.append(FileUtils.lineSeparator);
+		try {
+			dump(builder);
+		} catch (final IOException e) {
+			// StringBuilder does not throw
+			throw new UnrecoverableError(e);
+		}
 		
-		for (int i = 0; i < (getClass().getSimpleName().length() + ":".length()); ++i) { //$NON-NLS-1$
-			builder.append('-');
+		return builder.toString();
+	}
+	
+	/**
+	 * Removes the MBean of this settings instance from the platform MBean server. Does nothing if it is not registered.
+	 */
+	public final void unregisterMBean() {
+		this.monitor.unregister();
+	}
+	
+	/**
+	 * Derives settings that differ from these in the given properties. The derived settings share everything else,
+	 * including all unaffected argument values, with these settings; only the overridden arguments, the arguments whose
+	 * requirements depend on them and the argument sets containing them are validated and initialized again. Deriving
+	 * from derived settings accumulates the overrides.
+	 * 
+	 * Derived settings are views: arguments registered later are registered with (and visible through) the base
+	 * settings, and they are not registered as MBean. The re-validated copies belong to the derived settings, see
+	 * {@link IArgument#getSettings()}.
+	 * 
+	 * Overrides name single arguments by their tags; unlike property keys, they can not be wildcard patterns. Tags that
+	 * are not registered (yet) are kept for arguments registered later.
+	 * 
+	 * @param overrides
+	 *            the properties to override, by tag
+	 * @return the derived settings
+	 * @throws SettingsParseError
+	 *             if an affected argument is not valid with the overrides
+	 * @throws IllegalArgumentException
+	 *             if one of the keys is a wildcard pattern, see {@link WildcardMatcher}
+	 */
+	public final Settings withOverrides(@NotNull final Map<String, String> overrides) throws SettingsParseError {
+		for (final String key : overrides.keySet()) {
+			if (WildcardMatcher.isPattern(key)) {
+				throw new IllegalArgumentException(String.format("Overrides can not be wildcard patterns: '%s'.", key));
+			}
 		}
 		
-		builder.append(FileUtils.lineSeparator);
+		final Settings origin = this.base != null
+		                                         ? this.base
+		                                         : this;
 		
-		builder.append(getRoot().toString());
+		PersistentTagMap<String> properties = this.overrides;
+		for (final Map.Entry<String, String> entry : overrides.entrySet()) {
+			properties = properties.plus(entry.getKey(), entry.getValue());
+		}
 		
-		return builder.toString();
+		final Settings settings = new Settings(origin, properties, this.derived);
+		settings.revalidate(origin.getOverrideIndex().affected(overrides.keySet()));
+		return settings;
 	}
 	
 }
@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+import net.ownhero.dev.kisa.Logger;
+
+/**
+ * Runs the phases of the {@link Settings} construction that do not depend on each other concurrently. Reading the
+ * logger configuration, fetching the config sources and loading the classes needed for the base arguments are
+ * started right away; the actual registration waits for the logger configuration and the class loading, and picks up
+ * the prefetched config sources once it reaches that point.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+final class SettingsBootstrap {
+	
+	/**
+	 * The Class Build.
+	 */
+	private static final class Build implements Callable<Settings> {
+		
+		/** The logger configuration. */
+		private final Future<?>                   logger;
+		
+		/** The class warm up. */
+		private final Future<?>                   classes;
+		
+		/** The prefetched config sources. */
+		private final Future<ConfigurationLoader> prefetch;
+		
+		/** The start of the bootstrap. */
+		private final long                        start;
+		
+		/**
+		 * Instantiates a new build.
+		 * 
+		 * @param logger
+		 *            the logger
+		 * @param classes
+		 *            the classes
+		 * @param prefetch
+		 *            the prefetch
+		 * @param start
+		 *            the start of the bootstrap in nanoseconds
+		 */
+		Build(final Future<?> logger, final Future<?> classes, final Future<ConfigurationLoader> prefetch,
+		        final long start) {
+			this.logger = logger;
+			this.classes = classes;
+			this.prefetch = prefetch;
+			this.start = start;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.Callable#call()
+		 */
+		@Override
+		public Settings call() throws SettingsParseError, InterruptedException {
+			try {
+				this.logger.get();
+			} catch (final ExecutionException e) {
+				// fall back to reading it on this thread, which reports the problem the usual way
+				Logger.readConfiguration();
+			}
+			
+			try {
+				this.classes.get();
+			} catch (final ExecutionException e) {
+				if (Logger.logDebug()) {
+					Logger.debug("Preloading settings classes failed: %s", e.getCause());
+				}
+			}
+			
+			final Settings settings = new Settings(false, this.prefetch);
+			// account for the work done ahead of the constructor
+			settings.getMonitor().setBootstrapNanos(System.nanoTime() - this.start);
+			return settings;
+		}
+	}
+	
+	/**
+	 * The Class DaemonThreadFactory.
+	 */
+	private static final class DaemonThreadFactory implements ThreadFactory {
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.ThreadFactory#newThread(java.lang.Runnable)
+		 */
+		@Override
+		public Thread newThread(final Runnable r) {
+			final Thread thread = new Thread(r, "hiari-bootstrap");
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+	
+	/**
+	 * The Class LoadClasses.
+	 */
+	private static final class LoadClasses implements Runnable {
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+			final ClassLoader loader = SettingsBootstrap.class.getClassLoader();
+			
+			for (final String name : WARM_UP) {
+				try {
+					Class.forName(name, true, loader);
+				} catch (final ClassNotFoundException e) {
+					if (Logger.logDebug()) {
+						Logger.debug("Could not preload class '%s'.", name);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * The Class Prefetch.
+	 */
+	private static final class Prefetch implements Callable<ConfigurationLoader> {
+		
+		/** The config value. */
+		private final String value;
+		
+		/**
+		 * Instantiates a new prefetch.
+		 * 
+		 * @param value
+		 *            the value of the config property
+		 */
+		Prefetch(final String value) {
+			this.value = value;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.Callable#call()
+		 */
+		@Override
+		public ConfigurationLoader call() throws SettingsParseError, IOException {
+			// parsed exactly like the config argument will be, so the locations match
+			final List<String> locations = Settings.configOptions(Settings.detachedRoot()).resolve(this.value);
+			
+			final ConfigurationLoader loader = new ConfigurationLoader(locations);
+			loader.fetch();
+			return loader;
+		}
+	}
+	
+	/**
+	 * The Class ReadLoggerConfiguration.
+	 */
+	private static final class ReadLoggerConfiguration implements Runnable {
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+			Logger.readConfiguration();
+		}
+	}
+	
+	/** The classes needed to register the base arguments, by name so they are not loaded by the caller. */
+	private static final String[] WARM_UP = new String[] {
+	        "net.ownhero.dev.hiari.settings.ArgumentFactory",
+	        "net.ownhero.dev.hiari.settings.ArgumentSetFactory",
+	        "net.ownhero.dev.hiari.settings.BooleanArgument",
+	        "net.ownhero.dev.hiari.settings.ListArgument",
+	        "net.ownhero.dev.hiari.settings.StringArgument",
+	        "net.ownhero.dev.hiari.settings.MailOptions",
+	        "net.ownhero.dev.hiari.settings.LoggerOptions",
+	        "net.ownhero.dev.hiari.settings.requirements.Requirement" };
+	
+	/**
+	 * Starts the bootstrap.
+	 * 
+	 * @param executor
+	 *            the executor to use, or <code>null</code> to use a private pool
+	 * @return the future settings
+	 */
+	static Future<Settings> start(final ExecutorService executor) {
+		final long start = System.nanoTime();
+		final ExecutorService pool = executor != null
+		                                             ? executor
+		                                             : Executors.newFixedThreadPool(3, new DaemonThreadFactory());
+		
+		try {
+			final Future<?> logger = pool.submit(new ReadLoggerConfiguration());
+			final Future<?> classes = pool.submit(new LoadClasses());
+			
+			Future<ConfigurationLoader> prefetch = null;
+			final String config = System.getProperty(Settings.settingsTag);
+			if ((config != null) && (System.getProperty("help") == null)) {
+				prefetch = pool.submit(new Prefetch(config));
+			}
+			
+			return pool.submit(new Build(logger, classes, prefetch, start));
+		} finally {
+			if (executor == null) {
+				// already submitted tasks still run to completion
+				pool.shutdown();
+			}
+		}
+	}
+	
+	/**
+	 * Instantiates a new settings bootstrap.
+	 */
+	private SettingsBootstrap() {
+		// utility class
+	}
+}
@@ -0,0 +1,324 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import net.ownhero.dev.kisa.Logger;
+
+/**
+ * Exposes the health of a {@link Settings} instance via JMX. Every settings instance has a monitor; it is only
+ * registered with the platform MBean server when {@link Settings#registerMBean()} is called, as
+ * <code>net.ownhero.dev.hiari:type=Settings,id=&lt;n&gt;</code> with a sequence number that is never reused.
+ * 
+ * The monitor only holds a weak reference to its settings, so a registered monitor does not keep discarded settings
+ * alive; use {@link Settings#unregisterMBean()} to remove it from the MBean server.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public final class SettingsMonitor implements SettingsMonitorMBean {
+	
+	/** The JMX domain. */
+	public static final String           DOMAIN   = "net.ownhero.dev.hiari";
+	
+	/** The last id handed out to a registered monitor. */
+	private static final AtomicLong      IDS      = new AtomicLong();
+	
+	/** The monitor used for settings that are not monitored. */
+	private static final SettingsMonitor DETACHED = new SettingsMonitor(null);
+	
+	/**
+	 * Gets the monitor of the given settings.
+	 * 
+	 * @param settings
+	 *            the settings
+	 * @return the monitor, never <code>null</code>
+	 */
+	static SettingsMonitor of(final ISettings settings) {
+		if (settings instanceof Settings) {
+			return ((Settings) settings).getMonitor();
+		}
+		
+		// not monitored
+		return DETACHED;
+	}
+	
+	/** The settings. */
+	private final WeakReference<Settings> settings;
+	
+	/** The argument lookups. */
+	private final AtomicLong              argumentLookups        = new AtomicLong();
+	
+	/** The argument set lookups. */
+	private final AtomicLong              argumentSetLookups     = new AtomicLong();
+	
+	/** The property lookups. */
+	private final AtomicLong              propertyLookups        = new AtomicLong();
+	
+	/** The requirement evaluations. */
+	private final AtomicLong              requirementEvaluations = new AtomicLong();
+	
+	/** The bootstrap time in nanoseconds. */
+	private volatile long                 bootstrapNanos         = 0l;
+	
+	/** The object name, if registered. */
+	private ObjectName                    objectName             = null;
+	
+	/**
+	 * Instantiates a new settings monitor.
+	 * 
+	 * @param settings
+	 *            the settings
+	 */
+	SettingsMonitor(final Settings settings) {
+		this.settings = new WeakReference<Settings>(settings);
+	}
+	
+	/**
+	 * Counts an argument lookup.
+	 */
+	void argumentLookup() {
+		this.argumentLookups.incrementAndGet();
+	}
+	
+	/**
+	 * Counts an argument set lookup.
+	 */
+	void argumentSetLookup() {
+		this.argumentSetLookups.incrementAndGet();
+	}
+	
+	/**
+	 * Collects the values of the given set and its children, as they are valid in the given settings.
+	 * 
+	 * @param settings
+	 *            the settings
+	 * @param set
+	 *            the set
+	 * @param values
+	 *            the values
+	 */
+	private void collectValues(final Settings settings,
+	                           final ArgumentSet<?, ?> set,
+	                           final List<String> values) {
+		for (final IArgument<?, ?> child : set.children()) {
+			final IArgument<?, ?> current = settings.current(child);
+			if (current instanceof ArgumentSet) {
+				collectValues(settings, (ArgumentSet<?, ?>) current, values);
+			} else if (current instanceof Argument) {
+				final Argument<?, ?> argument = (Argument<?, ?>) current;
+				values.add(argument.getTag() + " = " + argument.getDisplayValue());
+			}
+		}
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.SettingsMonitorMBean#getArgumentLookups()
+	 */
+	@Override
+	public long getArgumentLookups() {
+		return this.argumentLookups.get();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.SettingsMonitorMBean#getArgumentSetLookups()
+	 */
+	@Override
+	public long getArgumentSetLookups() {
+		return this.argumentSetLookups.get();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.SettingsMonitorMBean#getBootstrapMillis()
+	 */
+	@Override
+	public double getBootstrapMillis() {
+		return this.bootstrapNanos / 1000000d;
+	}
+	
+	/**
+	 * Gets the object name.
+	 * 
+	 * @return the object name, <code>null</code> if not registered
+	 */
+	public synchronized ObjectName getObjectName() {
+		return this.objectName;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.SettingsMonitorMBean#getPropertyLookups()
+	 */
+	@Override
+	public long getPropertyLookups() {
+		return this.propertyLookups.get();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.SettingsMonitorMBean#getRequirementEvaluations()
+	 */
+	@Override
+	public long getRequirementEvaluations() {
+		return this.requirementEvaluations.get();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.SettingsMonitorMBean#getUnreadArguments()
+	 */
+	@Override
+	public String[] getUnreadArguments() {
+		final Settings s = this.settings.get();
+		
+		if (s == null) {
+			return new String[0];
+		}
+		
+		final List<String> unread = s.getUnreadArguments();
+		return unread.toArray(new String[unread.size()]);
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.SettingsMonitorMBean#getValidationCacheHitRate()
+	 */
+	@Override
+	public double getValidationCacheHitRate() {
+		final long hits = getValidationCacheHits();
+		final long total = hits + getValidationCacheMisses();
+		
+		return total == 0
+		                 ? Double.NaN
+		                 : (double) hits / total;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.SettingsMonitorMBean#getValidationCacheHits()
+	 */
+	@Override
+	public long getValidationCacheHits() {
+		final Settings s = this.settings.get();
+		return s == null
+		                ? 0l
+		                : s.getValidationCache().getHits();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.SettingsMonitorMBean#getValidationCacheMisses()
+	 */
+	@Override
+	public long getValidationCacheMisses() {
+		final Settings s = this.settings.get();
+		return s == null
+		                ? 0l
+		                : s.getValidationCache().getMisses();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.SettingsMonitorMBean#getValues()
+	 */
+	@Override
+	public String[] getValues() {
+		final Settings s = this.settings.get();
+		final List<String> values = new LinkedList<String>();
+		
+		if (s != null) {
+			collectValues(s, s.getRoot(), values);
+		}
+		
+		return values.toArray(new String[values.size()]);
+	}
+	
+	/**
+	 * Counts a property lookup.
+	 */
+	void propertyLookup() {
+		this.propertyLookups.incrementAndGet();
+	}
+	
+	/**
+	 * Registers the monitor with the platform MBean server. Failures are logged, but do not affect the settings.
+	 */
+	synchronized void register() {
+		final Settings s = this.settings.get();
+		
+		if ((s == null) || (this.objectName != null)) {
+			return;
+		}
+		
+		try {
+			final ObjectName name = new ObjectName(String.format("%s:type=Settings,id=%d", DOMAIN,
+			                                                     IDS.incrementAndGet()));
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+			this.objectName = name;
+		} catch (final JMException | SecurityException e) {
+			if (Logger.logWarn()) {
+				Logger.warn("Could not register settings MBean: %s", e.getMessage());
+			}
+		}
+	}
+	
+	/**
+	 * Counts a requirement evaluation.
+	 */
+	void requirementEvaluated() {
+		this.requirementEvaluations.incrementAndGet();
+	}
+	
+	/**
+	 * Sets the bootstrap time.
+	 * 
+	 * @param nanos
+	 *            the bootstrap time in nanoseconds
+	 */
+	void setBootstrapNanos(final long nanos) {
+		this.bootstrapNanos = nanos;
+	}
+	
+	/**
+	 * Unregisters the monitor from the platform MBean server.
+	 */
+	synchronized void unregister() {
+		if (this.objectName == null) {
+			return;
+		}
+		
+		try {
+			final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			if (server.isRegistered(this.objectName)) {
+				server.unregisterMBean(this.objectName);
+			}
+		} catch (final JMException | SecurityException e) {
+			if (Logger.logWarn()) {
+				Logger.warn("Could not unregister settings MBean: %s", e.getMessage());
+			}
+		} finally {
+			this.objectName = null;
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+/**
+ * The management interface of a {@link Settings} instance.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public interface SettingsMonitorMBean {
+	
+	/**
+	 * Gets the number of {@link ISettings#getArgument(IArgumentOptions)} calls.
+	 * 
+	 * @return the argument lookups
+	 */
+	long getArgumentLookups();
+	
+	/**
+	 * Gets the number of {@link ISettings#getArgumentSet(IArgumentSetOptions)} calls.
+	 * 
+	 * @return the argument set lookups
+	 */
+	long getArgumentSetLookups();
+	
+	/**
+	 * Gets the time it took to set up the settings instance, in milliseconds.
+	 * 
+	 * @return the bootstrap time
+	 */
+	double getBootstrapMillis();
+	
+	/**
+	 * Gets the number of {@link ISettings#getProperty(String)} calls.
+	 * 
+	 * @return the property lookups
+	 */
+	long getPropertyLookups();
+	
+	/**
+	 * Gets the number of requirement evaluations done while registering arguments and argument sets.
+	 * 
+	 * @return the requirement evaluations
+	 */
+	long getRequirementEvaluations();
+	
+	/**
+	 * Gets the tags of the registered arguments that have not been read yet.
+	 * 
+	 * @return the unread arguments
+	 */
+	String[] getUnreadArguments();
+	
+	/**
+	 * Gets the validation cache hit rate.
+	 * 
+	 * @return the hit rate between 0 and 1, or <code>NaN</code> if the cache has not been queried
+	 */
+	double getValidationCacheHitRate();
+	
+	/**
+	 * Gets the number of validations skipped due to the validation cache.
+	 * 
+	 * @return the validation cache hits
+	 */
+	long getValidationCacheHits();
+	
+	/**
+	 * Gets the number of validations the validation cache could not skip.
+	 * 
+	 * @return the validation cache misses
+	 */
+	long getValidationCacheMisses();
+	
+	/**
+	 * Gets the current string values of all arguments as <code>tag = value</code>. Masked arguments are not revealed.
+	 * 
+	 * @return the values
+	 */
+	String[] getValues();
+}
@@ -0,0 +1,382 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+import net.ownhero.dev.kisa.Logger;
+
+import org.mozkito.utilities.io.FileUtils;
+
+/**
+ * Renders help and value dumps of argument trees straight into an {@link Appendable}. Column widths are computed in a
+ * single pass over the tree before anything is written; no intermediate strings are built for the tree structure.
+ * 
+ * The output is the same as the one of {@link ArgumentSet#getHelpString()} and {@link ArgumentSet#toString()}, which
+ * use this class.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public final class SettingsRenderer {
+	
+	/**
+	 * Computes the widest key and value of a tree.
+	 */
+	private static final class Widths implements ArgumentVisitor {
+		
+		/** The key width. */
+		private int keyWidth   = 0;
+		
+		/** The value width. */
+		private int valueWidth = 0;
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.ArgumentVisitor#enter(net.ownhero.dev.hiari.settings.ArgumentSet)
+		 */
+		@Override
+		public boolean enter(final ArgumentSet<?, ?> argumentSet) {
+			return true;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.ArgumentVisitor#leave(net.ownhero.dev.hiari.settings.ArgumentSet)
+		 */
+		@Override
+		public void leave(final ArgumentSet<?, ?> argumentSet) {
+			// nothing to do
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.ArgumentVisitor#visit(net.ownhero.dev.hiari.settings.Argument)
+		 */
+		@Override
+		public void visit(final Argument<?, ?> argument) {
+			this.keyWidth = Math.max(this.keyWidth, argument.getTag().length());
+			this.valueWidth = Math.max(this.valueWidth, argument.getDisplayValue().length());
+		}
+	}
+	
+	/** The target. */
+	private final Appendable out;
+	
+	/**
+	 * Instantiates a new settings renderer.
+	 * 
+	 * @param out
+	 *            the target
+	 */
+	public SettingsRenderer(@NotNull final Appendable out) {
+		this.out = out;
+	}
+	
+	/**
+	 * Writes the values of all arguments in the given tree, as {@link ArgumentSet#toString()} does.
+	 * 
+	 * @param argumentSet
+	 *            the root of the tree
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public void dump(@NotNull final ArgumentSet<?, ?> argumentSet) throws IOException {
+		final Widths widths = new Widths();
+		argumentSet.accept(widths);
+		dump(argumentSet, widths.keyWidth, widths.valueWidth);
+	}
+	
+	/**
+	 * Writes the values of the given arguments and argument sets (with all their children), separated by line breaks.
+	 * The column widths are computed over all of them.
+	 * 
+	 * @param arguments
+	 *            the arguments and argument sets
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public void dump(@NotNull final Collection<? extends IArgument<?, ?>> arguments) throws IOException {
+		final Widths widths = new Widths();
+		for (final IArgument<?, ?> argument : arguments) {
+			if (argument instanceof ArgumentSet) {
+				((ArgumentSet<?, ?>) argument).accept(widths);
+			} else if (argument instanceof Argument) {
+				widths.visit((Argument<?, ?>) argument);
+			}
+		}
+		
+		boolean first = true;
+		for (final IArgument<?, ?> argument : arguments) {
+			if (!first) {
+				this.out.append(FileUtils.lineSeparator);
+			}
+			first = false;
+			
+			if (argument instanceof ArgumentSet) {
+				dump((ArgumentSet<?, ?>) argument, widths.keyWidth, widths.valueWidth);
+			} else if (argument instanceof Argument) {
+				dump((Argument<?, ?>) argument, widths.keyWidth, widths.valueWidth);
+			} else {
+				this.out.append(argument.toString(widths.keyWidth, widths.valueWidth));
+			}
+		}
+	}
+	
+	/**
+	 * Writes the value of the given argument.
+	 * 
+	 * @param argument
+	 *            the argument
+	 * @param keyWidth
+	 *            the key width
+	 * @param valueWidth
+	 *            the value width, values are left aligned if negative
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	void dump(final Argument<?, ?> argument,
+	          final int keyWidth,
+	          final int valueWidth) throws IOException {
+		final String value = argument.getDisplayValue();
+		
+		pad(argument.getTag(), keyWidth, true);
+		this.out.append(" = ");
+		if (valueWidth < 0) {
+			pad(value, -valueWidth, true);
+		} else {
+			pad(value, valueWidth, false);
+		}
+		this.out.append('\t');
+		help(argument.getOptions(), keyWidth + 1);
+	}
+	
+	/**
+	 * Writes the values of all arguments in the given tree with the given column widths.
+	 * 
+	 * @param argumentSet
+	 *            the root of the tree
+	 * @param keyWidth
+	 *            the key width
+	 * @param valueWidth
+	 *            the value width
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	void dump(final ArgumentSet<?, ?> argumentSet,
+	          final int keyWidth,
+	          final int valueWidth) throws IOException {
+		if (!argumentSet.isInitialized() && (argumentSet instanceof Settings.RootArgumentSet)) {
+			this.out.append(argumentSet.getSettings().getHandle())
+			        .append(" are uninitialized. You might wanna call help (-Dhelp) and display the helpString instead.")
+			        .append(FileUtils.lineSeparator);
+		}
+		
+		this.out.append('[').append(argumentSet.getName()).append("] ");
+		
+		if (!argumentSet.isInitialized()) {
+			this.out.append("  <## NOT INITIALIZED ##>  ");
+		}
+		
+		this.out.append(argumentSet.getDescription());
+		
+		for (final IArgument<?, ?> child : argumentSet.children()) {
+			this.out.append(FileUtils.lineSeparator);
+			if (child instanceof ArgumentSet) {
+				dump((ArgumentSet<?, ?>) child, keyWidth, valueWidth);
+			} else if (child instanceof Argument) {
+				dump((Argument<?, ?>) child, keyWidth, valueWidth);
+			} else {
+				this.out.append(child.toString(keyWidth, valueWidth));
+			}
+		}
+	}
+	
+	/**
+	 * Writes the help of the given tree, as {@link ArgumentSet#getHelpString()} does.
+	 * 
+	 * @param argumentSet
+	 *            the root of the tree
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public void help(@NotNull final ArgumentSet<?, ?> argumentSet) throws IOException {
+		help(argumentSet, 0);
+	}
+	
+	/**
+	 * Writes the help of the given tree, starting at the given indentation.
+	 * 
+	 * @param argumentSet
+	 *            the root of the tree
+	 * @param indentation
+	 *            the indentation
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	void help(final ArgumentSet<?, ?> argumentSet,
+	          final int indentation) throws IOException {
+		final Widths widths = new Widths();
+		argumentSet.accept(widths);
+		help(argumentSet, widths.keyWidth, indentation);
+	}
+	
+	/**
+	 * Writes the help of the given tree with the given key width.
+	 * 
+	 * @param argumentSet
+	 *            the root of the tree
+	 * @param keyWidth
+	 *            the key width
+	 * @param indentation
+	 *            the indentation
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	void help(final ArgumentSet<?, ?> argumentSet,
+	          final int keyWidth,
+	          final int indentation) throws IOException {
+		repeat("| ", indentation - 1);
+		this.out.append("|-[ ").append(argumentSet.getName()).append(" ]").append(FileUtils.lineSeparator);
+		repeat("| ", indentation - 1);
+		this.out.append("| `-Description: ").append(argumentSet.getDescription());
+		if (argumentSet.required()) {
+			this.out.append(" (Required, due to ").append(String.valueOf(argumentSet.getRequirements())).append(')');
+		}
+		
+		for (final IArgument<?, ?> child : argumentSet.children()) {
+			this.out.append(FileUtils.lineSeparator);
+			repeat("| ", indentation);
+			if (child instanceof ArgumentSet) {
+				help((ArgumentSet<?, ?>) child, keyWidth, indentation + 1);
+			} else if (child instanceof Argument) {
+				this.out.append('|');
+				help(((Argument<?, ?>) child).getOptions(), keyWidth);
+			} else {
+				this.out.append(child.getHelpString(keyWidth, indentation + 1));
+			}
+		}
+	}
+	
+	/**
+	 * Writes the help line of the given argument options.
+	 * 
+	 * @param options
+	 *            the options
+	 * @param keyWidth
+	 *            the key width
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	void help(final ArgumentOptions<?, ?> options,
+	          final int keyWidth) throws IOException {
+		final boolean required = options.required();
+		final String additional = options.getAdditionalHelpString();
+		
+		this.out.append("-D");
+		if (required) {
+			this.out.append(options.getDefaultValue() != null
+			                                                 ? Logger.TerminalColor.YELLOW.getTag()
+			                                                 : Logger.TerminalColor.RED.getTag());
+		}
+		pad(options.getTag(), keyWidth, true);
+		if (required) {
+			this.out.append(Logger.TerminalColor.NONE.getTag());
+		}
+		this.out.append(": ").append(options.getDescription());
+		if (required) {
+			this.out.append(" (required!)");
+		}
+		this.out.append(" [");
+		if (additional.length() > 0) {
+			this.out.append('\'').append(additional).append("', ");
+		}
+		this.out.append("default='").append(String.valueOf(options.getDefaultValue())).append("', required=")
+		        .append(String.valueOf(options.getRequirements())).append(", type=").append(options.getHandle())
+		        .append(']');
+	}
+	
+	/**
+	 * Writes the help of the given options, one per line, as shown in help mode (<code>-Dhelp</code>).
+	 * 
+	 * @param options
+	 *            the options
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public void help(@NotNull final Collection<? extends IOptions<?, ?>> options) throws IOException {
+		int keyWidth = 0;
+		for (final IOptions<?, ?> option : options) {
+			keyWidth = Math.max(keyWidth, option.getTag().length());
+		}
+		++keyWidth;
+		
+		for (final IOptions<?, ?> option : options) {
+			if (option instanceof ArgumentOptions) {
+				help((ArgumentOptions<?, ?>) option, keyWidth);
+			} else if (option instanceof ArgumentSetOptions) {
+				final ArgumentSetOptions<?, ?> setOptions = (ArgumentSetOptions<?, ?>) option;
+				this.out.append("[ ").append(setOptions.getName()).append(" ] ").append(setOptions.getDescription());
+				if (setOptions.required()) {
+					this.out.append(" (Required, due to ").append(String.valueOf(setOptions.getRequirements()))
+					        .append(')');
+				}
+			} else {
+				this.out.append(option.getHelpString(keyWidth));
+			}
+			this.out.append(FileUtils.lineSeparator);
+		}
+	}
+	
+	/**
+	 * Writes the given text padded with blanks to the given width.
+	 * 
+	 * @param text
+	 *            the text
+	 * @param width
+	 *            the width
+	 * @param left
+	 *            true to align the text to the left
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private void pad(final String text,
+	                 final int width,
+	                 final boolean left) throws IOException {
+		if (left) {
+			this.out.append(text);
+		}
+		repeat(" ", width - text.length());
+		if (!left) {
+			this.out.append(text);
+		}
+	}
+	
+	/**
+	 * Writes the given text the given number of times.
+	 * 
+	 * @param text
+	 *            the text
+	 * @param times
+	 *            the times
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private void repeat(final String text,
+	                    final int times) throws IOException {
+		for (int i = 0; i < times; ++i) {
+			this.out.append(text);
+		}
+	}
+}
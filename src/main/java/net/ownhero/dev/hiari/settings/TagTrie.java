@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.util.Collection;
+
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+
+/**
+ * A radix tree over tags. Looking up all values whose tag starts with a given prefix costs O(prefix length + number of
+ * results); the results come in the lexicographic order of their tags.
+ * 
+ * Not thread-safe; {@link Settings} guards its instance with the same lock as its tag mappings.
+ * 
+ * @param <V>
+ *            the value type
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+final class TagTrie<V> {
+	
+	/**
+	 * A node of the tree. The label is the part of the tag on the edge leading to this node.
+	 * 
+	 * @param <V>
+	 *            the value type
+	 */
+	private static final class Node<V> {
+		
+		/** The label. */
+		private String    label;
+		
+		/** The children, sorted by the first character of their label. */
+		private Node<V>[] children;
+		
+		/** The value, <code>null</code> if no tag ends here. */
+		private V         value;
+		
+		/**
+		 * Instantiates a new node.
+		 * 
+		 * @param label
+		 *            the label
+		 * @param value
+		 *            the value
+		 */
+		@SuppressWarnings ("unchecked")
+		Node(final String label, final V value) {
+			this.label = label;
+			this.children = new Node[0];
+			this.value = value;
+		}
+		
+		/**
+		 * Finds the child whose label starts with the given character.
+		 * 
+		 * @param c
+		 *            the character
+		 * @return the index of the child, or <code>-(insertion point) - 1</code>
+		 */
+		int indexOf(final char c) {
+			int low = 0;
+			int high = this.children.length - 1;
+			
+			while (low <= high) {
+				final int mid = (low + high) >>> 1;
+				final char first = this.children[mid].label.charAt(0);
+				
+				if (first < c) {
+					low = mid + 1;
+				} else if (first > c) {
+					high = mid - 1;
+				} else {
+					return mid;
+				}
+			}
+			
+			return -(low + 1);
+		}
+		
+		/**
+		 * Inserts a child at the given index.
+		 * 
+		 * @param index
+		 *            the index
+		 * @param child
+		 *            the child
+		 */
+		@SuppressWarnings ("unchecked")
+		void insert(final int index,
+		            final Node<V> child) {
+			final Node<V>[] copy = new Node[this.children.length + 1];
+			System.arraycopy(this.children, 0, copy, 0, index);
+			copy[index] = child;
+			System.arraycopy(this.children, index, copy, index + 1, this.children.length - index);
+			this.children = copy;
+		}
+	}
+	
+	/**
+	 * Collects the values of the given node and everything below it, in order.
+	 * 
+	 * @param <V>
+	 *            the value type
+	 * @param node
+	 *            the node
+	 * @param values
+	 *            the values
+	 */
+	private static <V> void collect(final Node<V> node,
+	                                final Collection<? super V> values) {
+		if (node.value != null) {
+			values.add(node.value);
+		}
+		
+		for (final Node<V> child : node.children) {
+			collect(child, values);
+		}
+	}
+	
+	/**
+	 * Counts the characters the label and the text (from the given offset) have in common.
+	 * 
+	 * @param label
+	 *            the label
+	 * @param text
+	 *            the text
+	 * @param offset
+	 *            the offset
+	 * @return the length of the common prefix
+	 */
+	private static int common(final String label,
+	                          final String text,
+	                          final int offset) {
+		final int max = Math.min(label.length(), text.length() - offset);
+		int i = 0;
+		
+		while ((i < max) && (label.charAt(i) == text.charAt(offset + i))) {
+			++i;
+		}
+		
+		return i;
+	}
+	
+	/** The root. */
+	private final Node<V> root = new Node<V>("", null);
+	
+	/** The size. */
+	private int           size = 0;
+	
+	/**
+	 * Collects all values whose tag starts with the given prefix, in the order of their tags.
+	 * 
+	 * @param prefix
+	 *            the prefix; the empty prefix matches everything
+	 * @param values
+	 *            the collection the values are added to
+	 */
+	void collect(@NotNull final String prefix,
+	             @NotNull final Collection<? super V> values) {
+		Node<V> node = this.root;
+		int offset = 0;
+		
+		while (offset < prefix.length()) {
+			final int index = node.indexOf(prefix.charAt(offset));
+			if (index < 0) {
+				return;
+			}
+			
+			final Node<V> child = node.children[index];
+			final int common = common(child.label, prefix, offset);
+			
+			if ((offset + common) == prefix.length()) {
+				// the prefix ends on this edge
+				node = child;
+				break;
+			}
+			
+			if (common < child.label.length()) {
+				return;
+			}
+			
+			node = child;
+			offset += common;
+		}
+		
+		collect(node, values);
+	}
+	
+	/**
+	 * Gets the value of the given tag.
+	 * 
+	 * @param tag
+	 *            the tag
+	 * @return the value, <code>null</code> if absent
+	 */
+	V get(@NotNull final String tag) {
+		Node<V> node = this.root;
+		int offset = 0;
+		
+		while (offset < tag.length()) {
+			final int index = node.indexOf(tag.charAt(offset));
+			if (index < 0) {
+				return null;
+			}
+			
+			node = node.children[index];
+			if (!tag.startsWith(node.label, offset)) {
+				return null;
+			}
+			offset += node.label.length();
+		}
+		
+		return node.value;
+	}
+	
+	/**
+	 * Maps the given tag to the given value.
+	 * 
+	 * @param tag
+	 *            the tag
+	 * @param value
+	 *            the value
+	 * @return the previous value, <code>null</code> if there was none
+	 */
+	V put(@NotNull final String tag,
+	      @NotNull final V value) {
+		Node<V> node = this.root;
+		int offset = 0;
+		
+		while (offset < tag.length()) {
+			final int index = node.indexOf(tag.charAt(offset));
+			
+			if (index < 0) {
+				node.insert(-(index + 1), new Node<V>(tag.substring(offset), value));
+				++this.size;
+				return null;
+			}
+			
+			final Node<V> child = node.children[index];
+			final int common = common(child.label, tag, offset);
+			
+			if (common < child.label.length()) {
+				// split the edge
+				final Node<V> middle = new Node<V>(child.label.substring(0, common), null);
+				child.label = child.label.substring(common);
+				middle.insert(0, child);
+				node.children[index] = middle;
+				node = middle;
+			} else {
+				node = child;
+			}
+			
+			offset += common;
+		}
+		
+		final V previous = node.value;
+		node.value = value;
+		if (previous == null) {
+			++this.size;
+		}
+		return previous;
+	}
+	
+	/**
+	 * Gets the number of tags.
+	 * 
+	 * @return the size
+	 */
+	int size() {
+		return this.size;
+	}
+}
@@ -12,6 +12,10 @@
  ******************************************************************************/
 package net.ownhero.dev.hiari.settings;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
 import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
 import net.ownhero.dev.hiari.settings.requirements.Requirement;
 import net.ownhero.dev.kanuni.annotations.simple.NotNull;
@@ -35,7 +39,10 @@ public class TupleArgument extends Argument<Tuple<String, String>, TupleArgument
 	public static class Options extends ArgumentOptions<Tuple<String, String>, TupleArgument> {
 		
 		/** The delimiter. */
-		private String delimiter;
+		private String            delimiter;
+		
+		/** The splitter compiled from the delimiter. */
+		private DelimiterSplitter splitter;
 		
 		/**
 		 * Instantiates a new options.
@@ -58,6 +65,7 @@ public class TupleArgument extends Argument<Tuple<String, String>, TupleArgument
 			
 			try {
 				this.delimiter = ",";
+				this.splitter = new DelimiterSplitter(this.delimiter, false, false);
 			} finally {
 				Condition.notNull(this.delimiter, "The delimiter in %s must not be null.", getHandle());
 				StringCondition.notEmpty(this.delimiter, "The delimiter in %s must not be empty.", getHandle());
@@ -87,6 +95,7 @@ public class TupleArgument extends Argument<Tuple<String, String>, TupleArgument
 			
 			try {
 				this.delimiter = delimiter;
+				this.splitter = new DelimiterSplitter(delimiter, false, false);
 			} finally {
 				Condition.notNull(this.delimiter, "The delimiter in %s must not be null.", getHandle());
 				StringCondition.notEmpty(this.delimiter, "The delimiter in %s must not be empty.", getHandle());
@@ -97,6 +106,17 @@ public class TupleArgument extends Argument<Tuple<String, String>, TupleArgument
 			}
 		}
 		
+		/**
+		 * Lets elements contain the delimiter, escaped with a backslash or within quotes, see
+		 * {@link DelimiterSplitter}. Quoting is off by default, so backslashes and quotes are ordinary characters.
+		 * 
+		 * @return these options
+		 */
+		public final Options enableQuoting() {
+			this.splitter = new DelimiterSplitter(this.delimiter, this.splitter.isTrimming(), true);
+			return this;
+		}
+		
 		/**
 		 * Gets the delimiter.
 		 * 
@@ -106,6 +126,37 @@ public class TupleArgument extends Argument<Tuple<String, String>, TupleArgument
 			return this.delimiter;
 		}
 		
+		/**
+		 * Checks if elements may be escaped or quoted, see {@link #enableQuoting()}.
+		 * 
+		 * @return true, if so
+		 */
+		public final boolean isQuoting() {
+			return this.splitter.isQuoting();
+		}
+		
+		/**
+		 * Joins the given values with the delimiter, quoting values that contain it if quoting is enabled.
+		 * 
+		 * @param values
+		 *            the values
+		 * @return the joined values
+		 */
+		final String join(@NotNull final Collection<String> values) {
+			return this.splitter.join(values);
+		}
+		
+		/**
+		 * Splits the given value at the delimiter, see {@link DelimiterSplitter}.
+		 * 
+		 * @param value
+		 *            the value
+		 * @return the elements, untrimmed, as an immutable list
+		 */
+		public final List<String> split(@NotNull final String value) {
+			return this.splitter.split(value);
+		}
+		
 	}
 	
 	/** The delimiter. */
@@ -128,8 +179,8 @@ public class TupleArgument extends Argument<Tuple<String, String>, TupleArgument
 			this.delimiter = options.getDelimiter();
 			
 			setStringValue(options.getDefaultValue() != null
-			                                                ? options.getDefaultValue().getFirst() + this.delimiter
-			                                                        + options.getDefaultValue().getSecond()
+			                                                ? options.join(Arrays.asList(options.getDefaultValue().getFirst(),
+			                                                                             options.getDefaultValue().getSecond()))
 			                                                : null);
 		} finally {
 			Condition.notNull(this.delimiter, "The delimiter in %s must not be null.", getHandle());
@@ -160,17 +211,17 @@ public class TupleArgument extends Argument<Tuple<String, String>, TupleArgument
 					ret = true;
 				}
 			} else {
-				final String[] split = getStringValue().split(this.delimiter);
+				final List<String> split = getOptions().split(getStringValue());
 				
-				if (split.length != 2) {
+				if (split.size() != 2) {
 					if (Logger.logWarn()) {
-						Logger.warn("There have to be exactly to parts of a tuple. Given " + split.length
+						Logger.warn("There have to be exactly to parts of a tuple. Given " + split.size()
 						        + " elements: " + getStringValue());
 					}
 					return false;
 				}
 				
-				final Tuple<String, String> result = new Tuple<String, String>(split[0], split[1]);
+				final Tuple<String, String> result = new Tuple<String, String>(split.get(0), split.get(1));
 				
 				setCachedValue(result);
 				ret = true;
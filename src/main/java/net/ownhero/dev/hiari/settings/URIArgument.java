@@ -21,10 +21,10 @@ import net.ownhero.dev.hiari.settings.requirements.Requirement;
 import net.ownhero.dev.kanuni.annotations.simple.NotNull;
 import net.ownhero.dev.kanuni.annotations.string.NotEmptyString;
 import net.ownhero.dev.kisa.Logger;
-import net.ownhero.dev.regex.Regex;
 
 /**
- * The Class URIArgument.
+ * The Class URIArgument. Values are split by {@link URIScanner}; values without scheme are taken as local files if the
+ * options ask for it.
  * 
  * @author Kim Herzig <herzig@cs.uni-saarland.de>
  */
@@ -35,6 +35,9 @@ public class URIArgument extends Argument<URI, URIArgument.Options> {
 	 */
 	public static class Options extends ArgumentOptions<URI, URIArgument> {
 		
+		/** Whether values without scheme are taken as paths of existing local files. */
+		private final boolean guessFileScheme;
+		
 		/**
 		 * Instantiates a new options.
 		 * 
@@ -52,11 +55,50 @@ public class URIArgument extends Argument<URI, URIArgument.Options> {
 		public Options(@NotNull final ArgumentSet<?, ?> argumentSet, @NotNull @NotEmptyString final String name,
 		        @NotNull @NotEmptyString final String description, final URI defaultValue,
 		        @NotNull final Requirement requirements) {
+			this(argumentSet, name, description, defaultValue, requirements, true);
+		}
+		
+		/**
+		 * Instantiates a new options.
+		 * 
+		 * @param argumentSet
+		 *            the argument set
+		 * @param name
+		 *            the name
+		 * @param description
+		 *            the description
+		 * @param defaultValue
+		 *            the default value
+		 * @param requirements
+		 *            the requirements
+		 * @param guessFileScheme
+		 *            whether values without scheme are taken as paths of existing local files; otherwise they are
+		 *            rejected
+		 */
+		public Options(@NotNull final ArgumentSet<?, ?> argumentSet, @NotNull @NotEmptyString final String name,
+		        @NotNull @NotEmptyString final String description, final URI defaultValue,
+		        @NotNull final Requirement requirements, final boolean guessFileScheme) {
 			super(argumentSet, name, description, defaultValue, requirements);
+			this.guessFileScheme = guessFileScheme;
+		}
+		
+		/**
+		 * Checks whether values without scheme are taken as paths of existing local files.
+		 * 
+		 * @return true, if so
+		 */
+		public final boolean isGuessFileScheme() {
+			return this.guessFileScheme;
 		}
 		
 	}
 	
+	/** The components of the parsed value. */
+	private volatile URIScanner.Components components = null;
+	
+	/** The components of the last scanned string value, see {@link #scan()}. */
+	private volatile URIScanner.Components scanned    = null;
+	
 	/**
 	 * This is similar to FileArgument but requires the file to be a directory.
 	 * 
@@ -70,6 +112,16 @@ public class URIArgument extends Argument<URI, URIArgument.Options> {
 		super(options);
 	}
 	
+	/**
+	 * Gets the components of the parsed value, as found by {@link URIScanner}. Unlike {@link #getValue()}, this does
+	 * not count as an access and does not initialize a deferred argument.
+	 * 
+	 * @return the components, <code>null</code> if the argument has no parsed value (yet)
+	 */
+	public final URIScanner.Components getComponents() {
+		return this.components;
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see net.ownhero.dev.andama.settings.AndamaArgument#init()
@@ -95,85 +147,30 @@ public class URIArgument extends Argument<URI, URIArgument.Options> {
 			} else {
 				
 				URI uri = null;
-				// see RFC2396
-				// String lowalpha = "a-z";
-				// String upalpha = "A-Z";
-				// String alpha = lowalpha + upalpha;
-				// String digit = "0-9";
-				// String alphanum = alpha + digit;
-				// String reserved = ";/?:@&=+$,";
-				// String mark = "-_.!Z*'()";
-				// String unreserved = alphanum + mark;
-				// String hex = digit + "A-Fa-f";
-				// String escaped = "%" + "[" + hex + "]{2}";
-				// String delims = "<>#%\"";
-				// String unwise = "{}|\\\\^\\[\\]`";
-				//
-				// String reg_name = "[" + unreserved + escaped +
-				// "$,;:@&=+]+";
-				// String userinfo = unreserved + escaped +
-				// ";:&=+$,";
-				// String port = "[" + digit + "]*";
-				// String domainlabel = "([" + alphanum + "]|[" +
-				// alphanum +
-				// "][" +
-				// alphanum + "-]*["+ alphanum + "])";
-				// String toplabel = "([" + alpha + "]|[" + alpha +
-				// "]["
-				// +
-				// alphanum +
-				// "-]*["+ alphanum + "])";
-				// String hostname = "(" + domainlabel + "\\.)*" +
-				// toplabel+
-				// "\\.?";
-				// String ipv4address = "[" + digit + "]+\\." + "["
-				// +
-				// digit
-				// + "]+\\." +
-				// "[" + digit + "]+\\." + "[" + digit + "]+";
-				// String host = "({host}" + hostname + "|" +
-				// ipv4address +
-				// ")";
-				// String hostport = host + "(:" + port +")?";
-				// String server = "[" + userinfo +"]?" + hostport;
-				//
-				// String authority = "({authority}" + server +
-				// reg_name
-				// +
-				// ")";
-				// String scheme = "({scheme}[" + alpha + "]" + "["
-				// +
-				// alpha
-				// + digit +
-				// "+-." + "])";
-				// String path = "({path}" + abs_path + "|" +
-				// opaque_part +
-				// ")";
-				// String query = "({query})";
-				//
-				// Regex uriRegex = new Regex(scheme + ":"
-				// +authority+path+"\\?" +query
-				// );
-				
 				String err = null;
-				final Regex uriRegex = new Regex(
-				                                 "^(({scheme}[^:/?#]+):)?(//({authority}[^/?#]*))?({path}[^?#]*)(\\?({query}[^#]*))?(#({fragment}.*))?");
+				URIScanner.Components components = null;
+				
 				try {
-					if (uriRegex.find(getStringValue()) == null) {
-						err = "URI does not match regex: " + uriRegex.getPattern();
-					} else {
-						if (uriRegex.getGroup("scheme") == null) {
-							
+					if (URIScanner.getScheme(getStringValue()) == null) {
+						if (!getOptions().isGuessFileScheme()) {
+							err = "Scheme missing: " + getStringValue();
+						} else {
 							if (Logger.logWarn()) {
 								Logger.warn("Scheme missing when parsing URI:" + getStringValue()
 								        + " Guessing scheme: file.");
 							}
 							
-							if (uriRegex.getGroup("authority") == null) {
-								if (uriRegex.getGroup("path") != null) {
+							components = scan();
+							if (components.getAuthority() == null) {
+								if (!components.getPath().isEmpty()) {
 									// guess file
-									final File file = new File(uriRegex.getGroup("path"));
-									if (file.exists() && file.canRead()) {
+									final File file = new File(components.getPath());
+									final ValidationCache cache = getValidationCache();
+									final boolean cached = cache.isValid(getTag(), getStringValue(), file);
+									if (cached || (file.exists() && file.canRead())) {
+										if (!cached) {
+											cache.validated(getTag(), getStringValue(), file);
+										}
 										
 										if (Logger.logInfo()) {
 											Logger.info("Found readable " + (file.isDirectory()
@@ -182,6 +179,7 @@ public class URIArgument extends Argument<URI, URIArgument.Options> {
 											        + " at location: " + file.getAbsolutePath());
 										}
 										uri = new URI("file", null, file.getAbsolutePath(), null);
+										components = URIScanner.of(uri);
 									} else {
 										err = "Local path does not reference an existing, readable file/dir: "
 										        + file.getAbsolutePath();
@@ -192,9 +190,11 @@ public class URIArgument extends Argument<URI, URIArgument.Options> {
 							} else {
 								err = "`authority` part of the URI is set, but scheme is missing: " + getStringValue();
 							}
-						} else {
-							uri = new URI(getStringValue());
 						}
+					} else {
+						// parsed once, the components are taken from the result
+						uri = new URI(getStringValue());
+						components = URIScanner.of(uri);
 					}
 					
 					if (err != null) {
@@ -203,6 +203,7 @@ public class URIArgument extends Argument<URI, URIArgument.Options> {
 							        + getName() + "`, the following error occurred: " + err);
 						}
 					} else {
+						this.components = components;
 						setCachedValue(uri);
 						ret = true;
 					}
@@ -219,4 +220,41 @@ public class URIArgument extends Argument<URI, URIArgument.Options> {
 			__initPostCondition(ret);
 		}
 	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.Argument#isDeferrable()
+	 */
+	@Override
+	protected final boolean isDeferrable() {
+		// only guessing the file scheme checks the file system
+		if (!validStringValue() || !getOptions().isGuessFileScheme()) {
+			return false;
+		}
+		
+		if (URIScanner.getScheme(getStringValue()) != null) {
+			return false;
+		}
+		
+		final URIScanner.Components components = scan();
+		return (components.getAuthority() == null) && !components.getPath().isEmpty();
+	}
+	
+	/**
+	 * Scans the string value, unless it has been scanned already, so a value without scheme is scanned once, although
+	 * both {@link #isDeferrable()} and {@link #init()} need its components.
+	 * 
+	 * @return the components of the string value
+	 */
+	private URIScanner.Components scan() {
+		final String value = getStringValue();
+		URIScanner.Components components = this.scanned;
+		
+		if ((components == null) || !components.toString().equals(value)) {
+			components = URIScanner.scan(value);
+			this.scanned = components;
+		}
+		
+		return components;
+	}
 }
@@ -0,0 +1,391 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.net.URI;
+
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+
+/**
+ * Splits URI references into their components in a single pass, following the generic syntax of RFC 3986 (see its
+ * appendix B). The scanner only decomposes; whether the components are well-formed is left to {@link java.net.URI}.
+ * It keeps no state, so one scan is all it takes per value.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public final class URIScanner {
+	
+	/**
+	 * The components of a scanned URI reference. Components that are absent are <code>null</code>, except for the
+	 * path, which is empty then, and the port, which is -1.
+	 */
+	public static final class Components {
+		
+		/** The scanned value. */
+		private final String value;
+		
+		/** The scheme. */
+		private final String scheme;
+		
+		/** The authority. */
+		private final String authority;
+		
+		/** The user info. */
+		private final String userInfo;
+		
+		/** The host. */
+		private final String host;
+		
+		/** The port. */
+		private final int    port;
+		
+		/** The path. */
+		private final String path;
+		
+		/** The query. */
+		private final String query;
+		
+		/** The fragment. */
+		private final String fragment;
+		
+		/**
+		 * Instantiates new components.
+		 * 
+		 * @param value
+		 *            the scanned value
+		 * @param scheme
+		 *            the scheme
+		 * @param authority
+		 *            the authority
+		 * @param userInfo
+		 *            the user info
+		 * @param host
+		 *            the host
+		 * @param port
+		 *            the port
+		 * @param path
+		 *            the path
+		 * @param query
+		 *            the query
+		 * @param fragment
+		 *            the fragment
+		 */
+		Components(final String value, final String scheme, final String authority, final String userInfo,
+		        final String host, final int port, final String path, final String query, final String fragment) {
+			this.value = value;
+			this.scheme = scheme;
+			this.authority = authority;
+			this.userInfo = userInfo;
+			this.host = host;
+			this.port = port;
+			this.path = path;
+			this.query = query;
+			this.fragment = fragment;
+		}
+		
+		/**
+		 * Gets the authority.
+		 * 
+		 * @return the authority
+		 */
+		public String getAuthority() {
+			return this.authority;
+		}
+		
+		/**
+		 * Gets the fragment.
+		 * 
+		 * @return the fragment
+		 */
+		public String getFragment() {
+			return this.fragment;
+		}
+		
+		/**
+		 * Gets the host. IPv6 literals keep their brackets.
+		 * 
+		 * @return the host
+		 */
+		public String getHost() {
+			return this.host;
+		}
+		
+		/**
+		 * Gets the path.
+		 * 
+		 * @return the path, never <code>null</code>
+		 */
+		public String getPath() {
+			return this.path;
+		}
+		
+		/**
+		 * Gets the port.
+		 * 
+		 * @return the port, -1 if there is none or it is not a number
+		 */
+		public int getPort() {
+			return this.port;
+		}
+		
+		/**
+		 * Gets the query.
+		 * 
+		 * @return the query
+		 */
+		public String getQuery() {
+			return this.query;
+		}
+		
+		/**
+		 * Gets the scheme.
+		 * 
+		 * @return the scheme
+		 */
+		public String getScheme() {
+			return this.scheme;
+		}
+		
+		/**
+		 * Gets the user info.
+		 * 
+		 * @return the user info
+		 */
+		public String getUserInfo() {
+			return this.userInfo;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return this.value;
+		}
+	}
+	
+	/**
+	 * Gets the scheme of the given URI reference, without scanning the rest.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return the scheme, <code>null</code> if there is none
+	 */
+	public static String getScheme(@NotNull final String value) {
+		final int colon = schemeEnd(value);
+		return colon >= 0
+		                 ? value.substring(0, colon)
+		                 : null;
+	}
+	
+	/**
+	 * Checks if the given character is an ASCII letter.
+	 * 
+	 * @param c
+	 *            the character
+	 * @return true, if so
+	 */
+	private static boolean isAlpha(final char c) {
+		return ((c >= 'a') && (c <= 'z')) || ((c >= 'A') && (c <= 'Z'));
+	}
+	
+	/**
+	 * Checks if the given character may continue a scheme.
+	 * 
+	 * @param c
+	 *            the character
+	 * @return true, if it is a letter, digit, <code>+</code>, <code>-</code> or <code>.</code>
+	 */
+	private static boolean isSchemeChar(final char c) {
+		return isAlpha(c) || ((c >= '0') && (c <= '9')) || (c == '+') || (c == '-') || (c == '.');
+	}
+	
+	/**
+	 * Gets the components of a URI that has been parsed already, as {@link #scan(String)} would find them in its
+	 * string form.
+	 * 
+	 * @param uri
+	 *            the uri
+	 * @return the components
+	 */
+	public static Components of(@NotNull final URI uri) {
+		if (!uri.isOpaque()) {
+			return new Components(uri.toString(), uri.getScheme(), uri.getRawAuthority(), uri.getRawUserInfo(),
+			                      uri.getHost(), uri.getPort(), uri.getRawPath(), uri.getRawQuery(),
+			                      uri.getRawFragment());
+		}
+		
+		// java.net.URI does not split the scheme-specific part of opaque URIs, the scanner does
+		final String part = uri.getRawSchemeSpecificPart();
+		final int question = part.indexOf('?');
+		final String path = question >= 0
+		                                 ? part.substring(0, question)
+		                                 : part;
+		final String query = question >= 0
+		                                  ? part.substring(question + 1)
+		                                  : null;
+		
+		return new Components(uri.toString(), uri.getScheme(), null, null, null, -1, path, query, uri.getRawFragment());
+	}
+	
+	/**
+	 * Parses the given port.
+	 * 
+	 * @param value
+	 *            the value
+	 * @param start
+	 *            the index of the first digit
+	 * @param end
+	 *            the index after the last digit
+	 * @return the port, -1 if the range is empty, not a number or too large
+	 */
+	private static int parsePort(final String value,
+	                             final int start,
+	                             final int end) {
+		if ((start == end) || (end - start > 5)) {
+			return -1;
+		}
+		
+		int port = 0;
+		for (int i = start; i < end; ++i) {
+			final char c = value.charAt(i);
+			if ((c < '0') || (c > '9')) {
+				return -1;
+			}
+			port = (port * 10) + (c - '0');
+		}
+		
+		return port <= 65535
+		                    ? port
+		                    : -1;
+	}
+	
+	/**
+	 * Scans the given URI reference.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return the components
+	 */
+	public static Components scan(@NotNull final String value) {
+		final int length = value.length();
+		int i = 0;
+		
+		String scheme = null;
+		final int schemeEnd = schemeEnd(value);
+		if (schemeEnd >= 0) {
+			scheme = value.substring(0, schemeEnd);
+			i = schemeEnd + 1;
+		}
+		
+		String authority = null;
+		String userInfo = null;
+		String host = null;
+		int port = -1;
+		if (value.startsWith("//", i)) {
+			final int start = i + 2;
+			int end = start;
+			char c;
+			while ((end < length) && ((c = value.charAt(end)) != '/') && (c != '?') && (c != '#')) {
+				++end;
+			}
+			i = end;
+			
+			// an empty authority, as in file:///, counts as absent, like it does for java.net.URI
+			if (end > start) {
+				authority = value.substring(start, end);
+				
+				// authority = [ userinfo "@" ] host [ ":" port ]
+				int hostStart = start;
+				final int at = value.lastIndexOf('@', end - 1);
+				if (at >= start) {
+					userInfo = value.substring(start, at);
+					hostStart = at + 1;
+				}
+				
+				int hostEnd = end;
+				if ((hostStart < end) && (value.charAt(hostStart) == '[')) {
+					final int close = value.indexOf(']', hostStart);
+					if ((close >= 0) && (close < end)) {
+						hostEnd = close + 1;
+					}
+				} else {
+					final int colon = value.lastIndexOf(':', end - 1);
+					if (colon >= hostStart) {
+						hostEnd = colon;
+					}
+				}
+				if ((hostEnd < end) && (value.charAt(hostEnd) == ':')) {
+					port = parsePort(value, hostEnd + 1, end);
+				}
+				host = value.substring(hostStart, hostEnd);
+			}
+		}
+		
+		final int pathStart = i;
+		char c;
+		while ((i < length) && ((c = value.charAt(i)) != '?') && (c != '#')) {
+			++i;
+		}
+		final String path = value.substring(pathStart, i);
+		
+		String query = null;
+		if ((i < length) && (value.charAt(i) == '?')) {
+			final int queryStart = i + 1;
+			i = value.indexOf('#', queryStart);
+			if (i < 0) {
+				i = length;
+			}
+			query = value.substring(queryStart, i);
+		}
+		
+		final String fragment = i < length
+		                                  ? value.substring(i + 1)
+		                                  : null;
+		
+		return new Components(value, scheme, authority, userInfo, host, port, path, query, fragment);
+	}
+	
+	/**
+	 * Finds the end of the scheme of the given URI reference, see RFC 3986:
+	 * <code>ALPHA *( ALPHA / DIGIT / "+" / "-" / "." ) ":"</code>.
+	 * 
+	 * @param value
+	 *            the value
+	 * @return the index of the colon after the scheme, -1 if there is no scheme
+	 */
+	private static int schemeEnd(final String value) {
+		final int length = value.length();
+		
+		if ((length == 0) || !isAlpha(value.charAt(0))) {
+			return -1;
+		}
+		
+		int j = 1;
+		while ((j < length) && isSchemeChar(value.charAt(j))) {
+			++j;
+		}
+		
+		return (j < length) && (value.charAt(j) == ':')
+		                                               ? j
+		                                               : -1;
+	}
+	
+	/**
+	 * Instantiates a new URI scanner.
+	 */
+	private URIScanner() {
+		// static utility
+	}
+}
@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+import net.ownhero.dev.kisa.Logger;
+
+/**
+ * Remembers file based arguments that were successfully validated, so unchanged values can skip their file system
+ * checks on the next start. Checks that only look at the string value are cheaper than a lookup and are not cached. An
+ * entry maps the tag of an argument to a fingerprint of everything the validation depended on: the string value and
+ * the absolute path, type, size, modification time, file key (inode) and permissions of the file. A check is skipped
+ * only if the fingerprint matches exactly; any change leads to a full validation and a refreshed entry.
+ * 
+ * The cache is opt-in (<code>-DvalidationCache=&lt;file&gt;</code>) and persisted when the VM shuts down.
+ * <code>-DforceValidation=true</code> ignores all entries but still refreshes them.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+final class ValidationCache {
+	
+	/**
+	 * The Class Persist.
+	 */
+	private static final class Persist extends Thread {
+		
+		/** The cache. */
+		private final ValidationCache cache;
+		
+		/**
+		 * Instantiates a new persist.
+		 * 
+		 * @param cache
+		 *            the cache
+		 */
+		Persist(final ValidationCache cache) {
+			super("hiari-validation-cache");
+			this.cache = cache;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Thread#run()
+		 */
+		@Override
+		public void run() {
+			try {
+				this.cache.store();
+			} catch (final IOException e) {
+				if (Logger.logWarn()) {
+					Logger.warn("Could not persist validation cache to '%s': %s", this.cache.file, e.getMessage());
+				}
+			}
+		}
+	}
+	
+	/** The cache used if no cache file is configured. */
+	static final ValidationCache      DISABLED  = new ValidationCache();
+	
+	/** The separator between fingerprint components. */
+	private static final char         SEPARATOR = '|';
+	
+	/**
+	 * Computes the fingerprint of the given file.
+	 * 
+	 * @param file
+	 *            the file
+	 * @return the fingerprint
+	 */
+	private static String fingerprint(final File file) {
+		final StringBuilder builder = new StringBuilder();
+		final Path path = file.getAbsoluteFile().toPath();
+		builder.append(path).append(SEPARATOR);
+		
+		try {
+			BasicFileAttributes attributes;
+			try {
+				final PosixFileAttributes posix = Files.readAttributes(path, PosixFileAttributes.class,
+				                                                       LinkOption.NOFOLLOW_LINKS);
+				attributes = posix;
+				builder.append(PosixFilePermissions.toString(posix.permissions())).append(SEPARATOR);
+				builder.append(posix.owner().getName()).append(SEPARATOR);
+			} catch (final UnsupportedOperationException e) {
+				attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+				builder.append(file.canRead()).append(file.canWrite()).append(file.canExecute()).append(SEPARATOR);
+			}
+			
+			if (attributes.isSymbolicLink()) {
+				// validation follows the link; fingerprint the target as well
+				builder.append(fingerprint(path.toRealPath().toFile()));
+			}
+			
+			builder.append(attributes.isDirectory()).append(SEPARATOR);
+			builder.append(attributes.size()).append(SEPARATOR);
+			builder.append(attributes.lastModifiedTime().toMillis()).append(SEPARATOR);
+			builder.append(attributes.fileKey());
+		} catch (final IOException e) {
+			// does not exist (yet) or is not accessible
+			builder.append('-');
+		}
+		
+		return builder.toString();
+	}
+	
+	/** The file. */
+	private final File                      file;
+	
+	/** The force. */
+	private final boolean                   force;
+	
+	/** The entries. */
+	private final Map<String, String>       entries = new ConcurrentHashMap<String, String>();
+	
+	/** The dirty. */
+	private volatile boolean                dirty   = false;
+	
+	/** The number of skipped validations. */
+	private final AtomicLong                hits    = new AtomicLong();
+	
+	/** The number of validations that could not be skipped. */
+	private final AtomicLong                misses  = new AtomicLong();
+	
+	/**
+	 * Instantiates a disabled cache.
+	 */
+	private ValidationCache() {
+		this.file = null;
+		this.force = true;
+	}
+	
+	/**
+	 * Instantiates a new validation cache backed by the given file. Existing entries are read right away; an unreadable
+	 * cache file is treated like an empty one.
+	 * 
+	 * @param file
+	 *            the file
+	 * @param force
+	 *            if set, existing entries are ignored
+	 */
+	ValidationCache(@NotNull final File file, final boolean force) {
+		this.file = file;
+		this.force = force;
+		
+		if (!force && file.isFile()) {
+			final Properties properties = new Properties();
+			try (final InputStream stream = Files.newInputStream(file.toPath())) {
+				properties.load(stream);
+				for (final String key : properties.stringPropertyNames()) {
+					this.entries.put(key, properties.getProperty(key));
+				}
+			} catch (final IOException | IllegalArgumentException e) {
+				if (Logger.logWarn()) {
+					Logger.warn("Ignoring unreadable validation cache '%s': %s", file, e.getMessage());
+				}
+				this.entries.clear();
+			}
+		}
+	}
+	
+	/**
+	 * Counts the outcome of a lookup.
+	 * 
+	 * @param hit
+	 *            the hit
+	 * @return the hit
+	 */
+	private boolean count(final boolean hit) {
+		if (!isEnabled()) {
+			return hit;
+		}
+		
+		if (hit) {
+			this.hits.incrementAndGet();
+		} else {
+			this.misses.incrementAndGet();
+		}
+		return hit;
+	}
+	
+	/**
+	 * Gets the number of validations skipped so far.
+	 * 
+	 * @return the hits
+	 */
+	long getHits() {
+		return this.hits.get();
+	}
+	
+	/**
+	 * Gets the number of validations that could not be skipped so far.
+	 * 
+	 * @return the misses
+	 */
+	long getMisses() {
+		return this.misses.get();
+	}
+	
+	/**
+	 * Checks if the cache is enabled.
+	 * 
+	 * @return true, if enabled
+	 */
+	boolean isEnabled() {
+		return this.file != null;
+	}
+	
+	/**
+	 * Checks if the argument with the given tag has been validated with exactly this value and an unchanged file
+	 * before.
+	 * 
+	 * @param tag
+	 *            the tag
+	 * @param value
+	 *            the string value
+	 * @param file
+	 *            the file the validation depends on
+	 * @return true, if the validation can be skipped; {@link #validated(String, String, File)} need not be called then
+	 */
+	boolean isValid(final String tag,
+	                final String value,
+	                final File file) {
+		if (this.force) {
+			return count(false);
+		}
+		
+		final String entry = this.entries.get(tag);
+		return count((entry != null) && entry.equals(value + SEPARATOR + fingerprint(file)));
+	}
+	
+	/**
+	 * Persists the cache, if anything changed. The file is replaced atomically where supported.
+	 * 
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	synchronized void store() throws IOException {
+		if (!isEnabled() || !this.dirty) {
+			return;
+		}
+		
+		final Properties properties = new Properties();
+		properties.putAll(this.entries);
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		properties.store(stream, "hiari validation cache");
+		AtomicFiles.replace(this.file, stream.toByteArray());
+		this.dirty = false;
+	}
+	
+	/**
+	 * Stores the cache when the VM shuts down.
+	 */
+	void storeOnShutdown() {
+		if (isEnabled()) {
+			Runtime.getRuntime().addShutdownHook(new Persist(this));
+		}
+	}
+	
+	/**
+	 * Records a successful validation that depended on the given file.
+	 * 
+	 * @param tag
+	 *            the tag
+	 * @param value
+	 *            the string value
+	 * @param file
+	 *            the file
+	 */
+	void validated(final String tag,
+	               final String value,
+	               final File file) {
+		if (isEnabled()) {
+			final String entry = value + SEPARATOR + fingerprint(file);
+			if (!entry.equals(this.entries.put(tag, entry))) {
+				this.dirty = true;
+			}
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+/**
+ * A problem {@link SchemaValidator} found in a property set.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public final class ValidationError {
+	
+	/**
+	 * The kind of a validation error.
+	 */
+	public static enum Kind {
+		
+		/** A required argument is not set and has no default value. */
+		MISSING,
+		
+		/** The value can not be converted to the type of the argument. */
+		INVALID,
+		
+		/** The argument is set, but the requirements it depends on are not met. */
+		UNSATISFIED;
+	}
+	
+	/** The tag. */
+	private final String tag;
+	
+	/** The kind. */
+	private final Kind   kind;
+	
+	/** The value, <code>null</code> if not set. */
+	private final String value;
+	
+	/** The message. */
+	private final String message;
+	
+	/**
+	 * Instantiates a new validation error.
+	 * 
+	 * @param tag
+	 *            the tag
+	 * @param kind
+	 *            the kind
+	 * @param value
+	 *            the value, may be <code>null</code>
+	 * @param message
+	 *            the message
+	 */
+	ValidationError(final String tag, final Kind kind, final String value, final String message) {
+		this.tag = tag;
+		this.kind = kind;
+		this.value = value;
+		this.message = message;
+	}
+	
+	/**
+	 * Gets the kind.
+	 * 
+	 * @return the kind
+	 */
+	public Kind getKind() {
+		return this.kind;
+	}
+	
+	/**
+	 * Gets the message.
+	 * 
+	 * @return the message
+	 */
+	public String getMessage() {
+		return this.message;
+	}
+	
+	/**
+	 * Gets the tag.
+	 * 
+	 * @return the tag
+	 */
+	public String getTag() {
+		return this.tag;
+	}
+	
+	/**
+	 * Gets the value.
+	 * 
+	 * @return the value, <code>null</code> if not set
+	 */
+	public String getValue() {
+		return this.value;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return this.tag + ": " + this.kind + " (" + this.message + ")";
+	}
+}
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+
+import org.mozkito.utilities.io.FileUtils;
+
+/**
+ * Collects the validation failures of all arguments and argument sets created while {@link Settings#collectErrors()}
+ * is active, instead of failing on the first one. The failures are kept as they were raised; their messages are only
+ * rendered when asked for. While a failure is being recorded, the exceptions of the settings package skip filling in
+ * their stack traces, which would only point into the factories anyway.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public final class ValidationReport {
+	
+	/** The report recording on the current thread. */
+	private static final ThreadLocal<ValidationReport> ACTIVE  = new ThreadLocal<ValidationReport>();
+	
+	/** The number of recordings in progress, so {@link #isCollecting()} only consults {@link #ACTIVE} if necessary. */
+	private static final AtomicInteger                 ACTIVES = new AtomicInteger();
+	
+	/**
+	 * Marks the current thread as recording into the given report, see {@link #isCollecting()}.
+	 * 
+	 * @param report
+	 *            the report
+	 * @return the report recording before, to be passed to {@link #end(ValidationReport)}
+	 */
+	static ValidationReport begin(@NotNull final ValidationReport report) {
+		final ValidationReport previous = ACTIVE.get();
+		ACTIVE.set(report);
+		ACTIVES.incrementAndGet();
+		return previous;
+	}
+	
+	/**
+	 * Ends the recording started by {@link #begin(ValidationReport)}.
+	 * 
+	 * @param previous
+	 *            the report recording before
+	 */
+	static void end(final ValidationReport previous) {
+		ACTIVES.decrementAndGet();
+		if (previous != null) {
+			ACTIVE.set(previous);
+		} else {
+			ACTIVE.remove();
+		}
+	}
+	
+	/**
+	 * Checks whether validation failures are being collected on the current thread. Exceptions raised meanwhile do not
+	 * need a stack trace.
+	 * 
+	 * @return true, if collecting
+	 */
+	public static boolean isCollecting() {
+		return (ACTIVES.get() != 0) && (ACTIVE.get() != null);
+	}
+	
+	/**
+	 * Gets the report the given settings collect into.
+	 * 
+	 * @param settings
+	 *            the settings
+	 * @return the report, <code>null</code> if the settings fail on the first error
+	 */
+	static ValidationReport of(final ISettings settings) {
+		if (settings instanceof Settings) {
+			return ((Settings) settings).getValidationReport();
+		}
+		
+		return null;
+	}
+	
+	/** The failures. */
+	private final List<Exception> failures = new ArrayList<Exception>();
+	
+	/**
+	 * Instantiates a new validation report.
+	 */
+	ValidationReport() {
+		// use Settings#collectErrors()
+	}
+	
+	/**
+	 * Records a failure.
+	 * 
+	 * @param failure
+	 *            the failure
+	 */
+	synchronized void add(@NotNull final Exception failure) {
+		this.failures.add(failure);
+	}
+	
+	/**
+	 * Throws a single error listing all failures, if there are any.
+	 * 
+	 * @throws SettingsParseError
+	 *             if at least one failure has been recorded
+	 */
+	public void check() throws SettingsParseError {
+		if (!isEmpty()) {
+			throw new SettingsParseError(toString());
+		}
+	}
+	
+	/**
+	 * Gets the failures, in the order they occurred.
+	 * 
+	 * @return the failures
+	 */
+	public synchronized List<Exception> getFailures() {
+		return Collections.unmodifiableList(new ArrayList<Exception>(this.failures));
+	}
+	
+	/**
+	 * Checks if no failure has been recorded.
+	 * 
+	 * @return true, if empty
+	 */
+	public synchronized boolean isEmpty() {
+		return this.failures.isEmpty();
+	}
+	
+	/**
+	 * Gets the number of failures.
+	 * 
+	 * @return the number of failures
+	 */
+	public synchronized int size() {
+		return this.failures.size();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		final List<Exception> failures = getFailures();
+		final StringBuilder builder = new StringBuilder();
+		
+		builder.append(failures.size()).append(" validation failure(s)");
+		for (final Exception failure : failures) {
+			builder.append(FileUtils.lineSeparator).append(FileUtils.lineSeparator).append(failure.getMessage());
+		}
+		
+		return builder.toString();
+	}
+}
@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+
+/**
+ * Matches tags against wildcard keys like <code>database.*.timeout</code> or <code>workers.**.batchSize</code>. A
+ * <code>*</code> segment matches exactly one segment of a tag, a <code>**</code> segment matches any number of
+ * segments (including none). All other segments have to match literally.
+ * 
+ * The keys are compiled into a trie over their segments once; matching a tag walks that trie segment by segment
+ * instead of testing every key.
+ * 
+ * If several keys match, the most specific one wins: keys are compared segment by segment from the left, where a
+ * literal segment beats <code>*</code>, which beats <code>**</code>. If that does not decide, the longer key wins,
+ * then the lexicographically smaller one. Exact keys are not handled here; {@link Settings#getProperty(String)} checks
+ * them first.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+final class WildcardMatcher {
+	
+	/**
+	 * A node of the segment trie.
+	 */
+	private static final class Node {
+		
+		/** The children by literal segment. */
+		private final Map<String, Node> literals = new HashMap<String, Node>();
+		
+		/** The child for a <code>*</code> segment. */
+		private Node                    star;
+		
+		/** The child for a <code>**</code> segment. */
+		private Node                    globstar;
+		
+		/** Whether this node is a <code>**</code> node, which can consume further segments. */
+		private final boolean           repeating;
+		
+		/** The key ending at this node, <code>null</code> if none does. */
+		private String                  key;
+		
+		/** The precedence of the key ending here, lower wins. */
+		private int                     precedence;
+		
+		/**
+		 * Instantiates a new node.
+		 * 
+		 * @param repeating
+		 *            whether this is a <code>**</code> node
+		 */
+		Node(final boolean repeating) {
+			this.repeating = repeating;
+		}
+	}
+	
+	/**
+	 * Orders keys by specificity, most specific first.
+	 */
+	private static final class Specificity implements Comparator<String> {
+		
+		/**
+		 * Gets the rank of a segment.
+		 * 
+		 * @param segment
+		 *            the segment
+		 * @return 0 for literals, 1 for <code>*</code>, 2 for <code>**</code>
+		 */
+		private static int rank(final String segment) {
+			if (GLOBSTAR.equals(segment)) {
+				return 2;
+			}
+			if (STAR.equals(segment)) {
+				return 1;
+			}
+			return 0;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.Comparator#compare(java.lang.Object, java.lang.Object)
+		 */
+		@Override
+		public int compare(final String key1,
+		                   final String key2) {
+			final List<String> segments1 = split(key1);
+			final List<String> segments2 = split(key2);
+			
+			for (int i = 0; i < Math.min(segments1.size(), segments2.size()); ++i) {
+				final int diff = rank(segments1.get(i)) - rank(segments2.get(i));
+				if (diff != 0) {
+					return diff;
+				}
+			}
+			
+			if (segments1.size() != segments2.size()) {
+				return segments2.size() - segments1.size();
+			}
+			
+			return key1.compareTo(key2);
+		}
+	}
+	
+	/** The single segment wildcard. */
+	private static final String STAR     = "*";
+	
+	/** The multi segment wildcard. */
+	private static final String GLOBSTAR = "**";
+	
+	/**
+	 * Compiles the wildcard keys among the given keys.
+	 * 
+	 * @param keys
+	 *            the keys
+	 * @return the matcher, <code>null</code> if none of the keys contains a wildcard
+	 */
+	static WildcardMatcher compile(@NotNull final Collection<String> keys) {
+		final List<String> patterns = new ArrayList<String>();
+		
+		for (final String key : keys) {
+			if (isPattern(key)) {
+				patterns.add(key);
+			}
+		}
+		
+		if (patterns.isEmpty()) {
+			return null;
+		}
+		
+		Collections.sort(patterns, new Specificity());
+		return new WildcardMatcher(patterns);
+	}
+	
+	/**
+	 * Checks if the given key is a wildcard key.
+	 * 
+	 * @param key
+	 *            the key
+	 * @return true, if at least one segment is <code>*</code> or <code>**</code>
+	 */
+	static boolean isPattern(final String key) {
+		if (key.indexOf('*') < 0) {
+			return false;
+		}
+		
+		for (final String segment : split(key)) {
+			if (STAR.equals(segment) || GLOBSTAR.equals(segment)) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Splits a tag into its segments.
+	 * 
+	 * @param tag
+	 *            the tag
+	 * @return the segments
+	 */
+	private static List<String> split(final String tag) {
+		final List<String> segments = new ArrayList<String>();
+		int start = 0;
+		
+		for (int end = tag.indexOf('.'); end >= 0; end = tag.indexOf('.', start)) {
+			segments.add(tag.substring(start, end));
+			start = end + 1;
+		}
+		segments.add(tag.substring(start));
+		
+		return segments;
+	}
+	
+	/** The root. */
+	private final Node root = new Node(false);
+	
+	/**
+	 * Instantiates a new wildcard matcher.
+	 * 
+	 * @param patterns
+	 *            the patterns, most specific first
+	 */
+	private WildcardMatcher(final List<String> patterns) {
+		for (int i = 0; i < patterns.size(); ++i) {
+			Node node = this.root;
+			
+			for (final String segment : split(patterns.get(i))) {
+				if (GLOBSTAR.equals(segment)) {
+					if (node.globstar == null) {
+						node.globstar = new Node(true);
+					}
+					node = node.globstar;
+				} else if (STAR.equals(segment)) {
+					if (node.star == null) {
+						node.star = new Node(false);
+					}
+					node = node.star;
+				} else {
+					Node child = node.literals.get(segment);
+					if (child == null) {
+						child = new Node(false);
+						node.literals.put(segment, child);
+					}
+					node = child;
+				}
+			}
+			
+			node.key = patterns.get(i);
+			node.precedence = i;
+		}
+	}
+	
+	/**
+	 * Adds the given node and the <code>**</code> nodes reachable from it without consuming a segment.
+	 * 
+	 * @param node
+	 *            the node, may be <code>null</code>
+	 * @param nodes
+	 *            the active nodes
+	 */
+	private void enter(final Node node,
+	                   final List<Node> nodes) {
+		for (Node current = node; current != null; current = current.globstar) {
+			if (!nodes.contains(current)) {
+				nodes.add(current);
+			}
+		}
+	}
+	
+	/**
+	 * Finds the most specific wildcard key matching the given tag.
+	 * 
+	 * @param tag
+	 *            the tag
+	 * @return the key, <code>null</code> if none matches
+	 */
+	String match(@NotNull final String tag) {
+		List<Node> active = new ArrayList<Node>(4);
+		List<Node> next = new ArrayList<Node>(4);
+		enter(this.root, active);
+		
+		int start = 0;
+		while (!active.isEmpty() && (start <= tag.length())) {
+			int end = tag.indexOf('.', start);
+			if (end < 0) {
+				end = tag.length();
+			}
+			final String segment = tag.substring(start, end);
+			
+			for (final Node node : active) {
+				enter(node.literals.get(segment), next);
+				enter(node.star, next);
+				if (node.repeating) {
+					enter(node, next);
+				}
+			}
+			
+			final List<Node> swap = active;
+			active = next;
+			next = swap;
+			next.clear();
+			start = end + 1;
+		}
+		
+		Node best = null;
+		for (final Node node : active) {
+			if ((node.key != null) && ((best == null) || (node.precedence < best.precedence))) {
+				best = node;
+			}
+		}
+		
+		return best != null
+		                   ? best.key
+		                   : null;
+	}
+}
@@ -5,6 +5,7 @@ package net.ownhero.dev.hiari.settings.exceptions;
 
 import net.ownhero.dev.hiari.settings.IArgument;
 import net.ownhero.dev.hiari.settings.IArgumentOptions;
+import net.ownhero.dev.hiari.settings.ValidationReport;
 import net.ownhero.dev.kanuni.annotations.simple.NotNull;
 
 import org.mozkito.utilities.io.FileUtils;
@@ -78,6 +79,20 @@ public class ArgumentRegistrationException extends Exception {
 		this.options = options;
 	}
 	
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Throwable#fillInStackTrace()
+	 */
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		// failures collected in bulk are reported by message only
+		if (ValidationReport.isCollecting()) {
+			return this;
+		}
+		
+		return super.fillInStackTrace();
+	}
+	
 	/**
 	 * Gets the argument.
 	 * 
@@ -15,6 +15,7 @@ package net.ownhero.dev.hiari.settings.exceptions;
 import net.ownhero.dev.hiari.settings.ArgumentSet;
 import net.ownhero.dev.hiari.settings.ArgumentSetOptions;
 import net.ownhero.dev.hiari.settings.IArgumentSetOptions;
+import net.ownhero.dev.hiari.settings.ValidationReport;
 import net.ownhero.dev.kanuni.annotations.simple.NotNull;
 
 import org.mozkito.utilities.io.FileUtils;
@@ -85,6 +86,20 @@ public class ArgumentSetRegistrationException extends Exception {
 		this.options = options;
 	}
 	
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Throwable#fillInStackTrace()
+	 */
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		// failures collected in bulk are reported by message only
+		if (ValidationReport.isCollecting()) {
+			return this;
+		}
+		
+		return super.fillInStackTrace();
+	}
+	
 	/**
 	 * Gets the argument.
 	 * 
@@ -15,6 +15,7 @@ package net.ownhero.dev.hiari.settings.exceptions;
 import java.util.List;
 
 import net.ownhero.dev.hiari.settings.IArgument;
+import net.ownhero.dev.hiari.settings.ValidationReport;
 import net.ownhero.dev.hiari.settings.requirements.Requirement;
 
 import org.mozkito.utilities.commons.JavaUtils;
@@ -78,6 +79,20 @@ public class SettingsParseError extends Exception {
 		this.argument = argument;
 	}
 	
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Throwable#fillInStackTrace()
+	 */
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		// failures collected in bulk are reported by message only
+		if (ValidationReport.isCollecting()) {
+			return this;
+		}
+		
+		return super.fillInStackTrace();
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Throwable#getMessage()
@@ -15,8 +15,10 @@ package net.ownhero.dev.hiari.settings.requirements;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import net.ownhero.dev.hiari.settings.IOptions;
@@ -38,7 +40,10 @@ import org.mozkito.utilities.commons.JavaUtils;
  */
 public final class All extends Requirement {
 	
-	private final Set<Requirement> requirements = new HashSet<Requirement>();
+	private final Set<Requirement> requirements = new LinkedHashSet<Requirement>();
+	
+	/** The operands in evaluation order. */
+	private final Operands         operands;
 	
 	/**
 	 * @param requirements
@@ -47,6 +52,8 @@ public final class All extends Requirement {
 	All(@NotNull @NotEmpty final Collection<Requirement> requirements) {
 		try {
 			this.requirements.addAll(requirements);
+			this.operands = new Operands(this.requirements.toArray(new Requirement[this.requirements.size()]),
+			                             false);
 		} finally {
 			Condition.notNull(requirements, "Requirement values may never be null.");
 			CollectionCondition.notEmpty(requirements, "Requirement values may never be empty.");
@@ -60,6 +67,8 @@ public final class All extends Requirement {
 	All(@NotNull @NotEmpty final Requirement... expressions) {
 		try {
 			CollectionUtils.addAll(this.requirements, expressions);
+			this.operands = new Operands(this.requirements.toArray(new Requirement[this.requirements.size()]),
+			                             false);
 		} finally {
 			Condition.notNull(this.requirements, "Requirement values may never be null.");
 			CollectionCondition.notEmpty(this.requirements, "Requirement values may never be empty.");
@@ -72,12 +81,39 @@ public final class All extends Requirement {
 	 */
 	@Override
 	public boolean check() {
-		for (final Requirement requirement : this.requirements) {
-			if (!requirement.check()) {
-				return false;
+		return !this.operands.evaluate();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#compile()
+	 */
+	@Override
+	public Evaluator compile() {
+		final Evaluator[] evaluators = compile(this.requirements);
+		
+		return new Evaluator() {
+			
+			@Override
+			public boolean check(final Map<String, String> properties) {
+				for (final Evaluator evaluator : evaluators) {
+					if (!evaluator.check(properties)) {
+						return false;
+					}
+				}
+				
+				return true;
 			}
-		}
-		return true;
+		};
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#getCost()
+	 */
+	@Override
+	int getCost() {
+		return this.operands.getCost();
 	}
 	
 	/*
@@ -97,6 +133,13 @@ public final class All extends Requirement {
 		}
 	}
 	
+	/**
+	 * @return the expressions
+	 */
+	public final Set<Requirement> getExpressions() {
+		return this.requirements;
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see net.ownhero.dev.andama.settings.dependencies.Requirement# getMissingRequirements()
@@ -118,6 +161,15 @@ public final class All extends Requirement {
 		return new ArrayList<Requirement>(0);
 	}
 	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#optimize()
+	 */
+	@Override
+	public void optimize() {
+		this.operands.optimize();
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see de.unisaarland.cs.st.moskito.mapping.requirements.Expression#toString()
@@ -3,21 +3,34 @@
  */
 package net.ownhero.dev.hiari.settings.requirements;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 import net.ownhero.dev.hiari.settings.ArgumentOptions;
+import net.ownhero.dev.hiari.settings.EnumSetArgument;
 import net.ownhero.dev.hiari.settings.IArgument;
 import net.ownhero.dev.hiari.settings.IOptions;
+import net.ownhero.dev.hiari.settings.ISettings;
+import net.ownhero.dev.hiari.settings.IntSet;
+import net.ownhero.dev.hiari.settings.IntSetArgument;
 import net.ownhero.dev.hiari.settings.ListArgument;
+import net.ownhero.dev.hiari.settings.LongListArgument;
+import net.ownhero.dev.hiari.settings.MappedLineList;
 import net.ownhero.dev.hiari.settings.SetArgument;
+import net.ownhero.dev.hiari.settings.Settings;
 import net.ownhero.dev.kanuni.annotations.simple.NotNull;
 import net.ownhero.dev.kanuni.conditions.Condition;
-
-import org.apache.commons.lang.ArrayUtils;
-import org.apache.commons.lang.StringUtils;
+import net.ownhero.dev.kisa.Logger;
 
 /**
  * The Class Contains.
@@ -26,17 +39,26 @@ import org.apache.commons.lang.StringUtils;
  */
 public class Contains extends Requirement {
 	
-	/** The list argument. */
-	private ListArgument.Options listOption = null;
-	
-	/** The set argument. */
-	private SetArgument.Options  setOption  = null;
+	/** The list, set, long list, int set or enum set argument. */
+	private ArgumentOptions<?, ?> option      = null;
 	
 	/** The depender. */
-	private IArgument<?, ?>      depender   = null;
+	private IArgument<?, ?>       depender    = null;
 	
 	/** The value. */
-	private String               value      = null;
+	private String                value       = null;
+	
+	/** The typed value looked up in the parsed value of long list, int set and enum set arguments. */
+	private Object                element     = null;
+	
+	/** The canonical name of the depender or the value, whichever is looked up. */
+	private String                key         = null;
+	
+	/** The canonical entries parsed from the raw property or default value. */
+	private Collection<String>    members     = null;
+	
+	/** The property or default value {@link #members} has been built from. */
+	private Object                membersFrom = null;
 	
 	/**
 	 * Instantiates a new contains.
@@ -48,10 +70,11 @@ public class Contains extends Requirement {
 	 */
 	Contains(@NotNull final ListArgument.Options option, @NotNull final IArgument<?, ?> depender) {
 		try {
-			this.listOption = option;
+			this.option = option;
 			this.depender = depender;
+			this.key = depender.getName().toLowerCase(Locale.ROOT);
 		} finally {
-			Condition.notNull(this.listOption, "The referring argument in %s may never be null.", getHandle());
+			Condition.notNull(this.option, "The referring argument in %s may never be null.", getHandle());
 			Condition.notNull(this.depender, "The depender argument set in the constructor in %s may never be null.",
 			                  getHandle());
 		}
@@ -67,10 +90,11 @@ public class Contains extends Requirement {
 	 */
 	Contains(@NotNull final ListArgument.Options option, @NotNull final String value) {
 		try {
-			this.listOption = option;
+			this.option = option;
 			this.value = value;
+			this.key = value.toLowerCase(Locale.ROOT);
 		} finally {
-			Condition.notNull(this.listOption, "The referring argument in %s may never be null.", getHandle());
+			Condition.notNull(this.option, "The referring argument in %s may never be null.", getHandle());
 			Condition.notNull(this.value, "Field '%s' in '%s'.", "value", getHandle()); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 	}
@@ -85,10 +109,11 @@ public class Contains extends Requirement {
 	 */
 	Contains(@NotNull final SetArgument.Options option, @NotNull final IArgument<?, ?> depender) {
 		try {
-			this.setOption = option;
+			this.option = option;
 			this.depender = depender;
+			this.key = depender.getName().toLowerCase(Locale.ROOT);
 		} finally {
-			Condition.notNull(this.setOption, "Field '%s' in '%s'.", "setOption", getHandle()); //$NON-NLS-1$ //$NON-NLS-2$
+			Condition.notNull(this.option, "Field '%s' in '%s'.", "option", getHandle()); //$NON-NLS-1$ //$NON-NLS-2$
 			Condition.notNull(this.depender, "The depender argument set in the constructor in %s may never be null.",
 			                  getHandle());
 		}
@@ -104,69 +129,137 @@ public class Contains extends Requirement {
 	 */
 	Contains(@NotNull final SetArgument.Options option, @NotNull final String value) {
 		try {
-			this.setOption = option;
+			this.option = option;
 			this.value = value;
+			this.key = value.toLowerCase(Locale.ROOT);
 		} finally {
-			Condition.notNull(this.setOption, "Field '%s' in '%s'.", "setOption", getHandle()); //$NON-NLS-1$ //$NON-NLS-2$
+			Condition.notNull(this.option, "Field '%s' in '%s'.", "option", getHandle()); //$NON-NLS-1$ //$NON-NLS-2$
 			Condition.notNull(this.value, "Field '%s' in '%s'.", "value", getHandle()); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 	}
 	
+	/**
+	 * Instantiates a new contains.
+	 * 
+	 * @param <E>
+	 *            the enum type
+	 * @param option
+	 *            the option
+	 * @param value
+	 *            the value
+	 */
+	<E extends Enum<E>> Contains(@NotNull final EnumSetArgument.Options<E> option, @NotNull final E value) {
+		try {
+			this.option = option;
+			this.value = value.name();
+			this.element = value;
+			this.key = value.name().toLowerCase(Locale.ROOT);
+		} finally {
+			Condition.notNull(this.option, "Field '%s' in '%s'.", "option", getHandle()); //$NON-NLS-1$ //$NON-NLS-2$
+			Condition.notNull(this.value, "Field '%s' in '%s'.", "value", getHandle()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+	
+	/**
+	 * Instantiates a new contains.
+	 * 
+	 * @param option
+	 *            the option
+	 * @param value
+	 *            the value
+	 */
+	Contains(@NotNull final IntSetArgument.Options option, final int value) {
+		try {
+			this.option = option;
+			this.value = Integer.toString(value);
+			this.element = value;
+			this.key = this.value;
+		} finally {
+			Condition.notNull(this.option, "Field '%s' in '%s'.", "option", getHandle()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+	
+	/**
+	 * Instantiates a new contains.
+	 * 
+	 * @param option
+	 *            the option
+	 * @param value
+	 *            the value
+	 */
+	Contains(@NotNull final LongListArgument.Options option, final long value) {
+		try {
+			this.option = option;
+			this.value = Long.toString(value);
+			this.element = value;
+			this.key = this.value;
+		} finally {
+			Condition.notNull(this.option, "Field '%s' in '%s'.", "option", getHandle()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see net.ownhero.dev.andama.settings.dependencies.Expression#check()
 	 */
-	@SuppressWarnings ("rawtypes")
 	@Override
 	public boolean check() {
-		String[] split = null;
-		String delimiter = null;
-		String property = null;
-		
-		if (this.listOption != null) {
-			delimiter = this.listOption.getDelimiter();
-			property = this.listOption.getSettings().getProperty(this.listOption.getTag());
-			if (property == null) {
-				final List defaultValue = (List) ((ArgumentOptions) this.listOption).getDefaultValue();
-				property = defaultValue != null
-				                               ? StringUtils.join(defaultValue, delimiter)
-				                               : null;
-			}
-		} else {
-			Condition.notNull(this.setOption, "Field '%s' in '%s'.", "setOption", getHandle()); //$NON-NLS-1$ //$NON-NLS-2$
-			delimiter = this.setOption.getDelimiter();
-			property = this.setOption.getSettings().getProperty(this.setOption.getTag());
-			
-			if (property == null) {
-				final Set defaultValue = (Set) ((ArgumentOptions) this.setOption).getDefaultValue();
-				property = defaultValue != null
-				                               ? StringUtils.join(defaultValue, delimiter)
-				                               : null;
-			}
-		}
+		final Boolean parsed = checkParsed();
 		
-		if (property == null) {
-			return false;
+		if (parsed != null) {
+			return parsed;
 		}
 		
-		Condition.notNull(property, "Local variable '%s' in '%s:%s'.", "property", getHandle(), "required"); //$NON-NLS-1$ //$NON-NLS-2$
-		Condition.notNull(delimiter, "Local variable '%s' in '%s:%s'.", "delimiter", getHandle(), "required"); //$NON-NLS-1$ //$NON-NLS-2$
+		final Collection<String> members = getMembers();
 		
-		split = property.split(delimiter);
+		if (members == null) {
+			return false;
+		}
 		
-		Condition.notNull(split, "Local variable '%s' in '%s:%s'.", "split", getHandle(), "required"); //$NON-NLS-1$ //$NON-NLS-2$
+		Condition.notNull(this.key, "Field '%s' in '%s'.", "key", getHandle()); //$NON-NLS-1$ //$NON-NLS-2$
+		return members instanceof MappedLineList
+		                                        ? ((MappedLineList) members).containsIgnoreCase(this.key)
+		                                        : members.contains(this.key);
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#compile()
+	 */
+	@Override
+	public Evaluator compile() {
+		final String tag = this.option.getTag();
+		final String key = this.key;
+		final Set<String> defaultMembers = getDefaultMembers();
 		
-		if (this.depender != null) {
-			return ArrayUtils.contains(split, this.depender.getName());
-		}
-		Condition.notNull(this.value, "Field '%s' in '%s'.", "value", getHandle()); //$NON-NLS-1$ //$NON-NLS-2$
-		for (final String splitValue : split) {
-			if (splitValue.equalsIgnoreCase(this.value)) {
-				return true;
+		return new Evaluator() {
+			
+			@Override
+			public boolean check(final Map<String, String> properties) {
+				final String property = properties.get(tag);
+				
+				if (property == null) {
+					return (defaultMembers != null) && defaultMembers.contains(key);
+				}
+				
+				for (final String entry : splitLiterally(property)) {
+					if (key.equals(canonicalize(entry))) {
+						return true;
+					}
+				}
+				
+				return false;
 			}
-		}
-		return false;
-		// return ArrayUtils.contains(split, this.value);
+		};
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#getCost()
+	 */
+	@Override
+	int getCost() {
+		return PARSE;
 	}
 	
 	/*
@@ -177,9 +270,7 @@ public class Contains extends Requirement {
 	public Set<IOptions<?, ?>> getDependencies() {
 		final Set<IOptions<?, ?>> dependencies = new HashSet<IOptions<?, ?>>();
 		try {
-			dependencies.add(this.listOption != null
-			                                        ? this.listOption
-			                                        : this.setOption);
+			dependencies.add(this.option);
 			
 			return dependencies;
 		} finally {
@@ -194,7 +285,7 @@ public class Contains extends Requirement {
 	@Override
 	public List<Requirement> getFailedChecks() {
 		return check()
-		              ? null
+		              ? new ArrayList<Requirement>(0)
 		              : new LinkedList<Requirement>() {
 			              
 			              private static final long serialVersionUID = 1L;
@@ -205,15 +296,213 @@ public class Contains extends Requirement {
 		              };
 	}
 	
+	/**
+	 * Looks the value up in the parsed value of the argument, if it has been created and initialized already. Lists and
+	 * sets of strings are looked up by their lower-cased entries, or by the hash codes of their lower-cased lines if
+	 * read from a file, long lists by binary search in a sorted copy, int and enum sets directly.
+	 * 
+	 * @return whether the value is contained, <code>null</code> if the argument has no parsed value (yet)
+	 */
+	private Boolean checkParsed() {
+		final ISettings settings = this.option.getSettings();
+		
+		if (!(settings instanceof Settings)) {
+			return null;
+		}
+		
+		final IArgument<?, ?> argument = ((Settings) settings).findArgument(this.option.getTag());
+		
+		if (argument instanceof ListArgument) {
+			final MappedLineList mapped = ((ListArgument) argument).getMappedValue();
+			if (mapped != null) {
+				return mapped.containsIgnoreCase(this.key);
+			}
+			final Set<String> folded = ((ListArgument) argument).getFoldedValue();
+			return folded != null
+			                     ? folded.contains(this.key)
+			                     : null;
+		} else if (argument instanceof SetArgument) {
+			final Set<String> folded = ((SetArgument) argument).getFoldedValue();
+			return folded != null
+			                     ? folded.contains(this.key)
+			                     : null;
+		} else if (argument instanceof LongListArgument) {
+			final long[] sorted = ((LongListArgument) argument).getSortedValue();
+			return sorted != null
+			                     ? Arrays.binarySearch(sorted, (Long) this.element) >= 0
+			                     : null;
+		} else if (argument instanceof IntSetArgument) {
+			final IntSet set = ((IntSetArgument) argument).getParsedValue();
+			return set != null
+			                  ? set.contains((Integer) this.element)
+			                  : null;
+		} else if (argument instanceof EnumSetArgument) {
+			final EnumSet<?> set = ((EnumSetArgument<?>) argument).getParsedValue();
+			return set != null
+			                  ? set.contains(this.element)
+			                  : null;
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Gets the canonical form of an entry: lower-cased for strings, the lower-cased name of the constant it stands for
+	 * for enum constants (see {@link EnumSetArgument.Options#lookup(String)}), the decimal representation for numbers.
+	 * 
+	 * @param entry
+	 *            the entry
+	 * @return the canonical entry, <code>null</code> if it is not a number or constant although one is expected
+	 */
+	private String canonicalize(final String entry) {
+		try {
+			if (this.option instanceof LongListArgument.Options) {
+				return Long.toString(Long.parseLong(entry));
+			} else if (this.option instanceof IntSetArgument.Options) {
+				return Integer.toString(Integer.parseInt(entry));
+			}
+		} catch (final NumberFormatException e) {
+			return null;
+		}
+		
+		if (this.option instanceof EnumSetArgument.Options) {
+			final Enum<?> constant = ((EnumSetArgument.Options<?>) this.option).lookup(entry);
+			return constant != null
+			                        ? constant.name().toLowerCase(Locale.ROOT)
+			                        : null;
+		}
+		
+		return entry.toLowerCase(Locale.ROOT);
+	}
+	
+	/**
+	 * Gets the canonical entries of the default value.
+	 * 
+	 * @return the entries, <code>null</code> if there is no default value
+	 */
+	private Set<String> getDefaultMembers() {
+		final Object defaultValue = this.option.getDefaultValue();
+		
+		if (defaultValue == null) {
+			return null;
+		}
+		
+		final Set<String> members = new HashSet<String>();
+		
+		if (defaultValue instanceof long[]) {
+			for (final long entry : (long[]) defaultValue) {
+				members.add(Long.toString(entry));
+			}
+		} else if (defaultValue instanceof IntSet) {
+			for (final int entry : ((IntSet) defaultValue).toArray()) {
+				members.add(Integer.toString(entry));
+			}
+		} else if (defaultValue instanceof EnumSet) {
+			for (final Enum<?> entry : (EnumSet<?>) defaultValue) {
+				members.add(entry.name().toLowerCase(Locale.ROOT));
+			}
+		} else {
+			for (final Object entry : (Collection<?>) defaultValue) {
+				members.add(entry.toString().toLowerCase(Locale.ROOT));
+			}
+		}
+		
+		return members;
+	}
+	
+	/**
+	 * Gets the canonical entries of the raw property, or of the default value if the property is not set. The set is
+	 * only built once per value. Entries read from a file are not copied into a set, but returned as they are.
+	 * 
+	 * @return the canonical entries, or the lines of a file, <code>null</code> if the argument has no value
+	 */
+	private synchronized Collection<String> getMembers() {
+		final String property = this.option.getSettings().getProperty(this.option.getTag());
+		final Object source = property != null
+		                                      ? property
+		                                      : this.option.getDefaultValue();
+		
+		if (source != this.membersFrom) {
+			final List<String> entries = property != null
+			                                              ? split(property)
+			                                              : null;
+			if (entries instanceof MappedLineList) {
+				this.members = entries;
+			} else if (entries != null) {
+				final Set<String> members = new HashSet<String>();
+				for (final String entry : entries) {
+					final String canonical = canonicalize(entry);
+					if (canonical != null) {
+						members.add(canonical);
+					}
+				}
+				this.members = members;
+			} else {
+				this.members = getDefaultMembers();
+			}
+			this.membersFrom = source;
+		}
+		
+		return this.members;
+	}
+	
+	/**
+	 * Splits the raw property at the delimiter of the option. Lists and sets of strings read the entries from the file
+	 * the property refers to, if it does and their options enable file references.
+	 * 
+	 * @param property
+	 *            the property
+	 * @return the entries, empty if the file can not be read
+	 */
+	private List<String> split(final String property) {
+		try {
+			if (this.option instanceof ListArgument.Options) {
+				return ((ListArgument.Options) this.option).resolve(property);
+			} else if (this.option instanceof SetArgument.Options) {
+				return ((SetArgument.Options) this.option).resolve(property);
+			}
+		} catch (final IOException e) {
+			if (Logger.logWarn()) {
+				Logger.warn("Could not read the entries of %s from %s: %s", this.option.getTag(), property,
+				            e.getMessage());
+			}
+			return Collections.<String> emptyList();
+		}
+		
+		if (this.option instanceof LongListArgument.Options) {
+			return ((LongListArgument.Options) this.option).split(property);
+		} else if (this.option instanceof IntSetArgument.Options) {
+			return ((IntSetArgument.Options) this.option).split(property);
+		} else {
+			return ((EnumSetArgument.Options<?>) this.option).split(property);
+		}
+	}
+	
+	/**
+	 * Splits the raw property at the delimiter of the option, without reading the entries of lists and sets of strings
+	 * from the file the property may refer to. Used by compiled requirements, which do not touch the file system.
+	 * 
+	 * @param property
+	 *            the property
+	 * @return the entries
+	 */
+	private List<String> splitLiterally(final String property) {
+		if (this.option instanceof ListArgument.Options) {
+			return ((ListArgument.Options) this.option).split(property);
+		} else if (this.option instanceof SetArgument.Options) {
+			return ((SetArgument.Options) this.option).split(property);
+		}
+		
+		return split(property);
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
 	@Override
 	public String toString() {
-		return "(∈ " + (this.listOption != null
-		                                       ? this.listOption.getName()
-		                                       : this.setOption.getName()) + ".value() )";
+		return "(∈ " + this.option.getName() + ".value() )";
 	};
 	
 }
@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import net.ownhero.dev.hiari.settings.ArgumentOptions;
@@ -153,6 +154,15 @@ public class Equals extends Requirement {
 	@Override
 	public boolean check() {
 		String property = this.argument.getSettings().getProperty(this.argument.getTag());
+		
+		if (this.argument instanceof EnumArgument.Options) {
+			// resolve names and aliases through the lookup table of the options
+			final Object actual = property != null
+			                                      ? ((EnumArgument.Options<?>) this.argument).lookup(property)
+			                                      : ((EnumArgument.Options<?>) this.argument).getDefaultValue();
+			return this.value.equals(actual);
+		}
+		
 		if (property == null) {
 			if (this.argument instanceof ArgumentOptions) {
 				final Object defaultValue = ((ArgumentOptions) this.argument).getDefaultValue();
@@ -190,6 +200,86 @@ public class Equals extends Requirement {
 		return property.equalsIgnoreCase(this.value.toString());
 	}
 	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#compile()
+	 */
+	@Override
+	public Evaluator compile() {
+		final String tag = this.argument.getTag();
+		final Object defaultValue = getDefaultValue(this.argument);
+		
+		if (this.argument instanceof EnumArgument.Options) {
+			// resolve names and aliases through the lookup table of the options
+			final EnumArgument.Options<?> options = (EnumArgument.Options<?>) this.argument;
+			final Object value = this.value;
+			
+			return new Evaluator() {
+				
+				@Override
+				public boolean check(final Map<String, String> properties) {
+					final String property = properties.get(tag);
+					return value.equals(property != null
+					                                    ? options.lookup(property)
+					                                    : defaultValue);
+				}
+			};
+		}
+		
+		final String fallback = defaultValue != null
+		                                            ? defaultValue.toString()
+		                                            : null;
+		
+		if (this.depender != null) {
+			final String dependerTag = this.depender.getTag();
+			final Object dependerDefault = getDefaultValue(this.depender);
+			final String dependerFallback = dependerDefault != null
+			                                                       ? dependerDefault.toString()
+			                                                       : null;
+			
+			return new Evaluator() {
+				
+				@Override
+				public boolean check(final Map<String, String> properties) {
+					final Object property = getRawValue(properties, tag, fallback);
+					final Object compareTo = getRawValue(properties, dependerTag, dependerFallback);
+					return (property != null) && property.equals(compareTo);
+				}
+			};
+		}
+		
+		final String value = this.value.toString();
+		
+		return new Evaluator() {
+			
+			@Override
+			public boolean check(final Map<String, String> properties) {
+				final Object property = getRawValue(properties, tag, fallback);
+				return (property != null) && ((String) property).equalsIgnoreCase(value);
+			}
+		};
+	}
+	
+	/**
+	 * Gets the option whose value is compared.
+	 * 
+	 * @return the option
+	 */
+	IOptions<?, ?> getArgument() {
+		return this.argument;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#getCost()
+	 */
+	@Override
+	int getCost() {
+		return this.depender != null
+		                            ? 2 * LOOKUP
+		                            : LOOKUP;
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see net.ownhero.dev.andama.settings.dependencies.Expression#getDependencies()
@@ -206,6 +296,15 @@ public class Equals extends Requirement {
 		}
 	}
 	
+	/**
+	 * Gets the option whose value is compared against.
+	 * 
+	 * @return the depender, <code>null</code> if compared against a constant
+	 */
+	IOptions<?, ?> getDepender() {
+		return this.depender;
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see net.ownhero.dev.andama.settings.dependencies.Expression#getFailureCause()
@@ -224,6 +323,15 @@ public class Equals extends Requirement {
 		              };
 	}
 	
+	/**
+	 * Gets the constant the value is compared against.
+	 * 
+	 * @return the value, <code>null</code> if compared against another option
+	 */
+	Object getValue() {
+		return this.value;
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Object#toString()
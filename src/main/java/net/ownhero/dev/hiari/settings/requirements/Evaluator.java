@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings.requirements;
+
+import java.util.Map;
+
+/**
+ * A compiled {@link Requirement}, see {@link Requirement#compile()}. It checks the requirement against the property
+ * set it is given instead of the properties of the settings, and keeps no state between checks, so one evaluator can
+ * be used by any number of threads concurrently.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public interface Evaluator {
+	
+	/** Always passes. */
+	Evaluator TRUE  = new Evaluator() {
+		                
+		                @Override
+		                public boolean check(final Map<String, String> properties) {
+			                return true;
+		                }
+	                };
+	
+	/** Never passes. */
+	Evaluator FALSE = new Evaluator() {
+		                
+		                @Override
+		                public boolean check(final Map<String, String> properties) {
+			                return false;
+		                }
+	                };
+	
+	/**
+	 * Checks the requirement against the given property set.
+	 * 
+	 * @param properties
+	 *            the properties, by tag
+	 * @return true, if successful
+	 */
+	boolean check(Map<String, String> properties);
+}
@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import net.ownhero.dev.hiari.settings.ArgumentOptions;
@@ -60,6 +61,24 @@ public class If extends Requirement {
 		return (settings.getProperty(this.option.getTag()) != null) || (defaultValue != null);
 	}
 	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#compile()
+	 */
+	@Override
+	public Evaluator compile() {
+		final String tag = this.option.getTag();
+		final boolean defaulted = getDefaultValue(this.option) != null;
+		
+		return new Evaluator() {
+			
+			@Override
+			public boolean check(final Map<String, String> properties) {
+				return defaulted || (properties.get(tag) != null);
+			}
+		};
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see net.ownhero.dev.andama.settings.dependencies.Expression#getDependencies()
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings.requirements;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import net.ownhero.dev.hiari.settings.IOptions;
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+import net.ownhero.dev.kanuni.conditions.Condition;
+
+/**
+ * Requires the value of an option to be one of the given values. Like {@link Equals}, values are compared
+ * case-insensitively; a check is a single hash lookup however many values are allowed.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public class In extends Requirement {
+	
+	/** The option. */
+	private final IOptions<?, ?> option;
+	
+	/** The allowed values, lower-cased. */
+	private final Set<String>    values;
+	
+	/** The raw value {@link #result} has been computed for. */
+	private Object               checked = null;
+	
+	/** The result of the last check. */
+	private boolean              result  = false;
+	
+	/**
+	 * Instantiates a new in.
+	 * 
+	 * @param option
+	 *            the option
+	 * @param values
+	 *            the allowed values
+	 */
+	In(@NotNull final IOptions<?, ?> option, @NotNull final Collection<?> values) {
+		try {
+			this.option = option;
+			this.values = new HashSet<String>(values.size() * 2);
+			
+			for (final Object value : values) {
+				Condition.notNull(value, "The values given to %s may not contain null.", getHandle());
+				this.values.add(value.toString().toLowerCase(Locale.ROOT));
+			}
+		} finally {
+			Condition.notNull(this.option, "The referring argument in %s may never be null.", getHandle());
+			Condition.notNull(this.values, "Field '%s' in '%s'.", "values", getHandle()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#check()
+	 */
+	@Override
+	public synchronized boolean check() {
+		final Object value = getRawValue(this.option);
+		
+		if (value == null) {
+			return false;
+		}
+		
+		if (value != this.checked) {
+			this.result = this.values.contains(value.toString().toLowerCase(Locale.ROOT));
+			this.checked = value;
+		}
+		
+		return this.result;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#compile()
+	 */
+	@Override
+	public Evaluator compile() {
+		final String tag = this.option.getTag();
+		final Object defaultValue = getDefaultValue(this.option);
+		final Set<String> values = this.values;
+		
+		return new Evaluator() {
+			
+			@Override
+			public boolean check(final Map<String, String> properties) {
+				final Object value = getRawValue(properties, tag, defaultValue);
+				return (value != null) && values.contains(value.toString().toLowerCase(Locale.ROOT));
+			}
+		};
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#getDependencies()
+	 */
+	@Override
+	public Set<IOptions<?, ?>> getDependencies() {
+		final Set<IOptions<?, ?>> dependencies = new HashSet<IOptions<?, ?>>();
+		try {
+			dependencies.add(this.option);
+			
+			return dependencies;
+		} finally {
+			Condition.notNull(dependencies, "Dependency values may never be null.");
+		}
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#getFailedChecks()
+	 */
+	@Override
+	public List<Requirement> getFailedChecks() {
+		return check()
+		              ? new ArrayList<Requirement>(0)
+		              : new LinkedList<Requirement>() {
+			              
+			              private static final long serialVersionUID = 1L;
+			              
+			              {
+				              add(In.this);
+			              }
+		              };
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "(" + this.option.getName() + ".value() ∈ " + this.values + ")";
+	}
+	
+}
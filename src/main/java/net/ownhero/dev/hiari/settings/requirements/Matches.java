@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings.requirements;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import net.ownhero.dev.hiari.settings.IOptions;
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+import net.ownhero.dev.kanuni.conditions.Condition;
+
+/**
+ * Requires the whole value of an option to match a regular expression. The expression is compiled once, and a value
+ * is only matched again after it changed.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public class Matches extends Requirement {
+	
+	/** The option. */
+	private final IOptions<?, ?> option;
+	
+	/** The pattern. */
+	private final Pattern        pattern;
+	
+	/** The raw value {@link #result} has been computed for. */
+	private Object               checked = null;
+	
+	/** The result of the last check. */
+	private boolean              result  = false;
+	
+	/**
+	 * Instantiates a new matches.
+	 * 
+	 * @param option
+	 *            the option
+	 * @param regex
+	 *            the regular expression
+	 */
+	Matches(@NotNull final IOptions<?, ?> option, @NotNull final String regex) {
+		try {
+			this.option = option;
+			this.pattern = Pattern.compile(regex);
+		} finally {
+			Condition.notNull(this.option, "The referring argument in %s may never be null.", getHandle());
+			Condition.notNull(this.pattern, "Field '%s' in '%s'.", "pattern", getHandle()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#check()
+	 */
+	@Override
+	public synchronized boolean check() {
+		final Object value = getRawValue(this.option);
+		
+		if (value == null) {
+			return false;
+		}
+		
+		if (value != this.checked) {
+			this.result = this.pattern.matcher(value.toString()).matches();
+			this.checked = value;
+		}
+		
+		return this.result;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#compile()
+	 */
+	@Override
+	public Evaluator compile() {
+		final String tag = this.option.getTag();
+		final Object defaultValue = getDefaultValue(this.option);
+		final Pattern pattern = this.pattern;
+		
+		return new Evaluator() {
+			
+			@Override
+			public boolean check(final Map<String, String> properties) {
+				final Object value = getRawValue(properties, tag, defaultValue);
+				return (value != null) && pattern.matcher(value.toString()).matches();
+			}
+		};
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#getCost()
+	 */
+	@Override
+	int getCost() {
+		return PARSE;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#getDependencies()
+	 */
+	@Override
+	public Set<IOptions<?, ?>> getDependencies() {
+		final Set<IOptions<?, ?>> dependencies = new HashSet<IOptions<?, ?>>();
+		try {
+			dependencies.add(this.option);
+			
+			return dependencies;
+		} finally {
+			Condition.notNull(dependencies, "Dependency values may never be null.");
+		}
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#getFailedChecks()
+	 */
+	@Override
+	public List<Requirement> getFailedChecks() {
+		return check()
+		              ? new ArrayList<Requirement>(0)
+		              : new LinkedList<Requirement>() {
+			              
+			              private static final long serialVersionUID = 1L;
+			              
+			              {
+				              add(Matches.this);
+			              }
+		              };
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "(" + this.option.getName() + ".value() ~ /" + this.pattern.pattern() + "/)";
+	}
+	
+}
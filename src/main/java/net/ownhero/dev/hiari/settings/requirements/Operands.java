@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings.requirements;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+
+/**
+ * The operands of a short-circuiting composite requirement ({@link And}, {@link Or}, {@link All}, {@link Any}) in
+ * evaluation order. Operands are evaluated until one yields the result that ends the evaluation: false for
+ * conjunctions, true for disjunctions. Until {@link #optimize()} is called, the operands are evaluated in declaration
+ * order and each one's pass rate is counted. The counts belong to the composite, so an operand shared between several
+ * composites (e.g. {@link Requirement#required}) is counted separately for each of them.
+ * 
+ * {@link #optimize()} fixes the order once and for all: operands are ranked by their cost class (see
+ * {@link Requirement#getCost()}) divided by the rate at which they ended the evaluation. Operands that never ended it
+ * go last; ties keep the declaration order.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+final class Operands {
+	
+	/** The operands in declaration order. */
+	private final Requirement[]   requirements;
+	
+	/** The result that ends the evaluation. */
+	private final boolean         stopOn;
+	
+	/** The number of evaluations of each operand, by declaration index. */
+	private final AtomicLongArray evaluations;
+	
+	/** The number of those evaluations that passed, by declaration index. */
+	private final AtomicLongArray passes;
+	
+	/** The declaration indices in evaluation order. */
+	private volatile int[]        order;
+	
+	/** Whether the evaluations are still being counted. */
+	private volatile boolean      profiling = true;
+	
+	/**
+	 * Instantiates new operands.
+	 * 
+	 * @param requirements
+	 *            the operands in declaration order
+	 * @param stopOn
+	 *            the result that ends the evaluation: <code>false</code> for conjunctions, <code>true</code> for
+	 *            disjunctions
+	 */
+	Operands(@NotNull final Requirement[] requirements, final boolean stopOn) {
+		this.requirements = requirements;
+		this.stopOn = stopOn;
+		this.evaluations = new AtomicLongArray(requirements.length);
+		this.passes = new AtomicLongArray(requirements.length);
+		this.order = new int[requirements.length];
+		for (int i = 0; i < requirements.length; ++i) {
+			this.order[i] = i;
+		}
+	}
+	
+	/**
+	 * Evaluates the operands in order until one ends the evaluation.
+	 * 
+	 * @return true, if an operand ended the evaluation
+	 */
+	boolean evaluate() {
+		final boolean profiling = this.profiling;
+		
+		for (final int i : this.order) {
+			final boolean result = this.requirements[i].check();
+			
+			if (profiling) {
+				this.evaluations.incrementAndGet(i);
+				if (result) {
+					this.passes.incrementAndGet(i);
+				}
+			}
+			
+			if (result == this.stopOn) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Gets the cost class of evaluating all operands.
+	 * 
+	 * @return the sum of the cost classes of the operands
+	 */
+	int getCost() {
+		int cost = 0;
+		
+		for (final Requirement requirement : this.requirements) {
+			cost += requirement.getCost();
+		}
+		
+		return cost;
+	}
+	
+	/**
+	 * Gets the rate at which the operand with the given declaration index passed.
+	 * 
+	 * @param index
+	 *            the index
+	 * @return the pass rate, 0 if the operand has not been evaluated
+	 */
+	double getPassRate(final int index) {
+		final long count = this.evaluations.get(index);
+		return count > 0
+		                ? (double) this.passes.get(index) / count
+		                : 0;
+	}
+	
+	/**
+	 * Gets the rank of the operand with the given declaration index; lower ranks are evaluated first.
+	 * 
+	 * @param index
+	 *            the index
+	 * @return the rank
+	 */
+	private double getRank(final int index) {
+		final long count = this.evaluations.get(index);
+		final long stops = this.stopOn
+		                              ? this.passes.get(index)
+		                              : count - this.passes.get(index);
+		
+		if ((count == 0) || (stops == 0)) {
+			return Double.POSITIVE_INFINITY;
+		}
+		
+		// cost class 0 must not hide the selectivity
+		return (this.requirements[index].getCost() + 1) / ((double) stops / count);
+	}
+	
+	/**
+	 * Checks if the evaluations are still being counted.
+	 * 
+	 * @return true, if the order has not been fixed yet
+	 */
+	boolean isProfiling() {
+		return this.profiling;
+	}
+	
+	/**
+	 * Fixes the evaluation order of the operands and of everything below them, and stops counting.
+	 */
+	synchronized void optimize() {
+		if (!this.profiling) {
+			return;
+		}
+		
+		for (final Requirement requirement : this.requirements) {
+			requirement.optimize();
+		}
+		
+		final double[] ranks = new double[this.requirements.length];
+		final Integer[] indices = new Integer[this.requirements.length];
+		for (int i = 0; i < ranks.length; ++i) {
+			ranks[i] = getRank(i);
+			indices[i] = i;
+		}
+		
+		// stable, so ties keep the declaration order
+		Arrays.sort(indices, new Comparator<Integer>() {
+			
+			@Override
+			public int compare(final Integer index1,
+			                   final Integer index2) {
+				return Double.compare(ranks[index1], ranks[index2]);
+			}
+		});
+		
+		final int[] order = new int[indices.length];
+		for (int i = 0; i < order.length; ++i) {
+			order[i] = indices[i];
+		}
+		
+		this.order = order;
+		this.profiling = false;
+	}
+}
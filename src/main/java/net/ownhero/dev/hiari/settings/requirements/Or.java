@@ -16,6 +16,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import net.ownhero.dev.hiari.settings.IOptions;
@@ -34,6 +35,9 @@ public class Or extends Requirement {
 	private final Requirement requirement1;
 	private final Requirement requirement2;
 	
+	/** The operands in evaluation order. */
+	private final Operands    operands;
+	
 	/**
 	 * @param requirement1
 	 * @param requirement2
@@ -42,6 +46,7 @@ public class Or extends Requirement {
 		try {
 			this.requirement1 = requirement1;
 			this.requirement2 = requirement2;
+			this.operands = new Operands(new Requirement[] { requirement1, requirement2 }, true);
 		} finally {
 			Condition.notNull(this.requirement1, "Requirements in %s may never be null.", getHandle());
 			Condition.notNull(this.requirement2, "Requirements in %s may never be null.", getHandle());
@@ -54,7 +59,34 @@ public class Or extends Requirement {
 	 */
 	@Override
 	public boolean check() {
-		return getRequirement1().check() || getRequirement2().check();
+		return this.operands.evaluate();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#compile()
+	 */
+	@Override
+	public Evaluator compile() {
+		final Evaluator evaluator1 = this.requirement1.compile();
+		final Evaluator evaluator2 = this.requirement2.compile();
+		
+		return new Evaluator() {
+			
+			@Override
+			public boolean check(final Map<String, String> properties) {
+				return evaluator1.check(properties) || evaluator2.check(properties);
+			}
+		};
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#getCost()
+	 */
+	@Override
+	int getCost() {
+		return this.operands.getCost();
 	}
 	
 	/*
@@ -115,6 +147,15 @@ public class Or extends Requirement {
 		return this.requirement2;
 	}
 	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#optimize()
+	 */
+	@Override
+	public void optimize() {
+		this.operands.optimize();
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see de.unisaarland.cs.st.moskito.mapping.requirements.Expression#toString()
@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings.requirements;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.ownhero.dev.hiari.settings.DoubleArgument;
+import net.ownhero.dev.hiari.settings.IOptions;
+import net.ownhero.dev.hiari.settings.LongArgument;
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+import net.ownhero.dev.kanuni.conditions.Condition;
+
+/**
+ * Requires the value of a numeric option to lie within the given bounds (both inclusive). The value is parsed to a
+ * primitive and compared directly; it is only parsed again after it changed. Values that cannot be parsed are out of
+ * range.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public class Range extends Requirement {
+	
+	/** The option. */
+	private final IOptions<?, ?> option;
+	
+	/** Whether the option is a long option, a double option otherwise. */
+	private final boolean        integral;
+	
+	/** The lower bound of a long option. */
+	private final long           minLong;
+	
+	/** The upper bound of a long option. */
+	private final long           maxLong;
+	
+	/** The lower bound of a double option. */
+	private final double         minDouble;
+	
+	/** The upper bound of a double option. */
+	private final double         maxDouble;
+	
+	/** The raw value {@link #result} has been computed for. */
+	private Object               checked = null;
+	
+	/** The result of the last check. */
+	private boolean              result  = false;
+	
+	/**
+	 * Instantiates a new range.
+	 * 
+	 * @param option
+	 *            the option
+	 * @param min
+	 *            the lower bound
+	 * @param max
+	 *            the upper bound
+	 */
+	Range(@NotNull final DoubleArgument.Options option, final double min, final double max) {
+		try {
+			this.option = option;
+			this.integral = false;
+			this.minLong = 0;
+			this.maxLong = 0;
+			this.minDouble = min;
+			this.maxDouble = max;
+		} finally {
+			Condition.notNull(this.option, "The referring argument in %s may never be null.", getHandle());
+		}
+	}
+	
+	/**
+	 * Instantiates a new range.
+	 * 
+	 * @param option
+	 *            the option
+	 * @param min
+	 *            the lower bound
+	 * @param max
+	 *            the upper bound
+	 */
+	Range(@NotNull final LongArgument.Options option, final long min, final long max) {
+		try {
+			this.option = option;
+			this.integral = true;
+			this.minLong = min;
+			this.maxLong = max;
+			this.minDouble = 0;
+			this.maxDouble = 0;
+		} finally {
+			Condition.notNull(this.option, "The referring argument in %s may never be null.", getHandle());
+		}
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#check()
+	 */
+	@Override
+	public synchronized boolean check() {
+		final Object value = getRawValue(this.option);
+		
+		if (value == null) {
+			return false;
+		}
+		
+		if (value != this.checked) {
+			this.result = inRange(value);
+			this.checked = value;
+		}
+		
+		return this.result;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#compile()
+	 */
+	@Override
+	public Evaluator compile() {
+		final String tag = this.option.getTag();
+		final Object defaultValue = getDefaultValue(this.option);
+		
+		return new Evaluator() {
+			
+			@Override
+			public boolean check(final Map<String, String> properties) {
+				final Object value = getRawValue(properties, tag, defaultValue);
+				return (value != null) && inRange(value);
+			}
+		};
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#getCost()
+	 */
+	@Override
+	int getCost() {
+		return PARSE;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#getDependencies()
+	 */
+	@Override
+	public Set<IOptions<?, ?>> getDependencies() {
+		final Set<IOptions<?, ?>> dependencies = new HashSet<IOptions<?, ?>>();
+		try {
+			dependencies.add(this.option);
+			
+			return dependencies;
+		} finally {
+			Condition.notNull(dependencies, "Dependency values may never be null.");
+		}
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#getFailedChecks()
+	 */
+	@Override
+	public List<Requirement> getFailedChecks() {
+		return check()
+		              ? new ArrayList<Requirement>(0)
+		              : new LinkedList<Requirement>() {
+			              
+			              private static final long serialVersionUID = 1L;
+			              
+			              {
+				              add(Range.this);
+			              }
+		              };
+	}
+	
+	/**
+	 * Checks if the given raw value lies within the bounds.
+	 * 
+	 * @param value
+	 *            the property or default value
+	 * @return true, if the value is a number within the bounds
+	 */
+	private boolean inRange(final Object value) {
+		try {
+			if (this.integral) {
+				final long number = value instanceof Number
+				                                           ? ((Number) value).longValue()
+				                                           : Long.parseLong(value.toString());
+				return (this.minLong <= number) && (number <= this.maxLong);
+			}
+			
+			final double number = value instanceof Number
+			                                             ? ((Number) value).doubleValue()
+			                                             : Double.parseDouble(value.toString());
+			return (this.minDouble <= number) && (number <= this.maxDouble);
+		} catch (final NumberFormatException e) {
+			return false;
+		}
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "(" + this.option.getName() + ".value() ∈ ["
+		        + (this.integral
+		                        ? this.minLong + ", " + this.maxLong
+		                        : this.minDouble + ", " + this.maxDouble) + "])";
+	}
+	
+}
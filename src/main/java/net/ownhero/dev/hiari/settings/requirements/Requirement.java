@@ -14,15 +14,20 @@ package net.ownhero.dev.hiari.settings.requirements;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import net.ownhero.dev.hiari.settings.ArgumentOptions;
 import net.ownhero.dev.hiari.settings.BooleanArgument;
 import net.ownhero.dev.hiari.settings.DoubleArgument;
 import net.ownhero.dev.hiari.settings.EnumArgument;
+import net.ownhero.dev.hiari.settings.EnumSetArgument;
 import net.ownhero.dev.hiari.settings.IArgument;
 import net.ownhero.dev.hiari.settings.IOptions;
+import net.ownhero.dev.hiari.settings.IntSetArgument;
 import net.ownhero.dev.hiari.settings.ListArgument;
 import net.ownhero.dev.hiari.settings.LongArgument;
+import net.ownhero.dev.hiari.settings.LongListArgument;
 import net.ownhero.dev.hiari.settings.SetArgument;
 import net.ownhero.dev.hiari.settings.StringArgument;
 import net.ownhero.dev.kanuni.annotations.simple.NotEmpty;
@@ -33,6 +38,15 @@ import net.ownhero.dev.kanuni.annotations.simple.NotNull;
  */
 public abstract class Requirement {
 	
+	/** The cost class of requirements that do not read any value. */
+	static final int                CONSTANT = 0;
+	
+	/** The cost class of requirements that look up a property. */
+	static final int                LOOKUP   = 1;
+	
+	/** The cost class of requirements that parse or scan the value they look up. */
+	static final int                PARSE    = 2;
+	
 	/** The Constant required. */
 	public static final Requirement required = new Required();
 	
@@ -154,6 +168,50 @@ public abstract class Requirement {
 		return new Contains(option, value);
 	}
 	
+	/**
+	 * Contains.
+	 * 
+	 * @param <E>
+	 *            the enum type
+	 * @param option
+	 *            the option
+	 * @param value
+	 *            the value
+	 * @return the requirement
+	 */
+	public static <E extends Enum<E>> Requirement contains(@NotNull final EnumSetArgument.Options<E> option,
+	                                                       @NotNull final E value) {
+		return new Contains(option, value);
+	}
+	
+	/**
+	 * Contains.
+	 * 
+	 * @param option
+	 *            the option
+	 * @param value
+	 *            the value
+	 * @return the requirement
+	 */
+	public static Requirement contains(@NotNull final IntSetArgument.Options option,
+	                                   final int value) {
+		return new Contains(option, value);
+	}
+	
+	/**
+	 * Contains.
+	 * 
+	 * @param option
+	 *            the option
+	 * @param value
+	 *            the value
+	 * @return the requirement
+	 */
+	public static Requirement contains(@NotNull final LongListArgument.Options option,
+	                                   final long value) {
+		return new Contains(option, value);
+	}
+	
 	/**
 	 * Equals.
 	 * 
@@ -238,6 +296,76 @@ public abstract class Requirement {
 		return new Equals(argument, value);
 	}
 	
+	/**
+	 * Compiles the given requirements, see {@link #compile()}.
+	 * 
+	 * @param requirements
+	 *            the requirements
+	 * @return the evaluators, in the same order
+	 */
+	static Evaluator[] compile(@NotNull final Collection<Requirement> requirements) {
+		final Evaluator[] evaluators = new Evaluator[requirements.size()];
+		int i = 0;
+		
+		for (final Requirement requirement : requirements) {
+			evaluators[i++] = requirement.compile();
+		}
+		
+		return evaluators;
+	}
+	
+	/**
+	 * Gets the default value of the given option.
+	 * 
+	 * @param option
+	 *            the option
+	 * @return the default value, <code>null</code> if the option has none
+	 */
+	@SuppressWarnings ("rawtypes")
+	static Object getDefaultValue(@NotNull final IOptions<?, ?> option) {
+		return option instanceof ArgumentOptions
+		                                        ? ((ArgumentOptions) option).getDefaultValue()
+		                                        : null;
+	}
+	
+	/**
+	 * Gets the raw value of the given option: its property if set, its default value otherwise. The same instance is
+	 * returned as long as neither changes, so requirements can cache their result against it.
+	 * 
+	 * @param option
+	 *            the option
+	 * @return the raw value, <code>null</code> if neither is set
+	 */
+	static Object getRawValue(@NotNull final IOptions<?, ?> option) {
+		final String property = option.getSettings().getProperty(option.getTag());
+		
+		return property != null
+		                       ? property
+		                       : getDefaultValue(option);
+	}
+	
+	/**
+	 * Gets the raw value of an option in a compiled requirement: the property in the given property set if set, the
+	 * given default value otherwise.
+	 * 
+	 * @param properties
+	 *            the properties
+	 * @param tag
+	 *            the tag of the option
+	 * @param defaultValue
+	 *            the default value of the option, captured when compiling
+	 * @return the raw value, <code>null</code> if neither is set
+	 */
+	static Object getRawValue(@NotNull final Map<String, String> properties,
+	                          @NotNull final String tag,
+	                          final Object defaultValue) {
+		final String property = properties.get(tag);
+		
+		return property != null
+		                       ? property
+		                       : defaultValue;
+	}
+	
 	/**
 	 * Iff.
 	 * 
@@ -249,6 +377,34 @@ public abstract class Requirement {
 		return new If(option);
 	}
 	
+	/**
+	 * In.
+	 * 
+	 * @param option
+	 *            the option
+	 * @param values
+	 *            the allowed values
+	 * @return the requirement
+	 */
+	public static Requirement in(@NotNull final IOptions<?, ?> option,
+	                             @NotNull final Collection<?> values) {
+		return new In(option, values);
+	}
+	
+	/**
+	 * Matches.
+	 * 
+	 * @param option
+	 *            the option
+	 * @param regex
+	 *            the regular expression the whole value has to match
+	 * @return the requirement
+	 */
+	public static Requirement matches(@NotNull final IOptions<?, ?> option,
+	                                  @NotNull final String regex) {
+		return new Matches(option, regex);
+	}
+	
 	/**
 	 * Not.
 	 * 
@@ -274,33 +430,39 @@ public abstract class Requirement {
 		return new Or(requirement1, requirement2);
 	}
 	
-	// /**
-	// * Prints the graph.
-	// *
-	// * @param arguments
-	// * the arguments
-	// */
-	// public static void printGraph(final Collection<ArgumentSet<?, ?>> arguments) {
-	// final StringBuilder builder = new StringBuilder();
-	//
-	// for (final IArgument<?, ?> aai : arguments) {
-	// for (final IOptions<?, ?> aaiDependency : aai.getDependencies()) {
-	//				builder.append(aai.getName()).append(" --> ").append(aaiDependency.getName()) //$NON-NLS-1$
-	// .append(FileUtils.lineSeparator);
-	// }
-	// }
-	//
-	//		final Tuple<Integer, List<String>> execute = CommandExecutor.execute("graph-easy", //$NON-NLS-1$
-	// null,
-	// FileUtils.tmpDir,
-	// new ByteArrayInputStream(
-	// builder.toString()
-	// .getBytes()),
-	// null);
-	// for (final String output : execute.getSecond()) {
-	// System.out.println(output);
-	// }
-	// }
+	/**
+	 * Range.
+	 * 
+	 * @param option
+	 *            the option
+	 * @param min
+	 *            the lower bound (inclusive)
+	 * @param max
+	 *            the upper bound (inclusive)
+	 * @return the requirement
+	 */
+	public static Requirement range(@NotNull final DoubleArgument.Options option,
+	                                final double min,
+	                                final double max) {
+		return new Range(option, min, max);
+	}
+	
+	/**
+	 * Range.
+	 * 
+	 * @param option
+	 *            the option
+	 * @param min
+	 *            the lower bound (inclusive)
+	 * @param max
+	 *            the upper bound (inclusive)
+	 * @return the requirement
+	 */
+	public static Requirement range(@NotNull final LongArgument.Options option,
+	                                final long min,
+	                                final long max) {
+		return new Range(option, min, max);
+	}
 	
 	/**
 	 * Unset.
@@ -334,6 +496,28 @@ public abstract class Requirement {
 	 */
 	public abstract boolean check();
 	
+	/**
+	 * Compiles this requirement into an evaluator that checks it against a given property set rather than the
+	 * properties of the settings. The evaluator captures the tags, default values and constants it needs when compiled;
+	 * it does not collect statistics, reorder its operands or cache results, so it is safe to share between threads.
+	 * Values given as file references are not read, see {@link Contains#compile()}.
+	 * 
+	 * The requirements of this package override this method. By default, the evaluator ignores the given property set
+	 * and delegates to {@link #check()}, so requirements declared elsewhere keep working, but are checked against the
+	 * properties of the settings and are only as safe to share as {@link #check()} is.
+	 * 
+	 * @return the evaluator
+	 */
+	public Evaluator compile() {
+		return new Evaluator() {
+			
+			@Override
+			public boolean check(final Map<String, String> properties) {
+				return Requirement.this.check();
+			}
+		};
+	}
+	
 	/**
 	 * Gets the dependencies.
 	 * 
@@ -348,6 +532,16 @@ public abstract class Requirement {
 	 */
 	public abstract List<Requirement> getFailedChecks();
 	
+	/**
+	 * Gets the static cost class of a check, see {@link #LOOKUP}. Composite requirements rank their operands by cost
+	 * class and observed pass rate when their order is fixed, see {@link #optimize()}.
+	 * 
+	 * @return the cost class
+	 */
+	int getCost() {
+		return LOOKUP;
+	}
+	
 	/**
 	 * Gets the handle.
 	 * 
@@ -356,4 +550,14 @@ public abstract class Requirement {
 	public final String getHandle() {
 		return getClass().getSimpleName();
 	}
+	
+	/**
+	 * Fixes the evaluation order of this requirement and all requirements below it, based on the pass rates observed so
+	 * far, and stops observing them. Until then, composite requirements evaluate their operands in declaration order.
+	 * {@link net.ownhero.dev.hiari.settings.Settings#optimizeRequirements()} does this for all registered options.
+	 * Requirements without operands have nothing to fix.
+	 */
+	public void optimize() {
+		// nothing to order
+	}
 }
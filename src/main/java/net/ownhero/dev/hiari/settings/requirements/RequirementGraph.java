@@ -0,0 +1,460 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings.requirements;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import net.ownhero.dev.andama.exceptions.UnrecoverableError;
+import net.ownhero.dev.hiari.settings.IOptions;
+import net.ownhero.dev.kanuni.annotations.simple.NotNull;
+
+import org.mozkito.utilities.io.FileUtils;
+
+/**
+ * The requirement graph of a set of options: an edge leads from every option to each option its requirements depend
+ * on (see {@link Requirement#getDependencies()}). Building the graph analyzes it for
+ * <ul>
+ * <li>dependency cycles,</li>
+ * <li>dependencies on options that have never been registered, and</li>
+ * <li>requirements that can never be met, like <code>And(x, Not(x))</code>, <code>Xor(x, x)</code> or two
+ * {@link Equals} on the same option with different values in one conjunction.</li>
+ * </ul>
+ * The analysis runs in time linear in the number of options, dependencies and requirement nodes.
+ * 
+ * @author Sascha Just <sascha.just@st.cs.uni-saarland.de>
+ */
+public final class RequirementGraph {
+	
+	/**
+	 * Finds the strongly connected components of the graph (Tarjan's algorithm).
+	 */
+	private final class Tarjan {
+		
+		/** The discovery index by tag. */
+		private final Map<String, Integer> index   = new HashMap<String, Integer>();
+		
+		/** The lowest index reachable by tag. */
+		private final Map<String, Integer> lowlink = new HashMap<String, Integer>();
+		
+		/** The stack. */
+		private final Deque<String>        stack   = new ArrayDeque<String>();
+		
+		/** The tags on the stack. */
+		private final Set<String>          onStack = new HashSet<String>();
+		
+		/**
+		 * Visits the given option and everything reachable from it.
+		 * 
+		 * @param tag
+		 *            the tag of the option
+		 */
+		private void connect(final String tag) {
+			final int discovered = this.index.size();
+			this.index.put(tag, discovered);
+			this.lowlink.put(tag, discovered);
+			this.stack.push(tag);
+			this.onStack.add(tag);
+			
+			for (final String dependency : RequirementGraph.this.edges.get(tag)) {
+				if (!RequirementGraph.this.edges.containsKey(dependency)) {
+					// missing, reported separately
+					continue;
+				}
+				
+				if (!this.index.containsKey(dependency)) {
+					connect(dependency);
+					this.lowlink.put(tag, Math.min(this.lowlink.get(tag), this.lowlink.get(dependency)));
+				} else if (this.onStack.contains(dependency)) {
+					this.lowlink.put(tag, Math.min(this.lowlink.get(tag), this.index.get(dependency)));
+				}
+			}
+			
+			if (this.lowlink.get(tag).intValue() == discovered) {
+				final List<String> component = new LinkedList<String>();
+				String member;
+				
+				do {
+					member = this.stack.pop();
+					this.onStack.remove(member);
+					component.add(member);
+				} while (!member.equals(tag));
+				
+				if ((component.size() > 1) || RequirementGraph.this.edges.get(tag).contains(tag)) {
+					Collections.sort(component);
+					RequirementGraph.this.cycles.add(component);
+				}
+			}
+		}
+		
+		/**
+		 * Runs the algorithm on the whole graph.
+		 */
+		void run() {
+			for (final String tag : RequirementGraph.this.edges.keySet()) {
+				if (!this.index.containsKey(tag)) {
+					connect(tag);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Escapes the given text for a quoted DOT identifier.
+	 * 
+	 * @param text
+	 *            the text
+	 * @return the quoted identifier
+	 */
+	private static String quote(final String text) {
+		return '"' + text.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+	}
+	
+	/** The dependencies by the tag of the option depending on them. */
+	private final Map<String, SortedSet<String>> edges          = new TreeMap<String, SortedSet<String>>();
+	
+	/** The dependency cycles, each sorted by tag. */
+	private final List<List<String>>             cycles         = new LinkedList<List<String>>();
+	
+	/** The unregistered dependencies by the tag of the option depending on them. */
+	private final Map<String, SortedSet<String>> missing        = new TreeMap<String, SortedSet<String>>();
+	
+	/** The requirements that can never be met, by the tag of their option. */
+	private final Map<String, Requirement>       contradictions = new TreeMap<String, Requirement>();
+	
+	/** The requirements analyzed so far. */
+	private final Map<Requirement, Boolean>      unsatisfiable  = new IdentityHashMap<Requirement, Boolean>();
+	
+	/**
+	 * Builds and analyzes the requirement graph of the given options.
+	 * 
+	 * @param options
+	 *            all registered options
+	 */
+	public RequirementGraph(@NotNull final Collection<? extends IOptions<?, ?>> options) {
+		for (final IOptions<?, ?> option : options) {
+			final SortedSet<String> dependencies = new TreeSet<String>();
+			
+			for (final IOptions<?, ?> dependency : option.getRequirements().getDependencies()) {
+				dependencies.add(dependency.getTag());
+			}
+			this.edges.put(option.getTag(), dependencies);
+		}
+		
+		for (final IOptions<?, ?> option : options) {
+			for (final String dependency : this.edges.get(option.getTag())) {
+				if (!this.edges.containsKey(dependency)) {
+					SortedSet<String> unknown = this.missing.get(option.getTag());
+					if (unknown == null) {
+						unknown = new TreeSet<String>();
+						this.missing.put(option.getTag(), unknown);
+					}
+					unknown.add(dependency);
+				}
+			}
+			
+			if (isUnsatisfiable(option.getRequirements())) {
+				this.contradictions.put(option.getTag(), option.getRequirements());
+			}
+		}
+		
+		new Tarjan().run();
+	}
+	
+	/**
+	 * Checks if the given conjuncts contradict each other: one is the negation of another, or two compare the same
+	 * option to different constants.
+	 * 
+	 * @param conjuncts
+	 *            the conjuncts
+	 * @return true, if they can never all be met
+	 */
+	private boolean contradicts(final List<Requirement> conjuncts) {
+		final Set<Object> positive = new HashSet<Object>();
+		final Set<Object> negative = new HashSet<Object>();
+		final Map<String, String> values = new HashMap<String, String>();
+		
+		for (final Requirement conjunct : conjuncts) {
+			if (conjunct instanceof Not) {
+				negative.add(key(((Not) conjunct).getExpression()));
+				continue;
+			}
+			
+			positive.add(key(conjunct));
+			
+			if ((conjunct instanceof Equals) && (((Equals) conjunct).getDepender() == null)) {
+				final String tag = ((Equals) conjunct).getArgument().getTag();
+				final String value = ((Equals) conjunct).getValue().toString().toLowerCase(Locale.ROOT);
+				final String previous = values.put(tag, value);
+				
+				if ((previous != null) && !previous.equals(value)) {
+					return true;
+				}
+			}
+		}
+		
+		for (final Object key : negative) {
+			if (positive.contains(key)) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Collects the operands of the given conjunction, descending into nested conjunctions.
+	 * 
+	 * @param requirement
+	 *            the requirement
+	 * @param conjuncts
+	 *            the conjuncts
+	 */
+	private void flatten(final Requirement requirement,
+	                     final List<Requirement> conjuncts) {
+		if (requirement instanceof And) {
+			flatten(((And) requirement).getRequirement1(), conjuncts);
+			flatten(((And) requirement).getRequirement2(), conjuncts);
+		} else if (requirement instanceof All) {
+			for (final Requirement operand : ((All) requirement).getExpressions()) {
+				flatten(operand, conjuncts);
+			}
+		} else {
+			conjuncts.add(requirement);
+		}
+	}
+	
+	/**
+	 * Gets the requirements that can never be met.
+	 * 
+	 * @return the requirements by the tag of their option
+	 */
+	public Map<String, Requirement> getContradictions() {
+		return Collections.unmodifiableMap(this.contradictions);
+	}
+	
+	/**
+	 * Gets the dependency cycles.
+	 * 
+	 * @return the cycles, each a list of the tags involved, sorted
+	 */
+	public List<List<String>> getCycles() {
+		return Collections.unmodifiableList(this.cycles);
+	}
+	
+	/**
+	 * Gets the dependencies on options that have never been registered.
+	 * 
+	 * @return the tags of the missing options, by the tag of the option depending on them
+	 */
+	public Map<String, SortedSet<String>> getMissingDependencies() {
+		return Collections.unmodifiableMap(this.missing);
+	}
+	
+	/**
+	 * Checks if the graph has none of the problems this class looks for.
+	 * 
+	 * @return true, if there are no cycles, missing dependencies or contradictions
+	 */
+	public boolean isSound() {
+		return this.cycles.isEmpty() && this.missing.isEmpty() && this.contradictions.isEmpty();
+	}
+	
+	/**
+	 * Checks if the given requirement can never be met.
+	 * 
+	 * @param requirement
+	 *            the requirement
+	 * @return true, if it can be shown that the requirement never holds
+	 */
+	private boolean isUnsatisfiable(final Requirement requirement) {
+		final Boolean known = this.unsatisfiable.get(requirement);
+		if (known != null) {
+			return known;
+		}
+		
+		boolean result = false;
+		
+		if ((requirement instanceof And) || (requirement instanceof All)) {
+			final List<Requirement> conjuncts = new LinkedList<Requirement>();
+			flatten(requirement, conjuncts);
+			
+			for (final Requirement conjunct : conjuncts) {
+				if (isUnsatisfiable(conjunct)) {
+					result = true;
+					break;
+				}
+			}
+			result = result || contradicts(conjuncts);
+		} else if (requirement instanceof Or) {
+			result = isUnsatisfiable(((Or) requirement).getRequirement1())
+			        && isUnsatisfiable(((Or) requirement).getRequirement2());
+		} else if (requirement instanceof Any) {
+			result = true;
+			for (final Requirement operand : ((Any) requirement).getExpressions()) {
+				if (!isUnsatisfiable(operand)) {
+					result = false;
+					break;
+				}
+			}
+		} else if (requirement instanceof Xor) {
+			final Requirement requirement1 = ((Xor) requirement).getRequirement1();
+			final Requirement requirement2 = ((Xor) requirement).getRequirement2();
+			result = key(requirement1).equals(key(requirement2))
+			        || (isUnsatisfiable(requirement1) && isUnsatisfiable(requirement2));
+		}
+		
+		this.unsatisfiable.put(requirement, result);
+		return result;
+	}
+	
+	/**
+	 * Gets a key identifying what the given requirement checks. Two {@link If} on the same option, or two
+	 * {@link Equals} comparing the same option to the same value, get equal keys; any other requirement is only equal
+	 * to itself.
+	 * 
+	 * @param requirement
+	 *            the requirement
+	 * @return the key
+	 */
+	private Object key(final Requirement requirement) {
+		if (requirement instanceof If) {
+			return "set:" + ((If) requirement).getOption().getTag();
+		}
+		
+		if (requirement instanceof Equals) {
+			final Equals equals = (Equals) requirement;
+			return "equals:" + equals.getArgument().getTag() + "="
+			        + (equals.getDepender() != null
+			                                       ? "@" + equals.getDepender().getTag()
+			                                       : equals.getValue().toString().toLowerCase(Locale.ROOT));
+		}
+		
+		return requirement;
+	}
+	
+	/**
+	 * Writes the graph in the DOT format of Graphviz. Missing options and the edges to them are dashed, edges within
+	 * a cycle are red, and options whose requirements can never be met are orange.
+	 * 
+	 * @param out
+	 *            the target
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public void toDot(@NotNull final Appendable out) throws IOException {
+		final Map<String, Integer> components = new HashMap<String, Integer>();
+		int component = 0;
+		for (final List<String> cycle : this.cycles) {
+			for (final String tag : cycle) {
+				components.put(tag, component);
+			}
+			++component;
+		}
+		
+		final SortedSet<String> unknown = new TreeSet<String>();
+		for (final SortedSet<String> dependencies : this.missing.values()) {
+			unknown.addAll(dependencies);
+		}
+		
+		out.append("digraph requirements {").append(FileUtils.lineSeparator);
+		
+		for (final String tag : this.edges.keySet()) {
+			out.append('\t').append(quote(tag));
+			if (this.contradictions.containsKey(tag)) {
+				out.append(" [color=orange]");
+			}
+			out.append(';').append(FileUtils.lineSeparator);
+		}
+		
+		for (final String tag : unknown) {
+			out.append('\t').append(quote(tag)).append(" [style=dashed]").append(';').append(FileUtils.lineSeparator);
+		}
+		
+		for (final Map.Entry<String, SortedSet<String>> entry : this.edges.entrySet()) {
+			final Integer from = components.get(entry.getKey());
+			
+			for (final String dependency : entry.getValue()) {
+				out.append('\t').append(quote(entry.getKey())).append(" -> ").append(quote(dependency));
+				
+				if (!this.edges.containsKey(dependency)) {
+					out.append(" [style=dashed]");
+				} else if ((from != null) && from.equals(components.get(dependency))) {
+					out.append(" [color=red]");
+				}
+				out.append(';').append(FileUtils.lineSeparator);
+			}
+		}
+		
+		out.append('}').append(FileUtils.lineSeparator);
+	}
+	
+	/**
+	 * Gets the graph in the DOT format of Graphviz, see {@link #toDot(Appendable)}.
+	 * 
+	 * @return the DOT source
+	 */
+	public String toDot() {
+		final StringBuilder builder = new StringBuilder();
+		
+		try {
+			toDot(builder);
+		} catch (final IOException e) {
+			// StringBuilder does not throw
+			throw new UnrecoverableError(e);
+		}
+		
+		return builder.toString();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		
+		for (final List<String> cycle : this.cycles) {
+			builder.append("Dependency cycle: ").append(cycle).append(FileUtils.lineSeparator);
+		}
+		
+		for (final Map.Entry<String, SortedSet<String>> entry : this.missing.entrySet()) {
+			builder.append("Unregistered dependencies of ").append(entry.getKey()).append(": ")
+			       .append(entry.getValue()).append(FileUtils.lineSeparator);
+		}
+		
+		for (final Map.Entry<String, Requirement> entry : this.contradictions.entrySet()) {
+			builder.append("Requirement of ").append(entry.getKey()).append(" can never be met: ")
+			       .append(entry.getValue()).append(FileUtils.lineSeparator);
+		}
+		
+		return builder.length() > 0
+		                           ? builder.toString()
+		                           : "No problems found." + FileUtils.lineSeparator;
+	}
+}
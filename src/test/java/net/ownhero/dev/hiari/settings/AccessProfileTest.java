@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.List;
+
+import net.ownhero.dev.andama.exceptions.UnrecoverableError;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentSetRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mozkito.utilities.io.FileUtils;
+import org.mozkito.utilities.io.FileUtils.FileShutdownAction;
+
+/**
+ * The Class AccessProfileTest.
+ */
+public class AccessProfileTest {
+	
+	/** The profile. */
+	private File profile;
+	
+	/**
+	 * Sets the up.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		this.profile = FileUtils.createRandomFile(FileShutdownAction.DELETE);
+		try (final FileWriter writer = new FileWriter(this.profile)) {
+			writer.write("# recorded\ntestAccessProfileHot\n");
+		}
+	}
+	
+	/**
+	 * Tear down.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		System.clearProperty(Settings.accessProfileTag);
+		System.clearProperty("testAccessProfileHot");
+		System.clearProperty("testAccessProfileCold");
+		this.profile.delete();
+	}
+	
+	/**
+	 * Test that reads made while bootstrapping do not count as reads of the tool.
+	 */
+	@Test
+	public void testBootstrapReads() {
+		try {
+			final Settings settings = new Settings();
+			
+			// read by the initialization of the mail arguments only
+			assertTrue(settings.getUnreadArguments().contains("mail.host"));
+			settings.getMailArguments().getValue();
+			assertFalse(settings.getUnreadArguments().contains("mail"));
+		} catch (final SettingsParseError e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test cold arguments are deferred.
+	 */
+	@Test
+	public void testDeferred() {
+		try {
+			System.setProperty(Settings.accessProfileTag, this.profile.getAbsolutePath());
+			System.setProperty("testAccessProfileHot", "42");
+			System.setProperty("testAccessProfileCold", this.profile.getAbsolutePath() + ".missing");
+			final Settings settings = new Settings();
+			
+			final LongArgument hot = ArgumentFactory.create(new LongArgument.Options(settings.getRoot(),
+			                                                                         "testAccessProfileHot",
+			                                                                         "test description", null,
+			                                                                         Requirement.required));
+			// missing, but the file system is not checked before the first read
+			final InputFileArgument cold = ArgumentFactory.create(new InputFileArgument.Options(settings.getRoot(),
+			                                                                                    "testAccessProfileCold",
+			                                                                                    "test description",
+			                                                                                    null,
+			                                                                                    Requirement.required));
+			
+			assertTrue(settings.getUnreadArguments().contains("testAccessProfileHot"));
+			assertEquals(42l, hot.getValue().longValue());
+			assertFalse(settings.getUnreadArguments().contains("testAccessProfileHot"));
+			
+			try {
+				cold.getValue();
+				fail();
+			} catch (final UnrecoverableError ignore) {
+				// expected
+			}
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test that the syntax of cold arguments is still checked while bootstrapping.
+	 */
+	@Test
+	public void testDeferredSyntax() {
+		try {
+			System.setProperty(Settings.accessProfileTag, this.profile.getAbsolutePath());
+			System.setProperty("testAccessProfileCold", "hubba");
+			final Settings settings = new Settings();
+			
+			try {
+				ArgumentFactory.create(new LongArgument.Options(settings.getRoot(), "testAccessProfileCold",
+				                                                "test description", null, Requirement.required));
+				fail();
+			} catch (final ArgumentRegistrationException ignore) {
+				// expected
+			}
+		} catch (ArgumentSetRegistrationException | SettingsParseError e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test store.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void testStore() throws Exception {
+		final AccessProfile accessProfile = new AccessProfile();
+		accessProfile.open(this.profile);
+		assertTrue(accessProfile.isCold("testAccessProfileCold"));
+		assertFalse(accessProfile.isCold("testAccessProfileHot"));
+		
+		final int read = accessProfile.register("read");
+		accessProfile.register("unread");
+		accessProfile.accessed(read);
+		accessProfile.store();
+		
+		final List<String> lines = Files.readAllLines(this.profile.toPath(), Charset.forName("UTF-8"));
+		assertTrue(lines.contains("read"));
+		assertTrue(lines.contains("# unread"));
+		assertFalse(lines.contains("testAccessProfileHot"));
+		
+		final AccessProfile reloaded = new AccessProfile();
+		reloaded.open(this.profile);
+		assertFalse(reloaded.isCold("read"));
+		assertTrue(reloaded.isCold("unread"));
+	}
+	
+	/**
+	 * Test that suspending only skips the reads of the suspending thread.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void testSuspendPerThread() throws Exception {
+		final AccessProfile accessProfile = new AccessProfile();
+		final boolean[] suspendedElsewhere = new boolean[1];
+		final Thread reader = new Thread() {
+			
+			@Override
+			public void run() {
+				suspendedElsewhere[0] = accessProfile.isSuspended();
+			}
+		};
+		
+		accessProfile.suspend();
+		accessProfile.suspend();
+		try {
+			assertTrue(accessProfile.isSuspended());
+			reader.start();
+			reader.join();
+			assertFalse(suspendedElsewhere[0]);
+		} finally {
+			accessProfile.resume();
+		}
+		assertTrue(accessProfile.isSuspended());
+		accessProfile.resume();
+		assertFalse(accessProfile.isSuspended());
+	}
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.lang.invoke.MethodHandle;
+
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentSetRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * The Class ArgumentAccessorTest.
+ */
+public class ArgumentAccessorTest {
+	
+	/**
+	 * Tear down.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		System.clearProperty("testArgumentAccessor");
+	}
+	
+	/**
+	 * Test accessor.
+	 * 
+	 * @throws Throwable
+	 *             the throwable
+	 */
+	@Test
+	public void testAccessor() throws Throwable {
+		try {
+			System.setProperty("testArgumentAccessor", "42");
+			final Settings settings = new Settings();
+			final LongArgument.Options options = new LongArgument.Options(settings.getRoot(), "testArgumentAccessor",
+			                                                              "test description", null,
+			                                                              Requirement.required);
+			final LongArgument argument = ArgumentFactory.create(options);
+			final ArgumentAccessor<Long> accessor = settings.getAccessor(options);
+			assertSame(accessor, argument.getAccessor());
+			
+			final MethodHandle handle = accessor.getMethodHandle();
+			assertEquals(42l, accessor.get().longValue());
+			assertEquals(42l, (Object) handle.invokeExact());
+			
+			// a changed value invalidates the bound constant
+			argument.setCachedValue(4711l);
+			assertEquals(4711l, accessor.get().longValue());
+			assertEquals(4711l, (Object) handle.invokeExact());
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+}
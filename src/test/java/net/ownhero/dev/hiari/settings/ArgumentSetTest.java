@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentSetRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+
+import org.junit.Test;
+
+/**
+ * The Class ArgumentSetTest.
+ */
+public class ArgumentSetTest {
+	
+	/**
+	 * Records the visited tags.
+	 */
+	private static final class Recorder implements ArgumentVisitor {
+		
+		/** The visited tags. */
+		private final List<String> tags = Collections.synchronizedList(new ArrayList<String>());
+		
+		/** The set to skip. */
+		private final String       skip;
+		
+		/**
+		 * Instantiates a new recorder.
+		 * 
+		 * @param skip
+		 *            the tag of the set to skip
+		 */
+		Recorder(final String skip) {
+			this.skip = skip;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.ArgumentVisitor#enter(net.ownhero.dev.hiari.settings.ArgumentSet)
+		 */
+		@Override
+		public boolean enter(final ArgumentSet<?, ?> argumentSet) {
+			if (argumentSet.getTag().equals(this.skip)) {
+				return false;
+			}
+			this.tags.add("+" + argumentSet.getTag());
+			return true;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.ArgumentVisitor#leave(net.ownhero.dev.hiari.settings.ArgumentSet)
+		 */
+		@Override
+		public void leave(final ArgumentSet<?, ?> argumentSet) {
+			this.tags.add("-" + argumentSet.getTag());
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.ArgumentVisitor#visit(net.ownhero.dev.hiari.settings.Argument)
+		 */
+		@Override
+		public void visit(final Argument<?, ?> argument) {
+			this.tags.add(argument.getTag());
+		}
+	}
+	
+	/**
+	 * Test accept.
+	 */
+	@Test
+	public void testAccept() {
+		try {
+			final Settings settings = new Settings();
+			ArgumentFactory.create(new StringArgument.Options(settings.getRoot(), "testArgumentSetB",
+			                                                  "test description", "b", Requirement.optional));
+			ArgumentFactory.create(new StringArgument.Options(settings.getRoot(), "testArgumentSetA",
+			                                                  "test description", "a", Requirement.optional));
+			
+			final Recorder recorder = new Recorder("log");
+			settings.getRoot().accept(recorder);
+			final List<String> tags = recorder.tags;
+			
+			assertEquals("+" + settings.getRoot().getTag(), tags.get(0));
+			assertEquals("-" + settings.getRoot().getTag(), tags.get(tags.size() - 1));
+			assertTrue(tags.indexOf("testArgumentSetA") < tags.indexOf("testArgumentSetB"));
+			assertTrue(tags.indexOf("+mail") < tags.indexOf("mail.host"));
+			assertTrue(tags.indexOf("mail.host") < tags.indexOf("-mail"));
+			assertFalse(tags.contains("-log"));
+			
+			final Recorder parallel = new Recorder("log");
+			settings.getRoot().acceptParallel(parallel, new ForkJoinPool(4));
+			assertEquals(tags.size(), parallel.tags.size());
+			assertTrue(parallel.tags.containsAll(tags));
+			assertTrue(parallel.tags.indexOf("mail.host") < parallel.tags.indexOf("-mail"));
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test get children.
+	 */
+	@SuppressWarnings ("rawtypes")
+	@Test
+	public void testGetChildren() {
+		try {
+			final Settings settings = new Settings();
+			final Collection<IArgument> children = settings.getRoot().getChildren();
+			assertNotSame(children, settings.getRoot().getChildren());
+			assertEquals(children, settings.getRoot().getChildren());
+			
+			String previous = "";
+			for (final IArgument child : children) {
+				assertTrue(previous.compareTo(child.getName()) <= 0);
+				previous = child.getName();
+			}
+			
+			ArgumentFactory.create(new StringArgument.Options(settings.getRoot(), "testArgumentSetA",
+			                                                  "test description", "a", Requirement.optional));
+			assertEquals(children.size() + 1, settings.getRoot().getChildren().size());
+			
+			children.clear();
+			assertFalse(settings.getRoot().getChildren().isEmpty());
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+}
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mozkito.utilities.io.FileUtils;
+import org.mozkito.utilities.io.FileUtils.FileShutdownAction;
+
+/**
+ * The Class ConfigurationLoaderTest.
+ */
+public class ConfigurationLoaderTest {
+	
+	/** The base file. */
+	private File base;
+	
+	/** The overlay file. */
+	private File overlay;
+	
+	/** The host file. */
+	private File host;
+	
+	/**
+	 * Writes the given key/value pairs to the file.
+	 * 
+	 * @param file
+	 *            the file
+	 * @param pairs
+	 *            the pairs
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private void write(final File file,
+	                   final String... pairs) throws IOException {
+		final Properties properties = new Properties();
+		for (int i = 0; i < pairs.length; i += 2) {
+			properties.setProperty(pairs[i], pairs[i + 1]);
+		}
+		try (final FileWriter writer = new FileWriter(file)) {
+			properties.store(writer, null);
+		}
+	}
+	
+	/**
+	 * Sets the up.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		this.base = FileUtils.createRandomFile(FileShutdownAction.DELETE);
+		this.overlay = FileUtils.createRandomFile(FileShutdownAction.DELETE);
+		this.host = FileUtils.createRandomFile(FileShutdownAction.DELETE);
+		
+		write(this.base, "configTestA", "base", "configTestB", "base", "configTestC", "base");
+		write(this.overlay, "configTestB", "overlay", "configTestC", "overlay");
+		write(this.host, "configTestC", "host");
+	}
+	
+	/**
+	 * Tear down.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		System.clearProperty("config");
+		System.clearProperty("configTestC");
+		this.base.delete();
+		this.overlay.delete();
+		this.host.delete();
+	}
+	
+	/**
+	 * Test commandline overrides.
+	 */
+	@Test
+	public void testCommandlineOverrides() {
+		try {
+			System.setProperty("config", this.base.getAbsolutePath() + "," + this.overlay.getAbsolutePath());
+			System.setProperty("configTestC", "commandline");
+			final Settings settings = new Settings();
+			
+			assertEquals("overlay", settings.getProperty("configTestB"));
+			assertEquals("commandline", settings.getProperty("configTestC"));
+			assertEquals(ConfigurationLoader.COMMANDLINE, settings.getPropertySource("configTestC"));
+		} catch (final SettingsParseError e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test declared order.
+	 */
+	@Test
+	public void testDeclaredOrder() {
+		try {
+			final ConfigurationLoader loader = new ConfigurationLoader(Arrays.asList(this.base.getAbsolutePath(),
+			                                                                         this.overlay.getAbsolutePath(),
+			                                                                         this.host.toURI().toString()));
+			final Properties properties = new Properties();
+			final Map<String, String> sources = new HashMap<String, String>();
+			loader.load(properties, sources);
+			
+			assertEquals("base", properties.getProperty("configTestA"));
+			assertEquals("overlay", properties.getProperty("configTestB"));
+			assertEquals("host", properties.getProperty("configTestC"));
+			assertEquals(this.base.getAbsoluteFile().toURI().toString(), sources.get("configTestA"));
+			assertEquals(this.overlay.getAbsoluteFile().toURI().toString(), sources.get("configTestB"));
+			assertEquals(this.host.toURI().toString(), sources.get("configTestC"));
+		} catch (final SettingsParseError e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test missing source.
+	 */
+	@Test
+	public void testMissingSource() {
+		this.overlay.delete();
+		try {
+			new ConfigurationLoader(Arrays.asList(this.base.getAbsolutePath(), this.overlay.getAbsolutePath()));
+			fail();
+		} catch (final SettingsParseError ignore) {
+			// expected
+		}
+	}
+	
+	/**
+	 * Test settings.
+	 */
+	@Test
+	public void testSettings() {
+		try {
+			System.setProperty("config", this.base.getAbsolutePath() + "," + this.overlay.getAbsolutePath() + ","
+			        + this.host.getAbsolutePath());
+			final Settings settings = new Settings();
+			
+			assertEquals("base", settings.getProperty("configTestA"));
+			assertEquals("overlay", settings.getProperty("configTestB"));
+			assertEquals("host", settings.getProperty("configTestC"));
+			assertEquals(this.host.getAbsoluteFile().toURI().toString(), settings.getPropertySource("configTestC"));
+			assertNull(settings.getPropertySource("configTestD"));
+		} catch (final SettingsParseError e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+}
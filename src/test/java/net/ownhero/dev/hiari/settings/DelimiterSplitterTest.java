@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * The Class DelimiterSplitterTest.
+ */
+public class DelimiterSplitterTest {
+	
+	/**
+	 * Test that plain values are split like {@link String#split(String)} does.
+	 */
+	@Test
+	public void testCompatibility() {
+		for (final String delimiter : Arrays.asList(",", "@", "::", "\\s*;\\s*", "|", ".")) {
+			final DelimiterSplitter splitter = new DelimiterSplitter(delimiter);
+			
+			for (final String value : Arrays.asList("one,two", " one @ two ", "a::b::", "a ; b;c ;", "x|y|", "a.b",
+			                                        "", ",", "a,,b,,", ",a")) {
+				final String[] expected = value.split(delimiter);
+				for (int i = 0; i < expected.length; ++i) {
+					expected[i] = expected[i].trim();
+				}
+				assertEquals(delimiter + " on " + value, Arrays.asList(expected), splitter.split(value));
+			}
+		}
+		
+		assertTrue(DelimiterSplitter.isLiteral(","));
+		assertTrue(DelimiterSplitter.isLiteral("::"));
+		assertFalse(DelimiterSplitter.isLiteral("\\s+"));
+	}
+	
+	/**
+	 * Test escapes and quotes.
+	 */
+	@Test
+	public void testEscapes() {
+		final DelimiterSplitter splitter = new DelimiterSplitter(",", true, true);
+		
+		assertEquals(Arrays.asList("a,b", "c"), splitter.split("a\\,b, c"));
+		assertEquals(Arrays.asList(" a, b ", "c"), splitter.split(" \" a, b \" ,c"));
+		assertEquals(Arrays.asList("say \"hi\"", "x\\y"), splitter.split("\"say \\\"hi\\\"\",\"x\\\\y\""));
+		assertEquals(Arrays.asList("C:\\tmp", "D:\\data"), splitter.split("C:\\tmp,D:\\data"));
+		assertEquals(Arrays.asList("\\\\server\\share", "x"), splitter.split("\\\\server\\share,x"));
+		assertEquals(Arrays.asList("\"open", "b"), splitter.split("\"open,b"));
+		assertEquals(Arrays.asList("", "b"), splitter.split("\"\",b,"));
+		
+		final DelimiterSplitter regex = new DelimiterSplitter("\\s*;\\s*", true, true);
+		assertEquals(Arrays.asList("a;b", "c"), regex.split("\"a;b\" ; c"));
+	}
+	
+	/**
+	 * Test join.
+	 */
+	@Test
+	public void testJoin() {
+		final DelimiterSplitter splitter = new DelimiterSplitter(",", true, true);
+		
+		for (final List<String> values : Arrays.asList(Arrays.asList("one", "two"), Arrays.asList("a,b", " c "),
+		                                               Arrays.asList("say \"hi\"", "x\\y"),
+		                                               Arrays.asList("C:\\tmp", "z\\"), Arrays.asList("x\\\\y"))) {
+			assertEquals(values, splitter.split(splitter.join(values)));
+		}
+		assertEquals("one,two", splitter.join(Arrays.asList("one", "two")));
+		assertEquals("a,b,\\x", new DelimiterSplitter(",").join(Arrays.asList("a,b", "\\x")));
+	}
+	
+	/**
+	 * Test that backslashes and quotes are ordinary characters unless quoting is enabled.
+	 */
+	@Test
+	public void testPlain() {
+		final DelimiterSplitter splitter = new DelimiterSplitter(",");
+		
+		assertEquals(Arrays.asList("\\\\server\\share", "\\\\host\\x"),
+		             splitter.split("\\\\server\\share, \\\\host\\x"));
+		assertEquals(Arrays.asList("C:\\dir\\", "D:\\x"), splitter.split("C:\\dir\\,D:\\x"));
+		assertEquals(Arrays.asList("\"a", "b\""), splitter.split("\"a, b\""));
+		
+		final DelimiterSplitter untrimmed = new DelimiterSplitter(",", false, false);
+		assertEquals(Arrays.asList(" a", " b "), untrimmed.split(" a, b "));
+	}
+	
+	/**
+	 * Test that the result can not be modified.
+	 */
+	@Test
+	public void testImmutable() {
+		final List<String> values = new DelimiterSplitter(",").split("a,b");
+		
+		try {
+			values.add("c");
+			fail();
+		} catch (final UnsupportedOperationException e) {
+			// expected
+		}
+	}
+}
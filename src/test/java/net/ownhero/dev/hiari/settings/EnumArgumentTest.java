@@ -15,8 +15,12 @@ package net.ownhero.dev.hiari.settings;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+
+import java.util.concurrent.TimeUnit;
+
 import net.ownhero.dev.hiari.settings.EnumArgument.Options;
 import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
 import net.ownhero.dev.hiari.settings.exceptions.ArgumentSetRegistrationException;
@@ -194,4 +198,59 @@ public class EnumArgumentTest {
 		}
 	}
 	
+	/**
+	 * Test that values are looked up case-insensitively by name, string representation and alias.
+	 */
+	@Test
+	public void testLookup() {
+		try {
+			final Settings settings = new Settings();
+			final Options<TimeUnit> options = new EnumArgument.Options<TimeUnit>(settings.getRoot(), "testLookup",
+			                                                                     "test description", TimeUnit.SECONDS,
+			                                                                     Requirement.optional);
+			options.addAlias("ms", TimeUnit.MILLISECONDS).addAlias("MS", TimeUnit.MILLISECONDS);
+			
+			assertEquals(TimeUnit.HOURS, options.lookup("hours"));
+			assertEquals(TimeUnit.HOURS, options.lookup(" Hours "));
+			assertEquals(TimeUnit.MILLISECONDS, options.lookup("Ms"));
+			assertNull(options.lookup("fortnights"));
+			
+			try {
+				options.addAlias("ms", TimeUnit.SECONDS);
+				fail();
+			} catch (final IllegalArgumentException e) {
+				// expected
+			}
+			
+			final Options<TestEnum> subset = new EnumArgument.Options<TestEnum>(settings.getRoot(), "testLookupSubset",
+			                                                                    "test description", null,
+			                                                                    Requirement.optional,
+			                                                                    new TestEnum[] { TestEnum.ONE });
+			assertEquals(TestEnum.ONE, subset.lookup("one"));
+			assertNull(subset.lookup("two"));
+			
+			try {
+				subset.addAlias("deux", TestEnum.TWO);
+				fail();
+			} catch (final IllegalArgumentException e) {
+				// expected
+			}
+			
+			System.setProperty("testLookupAlias", "ms");
+			final Settings aliased = new Settings();
+			final Options<TimeUnit> aliasOptions = new EnumArgument.Options<TimeUnit>(aliased.getRoot(),
+			                                                                          "testLookupAlias",
+			                                                                          "test description",
+			                                                                          TimeUnit.SECONDS,
+			                                                                          Requirement.required).addAlias("ms",
+			                                                                                                         TimeUnit.MILLISECONDS);
+			assertEquals(TimeUnit.MILLISECONDS, ArgumentFactory.create(aliasOptions).getValue());
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		} finally {
+			System.clearProperty("testLookupAlias");
+		}
+	}
+	
 }
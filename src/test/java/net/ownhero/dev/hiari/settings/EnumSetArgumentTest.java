@@ -0,0 +1,166 @@
+/***********************************************************************************************************************
+ * Copyright 2011 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ **********************************************************************************************************************/
+
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import net.ownhero.dev.hiari.settings.EnumSetArgument.Options;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentSetRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+import net.ownhero.dev.hiari.settings.requirements.Evaluator;
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+
+import org.junit.Test;
+
+/**
+ * The Class EnumSetArgumentTest.
+ */
+public class EnumSetArgumentTest {
+	
+	/**
+	 * Test aliases.
+	 */
+	@Test
+	public void testAliases() {
+		try {
+			System.setProperty("testEnumSetAlias", "sec, MIN");
+			final Settings settings = new Settings();
+			final Options<TimeUnit> options = new EnumSetArgument.Options<TimeUnit>(settings.getRoot(),
+			                                                                        "testEnumSetAlias",
+			                                                                        "test description", null,
+			                                                                        Requirement.required,
+			                                                                        TimeUnit.class);
+			options.addAlias("sec", TimeUnit.SECONDS).addAlias("min", TimeUnit.MINUTES);
+			assertEquals(TimeUnit.SECONDS, options.lookup(" Sec "));
+			assertNull(options.lookup("fortnights"));
+			
+			final EnumSetArgument<TimeUnit> arg = ArgumentFactory.create(options);
+			assertEquals(EnumSet.of(TimeUnit.SECONDS, TimeUnit.MINUTES), arg.getValue());
+			
+			// requirements canonicalize through the same table
+			final Evaluator evaluator = Requirement.contains(options, TimeUnit.SECONDS).compile();
+			assertTrue(evaluator.check(Collections.singletonMap("testEnumSetAlias", "hours,SEC")));
+			assertFalse(evaluator.check(Collections.singletonMap("testEnumSetAlias", "hours,min")));
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		} finally {
+			System.clearProperty("testEnumSetAlias");
+		}
+	}
+	
+	/**
+	 * Test invalid properties.
+	 */
+	@Test
+	public void testInvalidProperties() {
+		try {
+			System.setProperty("testEnumSetInvalid", "SECONDS,fortnights");
+			final Settings settings = new Settings();
+			final Options<TimeUnit> options = new EnumSetArgument.Options<TimeUnit>(settings.getRoot(),
+			                                                                        "testEnumSetInvalid",
+			                                                                        "test description", null,
+			                                                                        Requirement.required,
+			                                                                        TimeUnit.class);
+			ArgumentFactory.create(options);
+			fail();
+		} catch (SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		} catch (final ArgumentRegistrationException e) {
+			//
+		} finally {
+			System.clearProperty("testEnumSetInvalid");
+		}
+	}
+	
+	/**
+	 * Test not required not given.
+	 */
+	@Test
+	public void testNotRequiredNotGiven() {
+		try {
+			final Settings settings = new Settings();
+			final Options<TimeUnit> options = new EnumSetArgument.Options<TimeUnit>(settings.getRoot(),
+			                                                                        "testEnumSetNotGiven",
+			                                                                        "test description", null,
+			                                                                        Requirement.optional,
+			                                                                        TimeUnit.class);
+			final EnumSetArgument<TimeUnit> arg = ArgumentFactory.create(options);
+			
+			assertNull(arg.getValue());
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test valid default.
+	 */
+	@Test
+	public void testValidDefault() {
+		try {
+			final Settings settings = new Settings();
+			final Options<TimeUnit> options = new EnumSetArgument.Options<TimeUnit>(settings.getRoot(),
+			                                                                        "testEnumSetDefault",
+			                                                                        "test description",
+			                                                                        EnumSet.of(TimeUnit.DAYS,
+			                                                                                   TimeUnit.HOURS),
+			                                                                        Requirement.required,
+			                                                                        TimeUnit.class);
+			final EnumSetArgument<TimeUnit> arg = ArgumentFactory.create(options);
+			
+			assertEquals(EnumSet.of(TimeUnit.HOURS, TimeUnit.DAYS), arg.getValue());
+			assertTrue(options.getAdditionalHelpString().contains("MILLISECONDS"));
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test valid properties.
+	 */
+	@Test
+	public void testValidProperties() {
+		try {
+			System.setProperty("testEnumSetValid", "seconds, Minutes,SECONDS");
+			final Settings settings = new Settings();
+			final Options<TimeUnit> options = new EnumSetArgument.Options<TimeUnit>(settings.getRoot(),
+			                                                                        "testEnumSetValid",
+			                                                                        "test description", null,
+			                                                                        Requirement.required,
+			                                                                        TimeUnit.class);
+			final EnumSetArgument<TimeUnit> arg = ArgumentFactory.create(options);
+			
+			assertEquals(EnumSet.of(TimeUnit.SECONDS, TimeUnit.MINUTES), arg.getValue());
+			assertEquals(arg.getValue(), arg.getParsedValue());
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		} finally {
+			System.clearProperty("testEnumSetValid");
+		}
+	}
+}
@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.mozkito.utilities.io.FileUtils;
+import org.mozkito.utilities.io.FileUtils.FileShutdownAction;
+
+/**
+ * The Class FacadeGeneratorTest.
+ */
+public class FacadeGeneratorTest {
+	
+	/**
+	 * Nested options, the way the repository declares most of its options.
+	 */
+	public static final class Options extends ArgumentSetOptions<Properties, ArgumentSet<Properties, Options>> {
+		
+		/**
+		 * Instantiates new options.
+		 * 
+		 * @param argumentSet
+		 *            the argument set
+		 * @param requirements
+		 *            the requirements
+		 */
+		public Options(final ArgumentSet<?, ?> argumentSet, final Requirement requirements) {
+			super(argumentSet, "nested", "Nested options.", requirements);
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.ArgumentSetOptions#init()
+		 */
+		@Override
+		public Properties init() {
+			return new Properties();
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see
+		 * net.ownhero.dev.hiari.settings.ArgumentSetOptions#requirements(net.ownhero.dev.hiari.settings.ArgumentSet)
+		 */
+		@Override
+		public Map<String, IOptions<?, ?>> requirements(final ArgumentSet<?, ?> set) {
+			final Map<String, IOptions<?, ?>> map = new HashMap<String, IOptions<?, ?>>();
+			map.put("count", new LongArgument.Options(set, "count", "The count.", 1l, Requirement.optional));
+			return map;
+		}
+	}
+	
+	/** The output directory. */
+	private File dir;
+	
+	/**
+	 * Tear down.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		if (this.dir != null) {
+			FileUtils.deleteDirectory(this.dir);
+		}
+	}
+	
+	/**
+	 * Test that the generated source compiles and binds the values of the settings.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void testCompile() throws Exception {
+		this.dir = FileUtils.createDir(FileUtils.tmpDir, "facadegeneratortestdir", FileShutdownAction.DELETE);
+		FacadeGenerator.main(new String[] { MailOptions.class.getName(), this.dir.getPath() });
+		FacadeGenerator.main(new String[] { Options.class.getName(), this.dir.getPath(), "NestedValues" });
+		
+		final File source = new File(this.dir, "net/ownhero/dev/hiari/settings/MailValues.java");
+		final File nested = new File(this.dir, "net/ownhero/dev/hiari/settings/NestedValues.java");
+		assertTrue(source.isFile());
+		assertTrue(nested.isFile());
+		
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		assertNotNull("Compiling the generated source needs a JDK.", compiler);
+		assertEquals(0, compiler.run(null, null, null, "-nowarn", "-cp", System.getProperty("java.class.path"), "-d",
+		                             this.dir.getPath(), source.getPath(), nested.getPath()));
+		
+		final URLClassLoader loader = new URLClassLoader(new URL[] { this.dir.toURI().toURL() },
+		                                                 getClass().getClassLoader());
+		try {
+			final Class<?> valuesClass = loader.loadClass("net.ownhero.dev.hiari.settings.MailValues");
+			final Settings settings = new Settings();
+			final Object values = valuesClass.getMethod("bind", ArgumentSet.class)
+			                                 .invoke(null, settings.getMailArguments());
+			final Method getHost = valuesClass.getMethod("getHost");
+			
+			assertEquals(settings.getMailArguments().getChild("host").getValue(), getHost.invoke(values));
+		} finally {
+			loader.close();
+		}
+	}
+	
+	/**
+	 * Test default class name.
+	 */
+	@Test
+	public void testDefaultClassName() {
+		assertEquals("MailValues", FacadeGenerator.defaultClassName(MailOptions.class));
+		assertEquals("LoggerValues", FacadeGenerator.defaultClassName(LoggerOptions.class));
+		assertEquals("SettingsValues", FacadeGenerator.defaultClassName(Settings.class));
+	}
+	
+	/**
+	 * Test generate.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void testGenerate() throws Exception {
+		final String source = FacadeGenerator.generate(MailOptions.class, "MailValues");
+		
+		assertTrue(source.startsWith("package net.ownhero.dev.hiari.settings;"));
+		assertTrue(source.contains("public final class MailValues {"));
+		assertTrue(source.contains("public static MailValues bind(final ArgumentSet<?, ?> set) {"));
+		assertTrue(source.contains("private final java.lang.String senderAddress;"));
+		assertTrue(source.contains("this.senderAddress = (java.lang.String) value(set, \"senderAddress\");"));
+		assertTrue(source.contains("public java.lang.String getPassword() {"));
+		
+		final String nested = FacadeGenerator.generate(Options.class, "NestedValues");
+		assertTrue(nested.contains("final net.ownhero.dev.hiari.settings.FacadeGeneratorTest.Options options) {"));
+		assertTrue(nested.contains("this.count = valueOr((java.lang.Long) value(set, \"count\"), 1l);"));
+	}
+	
+	/**
+	 * Test value type.
+	 */
+	@Test
+	public void testValueType() {
+		assertEquals(String.class, FacadeGenerator.valueType(StringArgument.Options.class));
+		assertEquals(Long.class, FacadeGenerator.valueType(LongArgument.Options.class));
+		assertEquals(Properties.class, FacadeGenerator.valueType(MailOptions.class));
+		assertEquals(Object.class, FacadeGenerator.valueType(EnumArgument.Options.class));
+	}
+}
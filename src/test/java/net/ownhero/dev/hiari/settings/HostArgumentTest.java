@@ -12,7 +12,20 @@
  **********************************************************************************************************************/
 package net.ownhero.dev.hiari.settings;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import net.ownhero.dev.hiari.settings.HostArgument.Options;
 import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
 import net.ownhero.dev.hiari.settings.exceptions.ArgumentSetRegistrationException;
@@ -26,7 +39,7 @@ import org.junit.Test;
 
 /**
  * The Class HostArgumentTest.
- *
+ * 
  * @author Kim Herzig <herzig@cs.uni-saarland.de>
  */
 public class HostArgumentTest {
@@ -55,6 +68,45 @@ public class HostArgumentTest {
 		System.clearProperty("host");
 	}
 	
+	/**
+	 * Test that only the host is resolved if the value carries a port or path.
+	 */
+	@Test
+	public void hostPortTest() {
+		try {
+			System.setProperty("host", "db.example.org:5432/path");
+			final Settings settings = new Settings();
+			final List<String> lookups = new LinkedList<String>();
+			final HostResolver resolver = new HostResolver() {
+				
+				@Override
+				public InetAddress[] resolve(final String host) throws UnknownHostException {
+					lookups.add(host);
+					return new InetAddress[] { InetAddress.getByAddress(host, new byte[] { 127, 0, 0, 2 }) };
+				}
+			};
+			final Options options = new HostArgument.Options(settings.getRoot(), "host", "", null,
+			                                                 Requirement.required, resolver);
+			final HostArgument argument = ArgumentFactory.create(options);
+			
+			assertFalse(options.isResolving());
+			assertSame(resolver, options.getResolver());
+			assertEquals("db.example.org:5432/path", argument.getValue());
+			assertTrue(lookups.isEmpty());
+			assertEquals("127.0.0.2", argument.getAddresses()[0].getHostAddress());
+			assertEquals(Arrays.asList("db.example.org"), lookups);
+			
+			assertEquals("localhost", HostArgument.getHost("localhost"));
+			assertEquals("db.example.org", HostArgument.getHost("user@db.example.org:5432"));
+			assertEquals("db.example.org", HostArgument.getHost("db.example.org/a//b"));
+			assertNull(HostArgument.getHost(":5432"));
+		} catch (SettingsParseError | ArgumentRegistrationException | ArgumentSetRegistrationException
+		        | UnknownHostException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
 	/**
 	 * Localhost test.
 	 */
@@ -79,4 +131,57 @@ public class HostArgumentTest {
 			//
 		}
 	}
+	
+	/**
+	 * Test that the addresses are resolved through the resolver of the options.
+	 */
+	@Test
+	public void resolverTest() {
+		try {
+			System.setProperty("host", "db.example.org");
+			final Settings settings = new Settings();
+			final AtomicInteger lookups = new AtomicInteger();
+			final HostResolver resolver = new HostResolver() {
+				
+				@Override
+				public InetAddress[] resolve(final String host) throws UnknownHostException {
+					lookups.incrementAndGet();
+					return new InetAddress[] { InetAddress.getByAddress(host, new byte[] { 127, 0, 0, 2 }) };
+				}
+			};
+			final Options options = new HostArgument.Options(settings.getRoot(), "host", "", null,
+			                                                 Requirement.required, HostArgument.Options.DEFAULT_TTL,
+			                                                 resolver);
+			final HostArgument argument = ArgumentFactory.create(options);
+			
+			assertTrue(options.isResolving());
+			assertEquals("127.0.0.2", argument.getAddresses()[0].getHostAddress());
+			assertEquals("db.example.org", argument.getAddresses()[0].getHostName());
+			assertEquals(1, lookups.get());
+		} catch (SettingsParseError | ArgumentRegistrationException | ArgumentSetRegistrationException
+		        | UnknownHostException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test that values with a scheme are rejected rather than reduced to their host.
+	 */
+	@Test
+	public void schemeTest() {
+		assertNull(HostArgument.getHost("http://db.example.org"));
+		assertNull(HostArgument.getHost("jdbc://user@db.example.org:5432"));
+		assertNull(HostArgument.getHost("//db.example.org"));
+		
+		try {
+			System.setProperty("host", "http://db.example.org");
+			final Settings settings = new Settings();
+			final Options options = new HostArgument.Options(settings.getRoot(), "host", "", null, Requirement.required);
+			ArgumentFactory.create(options);
+			fail();
+		} catch (final SettingsParseError | ArgumentRegistrationException | ArgumentSetRegistrationException ignore) {
+			// expected
+		}
+	}
 }
@@ -0,0 +1,137 @@
+/***********************************************************************************************************************
+ * Copyright 2011 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ **********************************************************************************************************************/
+
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * The Class HostCacheTest.
+ */
+public class HostCacheTest {
+	
+	/**
+	 * A resolver that maps every host to 10.0.0.n, where n counts the lookups.
+	 */
+	private static final class CountingResolver implements HostResolver {
+		
+		/** The number of lookups. */
+		private final AtomicInteger  lookups = new AtomicInteger();
+		
+		/** Released to let lookups finish. */
+		private final CountDownLatch release;
+		
+		/**
+		 * Instantiates a new counting resolver.
+		 * 
+		 * @param release
+		 *            released to let lookups finish
+		 */
+		CountingResolver(final CountDownLatch release) {
+			this.release = release;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.HostResolver#resolve(java.lang.String)
+		 */
+		@Override
+		public InetAddress[] resolve(final String host) throws UnknownHostException {
+			try {
+				this.release.await();
+			} catch (final InterruptedException e) {
+				throw new UnknownHostException(host);
+			}
+			
+			if (host.startsWith("unknown")) {
+				throw new UnknownHostException(host);
+			}
+			
+			final int lookup = this.lookups.incrementAndGet();
+			return new InetAddress[] { InetAddress.getByAddress(host, new byte[] { 10, 0, 0, (byte) lookup }) };
+		}
+	}
+	
+	/**
+	 * Test that concurrent requests share one lookup and that live entries are served from the cache.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void testCaching() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		final CountingResolver resolver = new CountingResolver(release);
+		final HostCache cache = new HostCache(resolver, TimeUnit.HOURS.toNanos(1));
+		
+		cache.prefetch("example.org");
+		cache.prefetch("example.org");
+		release.countDown();
+		
+		final InetAddress[] addresses = cache.get("example.org");
+		assertEquals(1, resolver.lookups.get());
+		assertEquals("10.0.0.1", addresses[0].getHostAddress());
+		
+		final InetAddress[] again = cache.get("example.org");
+		assertEquals(1, resolver.lookups.get());
+		assertTrue(Arrays.equals(addresses, again));
+		assertNotSame(addresses, again);
+		
+		try {
+			cache.get("unknown.example.org");
+			fail();
+		} catch (final UnknownHostException e) {
+			// expected
+		}
+	}
+	
+	/**
+	 * Test that expired entries are resolved again and aging entries are refreshed in the background.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void testRefresh() throws Exception {
+		final CountDownLatch release = new CountDownLatch(0);
+		
+		// expires immediately
+		final CountingResolver expiring = new CountingResolver(release);
+		final HostCache expired = new HostCache(expiring, 0, 0);
+		assertEquals("10.0.0.1", expired.get("example.org")[0].getHostAddress());
+		assertEquals("10.0.0.2", expired.get("example.org")[0].getHostAddress());
+		
+		// refreshes on every read, but never expires
+		final CountingResolver refreshing = new CountingResolver(release);
+		final HostCache refreshed = new HostCache(refreshing, TimeUnit.HOURS.toNanos(1), 0);
+		assertEquals("10.0.0.1", refreshed.get("example.org")[0].getHostAddress());
+		assertEquals("10.0.0.1", refreshed.get("example.org")[0].getHostAddress());
+		refreshed.prefetch("example.org").get();
+		
+		final int lookups = refreshing.lookups.get();
+		assertTrue(lookups >= 2);
+		assertEquals("10.0.0." + lookups, refreshed.get("example.org")[0].getHostAddress());
+	}
+}
@@ -0,0 +1,122 @@
+/***********************************************************************************************************************
+ * Copyright 2011 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ **********************************************************************************************************************/
+
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import net.ownhero.dev.hiari.settings.IntSetArgument.Options;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentSetRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+
+import org.junit.Test;
+
+/**
+ * The Class IntSetArgumentTest.
+ */
+public class IntSetArgumentTest {
+	
+	/**
+	 * Test invalid properties.
+	 */
+	@Test
+	public void testInvalidProperties() {
+		try {
+			System.setProperty("testIntSetInvalid", "1,2147483648");
+			final Settings settings = new Settings();
+			final Options options = new IntSetArgument.Options(settings.getRoot(), "testIntSetInvalid",
+			                                                   "test description", null, Requirement.required);
+			ArgumentFactory.create(options);
+			fail();
+		} catch (SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		} catch (final ArgumentRegistrationException e) {
+			//
+		} finally {
+			System.clearProperty("testIntSetInvalid");
+		}
+	}
+	
+	/**
+	 * Test not required not given.
+	 */
+	@Test
+	public void testNotRequiredNotGiven() {
+		try {
+			final Settings settings = new Settings();
+			final Options options = new IntSetArgument.Options(settings.getRoot(), "testIntSetNotGiven",
+			                                                   "test description", null, Requirement.optional);
+			final IntSetArgument arg = ArgumentFactory.create(options);
+			
+			assertNull(arg.getValue());
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test valid default.
+	 */
+	@Test
+	public void testValidDefault() {
+		try {
+			final Settings settings = new Settings();
+			final Options options = new IntSetArgument.Options(settings.getRoot(), "testIntSetDefault",
+			                                                   "test description", IntSet.of(8080, 8443),
+			                                                   Requirement.required);
+			final IntSetArgument arg = ArgumentFactory.create(options);
+			
+			assertEquals(IntSet.of(8443, 8080), arg.getValue());
+			assertTrue(arg.getParsedValue().contains(8080));
+			
+			final Options empty = new IntSetArgument.Options(settings.getRoot(), "testIntSetEmpty",
+			                                                 "test description", IntSet.of(), Requirement.required);
+			assertTrue(ArgumentFactory.create(empty).getValue().isEmpty());
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test valid properties.
+	 */
+	@Test
+	public void testValidProperties() {
+		try {
+			System.setProperty("testIntSetValid", "1, 2,2,0,-5");
+			final Settings settings = new Settings();
+			final Options options = new IntSetArgument.Options(settings.getRoot(), "testIntSetValid",
+			                                                   "test description", null, Requirement.required);
+			final IntSetArgument arg = ArgumentFactory.create(options);
+			
+			assertEquals(4, arg.getValue().size());
+			assertTrue(arg.getValue().contains(0));
+			assertTrue(arg.getValue().contains(-5));
+			assertFalse(arg.getValue().contains(5));
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		} finally {
+			System.clearProperty("testIntSetValid");
+		}
+	}
+}
@@ -0,0 +1,72 @@
+/***********************************************************************************************************************
+ * Copyright 2011 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ **********************************************************************************************************************/
+
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * The Class IntSetTest.
+ */
+public class IntSetTest {
+	
+	/**
+	 * Test membership against a {@link HashSet}.
+	 */
+	@Test
+	public void testContains() {
+		final Random random = new Random(42);
+		final int[] values = new int[1000];
+		final Set<Integer> expected = new HashSet<Integer>();
+		
+		for (int i = 0; i < values.length; ++i) {
+			values[i] = random.nextInt(5000) - 2500;
+			expected.add(values[i]);
+		}
+		
+		final IntSet set = IntSet.of(values);
+		assertEquals(expected.size(), set.size());
+		
+		for (int i = -3000; i <= 3000; ++i) {
+			assertEquals(Integer.toString(i), expected.contains(i), set.contains(i));
+		}
+		assertFalse(set.contains(Integer.MIN_VALUE));
+		assertFalse(set.contains(Integer.MAX_VALUE));
+	}
+	
+	/**
+	 * Test the empty set, zero and duplicates.
+	 */
+	@Test
+	public void testEdgeCases() {
+		assertTrue(IntSet.of().isEmpty());
+		assertFalse(IntSet.of().contains(0));
+		
+		final IntSet set = IntSet.of(0, 7, 0, -7, 7, Integer.MIN_VALUE);
+		assertEquals(4, set.size());
+		assertTrue(set.contains(0));
+		assertTrue(set.contains(Integer.MIN_VALUE));
+		assertTrue(Arrays.equals(new int[] { Integer.MIN_VALUE, -7, 0, 7 }, set.toArray()));
+		assertEquals(IntSet.of(7, -7, Integer.MIN_VALUE, 0), set);
+		assertEquals(IntSet.of(7, -7, Integer.MIN_VALUE, 0).hashCode(), set.hashCode());
+	}
+}
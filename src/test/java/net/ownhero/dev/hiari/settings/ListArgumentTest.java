@@ -15,10 +15,16 @@ package net.ownhero.dev.hiari.settings;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import net.ownhero.dev.hiari.settings.ListArgument.Options;
 import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
@@ -232,4 +238,95 @@ public class ListArgumentTest {
 		}
 	}
 	
+
+	/**
+	 * Test that UNC and Windows paths are split literally unless quoting is enabled.
+	 */
+	@Test
+	public void testPaths() {
+		try {
+			System.setProperty("testPaths", "\\\\server\\share,C:\\dir\\,D:\\x");
+			System.setProperty("testPathsQuoted", "\"a, b\",c\\,d");
+			final Settings settings = new Settings();
+			final ListArgument paths = ArgumentFactory.create(new ListArgument.Options(settings.getRoot(), "testPaths",
+			                                                                           "test description", null,
+			                                                                           Requirement.required));
+			final ListArgument quoted = ArgumentFactory.create(new ListArgument.Options(settings.getRoot(),
+			                                                                            "testPathsQuoted",
+			                                                                            "test description", null,
+			                                                                            Requirement.required).enableQuoting());
+			
+			assertEquals(Arrays.asList("\\\\server\\share", "C:\\dir\\", "D:\\x"), paths.getValue());
+			assertEquals(Arrays.asList("a, b", "c,d"), quoted.getValue());
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		} finally {
+			System.clearProperty("testPaths");
+			System.clearProperty("testPathsQuoted");
+		}
+	}
+	
+	/**
+	 * Test that values starting with <code>@</code> are split literally unless file references are enabled.
+	 */
+	@Test
+	public void testLiteralReferences() {
+		try {
+			System.setProperty("testLiteralReferences", "@alice,@bob");
+			final Settings settings = new Settings();
+			final ListArgument arg = ArgumentFactory.create(new ListArgument.Options(settings.getRoot(),
+			                                                                         "testLiteralReferences",
+			                                                                         "test description", null,
+			                                                                         Requirement.required));
+			
+			assertFalse(arg.getOptions().isFileReferenceEnabled());
+			assertEquals(Arrays.asList("@alice", "@bob"), arg.getValue());
+			assertTrue(arg.getFoldedValue().contains("@bob"));
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		} finally {
+			System.clearProperty("testLiteralReferences");
+		}
+	}
+	
+	/**
+	 * Test values read from a file.
+	 */
+	@Test
+	public void testValidFile() {
+		try {
+			final File file = File.createTempFile("testValidFile", ".txt");
+			file.deleteOnExit();
+			Files.write(file.toPath(), "one\n two,three \n\n".getBytes(Charset.forName("UTF-8")));
+			
+			System.setProperty("testValidFile", "@" + file.getPath());
+			System.setProperty("testValidFileEscaped", "@@one,two");
+			final Settings settings = new Settings();
+			final ListArgument arg = ArgumentFactory.create(new ListArgument.Options(settings.getRoot(),
+			                                                                         "testValidFile",
+			                                                                         "test description", null,
+			                                                                         Requirement.required).enableFileReferences());
+			final ListArgument escaped = ArgumentFactory.create(new ListArgument.Options(settings.getRoot(),
+			                                                                             "testValidFileEscaped",
+			                                                                             "test description", null,
+			                                                                             Requirement.required).enableFileReferences());
+			
+			assertTrue(arg.getValue() instanceof MappedLineList);
+			assertEquals(Arrays.asList("one", "two,three"), arg.getValue());
+			assertEquals("[one, two,three]", arg.getValue().toString());
+			assertNull(arg.getFoldedValue());
+			assertTrue(arg.getMappedValue().containsIgnoreCase("TWO,Three"));
+			assertFalse(arg.getMappedValue().containsIgnoreCase("two"));
+			assertEquals(Arrays.asList("@one", "two"), escaped.getValue());
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException
+		        | IOException e) {
+			e.printStackTrace();
+			fail();
+		} finally {
+			System.clearProperty("testValidFile");
+			System.clearProperty("testValidFileEscaped");
+		}
+	}
 }
@@ -0,0 +1,124 @@
+/***********************************************************************************************************************
+ * Copyright 2011 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ **********************************************************************************************************************/
+
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import net.ownhero.dev.hiari.settings.LongListArgument.Options;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentSetRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+
+import org.junit.Test;
+
+/**
+ * The Class LongListArgumentTest.
+ */
+public class LongListArgumentTest {
+	
+	/**
+	 * Test invalid properties.
+	 */
+	@Test
+	public void testInvalidProperties() {
+		try {
+			System.setProperty("testLongListInvalid", "1,two");
+			final Settings settings = new Settings();
+			final Options options = new LongListArgument.Options(settings.getRoot(), "testLongListInvalid",
+			                                                     "test description", null, Requirement.required);
+			ArgumentFactory.create(options);
+			fail();
+		} catch (SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		} catch (final ArgumentRegistrationException e) {
+			//
+		} finally {
+			System.clearProperty("testLongListInvalid");
+		}
+	}
+	
+	/**
+	 * Test not required not given.
+	 */
+	@Test
+	public void testNotRequiredNotGiven() {
+		try {
+			final Settings settings = new Settings();
+			final Options options = new LongListArgument.Options(settings.getRoot(), "testLongListNotGiven",
+			                                                     "test description", null, Requirement.optional);
+			final LongListArgument arg = ArgumentFactory.create(options);
+			
+			assertNull(arg.getValue());
+			assertNull(arg.getSortedValue());
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test valid default.
+	 */
+	@Test
+	public void testValidDefault() {
+		try {
+			final Settings settings = new Settings();
+			final Options options = new LongListArgument.Options(settings.getRoot(), "testLongListDefault",
+			                                                     "test description", new long[] { 3, 1, 2 },
+			                                                     Requirement.required, ";");
+			final LongListArgument arg = ArgumentFactory.create(options);
+			
+			assertTrue(arg.required());
+			assertArrayEquals(new long[] { 3, 1, 2 }, arg.getValue());
+			assertArrayEquals(new long[] { 1, 2, 3 }, arg.getSortedValue());
+			assertSame(arg.getSortedValue(), arg.getSortedValue());
+			
+			final Options empty = new LongListArgument.Options(settings.getRoot(), "testLongListEmpty",
+			                                                   "test description", new long[0], Requirement.required);
+			assertEquals(0, ArgumentFactory.create(empty).getValue().length);
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test valid properties.
+	 */
+	@Test
+	public void testValidProperties() {
+		try {
+			System.setProperty("testLongListValid", "42, -7,9223372036854775807");
+			final Settings settings = new Settings();
+			final Options options = new LongListArgument.Options(settings.getRoot(), "testLongListValid",
+			                                                     "test description", null, Requirement.required);
+			final LongListArgument arg = ArgumentFactory.create(options);
+			
+			assertArrayEquals(new long[] { 42, -7, Long.MAX_VALUE }, arg.getValue());
+			assertArrayEquals(new long[] { -7, 42, Long.MAX_VALUE }, arg.getSortedValue());
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		} finally {
+			System.clearProperty("testLongListValid");
+		}
+	}
+}
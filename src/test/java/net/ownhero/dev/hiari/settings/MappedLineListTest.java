@@ -0,0 +1,134 @@
+/***********************************************************************************************************************
+ * Copyright 2011 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ **********************************************************************************************************************/
+
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * The Class MappedLineListTest.
+ */
+public class MappedLineListTest {
+	
+	/**
+	 * Writes the given content to a temporary file.
+	 * 
+	 * @param content
+	 *            the content
+	 * @return the file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	private static File write(final String content) throws IOException {
+		final File file = File.createTempFile("mappedlinelist", ".txt");
+		file.deleteOnExit();
+		Files.write(file.toPath(), content.getBytes(Charset.forName("UTF-8")));
+		return file;
+	}
+	
+	/**
+	 * Test case-insensitive lookups.
+	 * 
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testContainsIgnoreCase() throws IOException {
+		final StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 1000; ++i) {
+			content.append("Line").append(i).append('\n');
+		}
+		// "az" and "b[" have the same hash code
+		content.append("D\u00c9J\u00c0 vu\nb[\n");
+		final MappedLineList lines = MappedLineList.open(write(content.toString()));
+		
+		assertTrue(lines.containsIgnoreCase("line0"));
+		assertTrue(lines.containsIgnoreCase("LINE999"));
+		assertTrue(lines.containsIgnoreCase("d\u00e9j\u00e0 VU"));
+		assertTrue(lines.containsIgnoreCase("B["));
+		assertFalse(lines.containsIgnoreCase("line1000"));
+		assertFalse(lines.containsIgnoreCase("AZ"));
+		assertFalse(MappedLineList.open(write("")).containsIgnoreCase("x"));
+	}
+	
+	/**
+	 * Test lines.
+	 * 
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testLines() throws IOException {
+		final MappedLineList lines = MappedLineList.open(write("\uFEFFone\r\n  two  \n\n \t \nd\u00e9j\u00e0 vu\nlast"));
+		
+		assertEquals(Arrays.asList("one", "two", "d\u00e9j\u00e0 vu", "last"), lines);
+		assertEquals(4, lines.size());
+		assertEquals(Arrays.asList("two", "d\u00e9j\u00e0 vu"), lines.subList(1, 3));
+		assertEquals(2, lines.indexOf("d\u00e9j\u00e0 vu"));
+		
+		try {
+			lines.get(4);
+			fail();
+		} catch (final IndexOutOfBoundsException e) {
+			// expected
+		}
+		try {
+			lines.add("five");
+			fail();
+		} catch (final UnsupportedOperationException e) {
+			// expected
+		}
+		
+		assertEquals(0, MappedLineList.open(write("")).size());
+	}
+	
+	/**
+	 * Test references and escapes.
+	 * 
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testResolve() throws IOException {
+		final DelimiterSplitter splitter = new DelimiterSplitter(",");
+		final File file = write("a,b\nc\n");
+		
+		assertEquals(file, MappedLineList.getReference("@" + file.getPath()));
+		assertNull(MappedLineList.getReference("@@" + file.getPath()));
+		assertNull(MappedLineList.getReference("@"));
+		assertNull(MappedLineList.getReference("a@b"));
+		
+		assertEquals(Arrays.asList("a,b", "c"), MappedLineList.resolve("@" + file.getPath(), splitter));
+		assertEquals(Arrays.asList("@handle", "x"), MappedLineList.resolve("@@handle,x", splitter));
+		assertEquals(Arrays.asList("@"), MappedLineList.resolve("@", splitter));
+		
+		try {
+			MappedLineList.resolve("@" + file.getPath() + ".missing", splitter);
+			fail();
+		} catch (final IOException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * The Class PersistentTagMapTest.
+ */
+public class PersistentTagMapTest {
+	
+	/**
+	 * Test collisions.
+	 */
+	@Test
+	public void testCollisions() {
+		// "Aa" and "BB" share their hash code
+		assertEquals("Aa".hashCode(), "BB".hashCode());
+		
+		final PersistentTagMap<String> map = PersistentTagMap.<String> empty().plus("Aa", "1").plus("BB", "2");
+		assertEquals(2, map.size());
+		assertEquals("1", map.get("Aa"));
+		assertEquals("2", map.get("BB"));
+		
+		final PersistentTagMap<String> changed = map.plus("BB", "3").plus("AaBB", "4").plus("BBAa", "5");
+		assertEquals(4, changed.size());
+		assertEquals("1", changed.get("Aa"));
+		assertEquals("3", changed.get("BB"));
+		assertEquals("4", changed.get("AaBB"));
+		assertEquals("5", changed.get("BBAa"));
+		assertEquals("2", map.get("BB"));
+		assertNull(map.get("AaBB"));
+	}
+	
+	/**
+	 * Test persistence.
+	 */
+	@Test
+	public void testPersistence() {
+		PersistentTagMap<Integer> map = PersistentTagMap.empty();
+		assertTrue(map.isEmpty());
+		
+		for (int i = 0; i < 10000; ++i) {
+			map = map.plus("tag" + i, i);
+		}
+		
+		final PersistentTagMap<Integer> derived = map.plus("tag42", -42).plus("other", 1);
+		
+		assertEquals(10000, map.size());
+		assertEquals(10001, derived.size());
+		for (int i = 0; i < 10000; ++i) {
+			assertEquals(i, map.get("tag" + i).intValue());
+		}
+		assertEquals(-42, derived.get("tag42").intValue());
+		assertEquals(4711, derived.get("tag4711").intValue());
+		assertNull(map.get("other"));
+		
+		final Integer value = map.get("tag1");
+		assertSame(map, map.plus("tag1", value));
+	}
+}
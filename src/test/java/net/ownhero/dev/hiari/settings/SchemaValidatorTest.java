@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import net.ownhero.dev.hiari.settings.ValidationError.Kind;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentSetRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The Class SchemaValidatorTest.
+ */
+public class SchemaValidatorTest {
+	
+	/**
+	 * The Enum Mode.
+	 */
+	private static enum Mode {
+		
+		/** The fast. */
+		FAST,
+		
+		/** The safe. */
+		SAFE;
+	}
+	
+	/** The validator. */
+	private SchemaValidator validator;
+	
+	/** The settings. */
+	private Settings        settings;
+	
+	/**
+	 * Collects the errors for the test tags.
+	 * 
+	 * @param errors
+	 *            the errors
+	 * @return the errors by tag
+	 */
+	private static Map<String, Kind> kinds(final List<ValidationError> errors) {
+		final Map<String, Kind> kinds = new HashMap<String, Kind>();
+		
+		for (final ValidationError error : errors) {
+			if (error.getTag().startsWith("schema")) {
+				kinds.put(error.getTag(), error.getKind());
+			}
+		}
+		
+		return kinds;
+	}
+	
+	/**
+	 * Creates a property set.
+	 * 
+	 * @param values
+	 *            the tags and values, alternating
+	 * @return the property set
+	 */
+	private static Map<String, String> properties(final String... values) {
+		final Map<String, String> properties = new HashMap<String, String>();
+		
+		for (int i = 0; i < values.length; i += 2) {
+			properties.put(values[i], values[i + 1]);
+		}
+		
+		return properties;
+	}
+	
+	/**
+	 * Before.
+	 */
+	@Before
+	public void before() {
+		try {
+			this.settings = new Settings();
+			
+			final LongArgument.Options count = new LongArgument.Options(this.settings.getRoot(), "schemaCount", "",
+			                                                            null, Requirement.optional);
+			final EnumArgument.Options<Mode> mode = new EnumArgument.Options<Mode>(this.settings.getRoot(),
+			                                                                       "schemaMode", "", Mode.SAFE,
+			                                                                       Requirement.required);
+			final StringArgument.Options host = new StringArgument.Options(this.settings.getRoot(), "schemaHost", "",
+			                                                               null, Requirement.iff(count));
+			final PortArgument.Options port = new PortArgument.Options(this.settings.getRoot(), "schemaPort", "",
+			                                                           null, Requirement.optional, false);
+			
+			final ListArgument.Options features = new ListArgument.Options(this.settings.getRoot(),
+			                                                               "schemaFeatures", "", null,
+			                                                               Requirement.optional);
+			final StringArgument.Options certificate = new StringArgument.Options(
+			                                                                      this.settings.getRoot(),
+			                                                                      "schemaCertificate",
+			                                                                      "",
+			                                                                      null,
+			                                                                      Requirement.contains(features,
+			                                                                                           "TLS"));
+			
+			final LongListArgument.Options ids = new LongListArgument.Options(this.settings.getRoot(), "schemaIds", "",
+			                                                                  null, Requirement.optional);
+			final IntSetArgument.Options slots = new IntSetArgument.Options(this.settings.getRoot(), "schemaSlots", "",
+			                                                                null, Requirement.optional);
+			final EnumSetArgument.Options<Mode> modes = new EnumSetArgument.Options<Mode>(this.settings.getRoot(),
+			                                                                              "schemaModes", "", null,
+			                                                                              Requirement.optional,
+			                                                                              Mode.class);
+			
+			ArgumentFactory.create(count);
+			ArgumentFactory.create(mode);
+			ArgumentFactory.create(host);
+			ArgumentFactory.create(port);
+			ArgumentFactory.create(features);
+			ArgumentFactory.create(certificate);
+			ArgumentFactory.create(ids);
+			ArgumentFactory.create(slots);
+			ArgumentFactory.create(modes);
+			
+			this.validator = this.settings.compileSchema();
+		} catch (SettingsParseError | ArgumentSetRegistrationException | ArgumentRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test that validation does not touch the settings.
+	 */
+	@Test
+	public void testIsolation() {
+		assertTrue(this.validator.getTags().contains("schemaCount"));
+		assertTrue(kinds(this.validator.validate(properties("schemaCount", "3"))).containsKey("schemaHost"));
+		
+		assertNull(this.settings.getProperty("schemaCount"));
+		assertNull(((LongArgument) this.settings.findArgument("schemaCount")).getValue());
+	}
+	
+	/**
+	 * Test that set arguments whose requirements are not met are reported.
+	 */
+	@Test
+	public void testUnsatisfied() {
+		Map<String, Kind> kinds = kinds(this.validator.validate(properties("schemaHost", "localhost")));
+		assertEquals(Kind.UNSATISFIED, kinds.get("schemaHost"));
+		assertEquals(1, kinds.size());
+		
+		kinds = kinds(this.validator.validate(properties("schemaFeatures", "gzip,tls")));
+		assertEquals(Kind.MISSING, kinds.get("schemaCertificate"));
+		assertEquals(1, kinds.size());
+		
+		kinds = kinds(this.validator.validate(properties("schemaFeatures", "gzip", "schemaCertificate", "cert.pem")));
+		assertEquals(Kind.UNSATISFIED, kinds.get("schemaCertificate"));
+		assertEquals(1, kinds.size());
+		
+		assertTrue(kinds(this.validator.validate(properties("schemaFeatures", "tls", "schemaCertificate", "cert.pem"))).isEmpty());
+	}
+	
+	/**
+	 * Test validate.
+	 */
+	@Test
+	public void testValidate() {
+		assertTrue(kinds(this.validator.validate(properties())).isEmpty());
+		assertTrue(kinds(this.validator.validate(properties("schemaCount", "3", "schemaHost", "localhost",
+		                                                    "schemaMode", "fast", "schemaPort", "8080"))).isEmpty());
+		
+		final Map<String, Kind> kinds = kinds(this.validator.validate(properties("schemaCount", "three",
+		                                                                         "schemaMode", "slow",
+		                                                                         "schemaPort", "70000")));
+		assertEquals(Kind.INVALID, kinds.get("schemaCount"));
+		assertEquals(Kind.INVALID, kinds.get("schemaMode"));
+		assertEquals(Kind.INVALID, kinds.get("schemaPort"));
+		assertEquals(Kind.MISSING, kinds.get("schemaHost"));
+		assertEquals(4, kinds.size());
+	}
+	
+	/**
+	 * Test validate all.
+	 */
+	@Test
+	public void testValidateAll() {
+		final List<Map<String, String>> propertySets = new ArrayList<Map<String, String>>();
+		for (int i = 0; i < 1000; ++i) {
+			propertySets.add(i % 2 == 0
+			                           ? properties("schemaCount", String.valueOf(i), "schemaHost", "host" + i)
+			                           : properties("schemaCount", String.valueOf(i)));
+		}
+		
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<List<ValidationError>> results = this.validator.validateAll(propertySets, executor);
+			
+			assertEquals(propertySets.size(), results.size());
+			for (int i = 0; i < results.size(); ++i) {
+				final Map<String, Kind> kinds = kinds(results.get(i));
+				if (i % 2 == 0) {
+					assertTrue(kinds.isEmpty());
+				} else {
+					assertEquals(Kind.MISSING, kinds.get("schemaHost"));
+					assertEquals(1, kinds.size());
+				}
+			}
+		} catch (final InterruptedException e) {
+			e.printStackTrace();
+			fail();
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	/**
+	 * Test that the elements of long lists, int sets and enum sets are checked one by one.
+	 */
+	@Test
+	public void testValidateElements() {
+		assertTrue(kinds(this.validator.validate(properties("schemaIds", "1, 2,3", "schemaSlots", "[]",
+		                                                    "schemaModes", "fast,SAFE"))).isEmpty());
+		
+		final Map<String, Kind> kinds = kinds(this.validator.validate(properties("schemaIds", "1,abc",
+		                                                                         "schemaSlots", "1,99999999999",
+		                                                                         "schemaModes", "fast,slow")));
+		assertEquals(Kind.INVALID, kinds.get("schemaIds"));
+		assertEquals(Kind.INVALID, kinds.get("schemaSlots"));
+		assertEquals(Kind.INVALID, kinds.get("schemaModes"));
+		assertEquals(3, kinds.size());
+	}
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentSetRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * The Class SettingsMonitorTest.
+ */
+public class SettingsMonitorTest {
+	
+	/**
+	 * Tear down.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		System.clearProperty("testSettingsMonitorPlain");
+		System.clearProperty("testSettingsMonitorSecret");
+	}
+	
+	/**
+	 * Test counters.
+	 */
+	@Test
+	public void testCounters() {
+		try {
+			System.setProperty("testSettingsMonitorPlain", "hubba");
+			final Settings settings = new Settings();
+			final SettingsMonitor monitor = settings.getMonitor();
+			assertTrue(monitor.getBootstrapMillis() > 0);
+			assertTrue(Double.isNaN(monitor.getValidationCacheHitRate()));
+			
+			final StringArgument.Options options = new StringArgument.Options(settings.getRoot(),
+			                                                                  "testSettingsMonitorPlain",
+			                                                                  "test description", null,
+			                                                                  Requirement.required);
+			ArgumentFactory.create(options);
+			assertTrue(monitor.getRequirementEvaluations() > 0);
+			
+			final long lookups = monitor.getArgumentLookups();
+			final long properties = monitor.getPropertyLookups();
+			settings.getArgument(options);
+			settings.getProperty("testSettingsMonitorPlain");
+			assertEquals(lookups + 1, monitor.getArgumentLookups());
+			assertEquals(properties + 1, monitor.getPropertyLookups());
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test registration.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void testRegistration() throws Exception {
+		final Settings settings = new Settings();
+		assertNull(settings.getMonitor().getObjectName());
+		
+		settings.registerMBean();
+		final ObjectName name = settings.getMonitor().getObjectName();
+		assertNotNull(name);
+		assertEquals(SettingsMonitor.DOMAIN, name.getDomain());
+		
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		assertTrue(server.isRegistered(name));
+		assertTrue((Long) server.getAttribute(name, "RequirementEvaluations") > 0);
+		
+		settings.unregisterMBean();
+		assertFalse(server.isRegistered(name));
+		assertNull(settings.getMonitor().getObjectName());
+		
+		// ids are not reused
+		settings.registerMBean();
+		assertFalse(name.equals(settings.getMonitor().getObjectName()));
+		settings.unregisterMBean();
+	}
+	
+	/**
+	 * Test masked values are not exposed.
+	 */
+	@Test
+	public void testValues() {
+		try {
+			System.setProperty("testSettingsMonitorPlain", "hubba");
+			System.setProperty("testSettingsMonitorSecret", "bubba");
+			final Settings settings = new Settings();
+			ArgumentFactory.create(new StringArgument.Options(settings.getRoot(), "testSettingsMonitorPlain",
+			                                                  "test description", null, Requirement.required));
+			final StringArgument.Options secretOptions = new StringArgument.Options(settings.getRoot(),
+			                                                                        "testSettingsMonitorSecret",
+			                                                                        "test description", null,
+			                                                                        Requirement.required, true);
+			final StringArgument secret = ArgumentFactory.create(secretOptions);
+			
+			final List<String> values = Arrays.asList(settings.getMonitor().getValues());
+			assertTrue(values.contains("testSettingsMonitorPlain = hubba"));
+			assertFalse(values.contains("testSettingsMonitorSecret = bubba"));
+			assertTrue(values.contains("testSettingsMonitorSecret = " + secret.getDisplayValue()));
+			
+			// derived settings report their own values
+			final Settings derived = settings.withOverrides(Collections.singletonMap("testSettingsMonitorPlain",
+			                                                                         "dubba"));
+			final List<String> derivedValues = Arrays.asList(derived.getMonitor().getValues());
+			assertTrue(derivedValues.contains("testSettingsMonitorPlain = dubba"));
+			assertTrue(derivedValues.contains("testSettingsMonitorSecret = " + secret.getDisplayValue()));
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentSetRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mozkito.utilities.io.FileUtils;
+
+/**
+ * The Class SettingsRendererTest.
+ */
+public class SettingsRendererTest {
+	
+	/**
+	 * Tear down.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		System.clearProperty("testSettingsRendererSecret");
+		System.clearProperty("help");
+	}
+	
+	/**
+	 * Test dump.
+	 */
+	@Test
+	public void testDump() {
+		try {
+			System.setProperty("testSettingsRendererSecret", "hubba");
+			final Settings settings = new Settings();
+			final StringArgument secret = ArgumentFactory.create(new StringArgument.Options(settings.getRoot(),
+			                                                                                "testSettingsRendererSecret",
+			                                                                                "test description", null,
+			                                                                                Requirement.optional, true));
+			final LongArgument number = ArgumentFactory.create(new LongArgument.Options(settings.getRoot(),
+			                                                                          "testSettingsRendererLong",
+			                                                                          "test description", 5L,
+			                                                                          Requirement.optional));
+			
+			final StringWriter writer = new StringWriter();
+			settings.dump(writer);
+			final String dump = writer.toString();
+			assertEquals(settings.toString(), dump);
+			assertTrue(dump.startsWith("Settings:" + FileUtils.lineSeparator + "---------" + FileUtils.lineSeparator));
+			assertTrue(dump.contains(secret.getDisplayValue()));
+			assertFalse(dump.contains("hubba"));
+			
+			final int keyWidth = settings.getRoot().getKeyValueSpan().getFirst();
+			final int valueWidth = settings.getRoot().getKeyValueSpan().getSecond();
+			final StringBuilder builder = new StringBuilder();
+			new SettingsRenderer(builder).dump(number, keyWidth, valueWidth);
+			final String line = builder.toString();
+			assertTrue(line.startsWith("testSettingsRendererLong"));
+			assertEquals(keyWidth + " = ".length() + valueWidth, line.indexOf('\t'));
+			assertEquals('5', line.charAt(line.indexOf('\t') - 1));
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException | IOException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test dump prefix.
+	 */
+	@Test
+	public void testDumpPrefix() {
+		try {
+			final Settings settings = new Settings();
+			final StringWriter writer = new StringWriter();
+			settings.dump("mail.s", writer);
+			final String dump = writer.toString();
+			
+			assertTrue(dump.startsWith("Settings (mail.s*):"));
+			assertTrue(dump.contains("mail.senderAddress"));
+			assertTrue(dump.contains("mail.subject"));
+			assertFalse(dump.contains("mail.host"));
+			assertFalse(dump.contains("[mail]"));
+			
+			writer.getBuffer().setLength(0);
+			settings.dump("mail", writer);
+			assertTrue(writer.toString().contains("[mail]"));
+			assertTrue(writer.toString().contains("mail.host"));
+			assertFalse(writer.toString().contains("log.file"));
+		} catch (final SettingsParseError | IOException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test that arguments nested in a set are dumped once, even if a sibling of the set sorts between them and the set.
+	 */
+	@Test
+	public void testDumpPrefixSibling() {
+		try {
+			final Settings settings = new Settings();
+			ArgumentFactory.create(new StringArgument.Options(settings.getRoot(), "mail-x", "test description", "x",
+			                                                  Requirement.optional));
+			final StringWriter writer = new StringWriter();
+			settings.dump("mail", writer);
+			final String dump = writer.toString();
+			
+			assertTrue(dump.contains("mail-x"));
+			final String line = FileUtils.lineSeparator + "mail.host ";
+			assertEquals(dump.indexOf(line), dump.lastIndexOf(line));
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException | IOException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test help.
+	 */
+	@Test
+	public void testHelp() {
+		try {
+			final Settings settings = new Settings();
+			final StringWriter writer = new StringWriter();
+			settings.help(writer);
+			assertEquals(settings.getHelpString(), writer.toString());
+			assertTrue(writer.toString().startsWith("|-[ " + settings.getRoot().getName() + " ]"));
+			
+			final StringBuilder builder = new StringBuilder();
+			new SettingsRenderer(builder).help(settings.getMailArguments());
+			assertEquals(settings.getMailArguments().getHelpString(), builder.toString());
+		} catch (final SettingsParseError | IOException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test help prefix.
+	 */
+	@Test
+	public void testHelpPrefix() {
+		try {
+			System.setProperty("help", "mail.");
+			final Settings settings = new Settings();
+			final String help = settings.getHelpString();
+			
+			assertTrue(settings.helpRequested());
+			assertTrue(help.contains("-Dmail.host"));
+			assertFalse(help.contains("-Dhelp"));
+			assertFalse(help.contains("-Dlog."));
+		} catch (final SettingsParseError e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+}
@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.mozkito.utilities.io.FileUtils;
+import org.mozkito.utilities.io.FileUtils.FileShutdownAction;
+
+/**
+ * The Class SettingsTest.
+ */
+public class SettingsTest {
+	
+	/**
+	 * Tear down.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		System.clearProperty("config");
+		System.clearProperty("testWithOverridesLong");
+		System.clearProperty("testWithOverridesString");
+		System.clearProperty("**.subject");
+		System.clearProperty("mail.*");
+		System.clearProperty("mail.host");
+	}
+	
+	/**
+	 * Test bootstrap async.
+	 */
+	@Test
+	public void testBootstrapAsync() {
+		final File file = FileUtils.createRandomFile(FileShutdownAction.DELETE);
+		
+		try {
+			try (final FileWriter writer = new FileWriter(file)) {
+				writer.write("testBootstrapAsync = fromFile");
+			}
+			System.setProperty("config", file.getAbsolutePath());
+			
+			final Future<Settings> future = Settings.bootstrapAsync();
+			final Settings settings = future.get();
+			
+			assertNotNull(settings.getRoot());
+			assertNotNull(settings.getMailArguments());
+			assertEquals("fromFile", settings.getProperty("testBootstrapAsync"));
+			assertEquals(file.getAbsoluteFile().toURI().toString(), settings.getPropertySource("testBootstrapAsync"));
+		} catch (final Exception e) {
+			e.printStackTrace();
+			fail();
+		} finally {
+			file.delete();
+		}
+	}
+	
+	/**
+	 * Test bootstrap async failure.
+	 */
+	@Test
+	public void testBootstrapAsyncFailure() {
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		
+		try {
+			System.setProperty("config", "file:///does/not/exist/hiari.properties");
+			Settings.bootstrapAsync(executor).get();
+			fail();
+		} catch (final ExecutionException e) {
+			assertTrue(e.getCause() instanceof SettingsParseError);
+		} catch (final InterruptedException e) {
+			e.printStackTrace();
+			fail();
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	/**
+	 * Test get arguments under.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void testGetArgumentsUnder() throws Exception {
+		final Settings settings = new Settings();
+		
+		final List<IArgument<?, ?>> mail = settings.getArgumentsUnder("mail");
+		assertSame(settings.getMailArguments(), mail.get(0));
+		assertEquals("mail.host", mail.get(1).getTag());
+		for (final IArgument<?, ?> argument : mail) {
+			assertTrue(argument.getTag().startsWith("mail"));
+		}
+		
+		final List<IArgument<?, ?>> children = settings.getArgumentsUnder("mail.");
+		assertEquals(mail.size() - 1, children.size());
+		assertEquals(settings.getMailArguments().getChildren().size(), children.size());
+		
+		final List<String> tags = new LinkedList<String>();
+		settings.forEachUnder("mail.sender", new ArgumentConsumer() {
+			
+			@Override
+			public void accept(final IArgument<?, ?> argument) {
+				tags.add(argument.getTag());
+			}
+		});
+		assertEquals(Arrays.asList("mail.senderAddress", "mail.senderHost", "mail.senderName"), tags);
+		assertTrue(settings.getArgumentsUnder("nonexisting").isEmpty());
+	}
+	
+	/**
+	 * Test with overrides.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void testWithOverrides() throws Exception {
+		System.setProperty("testWithOverridesLong", "1");
+		System.setProperty("testWithOverridesString", "hubba");
+		final Settings settings = new Settings();
+		final LongArgument.Options longOptions = new LongArgument.Options(settings.getRoot(), "testWithOverridesLong",
+		                                                                  "test description", null,
+		                                                                  Requirement.required);
+		final LongArgument longArgument = ArgumentFactory.create(longOptions);
+		final StringArgument.Options stringOptions = new StringArgument.Options(settings.getRoot(),
+		                                                                        "testWithOverridesString",
+		                                                                        "test description", null,
+		                                                                        Requirement.required);
+		final StringArgument stringArgument = ArgumentFactory.create(stringOptions);
+		// only required if testWithOverridesLong is 2
+		final StringArgument.Options dependentOptions = new StringArgument.Options(
+		                                                                           settings.getRoot(),
+		                                                                           "testWithOverridesDependent",
+		                                                                           "test description",
+		                                                                           null,
+		                                                                           Requirement.equals(longOptions, 2l));
+		ArgumentFactory.create(dependentOptions);
+		
+		final Map<String, String> overrides = new HashMap<String, String>();
+		overrides.put("testWithOverridesLong", "3");
+		final Settings derived = settings.withOverrides(overrides);
+		
+		assertEquals(3l, derived.getArgument(longOptions).getValue().longValue());
+		assertEquals(1l, settings.getArgument(longOptions).getValue().longValue());
+		assertEquals(1l, longArgument.getValue().longValue());
+		assertNotSame(longArgument, derived.getArgument(longOptions));
+		assertSame(stringArgument, derived.getArgument(stringOptions));
+		assertSame(derived, derived.getArgument(longOptions).getSettings());
+		assertSame(settings, longArgument.getSettings());
+		assertSame(settings.getMailArguments(), derived.getMailArguments());
+		assertEquals("3", derived.getProperty("testWithOverridesLong"));
+		assertEquals("1", settings.getProperty("testWithOverridesLong"));
+		assertEquals(ConfigurationLoader.OVERRIDE, derived.getPropertySource("testWithOverridesLong"));
+		
+		// overrides accumulate
+		final Settings twice = derived.withOverrides(Collections.singletonMap("testWithOverridesString", "bubba"));
+		assertEquals(3l, twice.getArgument(longOptions).getValue().longValue());
+		assertEquals("bubba", twice.getArgument(stringOptions).getValue());
+		assertEquals("hubba", derived.getArgument(stringOptions).getValue());
+		
+		// argument sets are initialized again
+		final Settings mail = settings.withOverrides(Collections.singletonMap("mail.host", "mail.example.org"));
+		assertEquals("mail.example.org", mail.getMailArguments().getValue().get("mail.smtp.host"));
+		assertEquals("mail.andama.org", settings.getMailArguments().getValue().get("mail.smtp.host"));
+		assertSame(mail, mail.getMailArguments().getSettings());
+		assertSame(settings, settings.getMailArguments().getSettings());
+		
+		// invalid value
+		try {
+			settings.withOverrides(Collections.singletonMap("testWithOverridesLong", "hubba"));
+			fail();
+		} catch (final SettingsParseError ignore) {
+			// expected
+		}
+		
+		// dependents are validated again: the dependent argument becomes required, but has no value
+		try {
+			settings.withOverrides(Collections.singletonMap("testWithOverridesLong", "2"));
+			fail();
+		} catch (final SettingsParseError ignore) {
+			// expected
+		}
+		
+		// wildcard keys would never be looked up
+		try {
+			settings.withOverrides(Collections.singletonMap("mail.*", "mail.example.org"));
+			fail();
+		} catch (final IllegalArgumentException ignore) {
+			// expected
+		}
+	}
+	
+	/**
+	 * Test wildcards.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void testWildcards() throws Exception {
+		System.setProperty("**.subject", "wildcard subject");
+		System.setProperty("mail.*", "mail.example.org");
+		System.setProperty("mail.host", "smtp.example.org");
+		final Settings settings = new Settings();
+		
+		final Properties mail = settings.getMailArguments().getValue();
+		assertEquals("smtp.example.org", mail.get("mail.smtp.host"));
+		assertEquals("mail.example.org", mail.get("mail.to"));
+		assertEquals("mail.example.org", settings.getProperty("mail.senderHost"));
+		// the more specific key wins
+		assertEquals("mail.example.org", mail.get("mail.subject"));
+		assertEquals("wildcard subject", settings.getProperty("log.subject"));
+		assertEquals(ConfigurationLoader.COMMANDLINE, settings.getPropertySource("log.subject"));
+		assertNull(settings.getProperty("log.level.subjects"));
+	}
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * The Class TagTrieTest.
+ */
+public class TagTrieTest {
+	
+	/**
+	 * Collects the values under the given prefix.
+	 * 
+	 * @param trie
+	 *            the trie
+	 * @param prefix
+	 *            the prefix
+	 * @return the values
+	 */
+	private static List<String> under(final TagTrie<String> trie,
+	                                  final String prefix) {
+		final List<String> values = new ArrayList<String>();
+		trie.collect(prefix, values);
+		return values;
+	}
+	
+	/**
+	 * Test collect.
+	 */
+	@Test
+	public void testCollect() {
+		final TagTrie<String> trie = new TagTrie<String>();
+		for (final String tag : Arrays.asList("database.shard3.url", "database", "database.shard30.url", "mail",
+		                                      "database.shard3", "database.shard3.user", "mail.host")) {
+			trie.put(tag, tag);
+		}
+		
+		assertEquals(7, trie.size());
+		assertEquals(Arrays.asList("database.shard3", "database.shard3.url", "database.shard3.user",
+		                           "database.shard30.url"), under(trie, "database.shard3"));
+		assertEquals(Arrays.asList("database.shard3.url", "database.shard3.user"), under(trie, "database.shard3."));
+		assertEquals(Arrays.asList("database.shard3.url", "database.shard3.user"), under(trie, "database.shard3.u"));
+		assertEquals(Arrays.asList("mail", "mail.host"), under(trie, "ma"));
+		assertTrue(under(trie, "mailx").isEmpty());
+		assertTrue(under(trie, "x").isEmpty());
+		
+		final List<String> all = under(trie, "");
+		final List<String> sorted = new ArrayList<String>(all);
+		Collections.sort(sorted);
+		assertEquals(7, all.size());
+		assertEquals(sorted, all);
+	}
+	
+	/**
+	 * Test put and get.
+	 */
+	@Test
+	public void testPutGet() {
+		final TagTrie<Integer> trie = new TagTrie<Integer>();
+		
+		for (int i = 0; i < 1000; ++i) {
+			assertNull(trie.put("tag." + i, i));
+		}
+		assertEquals(1000, trie.size());
+		
+		for (int i = 0; i < 1000; ++i) {
+			assertEquals(i, trie.get("tag." + i).intValue());
+		}
+		
+		assertNull(trie.get("tag."));
+		assertNull(trie.get("tag.1000"));
+		assertNull(trie.get("tag"));
+		
+		assertEquals(42, trie.put("tag.42", -42).intValue());
+		assertEquals(-42, trie.get("tag.42").intValue());
+		assertEquals(1000, trie.size());
+		
+		assertNull(trie.put("tag", 0));
+		assertEquals(0, trie.get("tag").intValue());
+		assertEquals(1001, trie.size());
+	}
+}
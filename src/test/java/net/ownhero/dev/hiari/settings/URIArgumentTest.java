@@ -0,0 +1,94 @@
+/***********************************************************************************************************************
+ * Copyright 2011 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ **********************************************************************************************************************/
+
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+
+import net.ownhero.dev.hiari.settings.URIArgument.Options;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentSetRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+
+import org.junit.Test;
+
+/**
+ * The Class URIArgumentTest.
+ */
+public class URIArgumentTest {
+	
+	/**
+	 * Test that local paths are only taken as files if the options ask for it.
+	 */
+	@Test
+	public void testGuessFileScheme() {
+		try {
+			final File file = File.createTempFile("testGuessFileScheme", ".txt");
+			file.deleteOnExit();
+			System.setProperty("testGuessFileScheme", file.getAbsolutePath());
+			System.setProperty("testNoGuessFileScheme", file.getAbsolutePath());
+			final Settings settings = new Settings();
+			
+			final URIArgument arg = ArgumentFactory.create(new Options(settings.getRoot(), "testGuessFileScheme",
+			                                                           "test description", null,
+			                                                           Requirement.required));
+			assertEquals(file.getAbsoluteFile().toURI().getPath(), arg.getValue().getPath());
+			assertEquals("file", arg.getComponents().getScheme());
+			
+			try {
+				ArgumentFactory.create(new Options(settings.getRoot(), "testNoGuessFileScheme", "test description",
+				                                   null, Requirement.required, false));
+				fail();
+			} catch (final ArgumentRegistrationException e) {
+				// expected
+			}
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException
+		        | IOException e) {
+			e.printStackTrace();
+			fail();
+		} finally {
+			System.clearProperty("testGuessFileScheme");
+			System.clearProperty("testNoGuessFileScheme");
+		}
+	}
+	
+	/**
+	 * Test valid properties.
+	 */
+	@Test
+	public void testValidProperties() {
+		try {
+			System.setProperty("testURIValid", "https://user@example.org:8443/api?v=2");
+			final Settings settings = new Settings();
+			final URIArgument arg = ArgumentFactory.create(new Options(settings.getRoot(), "testURIValid",
+			                                                           "test description", null,
+			                                                           Requirement.required));
+			
+			assertEquals(URI.create("https://user@example.org:8443/api?v=2"), arg.getValue());
+			assertEquals("example.org", arg.getComponents().getHost());
+			assertEquals(8443, arg.getComponents().getPort());
+			assertEquals("/api", arg.getComponents().getPath());
+		} catch (ArgumentRegistrationException | SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		} finally {
+			System.clearProperty("testURIValid");
+		}
+	}
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mozkito.utilities.io.FileUtils;
+import org.mozkito.utilities.io.FileUtils.FileShutdownAction;
+
+/**
+ * The Class ValidationCacheTest.
+ */
+public class ValidationCacheTest {
+	
+	/** The cache file. */
+	private File cacheFile;
+	
+	/** The file. */
+	private File file;
+	
+	/**
+	 * Sets the up.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		this.cacheFile = FileUtils.createRandomFile(FileShutdownAction.DELETE);
+		this.cacheFile.delete();
+		this.file = FileUtils.createRandomFile(FileShutdownAction.DELETE);
+	}
+	
+	/**
+	 * Tear down.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		this.cacheFile.delete();
+		this.file.delete();
+	}
+	
+	/**
+	 * Test disabled.
+	 */
+	@Test
+	public void testDisabled() {
+		ValidationCache.DISABLED.validated("tag", this.file.getPath(), this.file);
+		assertFalse(ValidationCache.DISABLED.isEnabled());
+		assertFalse(ValidationCache.DISABLED.isValid("tag", this.file.getPath(), this.file));
+	}
+	
+	/**
+	 * Test file changed.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void testFileChanged() throws Exception {
+		final ValidationCache cache = new ValidationCache(this.cacheFile, false);
+		cache.validated("tag", this.file.getPath(), this.file);
+		assertTrue(cache.isValid("tag", this.file.getPath(), this.file));
+		
+		try (final FileWriter writer = new FileWriter(this.file)) {
+			writer.write("changed");
+		}
+		assertFalse(cache.isValid("tag", this.file.getPath(), this.file));
+		
+		this.file.delete();
+		assertFalse(cache.isValid("tag", this.file.getPath(), this.file));
+	}
+	
+	/**
+	 * Test force.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void testForce() throws Exception {
+		final ValidationCache cache = new ValidationCache(this.cacheFile, false);
+		cache.validated("tag", this.file.getPath(), this.file);
+		cache.store();
+		
+		final ValidationCache forced = new ValidationCache(this.cacheFile, true);
+		assertFalse(forced.isValid("tag", this.file.getPath(), this.file));
+		forced.validated("tag", this.file.getPath(), this.file);
+		assertFalse(forced.isValid("tag", this.file.getPath(), this.file));
+	}
+	
+	/**
+	 * Test persistence.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void testPersistence() throws Exception {
+		final ValidationCache cache = new ValidationCache(this.cacheFile, false);
+		cache.validated("file", this.file.getPath(), this.file);
+		cache.store();
+		assertTrue(this.cacheFile.isFile());
+		
+		final ValidationCache reloaded = new ValidationCache(this.cacheFile, false);
+		assertTrue(reloaded.isValid("file", this.file.getPath(), this.file));
+		assertFalse(reloaded.isValid("file", this.file.getPath() + " ", this.file));
+		assertFalse(reloaded.isValid("other", this.file.getPath(), this.file));
+	}
+	
+	/**
+	 * Test settings.
+	 * 
+	 * @throws Exception
+	 *             the exception
+	 */
+	@Test
+	public void testSettings() throws Exception {
+		System.setProperty(Settings.validationCacheTag, this.cacheFile.getAbsolutePath());
+		System.setProperty("testValidationCacheSettings", this.file.getAbsolutePath());
+		try {
+			final Settings settings = new Settings();
+			assertTrue(settings.getValidationCache().isEnabled());
+			
+			ArgumentFactory.create(new InputFileArgument.Options(settings.getRoot(), "testValidationCacheSettings",
+			                                                     "test argument", null,
+			                                                     Requirement.required));
+			assertTrue(settings.getValidationCache().isValid("testValidationCacheSettings",
+			                                                 this.file.getAbsolutePath(), this.file));
+		} finally {
+			System.clearProperty(Settings.validationCacheTag);
+			System.clearProperty("testValidationCacheSettings");
+		}
+	}
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentSetRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+import net.ownhero.dev.hiari.settings.requirements.Requirement;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * The Class ValidationReportTest.
+ */
+public class ValidationReportTest {
+	
+	/**
+	 * After.
+	 */
+	@After
+	public void after() {
+		System.clearProperty("reportLong");
+		System.clearProperty("reportPort");
+	}
+	
+	/**
+	 * Test collect errors.
+	 */
+	@Test
+	public void testCollectErrors() {
+		try {
+			System.setProperty("reportLong", "abc");
+			System.setProperty("reportPort", "70000");
+			
+			final Settings settings = new Settings();
+			final ValidationReport report = settings.collectErrors();
+			assertTrue(report.isEmpty());
+			
+			final LongArgument count = ArgumentFactory.create(new LongArgument.Options(settings.getRoot(),
+			                                                                           "reportLong", "", null,
+			                                                                           Requirement.required));
+			final StringArgument host = ArgumentFactory.create(new StringArgument.Options(settings.getRoot(),
+			                                                                              "reportString", "", null,
+			                                                                              Requirement.required));
+			final PortArgument port = ArgumentFactory.create(new PortArgument.Options(settings.getRoot(),
+			                                                                          "reportPort", "", null,
+			                                                                          Requirement.required, false));
+			
+			assertNotNull(count);
+			assertNotNull(host);
+			assertNotNull(port);
+			assertNull(count.getValue());
+			assertNull(port.getValue());
+			
+			assertEquals(3, report.size());
+			for (final Exception failure : report.getFailures()) {
+				assertTrue(failure instanceof ArgumentRegistrationException);
+				assertEquals(0, failure.getStackTrace().length);
+			}
+			assertTrue(report.toString().contains("reportString"));
+			assertFalse(ValidationReport.isCollecting());
+			
+			try {
+				report.check();
+				fail();
+			} catch (final SettingsParseError e) {
+				assertTrue(e.getStackTrace().length > 0);
+				assertTrue(e.getMessage().contains("reportLong"));
+				assertTrue(e.getMessage().contains("reportPort"));
+			}
+		} catch (SettingsParseError | ArgumentSetRegistrationException | ArgumentRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test fail fast.
+	 */
+	@Test
+	public void testFailFast() {
+		try {
+			System.setProperty("reportLong", "abc");
+			
+			final Settings settings = new Settings();
+			try {
+				ArgumentFactory.create(new LongArgument.Options(settings.getRoot(), "reportLong", "", null,
+				                                                Requirement.required));
+				fail();
+			} catch (final ArgumentRegistrationException e) {
+				assertTrue(e.getStackTrace().length > 0);
+			}
+		} catch (SettingsParseError | ArgumentSetRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * The Class WildcardMatcherTest.
+ */
+public class WildcardMatcherTest {
+	
+	/**
+	 * Test compile.
+	 */
+	@Test
+	public void testCompile() {
+		assertNull(WildcardMatcher.compile(Arrays.asList("database.shard1.timeout", "mail.host")));
+		assertTrue(WildcardMatcher.isPattern("database.*.timeout"));
+		assertTrue(WildcardMatcher.isPattern("**"));
+		assertFalse(WildcardMatcher.isPattern("database.shard*.timeout"));
+		assertFalse(WildcardMatcher.isPattern("database.timeout"));
+	}
+	
+	/**
+	 * Test match.
+	 */
+	@Test
+	public void testMatch() {
+		final WildcardMatcher matcher = WildcardMatcher.compile(Arrays.asList("database.*.timeout", "workers.**.batchSize",
+		                                                                      "mail.host"));
+		
+		assertEquals("database.*.timeout", matcher.match("database.shard3.timeout"));
+		assertNull(matcher.match("database.timeout"));
+		assertNull(matcher.match("database.shard3.replica.timeout"));
+		assertNull(matcher.match("database.shard3.timeoutMillis"));
+		
+		assertEquals("workers.**.batchSize", matcher.match("workers.batchSize"));
+		assertEquals("workers.**.batchSize", matcher.match("workers.pool1.batchSize"));
+		assertEquals("workers.**.batchSize", matcher.match("workers.pool1.thread2.batchSize"));
+		assertNull(matcher.match("workers.pool1.size"));
+		
+		assertNull(matcher.match("mail.host"));
+	}
+	
+	/**
+	 * Test precedence.
+	 */
+	@Test
+	public void testPrecedence() {
+		final WildcardMatcher matcher = WildcardMatcher.compile(Arrays.asList("**", "database.**", "*.shard3.*",
+		                                                                      "database.*.timeout",
+		                                                                      "database.shard3.*", "**.timeout"));
+		
+		assertEquals("database.shard3.*", matcher.match("database.shard3.timeout"));
+		assertEquals("database.*.timeout", matcher.match("database.shard4.timeout"));
+		assertEquals("database.**", matcher.match("database.shard4.url"));
+		assertEquals("*.shard3.*", matcher.match("workers.shard3.url"));
+		assertEquals("**.timeout", matcher.match("workers.pool.timeout"));
+		assertEquals("**", matcher.match("anything"));
+	}
+}
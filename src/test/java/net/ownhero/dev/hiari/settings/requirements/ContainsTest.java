@@ -12,9 +12,21 @@
  **********************************************************************************************************************/
 package net.ownhero.dev.hiari.settings.requirements;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
 import net.ownhero.dev.hiari.settings.ArgumentFactory;
+import net.ownhero.dev.hiari.settings.EnumSetArgument;
+import net.ownhero.dev.hiari.settings.IntSet;
+import net.ownhero.dev.hiari.settings.IntSetArgument;
 import net.ownhero.dev.hiari.settings.ListArgument;
+import net.ownhero.dev.hiari.settings.LongListArgument;
+import net.ownhero.dev.hiari.settings.SetArgument;
 import net.ownhero.dev.hiari.settings.Settings;
 import net.ownhero.dev.hiari.settings.StringArgument;
 import net.ownhero.dev.hiari.settings.StringArgument.Options;
@@ -29,7 +41,7 @@ import org.junit.Test;
 
 /**
  * The Class ContainsTest.
- *
+ * 
  * @author Kim Herzig <herzig@cs.uni-saarland.de>
  */
 public class ContainsTest {
@@ -143,4 +155,107 @@ public class ContainsTest {
 		}
 	}
 	
+	/**
+	 * Test case insensitive membership, before and after the argument has been parsed.
+	 */
+	@Test
+	public void testMembers() {
+		try {
+			System.setProperty("AllTest", "Alpha, beta,GAMMA");
+			
+			final Settings settings = new Settings();
+			final ListArgument.Options listOptions = new ListArgument.Options(settings.getRoot(), "AllTest", "", null,
+			                                                                  Requirement.optional);
+			final HashSet<String> defaultValue = new HashSet<String>();
+			defaultValue.add("Delta");
+			final SetArgument.Options setOptions = new SetArgument.Options(settings.getRoot(), "AllTest2", "",
+			                                                               defaultValue, Requirement.optional);
+			
+			final Contains beta = new Contains(listOptions, "BETA");
+			final Contains gamma = new Contains(listOptions, "gamma");
+			final Contains delta = new Contains(setOptions, "delta");
+			final Contains epsilon = new Contains(listOptions, "epsilon");
+			
+			// from the raw property and the default value
+			assertTrue(beta.check());
+			assertTrue(gamma.check());
+			assertTrue(delta.check());
+			assertFalse(epsilon.check());
+			
+			// from the parsed values
+			ArgumentFactory.create(listOptions);
+			ArgumentFactory.create(setOptions);
+			assertTrue(beta.check());
+			assertTrue(gamma.check());
+			assertTrue(delta.check());
+			assertFalse(epsilon.check());
+			
+			assertTrue(beta.getFailedChecks().isEmpty());
+			assertEquals(1, epsilon.getFailedChecks().size());
+		} catch (SettingsParseError | ArgumentSetRegistrationException | ArgumentRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test membership in long lists, int sets and enum sets, before and after the arguments have been parsed.
+	 */
+	@Test
+	public void testTypedMembers() {
+		try {
+			System.setProperty("AllTest", "3, 042");
+			System.setProperty("AllTest2", "-1,8080");
+			System.setProperty("AllTest3", "days, Hours");
+			
+			final Settings settings = new Settings();
+			final LongListArgument.Options longOptions = new LongListArgument.Options(settings.getRoot(), "AllTest",
+			                                                                          "", null, Requirement.optional);
+			final IntSetArgument.Options intOptions = new IntSetArgument.Options(settings.getRoot(), "AllTest2", "",
+			                                                                     null, Requirement.optional);
+			final EnumSetArgument.Options<TimeUnit> enumOptions = new EnumSetArgument.Options<TimeUnit>(
+			                                                                                            settings.getRoot(),
+			                                                                                            "AllTest3",
+			                                                                                            "",
+			                                                                                            null,
+			                                                                                            Requirement.optional,
+			                                                                                            TimeUnit.class);
+			final IntSetArgument.Options defaultOptions = new IntSetArgument.Options(settings.getRoot(), "AllTest4",
+			                                                                         "", IntSet.of(5),
+			                                                                         Requirement.optional);
+			
+			final Requirement longHit = Requirement.contains(longOptions, 42L);
+			final Requirement longMiss = Requirement.contains(longOptions, 4L);
+			final Requirement intHit = Requirement.contains(intOptions, -1);
+			final Requirement intMiss = Requirement.contains(intOptions, 80);
+			final Requirement enumHit = Requirement.contains(enumOptions, TimeUnit.HOURS);
+			final Requirement enumMiss = Requirement.contains(enumOptions, TimeUnit.SECONDS);
+			final Requirement defaultHit = Requirement.contains(defaultOptions, 5);
+			
+			// from the raw properties and the default value
+			assertTrue(longHit.check());
+			assertFalse(longMiss.check());
+			assertTrue(intHit.check());
+			assertFalse(intMiss.check());
+			assertTrue(enumHit.check());
+			assertFalse(enumMiss.check());
+			assertTrue(defaultHit.check());
+			
+			// from the parsed values
+			ArgumentFactory.create(longOptions);
+			ArgumentFactory.create(intOptions);
+			ArgumentFactory.create(enumOptions);
+			ArgumentFactory.create(defaultOptions);
+			assertTrue(longHit.check());
+			assertFalse(longMiss.check());
+			assertTrue(intHit.check());
+			assertFalse(intMiss.check());
+			assertTrue(enumHit.check());
+			assertFalse(enumMiss.check());
+			assertTrue(defaultHit.check());
+		} catch (SettingsParseError | ArgumentSetRegistrationException | ArgumentRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
 }
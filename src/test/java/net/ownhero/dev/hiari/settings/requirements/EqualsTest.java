@@ -13,6 +13,8 @@
 package net.ownhero.dev.hiari.settings.requirements;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import net.ownhero.dev.hiari.settings.ArgumentFactory;
 import net.ownhero.dev.hiari.settings.EnumArgument;
@@ -30,7 +32,7 @@ import org.junit.Test;
 
 /**
  * The Class EqualsTest.
- *
+ * 
  * @author Kim Herzig <herzig@cs.uni-saarland.de>
  */
 public class EqualsTest {
@@ -151,4 +153,35 @@ public class EqualsTest {
 		}
 	}
 	
+	/**
+	 * Test that names and aliases are resolved through the lookup table of the enum options.
+	 */
+	@Test
+	public void testEnumAlias() {
+		try {
+			System.setProperty("AllTest", " Deux ");
+			System.setProperty("AllTest2", "unknown");
+			final Settings settings = new Settings();
+			final EnumArgument.Options<TestEnum> enumOptions = new EnumArgument.Options<TestEnum>(settings.getRoot(),
+			                                                                                      "AllTest", "",
+			                                                                                      TestEnum.ONE,
+			                                                                                      Requirement.optional).addAlias("deux",
+			                                                                                                                     TestEnum.TWO);
+			
+			assertTrue(new Equals(enumOptions, TestEnum.TWO).check());
+			assertFalse(new Equals(enumOptions, TestEnum.ONE).check());
+			
+			final EnumArgument.Options<TestEnum> unknownOptions = new EnumArgument.Options<TestEnum>(
+			                                                                                         settings.getRoot(),
+			                                                                                         "AllTest2",
+			                                                                                         "",
+			                                                                                         TestEnum.ONE,
+			                                                                                         Requirement.optional);
+			assertFalse(new Equals(unknownOptions, TestEnum.ONE).check());
+		} catch (final SettingsParseError e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
 }
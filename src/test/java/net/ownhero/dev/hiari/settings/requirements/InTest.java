@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings.requirements;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.ownhero.dev.hiari.settings.ArgumentFactory;
+import net.ownhero.dev.hiari.settings.Settings;
+import net.ownhero.dev.hiari.settings.StringArgument;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.ArgumentSetRegistrationException;
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * The Class InTest.
+ */
+public class InTest {
+	
+	/**
+	 * After.
+	 */
+	@After
+	public void after() {
+		System.clearProperty("AllTest");
+		System.clearProperty("AllTest2");
+		System.clearProperty("AllTest4");
+	}
+	
+	/**
+	 * Test check.
+	 */
+	@Test
+	public void testCheck() {
+		try {
+			System.setProperty("AllTest", "Region-417");
+			
+			final Settings settings = new Settings();
+			final StringArgument.Options region = new StringArgument.Options(settings.getRoot(), "AllTest", "", null,
+			                                                                 Requirement.optional);
+			final StringArgument.Options unset = new StringArgument.Options(settings.getRoot(), "AllTest2", "", null,
+			                                                                Requirement.optional);
+			final List<String> regions = new ArrayList<String>();
+			for (int i = 0; i < 1000; ++i) {
+				regions.add("region-" + i);
+			}
+			
+			assertTrue(new In(region, regions).check());
+			assertFalse(new In(region, Arrays.asList("region-1", "region-2")).check());
+			assertFalse(new In(unset, regions).check());
+			assertEquals(0, new In(region, regions).getFailedChecks().size());
+			
+			final StringArgument.Options options = new StringArgument.Options(settings.getRoot(), "AllTest4", "", null,
+			                                                                  Requirement.in(region, regions));
+			ArgumentFactory.create(region);
+			try {
+				ArgumentFactory.create(options);
+				fail();
+			} catch (final ArgumentRegistrationException e) {
+				//
+			}
+		} catch (SettingsParseError | ArgumentSetRegistrationException | ArgumentRegistrationException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+}
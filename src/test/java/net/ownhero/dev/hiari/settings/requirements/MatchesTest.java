@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings.requirements;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import net.ownhero.dev.hiari.settings.Settings;
+import net.ownhero.dev.hiari.settings.StringArgument;
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * The Class MatchesTest.
+ */
+public class MatchesTest {
+	
+	/**
+	 * After.
+	 */
+	@After
+	public void after() {
+		System.clearProperty("AllTest");
+		System.clearProperty("AllTest2");
+		System.clearProperty("AllTest4");
+	}
+	
+	/**
+	 * Test check.
+	 */
+	@Test
+	public void testCheck() {
+		try {
+			System.setProperty("AllTest", "shard-42");
+			
+			final Settings settings = new Settings();
+			final StringArgument.Options shard = new StringArgument.Options(settings.getRoot(), "AllTest", "", null,
+			                                                                Requirement.optional);
+			final StringArgument.Options unset = new StringArgument.Options(settings.getRoot(), "AllTest2", "", null,
+			                                                                Requirement.optional);
+			
+			final Requirement matches = Requirement.matches(shard, "shard-\\d+");
+			assertTrue(matches.check());
+			assertTrue(matches.check());
+			// the whole value has to match
+			assertFalse(Requirement.matches(shard, "shard").check());
+			assertFalse(Requirement.matches(unset, ".*").check());
+		} catch (final SettingsParseError e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+}
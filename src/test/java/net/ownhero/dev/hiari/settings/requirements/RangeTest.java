@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings.requirements;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import net.ownhero.dev.hiari.settings.DoubleArgument;
+import net.ownhero.dev.hiari.settings.LongArgument;
+import net.ownhero.dev.hiari.settings.Settings;
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * The Class RangeTest.
+ */
+public class RangeTest {
+	
+	/**
+	 * After.
+	 */
+	@After
+	public void after() {
+		System.clearProperty("AllTest");
+		System.clearProperty("AllTest2");
+		System.clearProperty("AllTest4");
+	}
+	
+	/**
+	 * Test check.
+	 */
+	@Test
+	public void testCheck() {
+		try {
+			System.setProperty("AllTest", "250");
+			System.setProperty("AllTest4", "none");
+			
+			final Settings settings = new Settings();
+			final LongArgument.Options batchSize = new LongArgument.Options(settings.getRoot(), "AllTest", "", null,
+			                                                                Requirement.optional);
+			final DoubleArgument.Options ratio = new DoubleArgument.Options(settings.getRoot(), "AllTest2", "", 0.75,
+			                                                                Requirement.optional);
+			final LongArgument.Options invalid = new LongArgument.Options(settings.getRoot(), "AllTest4", "", null,
+			                                                              Requirement.optional);
+			
+			assertTrue(Requirement.range(batchSize, 1, 1000).check());
+			assertTrue(Requirement.range(batchSize, 250, 250).check());
+			assertFalse(Requirement.range(batchSize, 251, 1000).check());
+			
+			// from the default value
+			assertTrue(Requirement.range(ratio, 0.5, 1.0).check());
+			assertFalse(Requirement.range(ratio, 0.0, 0.5).check());
+			
+			assertFalse(Requirement.range(invalid, Long.MIN_VALUE, Long.MAX_VALUE).check());
+		} catch (final SettingsParseError e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings.requirements;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import net.ownhero.dev.hiari.settings.IOptions;
+import net.ownhero.dev.hiari.settings.Settings;
+import net.ownhero.dev.hiari.settings.StringArgument;
+import net.ownhero.dev.hiari.settings.exceptions.SettingsParseError;
+
+import org.junit.Test;
+
+/**
+ * The Class RequirementGraphTest.
+ */
+public class RequirementGraphTest {
+	
+	/**
+	 * A requirement whose dependencies can be added after the options have been created.
+	 */
+	private static final class Later extends Requirement {
+		
+		/** The dependencies. */
+		private final Set<IOptions<?, ?>> dependencies = new HashSet<IOptions<?, ?>>();
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#check()
+		 */
+		@Override
+		public boolean check() {
+			return true;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#compile()
+		 */
+		@Override
+		public Evaluator compile() {
+			return Evaluator.TRUE;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#getDependencies()
+		 */
+		@Override
+		public Set<IOptions<?, ?>> getDependencies() {
+			return this.dependencies;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#getFailedChecks()
+		 */
+		@Override
+		public List<Requirement> getFailedChecks() {
+			return new ArrayList<Requirement>(0);
+		}
+	}
+	
+	/**
+	 * Test analysis.
+	 */
+	@Test
+	public void testAnalysis() {
+		try {
+			final Settings settings = new Settings();
+			final Later laterA = new Later();
+			final Later laterB = new Later();
+			final Later laterC = new Later();
+			final StringArgument.Options a = new StringArgument.Options(settings.getRoot(), "graphA", "", null, laterA);
+			final StringArgument.Options b = new StringArgument.Options(settings.getRoot(), "graphB", "", null, laterB);
+			final StringArgument.Options c = new StringArgument.Options(settings.getRoot(), "graphC", "", null, laterC);
+			final StringArgument.Options unregistered = new StringArgument.Options(settings.getRoot(), "graphD", "",
+			                                                                       null, Requirement.optional);
+			laterA.getDependencies().add(b);
+			laterB.getDependencies().add(c);
+			laterC.getDependencies().add(a);
+			
+			final Requirement isSet = Requirement.iff(a);
+			final StringArgument.Options negation = new StringArgument.Options(
+			                                                                   settings.getRoot(),
+			                                                                   "graphE",
+			                                                                   "",
+			                                                                   null,
+			                                                                   Requirement.and(Requirement.iff(b),
+			                                                                                   Requirement.and(isSet,
+			                                                                                                   Requirement.not(Requirement.iff(a)))));
+			final StringArgument.Options values = new StringArgument.Options(settings.getRoot(), "graphF", "", null,
+			                                                                 Requirement.all(Requirement.equals(a, "x"),
+			                                                                                 Requirement.equals(a, "y")));
+			final StringArgument.Options xor = new StringArgument.Options(settings.getRoot(), "graphG", "", null,
+			                                                              Requirement.xor(isSet, Requirement.iff(a)));
+			final StringArgument.Options fine = new StringArgument.Options(settings.getRoot(), "graphH", "", null,
+			                                                               Requirement.or(Requirement.xor(isSet, isSet),
+			                                                                              Requirement.iff(unregistered)));
+			
+			final RequirementGraph graph = new RequirementGraph(Arrays.asList(a, b, c, negation, values, xor, fine));
+			
+			assertFalse(graph.isSound());
+			assertEquals(Arrays.asList(Arrays.asList("graphA", "graphB", "graphC")), graph.getCycles());
+			assertEquals(1, graph.getMissingDependencies().size());
+			assertEquals("[graphD]", graph.getMissingDependencies().get("graphH").toString());
+			assertEquals(Arrays.asList("graphE", "graphF", "graphG"),
+			             new ArrayList<String>(graph.getContradictions().keySet()));
+			
+			final String dot = graph.toDot();
+			assertTrue(dot.startsWith("digraph requirements {"));
+			assertTrue(dot.contains("\"graphA\" -> \"graphB\" [color=red];"));
+			assertTrue(dot.contains("\"graphH\" -> \"graphD\" [style=dashed];"));
+			assertTrue(dot.contains("\"graphE\" [color=orange];"));
+			assertTrue(dot.contains("\"graphE\" -> \"graphB\";"));
+			
+			assertTrue(new RequirementGraph(Arrays.asList(a, negation)).getCycles().isEmpty());
+		} catch (final SettingsParseError e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+	
+	/**
+	 * Test the base settings.
+	 */
+	@Test
+	public void testSettings() {
+		try {
+			final Settings settings = new Settings();
+			final RequirementGraph graph = settings.analyzeRequirements();
+			
+			assertTrue(graph.toString(), graph.isSound());
+		} catch (final SettingsParseError e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+}
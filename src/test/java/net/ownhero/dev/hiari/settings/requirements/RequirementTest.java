@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright 2012 Kim Herzig, Sascha Just
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ ******************************************************************************/
+package net.ownhero.dev.hiari.settings.requirements;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import net.ownhero.dev.hiari.settings.IOptions;
+
+import org.junit.Test;
+
+/**
+ * The Class RequirementTest.
+ */
+public class RequirementTest {
+	
+	/**
+	 * A requirement with a fixed result that counts its checks. It does not override {@link Requirement#compile()}.
+	 */
+	private static final class Fixed extends Requirement {
+		
+		/** The result. */
+		private final boolean result;
+		
+		/** The checks. */
+		private int           checks = 0;
+		
+		/**
+		 * Instantiates a new fixed.
+		 * 
+		 * @param result
+		 *            the result
+		 */
+		Fixed(final boolean result) {
+			this.result = result;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#check()
+		 */
+		@Override
+		public boolean check() {
+			++this.checks;
+			return this.result;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#getDependencies()
+		 */
+		@Override
+		public Set<IOptions<?, ?>> getDependencies() {
+			return new HashSet<IOptions<?, ?>>();
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see net.ownhero.dev.hiari.settings.requirements.Requirement#getFailedChecks()
+		 */
+		@Override
+		public List<Requirement> getFailedChecks() {
+			return new ArrayList<Requirement>(0);
+		}
+	}
+	
+	/**
+	 * Test that the default evaluator delegates to {@link Requirement#check()}.
+	 */
+	@Test
+	public void testCompileDefault() {
+		final Fixed pass = new Fixed(true);
+		final Fixed fail = new Fixed(false);
+		
+		assertTrue(pass.compile().check(Collections.<String, String> emptyMap()));
+		assertFalse(fail.compile().check(Collections.<String, String> emptyMap()));
+		assertEquals(1, pass.checks);
+		assertEquals(1, fail.checks);
+		
+		// composites compile their operands
+		assertFalse(Requirement.and(pass, fail).compile().check(Collections.<String, String> emptyMap()));
+	}
+	
+	/**
+	 * Test that the declaration order is kept until the order is fixed.
+	 */
+	@Test
+	public void testDeclarationOrder() {
+		final Fixed pass = new Fixed(true);
+		final Fixed fail = new Fixed(false);
+		final Requirement all = Requirement.all(pass, fail);
+		
+		for (int i = 0; i < 100; ++i) {
+			assertFalse(all.check());
+		}
+		assertEquals(100, pass.checks);
+		assertEquals(100, fail.checks);
+		
+		// the operand that fails goes first
+		all.optimize();
+		assertFalse(all.check());
+		assertEquals(100, pass.checks);
+		assertEquals(101, fail.checks);
+	}
+	
+	/**
+	 * Test optimize.
+	 */
+	@Test
+	public void testOptimize() {
+		final Fixed fail = new Fixed(false);
+		final Fixed pass = new Fixed(true);
+		final Fixed nested = new Fixed(false);
+		final Requirement or = Requirement.or(fail, Requirement.and(nested, pass));
+		
+		for (int i = 0; i < 10; ++i) {
+			assertTrue(Requirement.or(fail, pass).check());
+			assertFalse(or.check());
+		}
+		or.optimize();
+		
+		// neither operand of the disjunction ever passed: the order stays as declared
+		final int failChecks = fail.checks;
+		final int nestedChecks = nested.checks;
+		final int passChecks = pass.checks;
+		assertFalse(or.check());
+		assertEquals(failChecks + 1, fail.checks);
+		assertEquals(nestedChecks + 1, nested.checks);
+		assertEquals(passChecks, pass.checks);
+		
+		final Requirement any = Requirement.any(new Fixed(false), pass);
+		for (int i = 0; i < 10; ++i) {
+			assertTrue(any.check());
+		}
+		any.optimize();
+		final int before = pass.checks;
+		assertTrue(any.check());
+		assertEquals(before + 1, pass.checks);
+	}
+	
+	/**
+	 * Test that fixing the order of one composite does not stop another one from observing a shared operand.
+	 */
+	@Test
+	public void testSharedOperand() {
+		final Fixed pass = new Fixed(true);
+		final Fixed fail = new Fixed(false);
+		final Requirement all = Requirement.all(Requirement.required, pass, fail);
+		
+		for (int i = 0; i < 10; ++i) {
+			assertFalse(all.check());
+		}
+		all.optimize();
+		
+		final Requirement any = Requirement.any(fail, Requirement.required, pass);
+		for (int i = 0; i < 10; ++i) {
+			assertTrue(any.check());
+		}
+		any.optimize();
+		
+		// the shared constant operand ended every evaluation, so it goes first
+		final int failChecks = fail.checks;
+		final int passChecks = pass.checks;
+		assertTrue(any.check());
+		assertEquals(failChecks, fail.checks);
+		assertEquals(passChecks, pass.checks);
+	}
+}